@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package net.jrouter.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import net.jrouter.impl.PathActionFactory;
+import net.jrouter.result.DefaultResult;
+
+/**
+ * Action缓存命中与未命中的基准；未命中时不设缓存，每次调用均查找树结构。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ActionCacheBenchmark {
+
+    /** 调用路径的数目，2的幂 */
+    private static final int LOOKUPS = 1024;
+
+    /** 缓存命中（hit）或未命中（miss） */
+    @Param({"hit", "miss"})
+    private String cache;
+
+    /** 缓存分片数目 */
+    @Param({"1", "16"})
+    private int shards;
+
+    /** ActionFactory */
+    private PathActionFactory factory;
+
+    /** 调用的路径 */
+    private String[] paths;
+
+    @Setup
+    public void setup() {
+        PathActionFactory.Properties prop = new PathActionFactory.Properties();
+        prop.setDefaultResultType(DefaultResult.EMPTY);
+        prop.setActionCacheNumber("hit".equals(cache) ? LOOKUPS << 2 : 0);
+        prop.setActionCacheShards(shards);
+        factory = new PathActionFactory(prop);
+        factory.addResultTypes(DefaultResult.class);
+        factory.addActions(BenchmarkActions.class);
+        factory.freeze();
+        paths = new String[LOOKUPS];
+        List<String> list = new ArrayList<>(LOOKUPS);
+        for (int i = 0; i < LOOKUPS; i++) {
+            paths[i] = "/cache/" + i;
+            list.add(paths[i]);
+        }
+        factory.warmUp(list);
+    }
+
+    @TearDown
+    public void tearDown() {
+        factory.clear();
+    }
+
+    /**
+     * 每个线程依次调用的路径索引。
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int index;
+
+        String next(String[] paths) {
+            return paths[index++ & (LOOKUPS - 1)];
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object single(Cursor cursor) {
+        return factory.invokeAction(cursor.next(paths), "id");
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Object contended(Cursor cursor) {
+        return factory.invokeAction(cursor.next(paths), "id");
+    }
+}
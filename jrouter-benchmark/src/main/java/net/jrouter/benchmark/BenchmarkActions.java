@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package net.jrouter.benchmark;
+
+import net.jrouter.ActionInvocation;
+import net.jrouter.annotation.Action;
+import net.jrouter.annotation.Interceptor;
+import net.jrouter.annotation.Result;
+import net.jrouter.result.DefaultResult;
+
+/**
+ * 基准测试的Action及拦截器。
+ */
+public class BenchmarkActions {
+
+    /** 拦截器名称 */
+    private static final String I1 = "i1", I2 = "i2", I3 = "i3", I4 = "i4", I5 = "i5",
+            I6 = "i6", I7 = "i7", I8 = "i8", I9 = "i9", I10 = "i10";
+
+    @Action("/cache/{id}")
+    public String cache(String id) {
+        return id;
+    }
+
+    @Action("/invoke/i0")
+    public String invoke0(String value) {
+        return value;
+    }
+
+    @Action(value = "/invoke/i3", interceptors = {I1, I2, I3})
+    public String invoke3(String value) {
+        return value;
+    }
+
+    @Action(value = "/invoke/i10", interceptors = {I1, I2, I3, I4, I5, I6, I7, I8, I9, I10})
+    public String invoke10(String value) {
+        return value;
+    }
+
+    @Action(value = "/result/result", results = @Result(name = "success", type = DefaultResult.EMPTY))
+    public String result() {
+        return "success";
+    }
+
+    @Action("/result/colon")
+    public String colon() {
+        return DefaultResult.EMPTY + ":/result/result";
+    }
+
+    /**
+     * 直接调用后续拦截器及Action的拦截器。
+     */
+    public static class Interceptors {
+
+        @Interceptor(name = I1)
+        public Object i1(ActionInvocation invocation) {
+            return invocation.invoke();
+        }
+
+        @Interceptor(name = I2)
+        public Object i2(ActionInvocation invocation) {
+            return invocation.invoke();
+        }
+
+        @Interceptor(name = I3)
+        public Object i3(ActionInvocation invocation) {
+            return invocation.invoke();
+        }
+
+        @Interceptor(name = I4)
+        public Object i4(ActionInvocation invocation) {
+            return invocation.invoke();
+        }
+
+        @Interceptor(name = I5)
+        public Object i5(ActionInvocation invocation) {
+            return invocation.invoke();
+        }
+
+        @Interceptor(name = I6)
+        public Object i6(ActionInvocation invocation) {
+            return invocation.invoke();
+        }
+
+        @Interceptor(name = I7)
+        public Object i7(ActionInvocation invocation) {
+            return invocation.invoke();
+        }
+
+        @Interceptor(name = I8)
+        public Object i8(ActionInvocation invocation) {
+            return invocation.invoke();
+        }
+
+        @Interceptor(name = I9)
+        public Object i9(ActionInvocation invocation) {
+            return invocation.invoke();
+        }
+
+        @Interceptor(name = I10)
+        public Object i10(ActionInvocation invocation) {
+            return invocation.invoke();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package net.jrouter.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import net.jrouter.impl.PathActionFactory;
+import net.jrouter.result.DefaultResult;
+
+/**
+ * {@link PathActionFactory.ColonString}字符串结果处理的基准：Action中的结果对象（result）及"type:location"形式的字符串结果（colon）。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColonStringBenchmark {
+
+    /** 字符串结果的形式 */
+    @Param({"result", "colon"})
+    private String result;
+
+    /** ActionFactory */
+    private PathActionFactory.ColonString factory;
+
+    /** 调用的路径 */
+    private String path;
+
+    @Setup
+    public void setup() {
+        PathActionFactory.ColonString.Properties prop = new PathActionFactory.ColonString.Properties();
+        prop.setDefaultResultType(DefaultResult.EMPTY);
+        prop.setDefaultStringResultType(DefaultResult.EMPTY);
+        factory = new PathActionFactory.ColonString(prop);
+        factory.addResultTypes(DefaultResult.class);
+        factory.addActions(BenchmarkActions.class);
+        factory.freeze();
+        path = "/result/" + result;
+    }
+
+    @TearDown
+    public void tearDown() {
+        factory.clear();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object single() {
+        return factory.invokeAction(path);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Object contended() {
+        return factory.invokeAction(path);
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package net.jrouter.benchmark;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import net.jrouter.Invoker;
+import net.jrouter.MethodInvokerFactory;
+import net.jrouter.bytecode.javassist.JavassistMethodInvokerFactory;
+import net.jrouter.impl.PathActionFactory;
+import net.jrouter.result.DefaultResult;
+
+/**
+ * Action调用的基准：0/3/10个拦截器，及各方法调用对象的工厂（javassist生成的调用对象、Java反射）。
+ * 调用参数经{@link net.jrouter.impl.MultiParameterConverterFactory}转换。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InvocationBenchmark {
+
+    /** 拦截器数目 */
+    @Param({"0", "3", "10"})
+    private int interceptors;
+
+    /** 方法调用对象的工厂 */
+    @Param({"javassist", "reflection"})
+    private String invoker;
+
+    /** ActionFactory */
+    private PathActionFactory factory;
+
+    /** 调用的路径 */
+    private String path;
+
+    @Setup
+    public void setup() {
+        PathActionFactory.Properties prop = new PathActionFactory.Properties();
+        prop.setDefaultResultType(DefaultResult.EMPTY);
+        prop.setMethodInvokerFactory("javassist".equals(invoker)
+                ? new JavassistMethodInvokerFactory() : new ReflectionInvokerFactory());
+        factory = new PathActionFactory(prop);
+        factory.addInterceptors(BenchmarkActions.Interceptors.class);
+        factory.addResultTypes(DefaultResult.class);
+        factory.addActions(BenchmarkActions.class);
+        factory.freeze();
+        path = "/invoke/i" + interceptors;
+    }
+
+    @TearDown
+    public void tearDown() {
+        factory.clear();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object single() {
+        return factory.invokeAction(path, "value");
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Object contended() {
+        return factory.invokeAction(path, "value");
+    }
+
+    /**
+     * 不生成调用对象，以Java反射调用底层方法。
+     */
+    public static class ReflectionInvokerFactory implements MethodInvokerFactory {
+
+        @Override
+        public Invoker newInstance(Class<?> targetClass, Method method) {
+            return null;
+        }
+    }
+}
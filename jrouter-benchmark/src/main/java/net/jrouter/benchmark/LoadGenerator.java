@@ -0,0 +1,531 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package net.jrouter.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import net.jrouter.ActionFactory;
+import net.jrouter.NotFoundException;
+import net.jrouter.config.Configuration;
+import net.jrouter.impl.PathActionFactory;
+import net.jrouter.metrics.LatencyHistogram;
+
+/**
+ * ActionFactory配置的吞吐量负载测试：由{@link Configuration}加载jrouter配置文件，以N个线程调用{@code invokeAction}，
+ * 输出吞吐量、延迟分位、内存分配速率及Action缓存的命中率；用于评估主机规模及验证缓存配置。
+ * <p>
+ * 调用的路径由路径文件（每行一个路径，忽略空行及'#'开头的行）依次回放，或由{@code getActions()}生成：
+ * 匹配路径的'*'及'{k}'子路径以序号替换，按Zipf分布（指数{@code -s}）选取路径，并按比例（{@code -m}）调用不存在的路径。
+ * </p>
+ * <pre>
+ * java -cp target/benchmarks.jar:app.jar net.jrouter.benchmark.LoadGenerator -c jrouter.xml -t 8 -d 30
+ * </pre>
+ */
+public final class LoadGenerator {
+
+    /** 不存在的路径的前缀 */
+    static final String MISS_PREFIX = "/__jrouter_miss__/";
+
+    /** 使用说明 */
+    private static final String USAGE = "Usage: LoadGenerator -c <jrouter.xml> [options]\n"
+            + "  -c <file|resource>  jrouter configuration, file path or classpath resource\n"
+            + "  -f <file>           replay paths of the file in order, one path per line\n"
+            + "  -n <paths>          synthetic distinct paths generated from getActions() (default 10000)\n"
+            + "  -s <exponent>       Zipf exponent of synthetic path popularity, 0 for uniform (default 1.0)\n"
+            + "  -m <ratio>          ratio of calls to non-existent paths (default 0)\n"
+            + "  -t <threads>        threads (default available processors)\n"
+            + "  -w <seconds>        warm-up seconds (default 5)\n"
+            + "  -d <seconds>        measurement seconds (default 10)\n"
+            + "  -r <seed>           random seed (default 42)";
+
+    /** 运行阶段：预热 */
+    private static final int WARM_UP = 0;
+
+    /** 运行阶段：测量 */
+    private static final int MEASURE = 1;
+
+    /** 运行阶段：结束 */
+    private static final int STOP = 2;
+
+    /** 配置文件或类路径资源 */
+    private String config;
+
+    /** 回放的路径文件 */
+    private String pathFile;
+
+    /** 生成的路径数目 */
+    private int paths = 10_000;
+
+    /** Zipf分布的指数 */
+    private double skew = 1.0;
+
+    /** 调用不存在的路径的比例 */
+    private double missRatio = 0;
+
+    /** 线程数目 */
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    /** 预热秒数 */
+    private int warmUp = 5;
+
+    /** 测量秒数 */
+    private int duration = 10;
+
+    /** 随机种子 */
+    private long seed = 42;
+
+    /** 运行阶段 */
+    private volatile int phase = WARM_UP;
+
+    private LoadGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadGenerator generator = new LoadGenerator();
+        try {
+            generator.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+        generator.run();
+    }
+
+    /**
+     * 解析命令行参数。
+     */
+    private void parse(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String opt = args[i];
+            if ("-h".equals(opt) || "--help".equals(opt)) {
+                throw new IllegalArgumentException("JRouter load generator");
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value of option : " + opt);
+            }
+            String value = args[++i];
+            try {
+                switch (opt) {
+                    case "-c":
+                        config = value;
+                        break;
+                    case "-f":
+                        pathFile = value;
+                        break;
+                    case "-n":
+                        paths = Integer.parseInt(value);
+                        break;
+                    case "-s":
+                        skew = Double.parseDouble(value);
+                        break;
+                    case "-m":
+                        missRatio = Double.parseDouble(value);
+                        break;
+                    case "-t":
+                        threads = Integer.parseInt(value);
+                        break;
+                    case "-w":
+                        warmUp = Integer.parseInt(value);
+                        break;
+                    case "-d":
+                        duration = Integer.parseInt(value);
+                        break;
+                    case "-r":
+                        seed = Long.parseLong(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option : " + opt);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid value of option " + opt + " : " + value);
+            }
+        }
+        if (config == null) {
+            throw new IllegalArgumentException("Missing jrouter configuration : -c");
+        }
+        if (paths <= 0 || threads <= 0 || warmUp < 0 || duration <= 0 || skew < 0 || missRatio < 0 || missRatio > 1) {
+            throw new IllegalArgumentException("Invalid options");
+        }
+    }
+
+    /**
+     * 加载配置并运行负载。
+     */
+    private void run() throws IOException, InterruptedException {
+        Configuration configuration = new Configuration();
+        File file = new File(config);
+        if (file.isFile()) {
+            configuration.load(file);
+        } else {
+            configuration.load(config);
+        }
+        ActionFactory<String> factory = configuration.buildActionFactory();
+        try {
+            Workload workload = pathFile == null ? synthetic(factory) : replay(Files.readAllLines(new File(pathFile).toPath(),
+                    StandardCharsets.UTF_8));
+            System.out.printf("Workload : %s, threads %d, warm-up %ds, measurement %ds%n", workload, threads, warmUp, duration);
+            report(factory, execute(factory, workload));
+        } finally {
+            factory.clear();
+        }
+    }
+
+    /**
+     * 由路径文件创建依次回放的负载。
+     */
+    private Workload replay(List<String> lines) {
+        List<String> list = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            line = line.trim();
+            if (!line.isEmpty() && line.charAt(0) != '#') {
+                list.add(line);
+            }
+        }
+        if (list.isEmpty()) {
+            throw new IllegalArgumentException("No path in file : " + pathFile);
+        }
+        return new Workload(list.toArray(new String[list.size()]), null, 0, "replay " + list.size() + " paths of " + pathFile);
+    }
+
+    /**
+     * 由ActionFactory的Action路径生成Zipf分布的负载。
+     */
+    private Workload synthetic(ActionFactory<String> factory) {
+        char separator = factory instanceof PathActionFactory ? ((PathActionFactory) factory).getPathSeparator() : '/';
+        List<String> actions = new ArrayList<>(factory.getActions().keySet());
+        if (actions.isEmpty()) {
+            throw new IllegalArgumentException("No Action in configuration : " + config);
+        }
+        Set<String> set = new LinkedHashSet<>(paths * 4 / 3 + 1);
+        //逐轮替换匹配子路径，直至数目足够或不再产生新的路径
+        for (int round = 0; set.size() < paths; round++) {
+            int size = set.size();
+            for (String action : actions) {
+                set.add(instantiate(action, separator, round));
+                if (set.size() >= paths) {
+                    break;
+                }
+            }
+            if (set.size() == size) {
+                break;
+            }
+        }
+        List<String> list = new ArrayList<>(set);
+        //打乱排名，热点路径不集中于个别Action
+        Collections.shuffle(list, new Random(seed));
+        String[] array = list.toArray(new String[list.size()]);
+        double[] cdf = new double[array.length];
+        double sum = 0;
+        for (int i = 0; i < cdf.length; i++) {
+            sum += 1 / Math.pow(i + 1, skew);
+            cdf[i] = sum;
+        }
+        for (int i = 0; i < cdf.length; i++) {
+            cdf[i] /= sum;
+        }
+        return new Workload(array, cdf, missRatio, String.format("synthetic %d paths of %d actions, zipf %.2f, miss %.2f",
+                array.length, actions.size(), skew, missRatio));
+    }
+
+    /**
+     * 以序号替换Action路径中的匹配子路径。
+     */
+    static String instantiate(String action, char separator, int round) {
+        StringBuilder path = new StringBuilder(action.length() + 8);
+        int start = 0;
+        while (start <= action.length()) {
+            int end = action.indexOf(separator, start);
+            if (end < 0) {
+                end = action.length();
+            }
+            String segment = action.substring(start, end);
+            if (segment.startsWith("{") && segment.endsWith("}") || "**".equals(segment)) {
+                segment = "v" + round;
+            } else if (segment.indexOf('*') >= 0) {
+                segment = segment.replace("*", "v" + round);
+            }
+            path.append(segment);
+            if (end < action.length()) {
+                path.append(separator);
+            }
+            start = end + 1;
+        }
+        return path.toString();
+    }
+
+    /**
+     * 运行预热及测量阶段。
+     */
+    private Result execute(final ActionFactory<String> factory, final Workload workload) throws InterruptedException {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        Worker[] workers = new Worker[threads];
+        long[] ids = new long[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Worker(factory, workload, histogram, i, new SplittableRandom(seed + i));
+            workers[i].setName("jrouter-load-" + i);
+            workers[i].setDaemon(true);
+            workers[i].start();
+            ids[i] = workers[i].getId();
+        }
+        TimeUnit.SECONDS.sleep(warmUp);
+        long[] cache = cacheStatistics(factory);
+        long[] allocated = allocatedBytes(ids);
+        long start = System.nanoTime();
+        phase = MEASURE;
+        TimeUnit.SECONDS.sleep(duration);
+        phase = STOP;
+        long elapsed = System.nanoTime() - start;
+        long[] allocatedEnd = allocatedBytes(ids);
+        long[] cacheEnd = cacheStatistics(factory);
+        for (Worker worker : workers) {
+            worker.join();
+        }
+        Result result = new Result(histogram, elapsed);
+        for (Worker worker : workers) {
+            result.calls += worker.calls;
+            result.notFound += worker.notFound;
+            result.errors += worker.errors;
+            if (result.error == null) {
+                result.error = worker.error;
+            }
+        }
+        if (allocated != null && allocatedEnd != null) {
+            for (int i = 0; i < threads; i++) {
+                result.allocated += allocatedEnd[i] - allocated[i];
+            }
+        } else {
+            result.allocated = -1;
+        }
+        if (cache != null) {
+            result.cacheHits = cacheEnd[0] - cache[0];
+            result.cacheMisses = cacheEnd[1] - cache[1];
+        }
+        return result;
+    }
+
+    /**
+     * 输出测量结果。
+     */
+    private static void report(ActionFactory<String> factory, Result result) {
+        double seconds = result.elapsed / 1e9;
+        LatencyHistogram histogram = result.histogram;
+        long[] q = histogram.valuesAtQuantiles(0.5, 0.9, 0.99, 0.999);
+        System.out.printf("Calls      : %d (not found %d, errors %d)%n", result.calls, result.notFound, result.errors);
+        System.out.printf("Throughput : %.1f ops/s%n", result.calls / seconds);
+        System.out.printf("Latency us : mean %.3f, p50 %.3f, p90 %.3f, p99 %.3f, p999 %.3f, max %.3f%n",
+                histogram.getCount() == 0 ? 0 : histogram.getSum() / 1e3 / histogram.getCount(),
+                q[0] / 1e3, q[1] / 1e3, q[2] / 1e3, q[3] / 1e3, histogram.getMax() / 1e3);
+        if (result.allocated >= 0) {
+            System.out.printf("Allocation : %.1f MB/s, %.1f bytes/op%n", result.allocated / seconds / (1 << 20),
+                    result.calls == 0 ? 0 : (double) result.allocated / result.calls);
+        } else {
+            System.out.println("Allocation : not supported by this JVM");
+        }
+        if (factory instanceof PathActionFactory) {
+            long lookups = result.cacheHits + result.cacheMisses;
+            System.out.printf("Cache      : matched-path hits %d, misses %d, hit ratio %.2f%%, size %d, shards %d%n",
+                    result.cacheHits, result.cacheMisses, lookups == 0 ? 0 : result.cacheHits * 100.0 / lookups,
+                    ((PathActionFactory) factory).getActionCache().size(), ((PathActionFactory) factory).getActionCacheShards());
+        }
+        if (result.error != null) {
+            System.out.println("First error : " + result.error);
+        }
+    }
+
+    /**
+     * 参数匹配Action缓存的命中及未命中次数；非PathActionFactory返回 null。
+     */
+    private static long[] cacheStatistics(ActionFactory<String> factory) {
+        return factory instanceof PathActionFactory ? ((PathActionFactory) factory).getActionCacheStatistics() : null;
+    }
+
+    /**
+     * 各线程已分配的字节数；JVM不支持时返回 null。
+     */
+    private static long[] allocatedBytes(long[] ids) {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean sun = (com.sun.management.ThreadMXBean) bean;
+            if (sun.isThreadAllocatedMemorySupported() && sun.isThreadAllocatedMemoryEnabled()) {
+                return sun.getThreadAllocatedBytes(ids);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 调用的路径集合及其选取方式。
+     */
+    private static final class Workload {
+
+        /** 路径 */
+        private final String[] paths;
+
+        /** 路径排名的累积分布，依次回放时为 null */
+        private final double[] cdf;
+
+        /** 调用不存在的路径的比例 */
+        private final double missRatio;
+
+        /** 描述 */
+        private final String description;
+
+        Workload(String[] paths, double[] cdf, double missRatio, String description) {
+            this.paths = paths;
+            this.cdf = cdf;
+            this.missRatio = missRatio;
+            this.description = description;
+        }
+
+        /**
+         * 选取下一个调用的路径。
+         *
+         * @param random 线程的随机数。
+         * @param sequence 线程的调用序号。
+         */
+        String next(SplittableRandom random, long sequence) {
+            if (cdf == null) {
+                return paths[(int) (sequence % paths.length)];
+            }
+            if (missRatio > 0 && random.nextDouble() < missRatio) {
+                return MISS_PREFIX + random.nextInt(paths.length);
+            }
+            int index = Arrays.binarySearch(cdf, random.nextDouble());
+            return paths[index < 0 ? Math.min(-index - 1, paths.length - 1) : index];
+        }
+
+        @Override
+        public String toString() {
+            return description;
+        }
+    }
+
+    /**
+     * 调用线程，仅测量阶段记录延迟及计数。
+     */
+    private final class Worker extends Thread {
+
+        private final ActionFactory<String> factory;
+
+        private final Workload workload;
+
+        private final LatencyHistogram histogram;
+
+        /** 回放的起始序号，各线程错开 */
+        private final long offset;
+
+        private final SplittableRandom random;
+
+        /** 测量阶段的调用次数 */
+        long calls;
+
+        /** 测量阶段不存在的路径的调用次数 */
+        long notFound;
+
+        /** 测量阶段的错误次数 */
+        long errors;
+
+        /** 第一个错误 */
+        Throwable error;
+
+        Worker(ActionFactory<String> factory, Workload workload, LatencyHistogram histogram, int index,
+               SplittableRandom random) {
+            this.factory = factory;
+            this.workload = workload;
+            this.histogram = histogram;
+            this.offset = (long) workload.paths.length * index / threads;
+            this.random = random;
+        }
+
+        @Override
+        public void run() {
+            long sequence = offset;
+            int p;
+            while ((p = phase) != STOP) {
+                String path = workload.next(random, sequence++);
+                boolean found = true;
+                Throwable failure = null;
+                long start = System.nanoTime();
+                try {
+                    factory.invokeAction(path);
+                } catch (NotFoundException e) {
+                    found = false;
+                } catch (RuntimeException e) {
+                    failure = e;
+                }
+                long nanos = System.nanoTime() - start;
+                if (p == MEASURE) {
+                    histogram.record(nanos);
+                    calls++;
+                    if (!found) {
+                        notFound++;
+                    } else if (failure != null) {
+                        errors++;
+                        if (error == null) {
+                            error = failure;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 测量结果。
+     */
+    private static final class Result {
+
+        private final LatencyHistogram histogram;
+
+        /** 测量的纳秒数 */
+        private final long elapsed;
+
+        private long calls;
+
+        private long notFound;
+
+        private long errors;
+
+        private Throwable error;
+
+        /** 测量阶段分配的字节数，不支持时为-1 */
+        private long allocated;
+
+        private long cacheHits;
+
+        private long cacheMisses;
+
+        Result(LatencyHistogram histogram, long elapsed) {
+            this.histogram = histogram;
+            this.elapsed = elapsed;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package net.jrouter.benchmark;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.jrouter.PathGenerator;
+import net.jrouter.annotation.Action;
+import net.jrouter.impl.PathActionFactory;
+import net.jrouter.impl.PathActionProxy;
+import net.jrouter.result.DefaultResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 树结构路径查找的基准：确切路径、'*'匹配路径及不匹配路径，路径数目为1k/10k/100k。
+ * 路径由路径生成器映射至同一Action方法，以{@link PathActionFactory#getActions()}返回的路径映射查找，不经过Action缓存。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathTreeBenchmark {
+
+    /** 查找路径的数目，2的幂 */
+    private static final int LOOKUPS = 1024;
+
+    /** 路径数目 */
+    @Param({"1000", "10000", "100000"})
+    private int routes;
+
+    /** 查找类型 */
+    @Param({"static", "wildcard", "miss"})
+    private String lookup;
+
+    /** ActionFactory */
+    private PathActionFactory factory;
+
+    /** 树结构路径映射 */
+    private Map<String, PathActionProxy> tree;
+
+    /** 查找的路径 */
+    private String[] paths;
+
+    @Setup
+    public void setup() {
+        //偶数为确切路径，奇数为'*'匹配路径
+        final String[] all = new String[routes];
+        for (int i = 0; i < routes; i++) {
+            if ((i & 1) == 0) {
+                all[i] = "/s" + (i / 100) + "/a" + i + "/get";
+            } else {
+                all[i] = "/w" + (i / 100) + "/*/item" + i;
+            }
+        }
+        PathActionFactory.Properties prop = new PathActionFactory.Properties();
+        prop.setDefaultResultType(DefaultResult.EMPTY);
+        prop.setActionCacheNumber(0);
+        prop.setPathGenerator(new PathGenerator<String>() {
+
+            @Override
+            public String[] generatePath(Class<?> targetClass, Method method) {
+                return all;
+            }
+        });
+        factory = new PathActionFactory(prop);
+        factory.addResultTypes(DefaultResult.class);
+        factory.addActions(Route.class);
+        factory.freeze();
+        tree = factory.getActions();
+        Random random = new Random(routes);
+        paths = new String[LOOKUPS];
+        for (int j = 0; j < LOOKUPS; j++) {
+            int i = random.nextInt(routes >> 1) << 1;
+            switch (lookup) {
+                case "static":
+                    paths[j] = "/s" + (i / 100) + "/a" + i + "/get";
+                    break;
+                case "wildcard":
+                    i++;
+                    paths[j] = "/w" + (i / 100) + "/x" + j + "/item" + i;
+                    break;
+                default:
+                    paths[j] = "/s" + (i / 100) + "/a" + i + "/post";
+                    break;
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        factory.clear();
+    }
+
+    /**
+     * 映射全部路径的Action。
+     */
+    public static class Route {
+
+        @Action
+        public static Object route() {
+            return null;
+        }
+    }
+
+    /**
+     * 每个线程依次查找的路径索引。
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int index;
+
+        String next(String[] paths) {
+            return paths[index++ & (LOOKUPS - 1)];
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public PathActionProxy single(Cursor cursor) {
+        return tree.get(cursor.next(paths));
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public PathActionProxy contended(Cursor cursor) {
+        return tree.get(cursor.next(paths));
+    }
+}
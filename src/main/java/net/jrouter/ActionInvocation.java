@@ -89,6 +89,19 @@ public interface ActionInvocation<P> {
      */
     <T> T invokeActionOnly(Object... params) throws JRouterException;
 
+    /**
+     * 以原调用参数调用指定路径的Action（通常用于actionForward结果类型）。
+     *
+     * @param <T> Action调用结果的类型。
+     * @param path 目标Action的路径。
+     *
+     * @return 调用后的结果。
+     *
+     * @throws JRouterException 如果发生调用错误。
+     * @since 1.8.5
+     */
+    <T> T forward(P path) throws JRouterException;
+
     /**
      * 返回Action调用的结果，如果Action尚未被调用或者尚未设置指定的值则返回null。
      *
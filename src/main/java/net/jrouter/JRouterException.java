@@ -51,4 +51,18 @@ public class JRouterException extends RuntimeException {
     public JRouterException(String message, Throwable cause) {
         super(message, cause);
     }
+
+    /**
+     * 构造一个包含指定详细消息和原因的JRouterException，并指定是否记录堆栈信息。
+     * 不记录堆栈信息时亦不记录被抑制的异常，用于频繁抛出的控制流程异常。
+     *
+     * @param message 详细消息。
+     * @param cause 异常原因。
+     * @param writableStackTrace 是否记录堆栈信息。
+     *
+     * @since 1.8.5
+     */
+    protected JRouterException(String message, Throwable cause, boolean writableStackTrace) {
+        super(message, cause, writableStackTrace, writableStackTrace);
+    }
 }
@@ -52,4 +52,17 @@ public class NotFoundException extends JRouterException {
         super(message, cause);
     }
 
+    /**
+     * 构造一个包含指定详细消息和原因的NotFoundException，并指定是否记录堆栈信息。
+     *
+     * @param message 详细消息。
+     * @param cause 异常原因。
+     * @param writableStackTrace 是否记录堆栈信息。
+     *
+     * @since 1.8.5
+     */
+    public NotFoundException(String message, Throwable cause, boolean writableStackTrace) {
+        super(message, cause, writableStackTrace);
+    }
+
 }
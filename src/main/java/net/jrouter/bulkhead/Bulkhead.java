@@ -0,0 +1,277 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package net.jrouter.bulkhead;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import net.jrouter.impl.PathActionProxy;
+
+/**
+ * 单个Action的并发隔离：记录并发数，并发数达到限制时快速拒绝或在等待时间内等待许可。
+ * <p>
+ * 获取许可时以CAS递增并发数，不加锁；仅有限等待时以自身的锁等待释放的许可。
+ * 自适应模式以AIMD（加性增、乘性减）调整限制：调用延迟超过阈值时限制乘以{@value #BACKOFF}（每个阈值时长内至多一次），
+ * 连续完成限制数目的未超时调用后限制加一；限制介于最小并发数与最大并发数之间，初始为最大并发数。
+ * 最大并发数不大于0时不限制，仅记录并发数。
+ * </p>
+ *
+ * @see BulkheadRegistry
+ * @since 1.8.5
+ */
+public final class Bulkhead {
+
+    /** 自适应模式的乘性减系数 */
+    static final double BACKOFF = 0.9;
+
+    /** 不限制并发数 */
+    static final int UNLIMITED = Integer.MAX_VALUE;
+
+    /** Action代理对象 */
+    @lombok.Getter
+    private final PathActionProxy actionProxy;
+
+    /** 最大并发数 */
+    @lombok.Getter
+    private volatile int maxConcurrency;
+
+    /** 当前的并发限制 */
+    private final AtomicInteger limit = new AtomicInteger();
+
+    /** 等待许可的最大纳秒数，不大于0时快速拒绝 */
+    @lombok.Getter
+    private final long maxWaitNanos;
+
+    /** 是否以调用延迟自适应调整限制 */
+    @lombok.Getter
+    private final boolean adaptive;
+
+    /** 自适应模式的最小并发数 */
+    @lombok.Getter
+    private final int minConcurrency;
+
+    /** 自适应模式的延迟阈值（纳秒） */
+    @lombok.Getter
+    private final long latencyThresholdNanos;
+
+    /** 并发数 */
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /** 并发数的峰值 */
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+
+    /** 获取许可的次数 */
+    private final AtomicLong accepted = new AtomicLong();
+
+    /** 快速拒绝的次数 */
+    private final AtomicLong rejected = new AtomicLong();
+
+    /** 等待超时或被中断后拒绝的次数 */
+    private final AtomicLong timeouts = new AtomicLong();
+
+    /** 自适应模式自上次增加限制以来完成的调用次数 */
+    private final AtomicInteger completions = new AtomicInteger();
+
+    /** 自适应模式上次减小限制的时间（纳秒） */
+    private final AtomicLong lastBackoffNanos = new AtomicLong(System.nanoTime());
+
+    /** 等待许可的线程数目，由自身的锁保护写入 */
+    private volatile int waiters;
+
+    /**
+     * 构造Action的并发隔离。
+     *
+     * @param actionProxy Action代理对象。
+     * @param maxConcurrency 最大并发数，不大于0时不限制。
+     * @param maxWaitNanos 等待许可的最大纳秒数，不大于0时快速拒绝。
+     * @param adaptive 是否以调用延迟自适应调整限制。
+     * @param minConcurrency 自适应模式的最小并发数。
+     * @param latencyThresholdNanos 自适应模式的延迟阈值（纳秒）。
+     */
+    Bulkhead(PathActionProxy actionProxy, int maxConcurrency, long maxWaitNanos, boolean adaptive,
+             int minConcurrency, long latencyThresholdNanos) {
+        this.actionProxy = actionProxy;
+        this.maxConcurrency = maxConcurrency <= 0 ? UNLIMITED : maxConcurrency;
+        this.limit.set(this.maxConcurrency);
+        this.maxWaitNanos = maxWaitNanos;
+        this.adaptive = adaptive && maxConcurrency > 0 && latencyThresholdNanos > 0;
+        this.minConcurrency = Math.max(1, Math.min(minConcurrency, this.maxConcurrency));
+        this.latencyThresholdNanos = latencyThresholdNanos;
+    }
+
+    /**
+     * 获取许可；并发数达到限制时快速拒绝，或在等待时间内等待释放的许可。
+     *
+     * @throws BulkheadRejectedException 如果未获取许可。
+     */
+    public void acquire() {
+        if (tryAcquire()) {
+            accepted.incrementAndGet();
+            return;
+        }
+        if (maxWaitNanos <= 0) {
+            rejected.incrementAndGet();
+            throw new BulkheadRejectedException(actionProxy.getPath(), limit.get(), false);
+        }
+        long deadline = System.nanoTime() + maxWaitNanos;
+        synchronized (this) {
+            waiters++;
+            try {
+                while (!tryAcquire()) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        timeouts.incrementAndGet();
+                        throw new BulkheadRejectedException(actionProxy.getPath(), limit.get(), true);
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                timeouts.incrementAndGet();
+                throw new BulkheadRejectedException(actionProxy.getPath(), limit.get(), true);
+            } finally {
+                waiters--;
+            }
+        }
+        accepted.incrementAndGet();
+    }
+
+    /**
+     * 并发数小于限制时递增并发数。
+     */
+    private boolean tryAcquire() {
+        for (;;) {
+            int current = inFlight.get();
+            if (current >= limit.get()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                int peak = peakInFlight.get();
+                while (current + 1 > peak && !peakInFlight.compareAndSet(peak, current + 1)) {
+                    peak = peakInFlight.get();
+                }
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 释放许可；自适应模式以调用延迟调整限制。
+     *
+     * @param nanos 调用的延迟（纳秒）。
+     */
+    public void release(long nanos) {
+        inFlight.decrementAndGet();
+        boolean increased = adaptive && adapt(nanos);
+        if (waiters > 0) {
+            synchronized (this) {
+                if (increased) {
+                    notifyAll();
+                } else {
+                    notify();
+                }
+            }
+        }
+    }
+
+    /**
+     * 以AIMD调整限制。
+     *
+     * @return 是否增加了限制。
+     */
+    private boolean adapt(long nanos) {
+        if (nanos > latencyThresholdNanos) {
+            completions.set(0);
+            //每个阈值时长内至多减小一次，由更新时间的线程减小
+            long now = System.nanoTime();
+            long last = lastBackoffNanos.get();
+            if (now - last >= latencyThresholdNanos && lastBackoffNanos.compareAndSet(last, now)) {
+                for (;;) {
+                    int current = limit.get();
+                    if (limit.compareAndSet(current, Math.max(minConcurrency, (int) (current * BACKOFF)))) {
+                        break;
+                    }
+                }
+            }
+            return false;
+        }
+        int max = maxConcurrency;
+        int current = limit.get();
+        if (current < max && completions.incrementAndGet() >= current) {
+            completions.set(0);
+            //限制已被并发调整时放弃本次增加
+            return limit.compareAndSet(current, Math.min(max, current + 1));
+        }
+        return false;
+    }
+
+    /**
+     * 设置最大并发数，同时重置当前的并发限制。
+     *
+     * @param maxConcurrency 最大并发数，不大于0时不限制。
+     */
+    public void setMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency <= 0 ? UNLIMITED : maxConcurrency;
+        this.limit.set(this.maxConcurrency);
+        completions.set(0);
+        if (waiters > 0) {
+            synchronized (this) {
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * 返回当前的并发限制。
+     *
+     * @return 当前的并发限制。
+     */
+    public int getLimit() {
+        return limit.get();
+    }
+
+    /**
+     * 返回并发数。
+     *
+     * @return 并发数。
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * 返回统计快照。
+     *
+     * @return 统计快照。
+     */
+    public BulkheadStatistics getStatistics() {
+        int current = limit.get();
+        return new BulkheadStatistics(actionProxy.getPath(), maxConcurrency == UNLIMITED ? 0 : maxConcurrency,
+                current == UNLIMITED ? 0 : current, inFlight.get(), peakInFlight.get(), waiters,
+                accepted.get(), rejected.get(), timeouts.get());
+    }
+
+    /**
+     * 清空计数及并发数的峰值，不改变并发数及限制。
+     */
+    public void reset() {
+        peakInFlight.set(inFlight.get());
+        accepted.set(0);
+        rejected.set(0);
+        timeouts.set(0);
+    }
+}
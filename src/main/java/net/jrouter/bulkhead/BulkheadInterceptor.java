@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package net.jrouter.bulkhead;
+
+import net.jrouter.ActionInvocation;
+import net.jrouter.annotation.Interceptor;
+import net.jrouter.impl.PathActionProxy;
+
+/**
+ * 并发隔离的拦截器：调用前获取Action的并发许可，调用后释放；并发数达到限制且未在等待时间内获取许可时抛出
+ * {@link BulkheadRejectedException}（由调用异常封装）。各Action的限制由Action参数或注册表的默认配置指定。
+ *
+ * @see BulkheadRegistry
+ * @since 1.8.5
+ */
+public class BulkheadInterceptor {
+
+    /** 并发隔离拦截器 */
+    public static final String BULKHEAD = "bulkhead";
+
+    /** 并发隔离注册表 */
+    @lombok.Getter
+    private final BulkheadRegistry registry;
+
+    /**
+     * 以新的并发隔离注册表构造拦截器。
+     */
+    public BulkheadInterceptor() {
+        this(new BulkheadRegistry());
+    }
+
+    /**
+     * 以指定的并发隔离注册表构造拦截器。
+     *
+     * @param registry 并发隔离注册表。
+     */
+    public BulkheadInterceptor(BulkheadRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * 获取并发许可后调用Action。
+     *
+     * @param invocation Action运行时上下文。
+     *
+     * @return 拦截器处理后的Action调用结果。
+     */
+    @Interceptor(name = BULKHEAD)
+    public Object bulkhead(ActionInvocation<?> invocation) {
+        if (!(invocation.getActionProxy() instanceof PathActionProxy)) {
+            return invocation.invoke();
+        }
+        Bulkhead bulkhead = registry.getBulkhead((PathActionProxy) invocation.getActionProxy());
+        bulkhead.acquire();
+        long start = System.nanoTime();
+        try {
+            return invocation.invoke();
+        } finally {
+            bulkhead.release(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package net.jrouter.bulkhead;
+
+import java.util.List;
+
+/**
+ * Action并发隔离的JMX管理接口。
+ *
+ * @see BulkheadRegistry#registerMBean(String)
+ * @since 1.8.5
+ */
+public interface BulkheadMXBean {
+
+    /**
+     * 返回所有Action按路径排序的统计快照。
+     *
+     * @return 统计快照集合。
+     */
+    List<BulkheadStatistics> getStatistics();
+
+    /**
+     * 返回指定路径Action的统计快照。
+     *
+     * @param path Action路径。
+     *
+     * @return 统计快照，如果没有记录则返回 null。
+     */
+    BulkheadStatistics getBulkheadStatistics(String path);
+
+    /**
+     * 设置指定路径Action的最大并发数，同时重置当前的并发限制。
+     *
+     * @param path Action路径。
+     * @param maxConcurrency 最大并发数，不大于0时不限制。
+     *
+     * @return 是否存在Action的并发隔离。
+     */
+    boolean setMaxConcurrency(String path, int maxConcurrency);
+
+    /**
+     * 清空所有Action的计数。
+     */
+    void reset();
+}
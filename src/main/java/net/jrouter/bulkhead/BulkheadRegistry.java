@@ -0,0 +1,256 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package net.jrouter.bulkhead;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import net.jrouter.JRouterException;
+import net.jrouter.impl.PathActionProxy;
+import net.jrouter.metrics.MetricsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 以Action代理对象为键的并发隔离注册表，线程安全；首次调用时由Action的参数（{@link net.jrouter.annotation.Action#parameters()}）
+ * 及注册表的默认配置创建Action的并发隔离。
+ * <p>
+ * Action参数：{@value #MAX_CONCURRENCY}（最大并发数，不大于0时不限制）、{@value #MAX_WAIT}（等待许可的最大毫秒数，
+ * 0为快速拒绝）、{@value #ADAPTIVE}（true时以调用延迟自适应调整限制）、{@value #MIN_CONCURRENCY}（自适应模式的最小并发数）、
+ * {@value #LATENCY_THRESHOLD}（自适应模式的延迟阈值毫秒数）。
+ * </p>
+ * 热加载或移除Action后，原有Action代理对象的并发隔离需由{@link #remove(PathActionProxy)}或{@link #clear()}移除。
+ *
+ * @see BulkheadInterceptor
+ * @since 1.8.5
+ */
+@lombok.Getter
+public class BulkheadRegistry implements BulkheadMXBean {
+
+    /** 日志 */
+    private static final Logger LOG = LoggerFactory.getLogger(BulkheadRegistry.class);
+
+    /** Action参数：最大并发数 */
+    public static final String MAX_CONCURRENCY = "bulkhead.maxConcurrency";
+
+    /** Action参数：等待许可的最大毫秒数 */
+    public static final String MAX_WAIT = "bulkhead.maxWait";
+
+    /** Action参数：是否自适应调整限制 */
+    public static final String ADAPTIVE = "bulkhead.adaptive";
+
+    /** Action参数：自适应模式的最小并发数 */
+    public static final String MIN_CONCURRENCY = "bulkhead.minConcurrency";
+
+    /** Action参数：自适应模式的延迟阈值毫秒数 */
+    public static final String LATENCY_THRESHOLD = "bulkhead.latencyThreshold";
+
+    /** 按路径排序 */
+    private static final Comparator<BulkheadStatistics> PATH_ORDER = new Comparator<BulkheadStatistics>() {
+
+        @Override
+        public int compare(BulkheadStatistics s1, BulkheadStatistics s2) {
+            return s1.getPath().compareTo(s2.getPath());
+        }
+    };
+
+    /** Action代理对象与其并发隔离的映射 */
+    @lombok.Getter(lombok.AccessLevel.NONE)
+    private final ConcurrentMap<PathActionProxy, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    /** 默认的最大并发数，默认为0不限制；区别于JMX操作{@link #setMaxConcurrency(String, int)} */
+    @lombok.Setter
+    private volatile int defaultMaxConcurrency = 0;
+
+    /** 默认的等待许可的最大毫秒数，默认为0快速拒绝 */
+    @lombok.Setter
+    private volatile long maxWait = 0;
+
+    /** 默认是否自适应调整限制 */
+    @lombok.Setter
+    private volatile boolean adaptive = false;
+
+    /** 默认的自适应模式的最小并发数 */
+    @lombok.Setter
+    private volatile int minConcurrency = 1;
+
+    /** 默认的自适应模式的延迟阈值毫秒数 */
+    @lombok.Setter
+    private volatile long latencyThreshold = 0;
+
+    /**
+     * 获取Action的并发隔离，不存在时创建。
+     *
+     * @param actionProxy Action代理对象。
+     *
+     * @return Action的并发隔离。
+     *
+     * @throws JRouterException 如果Action参数的数值格式错误。
+     */
+    public Bulkhead getBulkhead(PathActionProxy actionProxy) {
+        Bulkhead bulkhead = bulkheads.get(actionProxy);
+        if (bulkhead == null) {
+            bulkhead = create(actionProxy);
+            Bulkhead existing = bulkheads.putIfAbsent(actionProxy, bulkhead);
+            if (existing != null) {
+                bulkhead = existing;
+            }
+        }
+        return bulkhead;
+    }
+
+    /**
+     * 由Action参数及默认配置创建并发隔离。
+     */
+    private Bulkhead create(PathActionProxy ap) {
+        try {
+            String value = ap.getActionParameter(MAX_CONCURRENCY);
+            int max = value == null ? defaultMaxConcurrency : Integer.parseInt(value.trim());
+            value = ap.getActionParameter(MAX_WAIT);
+            long wait = value == null ? maxWait : Long.parseLong(value.trim());
+            value = ap.getActionParameter(ADAPTIVE);
+            boolean adapt = value == null ? adaptive : Boolean.parseBoolean(value.trim());
+            value = ap.getActionParameter(MIN_CONCURRENCY);
+            int min = value == null ? minConcurrency : Integer.parseInt(value.trim());
+            value = ap.getActionParameter(LATENCY_THRESHOLD);
+            long threshold = value == null ? latencyThreshold : Long.parseLong(value.trim());
+            return new Bulkhead(ap, max, TimeUnit.MILLISECONDS.toNanos(wait), adapt, min,
+                    TimeUnit.MILLISECONDS.toNanos(threshold));
+        } catch (NumberFormatException e) {
+            throw new JRouterException("Invalid bulkhead parameter at : " + ap.getPath(), e);
+        }
+    }
+
+    /**
+     * 移除Action的并发隔离。
+     *
+     * @param actionProxy Action代理对象。
+     *
+     * @return 移除的并发隔离，如果没有则返回 null。
+     */
+    public Bulkhead remove(PathActionProxy actionProxy) {
+        return bulkheads.remove(actionProxy);
+    }
+
+    /**
+     * 移除所有Action的并发隔离。
+     */
+    public void clear() {
+        bulkheads.clear();
+    }
+
+    @Override
+    public List<BulkheadStatistics> getStatistics() {
+        List<BulkheadStatistics> list = new ArrayList<>(bulkheads.size());
+        for (Bulkhead bulkhead : bulkheads.values()) {
+            list.add(bulkhead.getStatistics());
+        }
+        Collections.sort(list, PATH_ORDER);
+        return list;
+    }
+
+    @Override
+    public BulkheadStatistics getBulkheadStatistics(String path) {
+        Bulkhead bulkhead = find(path);
+        return bulkhead == null ? null : bulkhead.getStatistics();
+    }
+
+    @Override
+    public boolean setMaxConcurrency(String path, int maxConcurrency) {
+        Bulkhead bulkhead = find(path);
+        if (bulkhead == null) {
+            return false;
+        }
+        bulkhead.setMaxConcurrency(maxConcurrency);
+        LOG.info("Set bulkhead maxConcurrency [{}] : {}", maxConcurrency, path);
+        return true;
+    }
+
+    @Override
+    public void reset() {
+        for (Bulkhead bulkhead : bulkheads.values()) {
+            bulkhead.reset();
+        }
+    }
+
+    /**
+     * 指定路径Action的并发隔离。
+     */
+    private Bulkhead find(String path) {
+        for (Bulkhead bulkhead : bulkheads.values()) {
+            if (bulkhead.getActionProxy().getPath().equals(path)) {
+                return bulkhead;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 以指定名称注册至平台的MBeanServer，ObjectName为"net.jrouter:type=Bulkhead,name=<i>name</i>"。
+     *
+     * @param name 名称。
+     *
+     * @return 注册的ObjectName。
+     *
+     * @throws JRouterException 如果注册失败。
+     */
+    public ObjectName registerMBean(String name) {
+        try {
+            ObjectName objectName = objectName(name);
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+            LOG.info("Register MBean : {}", objectName);
+            return objectName;
+        } catch (JMException e) {
+            throw new JRouterException("Can't register bulkhead MBean : " + name, e);
+        }
+    }
+
+    /**
+     * 注销以指定名称注册至平台MBeanServer的MBean；未注册时忽略。
+     *
+     * @param name 名称。
+     *
+     * @throws JRouterException 如果注销失败。
+     */
+    public void unregisterMBean(String name) {
+        try {
+            ObjectName objectName = objectName(name);
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+                LOG.info("Unregister MBean : {}", objectName);
+            }
+        } catch (JMException e) {
+            throw new JRouterException("Can't unregister bulkhead MBean : " + name, e);
+        }
+    }
+
+    /**
+     * 指定名称的ObjectName。
+     */
+    private static ObjectName objectName(String name) throws JMException {
+        return new ObjectName(MetricsRegistry.JMX_DOMAIN + ":type=Bulkhead,name=" + ObjectName.quote(name));
+    }
+}
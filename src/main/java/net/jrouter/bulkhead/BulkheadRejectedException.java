@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package net.jrouter.bulkhead;
+
+import net.jrouter.JRouterException;
+
+/**
+ * Action的并发数达到限制，且未在等待时间内获取许可时拒绝调用抛出的异常。
+ *
+ * @see Bulkhead#acquire()
+ * @since 1.8.5
+ */
+public class BulkheadRejectedException extends JRouterException {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Action路径 */
+    @lombok.Getter
+    private final String path;
+
+    /** 拒绝时的并发限制 */
+    @lombok.Getter
+    private final int limit;
+
+    /**
+     * 构造拒绝调用的异常，不记录堆栈信息。
+     *
+     * @param path Action路径。
+     * @param limit 拒绝时的并发限制。
+     * @param waited 是否等待后拒绝。
+     */
+    public BulkheadRejectedException(String path, int limit, boolean waited) {
+        super("Bulkhead full [" + limit + "]" + (waited ? " after waiting" : "") + " : " + path, null, false);
+        this.path = path;
+        this.limit = limit;
+    }
+}
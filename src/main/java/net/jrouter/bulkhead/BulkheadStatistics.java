@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package net.jrouter.bulkhead;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * Action并发隔离的统计快照，不可变；不限制并发数时最大并发数及限制为0。
+ *
+ * @see Bulkhead#getStatistics()
+ * @since 1.8.5
+ */
+@lombok.Getter
+@lombok.ToString
+public final class BulkheadStatistics {
+
+    /** Action路径 */
+    private final String path;
+
+    /** 最大并发数 */
+    private final int maxConcurrency;
+
+    /** 当前的并发限制 */
+    private final int limit;
+
+    /** 并发数 */
+    private final int inFlight;
+
+    /** 并发数的峰值 */
+    private final int peakInFlight;
+
+    /** 等待许可的线程数目 */
+    private final int waiting;
+
+    /** 获取许可的次数 */
+    private final long accepted;
+
+    /** 快速拒绝的次数 */
+    private final long rejected;
+
+    /** 等待超时或被中断后拒绝的次数 */
+    private final long timeouts;
+
+    /**
+     * 构造统计快照。
+     *
+     * @param path Action路径。
+     * @param maxConcurrency 最大并发数。
+     * @param limit 当前的并发限制。
+     * @param inFlight 并发数。
+     * @param peakInFlight 并发数的峰值。
+     * @param waiting 等待许可的线程数目。
+     * @param accepted 获取许可的次数。
+     * @param rejected 快速拒绝的次数。
+     * @param timeouts 等待超时或被中断后拒绝的次数。
+     */
+    @ConstructorProperties({"path", "maxConcurrency", "limit", "inFlight", "peakInFlight", "waiting", "accepted",
+            "rejected", "timeouts"})
+    public BulkheadStatistics(String path, int maxConcurrency, int limit, int inFlight, int peakInFlight, //NOPMD ExcessiveParameterList
+                              int waiting, long accepted, long rejected, long timeouts) {
+        this.path = path;
+        this.maxConcurrency = maxConcurrency;
+        this.limit = limit;
+        this.inFlight = inFlight;
+        this.peakInFlight = peakInFlight;
+        this.waiting = waiting;
+        this.accepted = accepted;
+        this.rejected = rejected;
+        this.timeouts = timeouts;
+    }
+}
@@ -0,0 +1,21 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+/**
+ * 提供Action的并发隔离（bulkhead）：以Action代理对象为键的并发数计数、最大并发数的快速拒绝或有限等待、
+ * 基于延迟的AIMD自适应并发限制、并发隔离拦截器及JMX MXBean；避免单个慢Action耗尽线程池而影响其他Action。
+ */
+package net.jrouter.bulkhead;
@@ -27,6 +27,7 @@ import net.jrouter.NotFoundException;
 import net.jrouter.util.AntPathMatcher;
 import net.jrouter.util.MethodUtil;
 import net.jrouter.util.StringUtil;
+import net.jrouter.util.TimeCounter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -49,6 +50,14 @@ public class JavassistMethodChecker {
     /** source pattern */
     private final String sourcePattern;
 
+    /**
+     * 方法检查的次数及耗时。
+     *
+     * @since 1.8.5
+     */
+    @lombok.Getter
+    private final TimeCounter checkCounter = new TimeCounter();
+
     /** match all */
     private final List<MethodInfo> allMatch;
 
@@ -75,6 +84,19 @@ public class JavassistMethodChecker {
      * @return 是否匹配指定的模式。
      */
     public boolean check(Method method) {
+        long cpu = TimeCounter.cpuTime();
+        long start = System.nanoTime();
+        try {
+            return doCheck(method);
+        } finally {
+            checkCounter.add(System.nanoTime() - start, TimeCounter.cpuTime() - cpu);
+        }
+    }
+
+    /**
+     * 分析方法体的调用并匹配模式。
+     */
+    private boolean doCheck(Method method) {
         List<MethodInfo> bodyMethods = new ArrayList<>();
         try {
             CtMethod ctMethod = toMethod(method);
@@ -22,7 +22,9 @@ import java.util.concurrent.atomic.AtomicInteger;
 import javassist.*;
 import net.jrouter.JRouterException;
 import net.jrouter.MethodInvokerFactory;
+import net.jrouter.jfr.FlightEvents;
 import net.jrouter.util.MethodUtil;
+import net.jrouter.util.TimeCounter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -54,6 +56,17 @@ public class JavassistMethodInvokerFactory implements MethodInvokerFactory {
     /** 计数器 */
     private static final AtomicInteger COUNTER = new AtomicInteger(0x10000);
 
+    /** JFR事件 */
+    private static final FlightEvents EVENTS = FlightEvents.getInstance();
+
+    /**
+     * 调用类生成的次数及耗时。
+     *
+     * @since 1.8.5
+     */
+    @lombok.Getter
+    private final TimeCounter generationCounter = new TimeCounter();
+
     static {
         //CtClass.debugDump = System.getProperty("user.home") + "/Desktop" + "/javaDebug";
         ClassPool.getDefault().insertClassPath(new LoaderClassPath(Thread.currentThread().getContextClassLoader()));
@@ -70,8 +83,16 @@ public class JavassistMethodInvokerFactory implements MethodInvokerFactory {
             if (LOG.isDebugEnabled()) {
                 LOG.debug("Create JavassistInvoker at : {}", MethodUtil.getMethod(method));
             }
-            JavassistInvoker invoker = (JavassistInvoker) (createInvokeClass(targetClass, method).
+            Object event = EVENTS.beginClassGeneration();
+            long cpu = TimeCounter.cpuTime();
+            long start = System.nanoTime();
+            CtClass clazz = createInvokeClass(targetClass, method);
+            JavassistInvoker invoker = (JavassistInvoker) (clazz.
                     toClass(targetClass.getClassLoader(), targetClass.getProtectionDomain()).newInstance());
+            generationCounter.add(System.nanoTime() - start, TimeCounter.cpuTime() - cpu);
+            if (event != null) {
+                EVENTS.commitClassGeneration(event, clazz.getName(), MethodUtil.getMethod(method));
+            }
             return invoker;
         } catch (Exception e) {
             throw new JRouterException(e);
@@ -33,7 +33,9 @@ import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import net.jrouter.ActionFactory;
+import net.jrouter.bytecode.javassist.JavassistMethodInvokerFactory;
 import net.jrouter.config.AopAction.Type;
+import net.jrouter.impl.AbstractActionFactory;
 import net.jrouter.impl.Injector;
 import net.jrouter.impl.InterceptorProxy;
 import net.jrouter.impl.PathActionFactory;
@@ -217,6 +219,12 @@ public class Configuration implements Serializable {
     /** actions' aop */
     private List<AopAction> aopActions;
 
+    /** 加载配置文件各阶段的耗时报告 */
+    private StartupReport loadReport;
+
+    /** 最近一次构建ActionFactory的耗时报告 */
+    private StartupReport startupReport;
+
     /**
      * Constructor with initialization.
      */
@@ -236,6 +244,7 @@ public class Configuration implements Serializable {
         pathProperties = new LinkedHashMap<>();
         classScanners = new ArrayList<>();
         aopActions = new ArrayList<>();
+        loadReport = new StartupReport();
     }
 
     /**
@@ -416,8 +425,11 @@ public class Configuration implements Serializable {
      * @throws ConfigurationException 如果发生配置错误。
      */
     protected Configuration load(InputStream stream, String resourceName) throws ConfigurationException {
+        StartupReport.Timer loadTimer = loadReport.start(StartupReport.LOAD);
         try {
+            StartupReport.Timer xmlTimer = loadReport.start(StartupReport.XML);
             Document doc = DocumentLoader.loadDocument(stream);
+            xmlTimer.stop(0, 0);
             //root node : <jrouter>
             Element root = doc.getDocumentElement();
 
@@ -442,7 +454,9 @@ public class Configuration implements Serializable {
             }
 
             //parse "<component-scan>"
+            StartupReport.Timer scanTimer = loadReport.start(StartupReport.COMPONENT_SCAN);
             parseScanComponentClasses(root);
+            scanTimer.stop(0, 0);
 
             printSeparator(!list.isEmpty());
 
@@ -453,10 +467,12 @@ public class Configuration implements Serializable {
             list = getChildNodesByTagName(root, INCLUDE);
             //length = list.size();
             Map<String, String> record = new HashMap<>();
+            StartupReport.Timer includeTimer = loadReport.start(StartupReport.INCLUDE);
             for (Element e : list) {
                 //add included files, use a hash set to avoid circular reference
                 parseInclude(resourceName, e.getAttribute(FILE), record);
             }
+            includeTimer.stop(record.size(), 0);
 
             //parse "<aop-config>"
             parseAop(root);
@@ -466,6 +482,7 @@ public class Configuration implements Serializable {
         } catch (Exception e) {
             throw new ConfigurationException("Could not configure from input stream resource : " + resourceName, e);
         }
+        loadTimer.stop(0, 0);
         return this;
     }
 
@@ -518,7 +535,9 @@ public class Configuration implements Serializable {
         record.put(includeFile, from);
 
         try {
+            StartupReport.Timer xmlTimer = loadReport.start(StartupReport.XML);
             Document doc = DocumentLoader.loadDocument(stream);
+            xmlTimer.stop(0, 0);
             Element root = doc.getDocumentElement();
 
             //add properties
@@ -878,26 +897,47 @@ public class Configuration implements Serializable {
     /**
      * 由此Configuration对象中的配置属性创建一个新的ActionFactory对象。
      * 此Configuration对象中配置属性的变更不影响已生成的ActionFactory对象。
+     * 构建完成后冻结{@link AbstractActionFactory}（自1.8.5起），其返回的Action、拦截器、拦截栈及结果类型等集合为不可变映射，
+     * 修改时抛出{@code UnsupportedOperationException}；此后须由ActionFactory的添加方法（如addActions、addInterceptors）修改。
      *
      * @param <T> ActionFactory的类型。
      *
      * @return 生成的{@code ActionFactory}对象。
      *
      * @throws ConfigurationException 如果发生无效的配置。
+     * @see AbstractActionFactory#freeze()
      */
     public <T extends ActionFactory> T buildActionFactory() throws ConfigurationException {
+        StartupReport report = new StartupReport(loadReport);
+        StartupReport.Timer buildTimer = report.start(StartupReport.BUILD);
         //create ActionFactory
         ActionFactory factory = createActionFactory(actionFactoryClass, actionFactoryProperties);
         printSeparator(!actionFactoryProperties.isEmpty());
+        //javassist方法检查及调用类生成的计数器
+        TimeCounter checkCounter = null;
+        TimeCounter generationCounter = null;
+        if (factory instanceof AbstractActionFactory) {
+            AbstractActionFactory aaf = (AbstractActionFactory) factory;
+            if (aaf.getMethodChecker() != null) {
+                checkCounter = aaf.getMethodChecker().getCheckCounter();
+            }
+            if (aaf.getMethodInvokerFactory() instanceof JavassistMethodInvokerFactory) {
+                generationCounter = ((JavassistMethodInvokerFactory) aaf.getMethodInvokerFactory()).getGenerationCounter();
+            }
+        }
+        long[] checkBefore = checkCounter == null ? null : checkCounter.snapshot();
+        long[] generationBefore = generationCounter == null ? null : generationCounter.snapshot();
         try {
             //扫描类集合
             Set<Class<?>> scanComponents = new LinkedHashSet<>();
             //计算扫描类集合
             if (!classScanners.isEmpty()) {
+                StartupReport.Timer scanTimer = report.start(StartupReport.CLASS_SCAN);
                 for (ClassScanner scanner : classScanners) {
                     LOG.info("Add classes scanner : {}", scanner);
                     scanComponents.addAll(scanner.getClasses());
                 }
+                scanTimer.stop(scanComponents.size(), 0);
                 //just for debug log
                 if (LOG.isDebugEnabled()) {
                     if (!scanComponents.isEmpty()) {
@@ -924,6 +964,8 @@ public class Configuration implements Serializable {
 
                 Object newObj = null;
                 //interceptor
+                StartupReport.Timer timer = report.start(StartupReport.INTERCEPTORS);
+                int size = pathActionFactory.getInterceptors().size();
                 for (Object obj : interceptors) {
                     newObj = newInstance(factory, obj);
                     Map<String, Object> props = interceptorProperties.get(newObj.getClass());
@@ -940,11 +982,15 @@ public class Configuration implements Serializable {
                         pathActionFactory.addInterceptors(cls);
                     }
                 }
+                timer.stop(interceptors.size() + scanComponents.size() - specified.size(),
+                        pathActionFactory.getInterceptors().size() - size);
                 //clear
                 specified.clear();
                 printSeparator(!pathActionFactory.getInterceptors().isEmpty());
 
                 //interceptor-stack
+                timer = report.start(StartupReport.INTERCEPTOR_STACKS);
+                size = pathActionFactory.getInterceptorStacks().size();
                 for (Object obj : interceptorStacks) {
                     newObj = newInstance(factory, obj);
                     Map<String, Object> props = interceptorStackProperties.get(newObj.getClass());
@@ -961,11 +1007,15 @@ public class Configuration implements Serializable {
                         pathActionFactory.addInterceptorStacks(cls);
                     }
                 }
+                timer.stop(interceptorStacks.size() + scanComponents.size() - specified.size(),
+                        pathActionFactory.getInterceptorStacks().size() - size);
                 //clear
                 specified.clear();
                 printSeparator(!pathActionFactory.getInterceptorStacks().isEmpty());
 
                 //result-type
+                timer = report.start(StartupReport.RESULT_TYPES);
+                size = pathActionFactory.getResultTypes().size();
                 for (Object obj : resultTypes) {
                     newObj = newInstance(factory, obj);
                     Map<String, Object> props = resultTypeProperties.get(newObj.getClass());
@@ -982,11 +1032,15 @@ public class Configuration implements Serializable {
                         pathActionFactory.addResultTypes(cls);
                     }
                 }
+                timer.stop(resultTypes.size() + scanComponents.size() - specified.size(),
+                        pathActionFactory.getResultTypes().size() - size);
                 //clear
                 specified.clear();
                 printSeparator(!pathActionFactory.getResultTypes().isEmpty());
 
                 //result
+                timer = report.start(StartupReport.RESULTS);
+                size = pathActionFactory.getResults().size();
                 for (Object obj : results) {
                     newObj = newInstance(factory, obj);
                     Map<String, Object> props = resultProperties.get(newObj.getClass());
@@ -1003,11 +1057,15 @@ public class Configuration implements Serializable {
                         pathActionFactory.addResults(cls);
                     }
                 }
+                timer.stop(results.size() + scanComponents.size() - specified.size(),
+                        pathActionFactory.getResults().size() - size);
                 //clear
                 specified.clear();
                 printSeparator(!pathActionFactory.getResults().isEmpty());
 
                 //action
+                timer = report.start(StartupReport.ACTIONS);
+                size = pathActionFactory.getActions().size();
                 for (Object obj : actions) {
                     newObj = newInstance(factory, obj);
                     Map<String, Object> props = actionProperties.get(newObj.getClass());
@@ -1018,16 +1076,22 @@ public class Configuration implements Serializable {
                     }
 
                     //add result types
+                    long start = System.nanoTime();
                     pathActionFactory.addActions(newObj);
+                    report.addActionClass(newObj.getClass().getName(), System.nanoTime() - start);
                     specified.add(newObj.getClass());
                 }
 
                 //scan actions
                 for (Class<?> cls : scanComponents) {
                     if (!specified.contains(cls)) {
+                        long start = System.nanoTime();
                         pathActionFactory.addActions(cls);
+                        report.addActionClass(cls.getName(), System.nanoTime() - start);
                     }
                 }
+                timer.stop(actions.size() + scanComponents.size() - specified.size(),
+                        pathActionFactory.getActions().size() - size);
                 //clear
                 specified.clear();
                 printSeparator(!pathActionFactory.getActions().isEmpty());
@@ -1048,6 +1112,7 @@ public class Configuration implements Serializable {
                 //actions' aop
                 if (!aopActions.isEmpty()) {
                     LOG.info("Starting Aop Action");
+                    timer = report.start(StartupReport.AOP);
                     AntPathMatcher matcher = new AntPathMatcher(String.valueOf(pathActionFactory.getPathSeparator()));
                     //已经匹配的路径
                     Set<String> existMatchPaths = new HashSet<>();
@@ -1111,15 +1176,31 @@ public class Configuration implements Serializable {
                             }
                         }
                     }
+                    timer.stop(aopActions.size(), existMatchPaths.size());
                 }
             }
             //give subclasses a chance to prepare factory
             afterActionFactoryBuild(factory);
+            //freeze the registries for safe publication
+            if (factory instanceof AbstractActionFactory) {
+                StartupReport.Timer freezeTimer = report.start(StartupReport.FREEZE);
+                ((AbstractActionFactory) factory).freeze();
+                freezeTimer.stop(0, 0);
+            }
         } catch (ConfigurationException e) {
             throw e;
         } catch (Exception e) {
             throw new ConfigurationException(e);
         }
+        if (checkCounter != null) {
+            report.add(StartupReport.METHOD_CHECK, checkBefore, checkCounter);
+        }
+        if (generationCounter != null) {
+            report.add(StartupReport.INVOKER_GENERATION, generationBefore, generationCounter);
+        }
+        buildTimer.stop(0, 0);
+        startupReport = report;
+        LOG.info("{}", report);
         return (T) factory;
     }
 
@@ -1179,6 +1260,18 @@ public class Configuration implements Serializable {
     protected void afterActionFactoryBuild(ActionFactory factory) {
     }
 
+    /**
+     * 返回最近一次构建ActionFactory的耗时报告，包含配置文件的加载；未构建时返回仅包含配置文件加载的报告。
+     *
+     * @return 耗时报告。
+     *
+     * @see #buildActionFactory()
+     * @since 1.8.5
+     */
+    public StartupReport getStartupReport() {
+        return startupReport == null ? new StartupReport(loadReport) : startupReport;
+    }
+
     /**
      * 返回ActionFactory。
      *
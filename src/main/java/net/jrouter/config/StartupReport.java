@@ -0,0 +1,346 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package net.jrouter.config;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import net.jrouter.util.TimeCounter;
+
+/**
+ * 配置加载及{@code ActionFactory}构建各阶段的耗时报告：各阶段的耗时、当前线程CPU时间、处理的类及方法数目，
+ * 以及各Action类的加载耗时。
+ * <p>
+ * 阶段之间存在包含关系：{@link #LOAD}包含{@link #XML}、{@link #INCLUDE}及{@link #COMPONENT_SCAN}的解析；
+ * {@link #BUILD}包含其余阶段（包括由组件扫描的配置扫描类的{@link #CLASS_SCAN}），{@link #METHOD_CHECK}、{@link #INVOKER_GENERATION}计入拦截器、结果类型及Action的加载阶段。
+ * </p>
+ *
+ * @see Configuration#getStartupReport()
+ * @since 1.8.5
+ */
+public class StartupReport implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** 加载配置文件 */
+    public static final String LOAD = "load";
+
+    /** 解析xml文档 */
+    public static final String XML = "xml";
+
+    /** 解析包含的配置文件 */
+    public static final String INCLUDE = "include";
+
+    /** 解析组件扫描的配置 */
+    public static final String COMPONENT_SCAN = "component-scan";
+
+    /** 由组件扫描的配置扫描类 */
+    public static final String CLASS_SCAN = "class-scan";
+
+    /** 构建ActionFactory */
+    public static final String BUILD = "build";
+
+    /** 加载拦截器 */
+    public static final String INTERCEPTORS = "interceptors";
+
+    /** 加载拦截栈 */
+    public static final String INTERCEPTOR_STACKS = "interceptor-stacks";
+
+    /** 加载结果类型 */
+    public static final String RESULT_TYPES = "result-types";
+
+    /** 加载全局结果对象 */
+    public static final String RESULTS = "results";
+
+    /** 加载Action */
+    public static final String ACTIONS = "actions";
+
+    /** javassist方法检查 */
+    public static final String METHOD_CHECK = "method-check";
+
+    /** javassist调用类生成 */
+    public static final String INVOKER_GENERATION = "invoker-generation";
+
+    /** Action的aop */
+    public static final String AOP = "aop";
+
+    /** 冻结ActionFactory */
+    public static final String FREEZE = "freeze";
+
+    /** 阶段名称与阶段的映射 */
+    private final Map<String, Phase> phases;
+
+    /** Action类名称与其加载耗时（纳秒）的映射 */
+    private final Map<String, Long> actionClassNanos;
+
+    /**
+     * 构造一个空的耗时报告。
+     */
+    public StartupReport() {
+        this.phases = new LinkedHashMap<>();
+        this.actionClassNanos = new LinkedHashMap<>();
+    }
+
+    /**
+     * 构造一个包含指定报告所有阶段的耗时报告。
+     *
+     * @param report 指定的耗时报告。
+     */
+    public StartupReport(StartupReport report) {
+        this();
+        for (Phase phase : report.phases.values()) {
+            add(phase.name, phase.wallNanos, phase.cpuNanos, phase.classes, phase.methods);
+        }
+        actionClassNanos.putAll(report.actionClassNanos);
+    }
+
+    /**
+     * 开始一个阶段的计时。
+     *
+     * @param name 阶段名称。
+     *
+     * @return 计时器。
+     */
+    Timer start(String name) {
+        //按开始顺序排列
+        add(name, 0, 0, 0, 0);
+        return new Timer(name);
+    }
+
+    /**
+     * 累加阶段的耗时及数目；同名阶段多次累加。
+     *
+     * @param name 阶段名称。
+     * @param wallNanos 耗时（纳秒）。
+     * @param cpuNanos CPU时间（纳秒）。
+     * @param classes 处理的类数目。
+     * @param methods 处理的方法数目。
+     */
+    void add(String name, long wallNanos, long cpuNanos, int classes, int methods) {
+        Phase phase = phases.get(name);
+        if (phase == null) {
+            phase = new Phase(name);
+            phases.put(name, phase);
+        }
+        phase.wallNanos += wallNanos;
+        phase.cpuNanos += cpuNanos;
+        phase.classes += classes;
+        phase.methods += methods;
+    }
+
+    /**
+     * 累加计数器在两次快照间的增量。
+     *
+     * @param name 阶段名称。
+     * @param before 之前的快照。
+     * @param counter 计数器。
+     *
+     * @see TimeCounter#snapshot()
+     */
+    void add(String name, long[] before, TimeCounter counter) {
+        long[] after = counter.snapshot();
+        add(name, after[1] - before[1], after[2] - before[2], 0, (int) (after[0] - before[0]));
+    }
+
+    /**
+     * 记录Action类的加载耗时。
+     *
+     * @param className Action类名称。
+     * @param wallNanos 耗时（纳秒）。
+     */
+    void addActionClass(String className, long wallNanos) {
+        Long exist = actionClassNanos.get(className);
+        actionClassNanos.put(className, exist == null ? wallNanos : exist + wallNanos);
+    }
+
+    /**
+     * 返回指定名称的阶段。
+     *
+     * @param name 阶段名称。
+     *
+     * @return 阶段，不存在时返回 null。
+     */
+    public Phase getPhase(String name) {
+        return phases.get(name);
+    }
+
+    /**
+     * 按开始顺序返回所有阶段。
+     *
+     * @return 所有阶段。
+     */
+    public Collection<Phase> getPhases() {
+        return Collections.unmodifiableCollection(phases.values());
+    }
+
+    /**
+     * 返回各Action类的加载耗时（纳秒），包括方法检查及调用类生成。
+     *
+     * @return Action类名称与其加载耗时的映射。
+     */
+    public Map<String, Long> getActionClassNanos() {
+        return Collections.unmodifiableMap(actionClassNanos);
+    }
+
+    /**
+     * 返回加载耗时最长的Action类。
+     *
+     * @param top 返回的最大数目。
+     *
+     * @return 按耗时降序排列的Action类名称与其加载耗时。
+     */
+    public List<Map.Entry<String, Long>> getSlowestActionClasses(int top) {
+        List<Map.Entry<String, Long>> list = new ArrayList<>(actionClassNanos.entrySet());
+        Collections.sort(list, new Comparator<Map.Entry<String, Long>>() {
+
+            @Override
+            public int compare(Map.Entry<String, Long> o1, Map.Entry<String, Long> o2) {
+                return o2.getValue().compareTo(o1.getValue());
+            }
+        });
+        return list.size() > top ? list.subList(0, top) : list;
+    }
+
+    /**
+     * 返回多行的摘要：各阶段的耗时、CPU时间、类及方法数目，以及加载耗时最长的Action类。
+     *
+     * @param top 列出的Action类的最大数目。
+     *
+     * @return 摘要。
+     */
+    public String summary(int top) {
+        StringBuilder msg = new StringBuilder("Startup report :");
+        for (Phase phase : phases.values()) {
+            msg.append(String.format(Locale.ROOT, "%n  %-20s wall %10.3f ms, cpu %10.3f ms, classes %6d, methods %6d",
+                    phase.name, phase.getWallMillis(), phase.getCpuMillis(), phase.classes, phase.methods));
+        }
+        List<Map.Entry<String, Long>> slowest = getSlowestActionClasses(top);
+        if (!slowest.isEmpty()) {
+            msg.append(String.format(Locale.ROOT, "%n  slowest action classes :"));
+            for (Map.Entry<String, Long> e : slowest) {
+                msg.append(String.format(Locale.ROOT, "%n    %10.3f ms  %s", e.getValue() / 1e6, e.getKey()));
+            }
+        }
+        return msg.toString();
+    }
+
+    @Override
+    public String toString() {
+        return summary(10);
+    }
+
+    /**
+     * 阶段的耗时、CPU时间及处理的类、方法数目。
+     */
+    @lombok.Getter
+    public static final class Phase implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        /** 阶段名称 */
+        private final String name;
+
+        /** 耗时（纳秒） */
+        private long wallNanos;
+
+        /** 当前线程的CPU时间（纳秒） */
+        private long cpuNanos;
+
+        /** 处理的类数目 */
+        private int classes;
+
+        /** 处理的方法数目 */
+        private int methods;
+
+        /**
+         * 构造指定名称的阶段。
+         *
+         * @param name 阶段名称。
+         */
+        Phase(String name) {
+            this.name = name;
+        }
+
+        /**
+         * 返回耗时（毫秒）。
+         *
+         * @return 耗时（毫秒）。
+         */
+        public double getWallMillis() {
+            return wallNanos / 1e6;
+        }
+
+        /**
+         * 返回CPU时间（毫秒）。
+         *
+         * @return CPU时间（毫秒）。
+         */
+        public double getCpuMillis() {
+            return cpuNanos / 1e6;
+        }
+
+        @Override
+        public String toString() {
+            return name + "{wallNanos=" + wallNanos + ", cpuNanos=" + cpuNanos
+                    + ", classes=" + classes + ", methods=" + methods + '}';
+        }
+    }
+
+    /**
+     * 阶段的计时器。
+     */
+    final class Timer {
+
+        /** 阶段名称 */
+        private final String name;
+
+        /** 开始的CPU时间 */
+        private final long cpu;
+
+        /** 开始时间 */
+        private final long start;
+
+        /**
+         * 开始计时。
+         */
+        private Timer(String name) {
+            this.name = name;
+            this.cpu = TimeCounter.cpuTime();
+            this.start = System.nanoTime();
+        }
+
+        /**
+         * 结束计时并累加至阶段。
+         *
+         * @param classes 处理的类数目。
+         * @param methods 处理的方法数目。
+         *
+         * @return 耗时（纳秒）。
+         */
+        long stop(int classes, int methods) {
+            long wall = System.nanoTime() - start;
+            add(name, wall, TimeCounter.cpuTime() - cpu, classes, methods);
+            return wall;
+        }
+    }
+}
@@ -26,6 +26,7 @@ import net.jrouter.annotation.*;
 import net.jrouter.bytecode.javassist.JavassistMethodChecker;
 import net.jrouter.bytecode.javassist.JavassistMethodInvokerFactory;
 import net.jrouter.util.ClassUtil;
+import net.jrouter.util.FrozenMap;
 import net.jrouter.util.MethodUtil;
 import net.jrouter.util.StringUtil;
 import org.slf4j.Logger;
@@ -89,31 +90,49 @@ public abstract class AbstractActionFactory<P> implements ActionFactory<P> {
      */
     @lombok.Getter
     private final ActionFilter actionFilter;
+
+    /**
+     * 是否不记录调用错误、路径不存在等控制流程异常的堆栈信息，默认记录。
+     * 不记录堆栈信息时，方法调用抛出的JRouterException及其子类异常不再封装为InvocationProxyException。
+     *
+     * @since 1.8.5
+     */
+    @lombok.Getter
+    private final boolean stacklessException;
 ////////////////////////////////////////////////////////////////////////////////////////////////////
 
     /**
      * 拦截器。
      */
     @lombok.Getter
-    private final Map<String, InterceptorProxy> interceptors;
+    private volatile Map<String, InterceptorProxy> interceptors;
 
     /**
      * 拦截栈。
      */
     @lombok.Getter
-    private final Map<String, InterceptorStackProxy> interceptorStacks;
+    private volatile Map<String, InterceptorStackProxy> interceptorStacks;
 
     /**
      * 结果类型。
      */
     @lombok.Getter
-    private final Map<String, ResultTypeProxy> resultTypes;
+    private volatile Map<String, ResultTypeProxy> resultTypes;
 
     /**
      * 默认的全局结果对象集合。
      */
     @lombok.Getter
-    private final Map<String, ResultProxy> results;
+    private volatile Map<String, ResultProxy> results;
+
+    /**
+     * 是否已冻结。冻结后拦截器、拦截栈、结果类型及全局结果对象的集合为不可变映射，此后的添加以复制后整体替换的方式进行。
+     *
+     * @see #freeze()
+     * @since 1.8.5
+     */
+    @lombok.Getter
+    private volatile boolean frozen = false;
 
     /**
      * 根据指定的{@code Properties}初始化{@code ActionFactory}对象。
@@ -128,6 +147,7 @@ public abstract class AbstractActionFactory<P> implements ActionFactory<P> {
         this.actionFilter = prop.actionFilter;
         this.methodInvokerFactory = prop.methodInvokerFactory;
         this.methodChecker = prop.methodChecker;
+        this.stacklessException = prop.stacklessException;
         //initiate
         this.interceptors = new HashMap<>();
         this.interceptorStacks = new LinkedHashMap<>();
@@ -167,11 +187,55 @@ public abstract class AbstractActionFactory<P> implements ActionFactory<P> {
     }
 
     @Override
-    public void clear() {
-        interceptorStacks.clear();
-        interceptors.clear();
-        resultTypes.clear();
-        results.clear();
+    public synchronized void clear() {
+        if (frozen) {
+            interceptors = new HashMap<>();
+            interceptorStacks = new LinkedHashMap<>();
+            resultTypes = new HashMap<>();
+            results = new HashMap<>();
+            frozen = false;
+        } else {
+            interceptorStacks.clear();
+            interceptors.clear();
+            resultTypes.clear();
+            results.clear();
+        }
+    }
+
+    /**
+     * 冻结ActionFactory，将拦截器、拦截栈、结果类型及全局结果对象的集合转换为紧凑的不可变映射并安全发布。
+     * 冻结后仍可添加，以复制后整体替换的方式进行，不影响并发的读取。
+     *
+     * @see net.jrouter.config.Configuration#buildActionFactory()
+     * @since 1.8.5
+     */
+    public synchronized void freeze() {
+        interceptors = FrozenMap.copyOf(interceptors);
+        interceptorStacks = FrozenMap.copyOf(interceptorStacks);
+        resultTypes = FrozenMap.copyOf(resultTypes);
+        results = FrozenMap.copyOf(results);
+        frozen = true;
+        LOG.info("Freeze JRouter ActionFactory : {}", this);
+    }
+
+    /**
+     * 添加键值至映射；已冻结时复制映射添加后返回新的不可变映射。
+     *
+     * @param <V> 值的类型。
+     * @param map 映射。
+     * @param key 键。
+     * @param value 值。
+     *
+     * @return 添加后的映射。
+     */
+    private <V> Map<String, V> put(Map<String, V> map, String key, V value) {
+        if (frozen) {
+            Map<String, V> copy = new LinkedHashMap<>(map);
+            copy.put(key, value);
+            return FrozenMap.copyOf(copy);
+        }
+        map.put(key, value);
+        return map;
     }
 ////////////////////////////////////////////////////////////////////////////////////////////////////
 
@@ -180,7 +244,7 @@ public abstract class AbstractActionFactory<P> implements ActionFactory<P> {
      *
      * @param ip 拦截器代理对象。
      */
-    public void addInterceptor(InterceptorProxy ip) {
+    public synchronized void addInterceptor(InterceptorProxy ip) {
         String name = ip.getName();
 
         if (StringUtil.isBlank(name)) {
@@ -193,7 +257,7 @@ public abstract class AbstractActionFactory<P> implements ActionFactory<P> {
         } else if (LOG.isInfoEnabled()) {
             LOG.info("Add Interceptor [{}] at : {} ", name, ip.getMethodInfo());
         }
-        interceptors.put(name, ip);
+        interceptors = put(interceptors, name, ip);
     }
 
     /**
@@ -242,7 +306,7 @@ public abstract class AbstractActionFactory<P> implements ActionFactory<P> {
      *
      * @param isp 拦截栈代理对象。
      */
-    public void addInterceptorStack(InterceptorStackProxy isp) {
+    public synchronized void addInterceptorStack(InterceptorStackProxy isp) {
         String name = isp.getName();
         if (StringUtil.isBlank(name)) {
             throw new IllegalArgumentException("Null name of InterceptorStack : " + isp.getFieldName());
@@ -254,7 +318,7 @@ public abstract class AbstractActionFactory<P> implements ActionFactory<P> {
         } else if (LOG.isInfoEnabled()) {
             LOG.info("Add InterceptorStack [{}] : {}", name, isp.toString());
         }
-        interceptorStacks.put(name, isp);
+        interceptorStacks = put(interceptorStacks, name, isp);
     }
 
     /**
@@ -317,7 +381,7 @@ public abstract class AbstractActionFactory<P> implements ActionFactory<P> {
      *
      * @param rtp 结果类型的代理对象。
      */
-    public void addResultType(ResultTypeProxy rtp) {
+    public synchronized void addResultType(ResultTypeProxy rtp) {
         String type = rtp.getType();
         if (StringUtil.isBlank(type)) {
             throw new IllegalArgumentException("Null type of ResultType : " + rtp.getMethodInfo());
@@ -329,7 +393,7 @@ public abstract class AbstractActionFactory<P> implements ActionFactory<P> {
         } else if (LOG.isInfoEnabled()) {
             LOG.info("Add ResultType [{}] at : {}", type, rtp.getMethodInfo());
         }
-        resultTypes.put(type, rtp);
+        resultTypes = put(resultTypes, type, rtp);
     }
 
     /**
@@ -378,7 +442,7 @@ public abstract class AbstractActionFactory<P> implements ActionFactory<P> {
      *
      * @param rp 结果对象的代理对象。
      */
-    public void addResult(ResultProxy rp) {
+    public synchronized void addResult(ResultProxy rp) {
         String name = rp.getResult().name();
         if (StringUtil.isBlank(name)) {
             throw new IllegalArgumentException("Null name of Result : " + rp.getMethodInfo());
@@ -390,7 +454,7 @@ public abstract class AbstractActionFactory<P> implements ActionFactory<P> {
         } else if (LOG.isInfoEnabled()) {
             LOG.info("Add Result [{}] : {}", name, rp.getMethodInfo());
         }
-        results.put(name, rp);
+        results = put(results, name, rp);
     }
 
     /**
@@ -564,6 +628,11 @@ public abstract class AbstractActionFactory<P> implements ActionFactory<P> {
         @lombok.NonNull
         private ActionFilter actionFilter;
 
+        /**
+         * @see AbstractActionFactory#stacklessException
+         */
+        private boolean stacklessException = false;
+
         /**
          * Empty Constructor.
          */
@@ -639,6 +708,9 @@ public abstract class AbstractActionFactory<P> implements ActionFactory<P> {
                 } else if ("actionFilter".equalsIgnoreCase(name)) {
                     actionFilter = loadComponent(ActionFilter.class, val);
                     LOG.info("Set actionFilter : {}", this.actionFilter);
+                } else if ("stacklessException".equalsIgnoreCase(name)) {
+                    stacklessException = Boolean.parseBoolean(strValue);
+                    LOG.info("Set stacklessException : {}", this.stacklessException);
                 }
             }
             return this;
@@ -22,6 +22,7 @@ import java.lang.reflect.Method;
 import net.jrouter.AbstractProxy;
 import net.jrouter.ActionFactory;
 import net.jrouter.Invoker;
+import net.jrouter.JRouterException;
 import net.jrouter.util.MethodUtil;
 
 /**
@@ -32,6 +33,9 @@ public class DefaultProxy extends AbstractProxy {
     /** 底层方法的调用对象 */
     private Invoker invoker;
 
+    /** 调用错误时是否不记录异常的堆栈信息 */
+    private final boolean stacklessException;
+
     /**
      * 指定方法及其对象的构造方法。
      *
@@ -41,6 +45,8 @@ public class DefaultProxy extends AbstractProxy {
      */
     public DefaultProxy(Method method, Object object, ActionFactory actionFactory) {
         super(method, object);
+        this.stacklessException = actionFactory instanceof AbstractActionFactory
+                && ((AbstractActionFactory) actionFactory).isStacklessException();
         if (actionFactory != null && actionFactory.getMethodInvokerFactory() != null) {
             Class<?> targetClass = ((object == null || actionFactory.getObjectFactory() == null)
                     ? method.getDeclaringClass() : actionFactory.getObjectFactory().getClass(object));
@@ -66,13 +72,31 @@ public class DefaultProxy extends AbstractProxy {
         try {
             return invoker == null ? method.invoke(obj, params) : invoker.invoke(method, obj, params);
         } catch (IllegalAccessException e) {
-            throw new InvocationProxyException(e, this);
+            throw invocationException(e);
         } catch (InvocationTargetException e) {
-            throw new InvocationProxyException(e.getTargetException(), this);//NOPMD PreserveStackTrace
+            throw invocationException(e.getTargetException());//NOPMD PreserveStackTrace
         } //convert Exception to InvocationProxyException
         catch (Exception e) { //NOPMD IdenticalCatchBranches
-            throw new InvocationProxyException(e, this);
+            throw invocationException(e);
+        }
+    }
+
+    /**
+     * 封装方法调用时的异常。
+     * 不记录异常的堆栈信息时，JRouterException及其子类异常直接抛出，其他异常封装为不含堆栈信息的InvocationProxyException。
+     *
+     * @param cause 方法调用时的异常。
+     *
+     * @return 封装后的异常。
+     *
+     * @see AbstractActionFactory#isStacklessException()
+     */
+    private JRouterException invocationException(Throwable cause) {
+        if (stacklessException) {
+            return cause instanceof JRouterException
+                    ? (JRouterException) cause : new InvocationProxyException(cause, this, false);
         }
+        return new InvocationProxyException(cause, this);
     }
 
     /**
@@ -55,6 +55,20 @@ public class InvocationProxyException extends JRouterException {
         this.target = target;
     }
 
+    /**
+     * 构造一个包含指定原因和异常发生对象的InvocationException，并指定是否记录堆栈信息。
+     *
+     * @param cause 异常原因。
+     * @param target 异常发生的对象。
+     * @param writableStackTrace 是否记录堆栈信息。
+     *
+     * @see #getSource()
+     */
+    InvocationProxyException(Throwable cause, Object target, boolean writableStackTrace) {
+        super(cause == null ? null : cause.toString(), cause, writableStackTrace);
+        this.target = target;
+    }
+
     /**
      * 返回首个非InvocationException类型的cause。
      *
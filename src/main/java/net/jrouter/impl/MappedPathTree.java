@@ -0,0 +1,491 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package net.jrouter.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * 内存映射文件中编译的树结构路径索引，只读。
+ * 树结构的节点、子节点表及字符串常量池以扁平的二进制格式存储于堆外，叶子节点映射至路径索引，
+ * 由路径索引在值数组中获取相关联的值；匹配规则与{@link PathTree}一致。
+ * <p>
+ * 文件格式（大端序，偏移量均为文件内的绝对偏移量）：
+ * </p>
+ * <pre>
+ * 文件头：MAGIC、VERSION、路径分隔符、路径数目、根节点偏移量、路径表偏移量、匹配键名表偏移量、类型约束表偏移量
+ * 字符串：长度、UTF-16字符
+ * 节点：代码、类型约束数目、路径索引（无值为-1）、类型约束（无约束为-1）、'*'子节点、'**'子节点、
+ *      确切路径子节点数目及（子路径字符串、子节点）按子路径排序、类型约束子节点数目及子节点；
+ *      包含值的节点附加：尾匹配索引、匹配键数目及（键名、路径索引）、数值类型约束数目及（路径索引、类型约束）
+ * 路径表/匹配键名表/类型约束表：数目、字符串偏移量
+ * </pre>
+ * 查找时仅以绝对位置读取缓冲区，可被多个线程同时读取。
+ *
+ * @param <V> 与路径相关联值的类型。
+ *
+ * @see PathTree#compile(File, java.util.List)
+ * @since 1.8.5
+ */
+final class MappedPathTree<V> {
+
+    /** 文件标识 */
+    static final int MAGIC = 0x4A525449;
+
+    /** 文件格式版本 */
+    static final int VERSION = 1;
+
+    /** 文件头的长度 */
+    static final int HEADER_SIZE = 32;
+
+    /** 节点中确切路径子节点表的相对偏移量 */
+    static final int NODE_LITERALS = 24;
+
+    /** 空值 */
+    static final int NONE = -1;
+
+    /** 映射的缓冲区 */
+    private final ByteBuffer buffer;
+
+    /** 路径分隔符 */
+    private final char pathSeparator;
+
+    /** 根节点偏移量 */
+    private final int root;
+
+    /** 路径数目 */
+    private final int size;
+
+    /** 路径表偏移量 */
+    private final int routes;
+
+    /** 匹配键名 */
+    private final String[] matchKeys;
+
+    /** 类型约束 */
+    private final PathTree.IndexKey[] constraints;
+
+    /** 路径索引对应的值 */
+    private final Object[] values;
+
+    /** entrySet视图，延迟创建 */
+    private Set<Map.Entry<String, V>> entrySet;
+
+    /**
+     * 由缓冲区及值数组构造索引。
+     *
+     * @param buffer 索引文件的缓冲区。
+     * @param values 路径索引对应的值。
+     *
+     * @throws IOException 如果索引文件的格式错误或与值数组不一致。
+     */
+    MappedPathTree(ByteBuffer buffer, Object[] values) throws IOException {
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a path index file");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported path index version : " + buffer.getInt(4));
+        }
+        this.buffer = buffer;
+        this.pathSeparator = (char) buffer.getInt(8);
+        this.size = buffer.getInt(12);
+        this.root = buffer.getInt(16);
+        this.routes = buffer.getInt(20);
+        if (size != values.length) {
+            throw new IOException("Path index contains " + size + " paths, but " + values.length + " values");
+        }
+        this.values = values;
+        int keys = buffer.getInt(24);
+        this.matchKeys = new String[buffer.getInt(keys)];
+        for (int i = 0; i < matchKeys.length; i++) {
+            matchKeys[i] = string(buffer.getInt(keys + 4 + (i << 2)));
+        }
+        int cons = buffer.getInt(28);
+        this.constraints = new PathTree.IndexKey[buffer.getInt(cons)];
+        for (int i = 0; i < constraints.length; i++) {
+            constraints[i] = new PathTree.IndexKey((byte) 0, string(buffer.getInt(cons + 4 + (i << 2))));
+        }
+    }
+
+    /**
+     * 以只读方式映射索引文件。
+     *
+     * @param <V> 与路径相关联值的类型。
+     * @param file 索引文件。
+     * @param values 路径索引对应的值。
+     *
+     * @return 索引文件的树结构路径。
+     *
+     * @throws IOException 如果读取文件错误或索引文件的格式错误。
+     */
+    static <V> MappedPathTree<V> open(File file, Object[] values) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+                FileChannel channel = raf.getChannel()) {
+            //映射在通道关闭后仍然有效
+            return new MappedPathTree<>(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), values);
+        }
+    }
+
+    /**
+     * 获取路径分隔符。
+     *
+     * @return 路径分隔符。
+     */
+    char getPathSeparator() {
+        return pathSeparator;
+    }
+
+    /**
+     * 获取路径数目。
+     *
+     * @return 路径数目。
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * 获取指定路径相关联的值，并填充匹配的键值；如果不包含该路径的关联关系，则返回 null。
+     *
+     * @param fullPath 指定路径的名称。
+     * @param matchParameters 路径中匹配的键值映射，可为 null。
+     *
+     * @return 指定路径相关联的值；如果不包含该路径的关联关系，则返回 null。
+     *
+     * @see PathTree#get(String, Map)
+     */
+    V get(String fullPath, Map<String, String> matchParameters) {
+        PathTree.Match<V> match = match(fullPath);
+        if (match == null) {
+            return null;
+        }
+        if (matchParameters != null) {
+            matchParameters.putAll(match.parameters);
+        }
+        return match.value;
+    }
+
+    /**
+     * 获取指定路径相关联的值及其不可变的匹配参数映射；如果不包含该路径的关联关系，则返回 null。
+     *
+     * @param fullPath 指定路径的字符序列。
+     *
+     * @return 指定路径相关联的值及匹配参数；如果不包含该路径的关联关系，则返回 null。
+     *
+     * @see PathTree#match(CharSequence)
+     */
+    PathTree.Match<V> match(CharSequence fullPath) {
+        return match(fullPath, null);
+    }
+
+    /**
+     * 获取指定路径相关联的值及匹配参数，并由探针记录各级候选节点的数目及最终匹配节点的代码；
+     * 索引文件不存储节点的路径，详细模式的探针不记录各级候选节点的路径及代码。
+     *
+     * @param fullPath 指定路径的字符序列。
+     * @param probe 探针，可为 null。
+     *
+     * @return 指定路径相关联的值及匹配参数；如果不包含该路径的关联关系，则返回 null。
+     *
+     * @see PathTree#match(CharSequence, PathTree.Probe)
+     */
+    PathTree.Match<V> match(CharSequence fullPath, PathTree.Probe probe) {
+        //root path
+        if (fullPath.length() == 1 && fullPath.charAt(0) == pathSeparator) {
+            int route = buffer.getInt(root + 8);
+            if (route == NONE) {
+                return null;
+            }
+            if (probe != null) {
+                probe.matched(buffer.getInt(root));
+            }
+            return new PathTree.Match<>((V) values[route], MatchParameters.EMPTY);
+        }
+        int[] segments = PathTree.parseSegments(fullPath, pathSeparator);
+        int node = find(fullPath, segments, probe);
+        if (node == NONE) {
+            return null;
+        }
+        if (probe != null) {
+            probe.matched(buffer.getInt(node));
+        }
+        V value = (V) values[buffer.getInt(node + 8)];
+        int p = leaf(node);
+        int tailIndex = buffer.getInt(p);
+        int count = buffer.getInt(p + 4);
+        if (count == 0) {
+            return new PathTree.Match<>(value, MatchParameters.EMPTY);
+        }
+        String[] keys = new String[count];
+        String[] vs = new String[count];
+        p += 8;
+        for (int i = 0; i < count; i++, p += 8) {
+            keys[i] = matchKeys[buffer.getInt(p)];
+            vs[i] = value(fullPath, segments, buffer.getInt(p + 4), tailIndex);
+        }
+        int variables = buffer.getInt(p);
+        Object[] pathVariables = null;
+        if (variables > 0) {
+            pathVariables = new Object[variables];
+            p += 4;
+            for (int i = 0; i < variables; i++, p += 8) {
+                int index = buffer.getInt(p);
+                pathVariables[i] = constraints[buffer.getInt(p + 4)].convert(segment(fullPath, segments, index));
+            }
+        }
+        return new PathTree.Match<>(value, new MatchParameters(keys, vs, pathVariables));
+    }
+
+    /**
+     * 查找全路径最匹配的叶子节点。
+     *
+     * @see PathTree#find(CharSequence, int[], PathTree.Probe)
+     */
+    private int find(CharSequence fullPath, int[] segments, PathTree.Probe probe) {
+        int len = segments.length >> 1;
+        if (len == 0) {
+            return NONE;
+        }
+        PathKey path = new PathKey(fullPath, 0, 0);
+        IntList current = new IntList();
+        IntList next = new IntList();
+        int tailMatcher = NONE;
+        current.add(root);
+        for (int i = 0; i < len; i++) {
+            boolean leaf = i == len - 1;
+            path.reset(segments[i << 1], segments[(i << 1) + 1]);
+            int tail = NONE;
+            for (int j = 0; j < current.size; j++) {
+                int tn = current.items[j];
+                matchChildren(tn, path, next, leaf);
+                int t = buffer.getInt(tn + 20);
+                if (t != NONE && buffer.getInt(t + 8) != NONE) {
+                    tail = better(tail, t);
+                }
+            }
+            if (tail != NONE) {
+                tailMatcher = tail;
+            }
+            if (probe != null) {
+                probe.level(next.size + (tail == NONE ? 0 : 1));
+            }
+            if (next.size == 0) {
+                return tailMatcher;
+            }
+            IntList temp = current;
+            current = next;
+            next = temp;
+            next.size = 0;
+        }
+        int finalMatcher = NONE;
+        for (int j = 0; j < current.size; j++) {
+            finalMatcher = better(finalMatcher, current.items[j]);
+        }
+        return finalMatcher;
+    }
+
+    /**
+     * 添加匹配指定路径的子节点，包括确切路径、'*'及满足类型约束的子节点。
+     */
+    private void matchChildren(int node, PathKey path, IntList matches, boolean leaf) {
+        //literal
+        int count = buffer.getInt(node + NODE_LITERALS);
+        int base = node + NODE_LITERALS + 4;
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int c = compare(buffer.getInt(base + (mid << 3)), path);
+            if (c < 0) {
+                low = mid + 1;
+            } else if (c > 0) {
+                high = mid - 1;
+            } else {
+                int child = buffer.getInt(base + (mid << 3) + 4);
+                if (!leaf || buffer.getInt(child + 8) != NONE) {
+                    matches.add(child);
+                }
+                break;
+            }
+        }
+        //'*'
+        int child = buffer.getInt(node + 16);
+        if (child != NONE && (!leaf || buffer.getInt(child + 8) != NONE)) {
+            matches.add(child);
+        }
+        //constrained
+        int p = base + (count << 3);
+        count = buffer.getInt(p);
+        for (int i = 0; i < count; i++) {
+            child = buffer.getInt(p + 4 + (i << 2));
+            if ((!leaf || buffer.getInt(child + 8) != NONE) && constraints[buffer.getInt(child + 12)].matches(path)) {
+                matches.add(child);
+            }
+        }
+    }
+
+    /**
+     * 比较两个节点，返回代码大的节点；相同代码的节点，返回包含类型约束多的节点；均相同时返回原节点。
+     */
+    private int better(int matcher, int node) {
+        if (matcher == NONE) {
+            return node;
+        }
+        int code = buffer.getInt(node);
+        int matcherCode = buffer.getInt(matcher);
+        if (code > matcherCode || (code == matcherCode && buffer.getInt(node + 4) > buffer.getInt(matcher + 4))) {
+            return node;
+        }
+        return matcher;
+    }
+
+    /**
+     * 包含值的节点的附加信息偏移量。
+     */
+    private int leaf(int node) {
+        int p = node + NODE_LITERALS;
+        p += 4 + (buffer.getInt(p) << 3);
+        return p + 4 + (buffer.getInt(p) << 2);
+    }
+
+    /**
+     * 按字符的字典顺序比较字符串常量与字符序列。
+     */
+    private int compare(int string, CharSequence cs) {
+        int len1 = buffer.getInt(string);
+        int len2 = cs.length();
+        int len = Math.min(len1, len2);
+        int p = string + 4;
+        for (int i = 0; i < len; i++, p += 2) {
+            char c1 = buffer.getChar(p);
+            char c2 = cs.charAt(i);
+            if (c1 != c2) {
+                return c1 - c2;
+            }
+        }
+        return len1 - len2;
+    }
+
+    /**
+     * 读取字符串常量。
+     */
+    private String string(int offset) {
+        char[] chars = new char[buffer.getInt(offset)];
+        int p = offset + 4;
+        for (int i = 0; i < chars.length; i++, p += 2) {
+            chars[i] = buffer.getChar(p);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * 创建路径中指定索引的子路径字符串。
+     */
+    private static String segment(CharSequence fullPath, int[] segments, int index) {
+        return fullPath.subSequence(segments[index << 1], segments[(index << 1) + 1]).toString();
+    }
+
+    /**
+     * 创建指定索引的匹配参数值；尾匹配的索引为自该子路径起的剩余路径。
+     */
+    private static String value(CharSequence fullPath, int[] segments, int index, int tailIndex) {
+        if (index == tailIndex) {
+            return fullPath.subSequence(segments[index << 1], segments[segments.length - 1]).toString();
+        }
+        return segment(fullPath, segments, index);
+    }
+
+    /**
+     * 返回按路径索引排列的路径与其相关联值的视图，路径由索引文件读取。
+     *
+     * @return 路径与其相关联值的视图。
+     */
+    Set<Map.Entry<String, V>> entrySet() {
+        Set<Map.Entry<String, V>> es = entrySet;
+        if (es == null) {
+            es = new AbstractSet<Map.Entry<String, V>>() {
+
+                @Override
+                public Iterator<Map.Entry<String, V>> iterator() {
+                    return new Iterator<Map.Entry<String, V>>() {
+
+                        private int cursor = 0;
+
+                        @Override
+                        public boolean hasNext() {
+                            return cursor < size;
+                        }
+
+                        @Override
+                        public Map.Entry<String, V> next() {
+                            if (cursor >= size) {
+                                throw new NoSuchElementException();
+                            }
+                            int i = cursor++;
+                            return new AbstractMap.SimpleImmutableEntry<>(string(buffer.getInt(routes + 4 + (i << 2))),
+                                    (V) values[i]);
+                        }
+
+                        @Override
+                        public void remove() {
+                            throw new UnsupportedOperationException();
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+            entrySet = es;
+        }
+        return es;
+    }
+
+    /**
+     * 可增长的int数组。
+     */
+    private static final class IntList {
+
+        /** 元素数组 */
+        private int[] items = new int[4];
+
+        /** 元素数目 */
+        private int size = 0;
+
+        /**
+         * 添加元素。
+         */
+        private void add(int item) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size << 1);
+            }
+            items[size++] = item;
+        }
+    }
+}
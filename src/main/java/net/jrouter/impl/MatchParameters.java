@@ -0,0 +1,154 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package net.jrouter.impl;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * 路径匹配参数的不可变映射。
+ * 键名数组由匹配路径的树节点共享，仅值数组随具体的路径创建；适用于匹配参数较少且频繁创建及缓存的场景。
+ * 键名/值数组按路径的顺序排列，查找为顺序比较。
+ *
+ * @since 1.8.5
+ */
+final class MatchParameters extends AbstractMap<String, String> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** 无匹配参数的空映射 */
+    static final MatchParameters EMPTY = new MatchParameters(new String[0], new String[0], null);
+
+    /** 匹配的键名数组，由树节点共享，不可修改 */
+    private final String[] keys;
+
+    /** 匹配的值数组，与键名数组一一对应 */
+    private final String[] values;
+
+    /** 数值类型约束（int、long）的匹配参数按路径顺序转换后的值，如果没有则为 null */
+    private final Object[] pathVariables;
+
+    /** entrySet视图，延迟创建 */
+    private transient Set<Map.Entry<String, String>> entrySet;
+
+    /**
+     * 构造一个指定键名数组、值数组及数值类型参数的映射。
+     *
+     * @param keys 匹配的键名数组，不复制。
+     * @param values 匹配的值数组，不复制。
+     * @param pathVariables 数值类型约束的匹配参数，如果没有则为 null。
+     */
+    MatchParameters(String[] keys, String[] values, Object[] pathVariables) {
+        this.keys = keys;
+        this.values = values;
+        this.pathVariables = pathVariables;
+    }
+
+    /**
+     * 获取数值类型约束（int、long）的匹配参数按路径顺序转换后的值。
+     *
+     * @return 转换后的值，如果没有则为 null。
+     */
+    Object[] getPathVariables() {
+        return pathVariables;
+    }
+
+    @Override
+    public int size() {
+        return keys.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return keys.length == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public String get(Object key) {
+        int i = indexOf(key);
+        return i < 0 ? null : values[i];
+    }
+
+    /**
+     * 查找键名在数组中的索引。
+     */
+    private int indexOf(Object key) {
+        if (key == null) {
+            return -1;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            //键名数组共享，多数情况下为同一对象
+            if (keys[i] == key || keys[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public Set<Map.Entry<String, String>> entrySet() {
+        Set<Map.Entry<String, String>> es = entrySet;
+        if (es == null) {
+            es = new AbstractSet<Map.Entry<String, String>>() {
+
+                @Override
+                public Iterator<Map.Entry<String, String>> iterator() {
+                    return new Iterator<Map.Entry<String, String>>() {
+
+                        private int cursor = 0;
+
+                        @Override
+                        public boolean hasNext() {
+                            return cursor < keys.length;
+                        }
+
+                        @Override
+                        public Map.Entry<String, String> next() {
+                            if (cursor >= keys.length) {
+                                throw new NoSuchElementException();
+                            }
+                            int i = cursor++;
+                            return new AbstractMap.SimpleImmutableEntry<>(keys[i], values[i]);
+                        }
+
+                        @Override
+                        public void remove() {
+                            throw new UnsupportedOperationException();
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return keys.length;
+                }
+            };
+            entrySet = es;
+        }
+        return es;
+    }
+}
@@ -17,15 +17,42 @@
 
 package net.jrouter.impl;
 
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.management.ObjectName;
 import net.jrouter.*;
 import net.jrouter.annotation.*;
+import net.jrouter.jfr.FlightEvents;
+import net.jrouter.metrics.MetricsInterceptor;
+import net.jrouter.metrics.SlowCallTracer;
+import net.jrouter.result.DefaultResult;
 import net.jrouter.util.AntPathMatcher;
 import net.jrouter.util.CollectionUtil;
+import net.jrouter.util.FrozenMap;
+import net.jrouter.util.LRUMap;
 import net.jrouter.util.MethodUtil;
 import net.jrouter.util.StringUtil;
 import org.slf4j.Logger;
@@ -40,8 +67,9 @@ import org.slf4j.LoggerFactory;
  * </p>
  * <p>
  * PathActionFactory中的{@link Action}、{@link Interceptor}拦截器、{@link InterceptorStack}拦截栈、
- * {@link ResultType}结果类型、{@link Result}结果对象及的集合在初始化时加载完成，
- * 之后任何情况下PathActionFactory不再执行集合的修改和删除操作。对返回集合进行的修改和删除需自行保证其线程安全性。
+ * {@link ResultType}结果类型、{@link Result}结果对象的集合在初始化时加载；{@link #freeze()}冻结后转换为不可变映射，
+ * 此后的添加、移除及热加载在复制的集合上完成后整体替换，调用中的Action继续使用原有的集合，查找无需加锁。
+ * 未冻结时集合被直接修改，对返回集合进行的修改和删除需自行保证其线程安全性。
  * </p>
  */
 public class PathActionFactory extends AbstractActionFactory<String> {
@@ -49,6 +77,9 @@ public class PathActionFactory extends AbstractActionFactory<String> {
     /** 日志 */
     private static final Logger LOG = LoggerFactory.getLogger(PathActionFactory.class);
 
+    /** JFR事件 */
+    private static final FlightEvents EVENTS = FlightEvents.getInstance();
+
     /**
      * 路径分隔符。
      */
@@ -68,6 +99,27 @@ public class PathActionFactory extends AbstractActionFactory<String> {
      */
     private final static String MATCH = PathTree.SINGLE_MATCH;
 
+    /**
+     * 预热Action缓存时每个并行批次的最少路径数目。
+     */
+    private static final int WARM_UP_BATCH = 256;
+
+    /**
+     * 预热Action缓存的并行线程工厂，创建以"jrouter-warm-up-"加序号命名的守护线程，不阻止虚拟机退出。
+     */
+    private static final ThreadFactory WARM_UP_THREAD_FACTORY = new ThreadFactory() {
+
+        /** 线程序号 */
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "jrouter-warm-up-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    };
+
     /**
      * 路径后缀，默认为null；非空时截断路径后缀。
      */
@@ -76,14 +128,90 @@ public class PathActionFactory extends AbstractActionFactory<String> {
 
     /**
      * {@link #actionCache}最大缓存数目，默认最大缓存1w条记录；缓存数目小于0则无缓存。
+     *
+     * @see #setActionCacheNumber(int)
+     */
+    @lombok.Getter
+    private volatile int actionCacheNumber;
+
+    /**
+     * Action路径映射编译的索引文件，默认为 null；非空时冻结后的Action路径映射编译为此文件，并以内存映射的索引查找。
+     * 树结构路径的节点不再占用堆内存，确切路径亦不再构建静态路由表。
+     * 每次编译写入以此文件名称加唯一后缀命名的新文件，被替换的文件随之删除；异常退出的进程遗留的文件在下次编译时删除。
+     *
+     * @see #freeze()
+     * @since 1.8.5
+     */
+    @lombok.Getter
+    private final String actionIndexFile;
+
+    /**
+     * Action路由表的快照文件，默认为 null；非空且文件存在时，启动时由快照获取各Action的路径及拦截器，冻结时以快照的热点路径预热缓存。
+     *
+     * @see #exportRouteSnapshot(File)
+     * @since 1.8.5
+     */
+    @lombok.Getter
+    private final String routeSnapshotFile;
+
+    /**
+     * Action缓存预热的路径文件，默认为 null；非空时冻结后以文件中的路径预热缓存。
+     * 文件每行一个路径，忽略空行及'#'开头的注释行；亦可为访问日志，取每行第一个以路径分隔符开头的字段。
+     *
+     * @see #warmUp(Iterable)
+     * @since 1.8.5
+     */
+    @lombok.Getter
+    private final String warmUpFile;
+
+    /**
+     * 慢调用追踪器，抽样间隔及慢调用阈值均未设置时为 null。
+     *
+     * @see Properties#slowCallSampleInterval
+     * @see Properties#slowCallThreshold
+     * @since 1.8.5
+     */
+    @lombok.Getter
+    private final SlowCallTracer slowCallTracer;
+
+    /**
+     * 树结构查找的分支统计，未开启时为 null。
+     *
+     * @see #setRouteProfiling(boolean)
+     * @since 1.8.5
+     */
+    @lombok.Getter
+    private volatile RouteProfile routeProfile;
+
+    /**
+     * 调试追踪的路径（请求路径或Action路径），写时复制；调用时记录路径、参数、各拦截器及Action方法的耗时及结果。
+     *
+     * @see #setPathTracing(String, boolean)
+     * @since 1.8.5
+     */
+    private volatile Set<String> tracedPaths = Collections.emptySet();
+
+    /**
+     * 冻结时注册至平台MBeanServer的名称，为 null 时不注册。
+     *
+     * @see Properties#mbeanName
+     * @see #freeze()
+     * @since 1.8.5
      */
     @lombok.Getter
-    private final int actionCacheNumber;
+    private final String mbeanName;
+
+    /**
+     * 由此ActionFactory注册至平台MBeanServer的名称，清除时注销。
+     *
+     * @since 1.8.5
+     */
+    private final Set<String> registeredMBeans = new CopyOnWriteArraySet<>();
 
     /**
      * 默认拦截栈名称。作用于初始化Action时的配置，如若配置全路径匹配的{@link InterceptorStack#include()}亦相当于取代此配置项。
      *
-     * @see #createActionProxy(Method, Object)
+     * @see #createActionProxy(Method, Object, RouteSnapshot)
      */
     @lombok.Getter
     private final String defaultInterceptorStack;
@@ -101,9 +229,13 @@ public class PathActionFactory extends AbstractActionFactory<String> {
 ////////////////////////////////////////////////////////////////////////////////////////////////////
 
     /**
-     * 实际的Action树结构路径映射。
+     * 实际的Action路由：树结构路径映射、静态路由表及actionForward的目标Action关联。
+     * 冻结后热加载时整体替换，查找时读取一次作为快照。
+     *
+     * @see #reloadActions(Collection, Collection)
+     * @see #freeze()
      */
-    private final PathTreeMap<PathActionProxy> pathActions;
+    private volatile Routes routes;
 
     /**
      * 路径生成器。
@@ -116,6 +248,19 @@ public class PathActionFactory extends AbstractActionFactory<String> {
      */
     private final ActionCache actionCache;
 
+    /**
+     * 尚未加载目标Action的路径，与以其为目标的{@link DefaultResult#FORWARD}结果类型路径的映射。
+     */
+    private final Map<String, List<String>> unresolvedForwards = new HashMap<>();
+
+    /**
+     * 启动时加载的路由表快照，冻结时预热缓存后释放；配置标识与当前不一致时仅保留其热点路径。
+     *
+     * @see #routeSnapshotFile
+     * @see #matchRouteSnapshot()
+     */
+    private RouteSnapshot routeSnapshot;
+
 ////////////////////////////////////////////////////////////////////////////////////////////////////
 
     /**
@@ -131,13 +276,23 @@ public class PathActionFactory extends AbstractActionFactory<String> {
         this.pathMatcher = new AntPathMatcher(String.valueOf(this.pathSeparator));
         this.extension = properties.extension;
         this.actionCacheNumber = properties.actionCacheNumber;
+        this.actionIndexFile = properties.actionIndexFile;
+        this.routeSnapshotFile = properties.routeSnapshotFile;
+        this.warmUpFile = properties.warmUpFile;
+        this.slowCallTracer = properties.slowCallSampleInterval > 0 || properties.slowCallThreshold > 0
+                ? new SlowCallTracer(properties.slowCallSampleInterval,
+                        TimeUnit.MILLISECONDS.toNanos(properties.slowCallThreshold), properties.slowCallTraces)
+                : null;
         this.defaultInterceptorStack = properties.defaultInterceptorStack;
         this.defaultResultType = properties.defaultResultType;
         //initiate
-        pathActions = new PathTreeMap<>(pathSeparator);
-        actionCache = new ActionCache(new java.util.concurrent.ConcurrentHashMap<String, ActionCacheEntry>(),
-                Collections.synchronizedMap(new net.jrouter.util.LRUMap<String, ActionCacheEntry>(actionCacheNumber)));
+        routes = new Routes(new PathTreeMap<PathActionProxy>(pathSeparator), null,
+                new HashMap<String, PathActionProxy>(), false);
+        actionCache = new ActionCache(new ConcurrentHashMap<String, ActionCacheEntry>(),
+                actionCacheNumber, properties.actionCacheShards);
         invokeAwareInterfaces(this.pathGenerator);
+        routeSnapshot = loadRouteSnapshot();
+        this.mbeanName = properties.mbeanName;
     }
 
     /**
@@ -166,36 +321,297 @@ public class PathActionFactory extends AbstractActionFactory<String> {
     @Override
     public Object invokeAction(String path, Object... params) throws JRouterException {
         if (LOG.isDebugEnabled()) {
-            LOG.debug("Start invoking Action [{}]; Parameters {} ", path, java.util.Arrays.toString(params));
+            LOG.debug("Start invoking Action [{}]; Parameters {} ", path, Arrays.toString(params));
         }
         //remove the extension
-        //当后缀为单个字符时，按路径最后出现分割符的位置截断路径后缀；当后缀为非空字符串时，如果路径以后缀结尾，截断后缀。
+        path = removeExtension(path);
+        Object event = EVENTS.beginDispatch();
+        try {
+            //create ActionInvocation
+            ActionInvocation<String> invocation = createActionInvocation(path, params);
+            //invoke
+            return invokeActionInvocation(invocation, path, params);
+        } finally {
+            if (event != null) {
+                EVENTS.commitDispatch(event, path);
+            }
+        }
+    }
+
+    /**
+     * 通过路径的字符序列调用相应的Action，可传递Action方法相应的参数。
+     * 路径的扩展名、缓存及树结构按字符区间直接查找，仅在首次匹配或捕获匹配参数时创建字符串。
+     *
+     * @param path Action的映射路径的字符序列。
+     * @param params Action的调用参数。
+     *
+     * @return 调用后的结果。
+     *
+     * @throws JRouterException 如果发生调用错误。
+     * @see #invokeAction(String, Object...)
+     * @since 1.8.5
+     */
+    public Object invokeAction(CharSequence path, Object... params) throws JRouterException {
+        if (path instanceof String) {
+            return invokeAction((String) path, params);
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Start invoking Action [{}]; Parameters {} ", path, Arrays.toString(params));
+        }
+        Object event = EVENTS.beginDispatch();
+        PathKey key = new PathKey(path, 0, extensionEnd(path));
+        try {
+            //exclude the extension
+            ActionCacheEntry ace = getActionCacheEntry(key);
+            ActionInvocation<String> invocation = createActionInvocation(ace, params);
+            return invokeActionInvocation(invocation, ace.path, params);
+        } finally {
+            if (event != null) {
+                EVENTS.commitDispatch(event, key.toString());
+            }
+        }
+    }
+
+    /**
+     * 通过ASCII编码的字节缓冲区中指定区间的路径调用相应的Action，可传递Action方法相应的参数。
+     * 不改变字节缓冲区的位置（position）及限制（limit）。
+     *
+     * @param buffer 包含Action映射路径的字节缓冲区。
+     * @param offset 路径在字节缓冲区中的起始索引。
+     * @param length 路径的字节长度。
+     * @param params Action的调用参数。
+     *
+     * @return 调用后的结果。
+     *
+     * @throws JRouterException 如果发生调用错误。
+     * @see #invokeAction(CharSequence, Object...)
+     * @since 1.8.5
+     */
+    public Object invokeAction(ByteBuffer buffer, int offset, int length, Object... params) throws JRouterException {
+        if (offset < 0 || length < 0 || offset + length > buffer.limit()) {
+            throw new IndexOutOfBoundsException("offset : " + offset + ", length : " + length + ", limit : " + buffer.limit());
+        }
+        return invokeAction(new AsciiSequence(buffer, offset, length), params);
+    }
+
+    /**
+     * 调用{@link DefaultResult#FORWARD}结果类型关联的Action，沿用原调用参数。
+     * 结果对象的路径在Action加载时已关联确切路径的Action，则直接调用其代理对象；否则按路径调用。
+     *
+     * @param invocation Action运行时上下文。
+     * @param location 结果对象的路径。
+     *
+     * @return 调用后的结果。
+     *
+     * @throws JRouterException 如果发生调用错误。
+     * @see PathActionInvocation#forward(String)
+     */
+    Object invokeForward(ActionInvocation<String> invocation, String location) throws JRouterException {
+        Object[] params = invocation.getParameters();
+        PathActionProxy ap = getForwardAction(location);
+        if (ap == null) {
+            return invokeAction(location, params);
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Start forwarding Action [{}]; Parameters {} ", ap.getPath(), Arrays.toString(params));
+        }
+        Object event = EVENTS.beginDispatch();
+        try {
+            ActionInvocation<String> forward = createActionInvocation(ap, ap.getPath(), Collections.EMPTY_MAP, params);
+            return invokeActionInvocation(forward, ap.getPath(), params);
+        } finally {
+            if (event != null) {
+                EVENTS.commitDispatch(event, ap.getPath());
+            }
+        }
+    }
+
+    /**
+     * 返回{@link DefaultResult#FORWARD}结果类型的路径所关联的目标Action代理对象。
+     *
+     * @param location 结果对象的路径。
+     *
+     * @return 目标Action代理对象，未关联则返回 null。
+     */
+    PathActionProxy getForwardAction(String location) {
+        return routes.forwards.get(location);
+    }
+
+    /**
+     * 截断路径后缀。
+     * 当后缀为单个字符时，按路径最后出现分割符的位置截断路径后缀；当后缀为非空字符串时，如果路径以后缀结尾，截断后缀。
+     *
+     * @param path Action的映射路径。
+     *
+     * @return 截断后缀后的路径。
+     */
+    private String removeExtension(String path) {
+        int end = extensionEnd(path);
+        return end == path.length() ? path : path.substring(0, end);
+    }
+
+    /**
+     * 获取路径去除扩展名后的结束索引，不创建新的字符串。
+     *
+     * @param path Action的映射路径。
+     *
+     * @return 去除扩展名后的结束索引（不包含）。
+     */
+    private int extensionEnd(CharSequence path) {
+        int end = path.length();
         if (StringUtil.isNotEmpty(extension)) {
             int len = extension.length();
             //extension为特定的标记字符，则截去标记字符后的部分
             if (len == 1 && !Character.isLetterOrDigit(extension.charAt(0))) {
-                int index = path.lastIndexOf(extension.charAt(0));
-                if (index != -1) {
-                    path = path.substring(0, index);
+                char mark = extension.charAt(0);
+                for (int i = end - 1; i >= 0; i--) {
+                    if (path.charAt(i) == mark) {
+                        return i;
+                    }
                 }
             } else //extension为特定的后缀字符串
-                if (path.endsWith(extension)) {
+                if (end > len && endsWith(path, extension)) {
                     //如果extension前一位非字母或数字
-                    if (!Character.isLetterOrDigit(path.charAt(path.length() - len - 1))) {
+                    if (!Character.isLetterOrDigit(path.charAt(end - len - 1))) {
                         len++;
                     }
-                    path = path.substring(0, path.length() - len);
+                    return end - len;
+                }
+        }
+        return end;
+    }
+
+    /**
+     * 判断字符序列是否以指定的后缀结尾。
+     */
+    private static boolean endsWith(CharSequence path, String suffix) {
+        int offset = path.length() - suffix.length();
+        for (int i = suffix.length() - 1; i >= 0; i--) {
+            if (path.charAt(offset + i) != suffix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 调用Action运行时上下文，并处理调用结果；存在慢调用追踪器时记录抽样的调用及慢调用。
+     *
+     * @param invocation Action运行时上下文。
+     * @param path Action的映射路径。
+     * @param params Action的调用参数。
+     *
+     * @return 调用后的结果。
+     */
+    private Object invokeActionInvocation(ActionInvocation<String> invocation, String path, Object... params) {
+        Set<String> traced = tracedPaths;
+        if (!traced.isEmpty() && (traced.contains(path) || traced.contains(invocation.getActionProxy().getPath()))) {
+            return debugActionInvocation(invocation, path, params);
+        }
+        SlowCallTracer tracer = slowCallTracer;
+        if (tracer != null) {
+            boolean sampled = tracer.sample();
+            if (sampled || tracer.getThresholdNanos() > 0) {
+                return traceActionInvocation(tracer, sampled, invocation, path, params);
+            }
+        }
+        return doInvokeActionInvocation(invocation, path, params);
+    }
+
+    /**
+     * 调用Action运行时上下文并记录耗时；抽样的调用记录各拦截器及Action方法的耗时。
+     *
+     * @param tracer 慢调用追踪器。
+     * @param sampled 是否为抽样的调用。
+     * @param invocation Action运行时上下文。
+     * @param path Action的映射路径。
+     * @param params Action的调用参数。
+     *
+     * @return 调用后的结果。
+     */
+    private Object traceActionInvocation(SlowCallTracer tracer, boolean sampled, ActionInvocation<String> invocation,
+                                         String path, Object... params) {
+        PathActionInvocation ai = invocation instanceof PathActionInvocation ? (PathActionInvocation) invocation : null;
+        if (sampled && ai != null) {
+            ai.startTrace();
+        }
+        Throwable error = null;
+        long start = System.nanoTime();
+        try {
+            return doInvokeActionInvocation(invocation, path, params);
+        } catch (RuntimeException | Error e) {
+            error = e;
+            throw e;
+        } finally {
+            long nanos = System.nanoTime() - start;
+            long threshold = tracer.getThresholdNanos();
+            if (sampled || (threshold > 0 && nanos >= threshold)) {
+                tracer.record(path, nanos, sampled, ai == null ? null : ai.getInterceptorNames(),
+                        ai == null ? null : ai.getTraceNanos(), params, invocation.getPathParameters(), error);
+            }
+        }
+    }
+
+    /**
+     * 调用调试追踪路径的Action运行时上下文，记录路径、参数、各拦截器及Action方法的耗时及结果。
+     *
+     * @param invocation Action运行时上下文。
+     * @param path Action的映射路径。
+     * @param params Action的调用参数。
+     *
+     * @return 调用后的结果。
+     */
+    private Object debugActionInvocation(ActionInvocation<String> invocation, String path, Object... params) {
+        PathActionInvocation ai = invocation instanceof PathActionInvocation ? (PathActionInvocation) invocation : null;
+        if (ai != null) {
+            ai.startTrace();
+        }
+        LOG.info("Trace Action [{}] -> [{}], parameters : {}, path parameters : {}", path,
+                invocation.getActionProxy().getPath(), Arrays.toString(params),
+                invocation.getPathParameters());
+        Object res = null;
+        Throwable error = null;
+        long start = System.nanoTime();
+        try {
+            res = doInvokeActionInvocation(invocation, path, params);
+            return res;
+        } catch (RuntimeException | Error e) {
+            error = e;
+            throw e;
+        } finally {
+            long nanos = System.nanoTime() - start;
+            StringBuilder hops = new StringBuilder();
+            if (ai != null) {
+                String[] names = ai.getInterceptorNames();
+                long[] trace = ai.getTraceNanos();
+                for (int i = 0; i < trace.length; i++) {
+                    hops.append(i == 0 ? "" : ", ").append(i < names.length ? names[i] : "action").append('=').append(trace[i]);
                 }
+            }
+            LOG.info("Trace Action [{}] {} in {} ns, hops (ns) : [{}]", path,
+                    error == null ? "result : " + res : "error : " + error, nanos, hops);
         }
+    }
 
-        //create ActionInvocation
-        ActionInvocation<String> invocation = createActionInvocation(path, params);
-        //invoke
+    /**
+     * 调用Action运行时上下文，并处理调用结果。
+     *
+     * @param invocation Action运行时上下文。
+     * @param path Action的映射路径。
+     * @param params Action的调用参数。
+     *
+     * @return 调用后的结果。
+     */
+    private Object doInvokeActionInvocation(ActionInvocation<String> invocation, String path, Object... params) {
         Object res = null;
         try {
             res = invocation.invoke();
             LOG.debug("Get invoked Action [{}] result : [{}]", path, res);
+            Object event = EVENTS.beginResult();
             Object rr = invokeResult(invocation, res);
+            if (event != null) {
+                EVENTS.commitResult(event, path, res == null || res instanceof String ? (String) res : res.getClass().getName());
+            }
             if (rr != null) {
                 res = rr;
             }
@@ -205,7 +621,7 @@ public class PathActionFactory extends AbstractActionFactory<String> {
         }
         if (LOG.isDebugEnabled()) {
             LOG.debug("Finish invoking Action [{}]; Parameters {}; Final result : [{}]",
-                    path, java.util.Arrays.toString(params), String.valueOf(res));
+                    path, Arrays.toString(params), String.valueOf(res));
         }
         return res;
     }
@@ -219,36 +635,189 @@ public class PathActionFactory extends AbstractActionFactory<String> {
      * @return Action调用时的上下文对象。
      */
     protected ActionInvocation<String> createActionInvocation(String path, Object... params) {
+        return createActionInvocation(getActionCacheEntry(path), params);
+    }
+
+    /**
+     * 获取路径匹配的Action缓存对象；缓存中不存在则由树结构查找并添加至缓存。
+     *
+     * @param path Action的映射路径，或其字符区间的视图。
+     *
+     * @return Action的缓存对象。
+     *
+     * @throws NotFoundException 如果没有匹配的Action。
+     */
+    private ActionCacheEntry getActionCacheEntry(CharSequence path) {
+        Object event = EVENTS.beginLookup();
+        //the snapshot of routes
+        Routes current = routes;
+        //static routes
+        StaticRouteTable<ActionCacheEntry> table = current.staticActions;
+        if (table != null) {
+            ActionCacheEntry ace = table.get(path);
+            if (ace != null) {
+                if (event != null) {
+                    EVENTS.commitLookup(event, ace.path, FlightEvents.TIER_STATIC);
+                }
+                return ace;
+            }
+        }
         //cache
         ActionCacheEntry ace = null;
+        String tier = FlightEvents.TIER_CACHE;
         if (actionCacheNumber > 0) {
             ace = actionCache.get(path);
         }
-        //Action代理对象
-        PathActionProxy ap = null;
-        //路径的参数匹配映射
-        Map<String, String> matchParameters = null;
+        if (ace == null) {
+            tier = FlightEvents.TIER_TREE;
+            PathTreeMap<PathActionProxy> actions = current.actions;
+            //get Action and its matchParameters
+            RouteProfile profile = routeProfile;
+            PathTree.Match<PathActionProxy> match;
+            if (profile == null) {
+                match = actions.match(path);
+            } else {
+                PathTree.Probe probe = new PathTree.Probe(false);
+                match = actions.match(path, probe);
+                profile.record(probe, match == null ? null : match.value.getPath());
+            }
+            if (match == null) {
+                throw isStacklessException()
+                        ? new NotFoundException("No such Action : " + path, null, false)
+                        : new NotFoundException("No such Action : " + path);
+            }
+            ace = new ActionCacheEntry(path.toString(), match.value, match.parameters);
+            //put in cache, ignore multi-thread issue here
+            putActionCache(ace.path, ace);
+            //Action路由已被替换，移除由原有路由添加的缓存
+            if (current != routes) {
+                actionCache.remove(ace.path);
+            }
+        }
+        if (event != null) {
+            EVENTS.commitLookup(event, ace.path, tier);
+        }
+        return ace;
+    }
 
-        //get from cache
-        if (ace != null) {
-            ap = ace.actionProxy;
-            matchParameters = ace.matchParameters;
-        } else {
-            //initiate matchParameters
-            matchParameters = new HashMap<>(2);
-            //get Action and fill matchParameters
-            ap = pathActions.get(path, matchParameters);
+    /**
+     * 解释路径的查找过程：依次查找静态路由表、Action缓存及树结构，返回命中的层级、树结构各级的候选节点、
+     * 最终匹配节点的代码、匹配参数及各阶段的耗时。不改变缓存的内容、LRU顺序及命中统计，树结构总是被查找。
+     * 以内存映射的索引文件（{@link Properties#actionIndexFile}）查找时不记录各级的候选节点。
+     *
+     * @param path Action的映射路径。
+     *
+     * @return 路径查找的解释。
+     *
+     * @since 1.8.5
+     */
+    public RouteExplanation explain(String path) {
+        path = removeExtension(path);
+        Map<String, Long> nanos = new LinkedHashMap<>(4);
+        String tier = null;
+        //static routes
+        long start = System.nanoTime();
+        Routes current = routes;
+        StaticRouteTable<ActionCacheEntry> table = current.staticActions;
+        if (table != null && table.get(path) != null) {
+            tier = RouteExplanation.TIER_STATIC;
+        }
+        long now = System.nanoTime();
+        nanos.put(RouteExplanation.TIER_STATIC, now - start);
+        //cache
+        start = now;
+        if (tier == null && actionCacheNumber > 0 && actionCache.contains(path)) {
+            tier = RouteExplanation.TIER_CACHE;
+        }
+        now = System.nanoTime();
+        nanos.put(RouteExplanation.TIER_CACHE, now - start);
+        //tree
+        start = now;
+        PathTree.Probe probe = new PathTree.Probe(true);
+        PathTree.Match<PathActionProxy> match = current.actions.match(path, probe);
+        nanos.put(RouteExplanation.TIER_TREE, System.nanoTime() - start);
+        if (match == null) {
+            return new RouteExplanation(path, RouteExplanation.TIER_NONE, null, null,
+                    Collections.<String, String>emptyMap(), probe.levels, nanos);
+        }
+        if (tier == null) {
+            tier = RouteExplanation.TIER_TREE;
+        }
+        return new RouteExplanation(path, tier, match.value.getPath(),
+                probe.code < 0 ? null : Integer.toBinaryString(probe.code),
+                new LinkedHashMap<>(match.parameters), probe.levels, nanos);
+    }
 
-            if (ap == null) {
-                throw new NotFoundException("No such Action : " + path);
-            }
+    /**
+     * 开启或关闭树结构查找的分支统计；开启时重新开始统计。仅统计未命中静态路由表及缓存的查找。
+     *
+     * @param enabled 是否开启。
+     *
+     * @see #getRouteProfile()
+     * @since 1.8.5
+     */
+    public void setRouteProfiling(boolean enabled) {
+        routeProfile = enabled ? new RouteProfile() : null;
+    }
 
-            ace = new ActionCacheEntry(ap, matchParameters.isEmpty()
-                    ? Collections.EMPTY_MAP : Collections.unmodifiableMap(matchParameters));
-            //put in cache, ignore multi-thread issue here
-            putActionCache(path, ace);
+    /**
+     * 开启或关闭路径的调试追踪；请求路径或Action路径匹配时，调用以INFO级别记录路径、参数、各拦截器及Action方法的耗时及结果。
+     *
+     * @param path 请求路径或Action路径。
+     * @param enabled 是否开启。
+     *
+     * @since 1.8.5
+     */
+    public synchronized void setPathTracing(String path, boolean enabled) {
+        path = removeExtension(path);
+        Set<String> next = new LinkedHashSet<>(tracedPaths);
+        if (enabled ? next.add(path) : next.remove(path)) {
+            tracedPaths = next.isEmpty() ? Collections.<String>emptySet() : Collections.unmodifiableSet(next);
+            LOG.info("{} tracing of path : {}", enabled ? "Enable" : "Disable", path);
+        }
+    }
+
+    /**
+     * 返回调试追踪的路径。
+     *
+     * @return 调试追踪的路径。
+     *
+     * @see #setPathTracing(String, boolean)
+     * @since 1.8.5
+     */
+    public Set<String> getTracedPaths() {
+        return tracedPaths;
+    }
+
+    /**
+     * 由Action缓存对象创建Action调用时的上下文对象。
+     *
+     * @param ace Action缓存对象。
+     * @param params Action的调用参数。
+     *
+     * @return Action调用时的上下文对象。
+     */
+    private PathActionInvocation createActionInvocation(ActionCacheEntry ace, Object[] params) {
+        PathActionInvocation ai = createActionInvocation(ace.actionProxy, ace.path, ace.matchParameters, params);
+        Object[] pathVariables = ace.matchParameters.getPathVariables();
+        if (pathVariables != null) {
+            ai.setPathVariables(pathVariables);
         }
+        return ai;
+    }
 
+    /**
+     * 由Action代理对象创建Action调用时的上下文对象。
+     *
+     * @param ap Action代理对象。
+     * @param path Action的映射路径。
+     * @param matchParameters Action路径的参数匹配映射。
+     * @param params Action的调用参数。
+     *
+     * @return Action调用时的上下文对象。
+     */
+    private PathActionInvocation createActionInvocation(PathActionProxy ap, String path,
+                                                        Map<String, String> matchParameters, Object[] params) {
         //scope action
         ap = ap.getInstance();
         //create PathActionInvocation
@@ -515,17 +1084,116 @@ public class PathActionFactory extends AbstractActionFactory<String> {
     }
 
     /**
-     * 添加Action的路径及代理对象至缓存。
+     * 调整{@link #actionCache}最大缓存数目，超过时移除各分片最近最少使用的缓存；缓存数目不大于0时清空并不再缓存。
      *
-     * @param path Action的路径。
-     * @param ace Action的缓存对象。
+     * @param actionCacheNumber 最大缓存数目。
+     *
+     * @since 1.8.5
      */
-    private void putActionCache(String path, ActionCacheEntry ace) {
-        //如果缓存设置数大于0
-        if (actionCacheNumber > 0) {
-            //full match
-            if (ace.matchParameters.isEmpty()) {
-                actionCache.putFullPathAction(path, ace);
+    public synchronized void setActionCacheNumber(int actionCacheNumber) {
+        this.actionCacheNumber = actionCacheNumber;
+        actionCache.resize(actionCacheNumber);
+        LOG.info("Resize actionCacheNumber : {}", actionCacheNumber);
+    }
+
+    /**
+     * 移除指定请求路径的Action缓存。
+     *
+     * @param path 请求路径。
+     *
+     * @return 是否存在路径的缓存。
+     *
+     * @since 1.8.5
+     */
+    public boolean removeActionCache(String path) {
+        path = removeExtension(path);
+        boolean exist = actionCache.contains(path);
+        actionCache.remove(path);
+        return exist;
+    }
+
+    /**
+     * 返回静态路由表的路径数目，未冻结或未构建时返回0。
+     *
+     * @return 静态路由表的路径数目。
+     *
+     * @since 1.8.5
+     */
+    public int getStaticRouteCount() {
+        StaticRouteTable<ActionCacheEntry> table = routes.staticActions;
+        return table == null ? 0 : table.size();
+    }
+
+    /**
+     * 返回请求路径匹配的Action，及其按调用顺序排列的拦截器。
+     *
+     * @param path 请求路径或Action路径。
+     *
+     * @return Action路径及各拦截器的名称与方法，依次以"action"、"interceptor"开头；如果没有匹配的Action则返回空集合。
+     *
+     * @since 1.8.5
+     */
+    public List<String> getInterceptorChain(String path) {
+        path = removeExtension(path);
+        PathTree.Match<PathActionProxy> match = routes.actions.match(path);
+        if (match == null) {
+            return Collections.emptyList();
+        }
+        PathActionProxy ap = match.value;
+        List<InterceptorProxy> interceptors = ap.getInterceptorProxies();
+        List<String> chain = new ArrayList<>(interceptors.size() + 1);
+        chain.add("action " + ap.getPath() + " : " + ap.getMethodInfo());
+        for (InterceptorProxy ip : interceptors) {
+            chain.add("interceptor " + ip.getName() + " : " + ip.getMethodInfo());
+        }
+        return chain;
+    }
+
+    /**
+     * 以指定名称注册管理接口至平台的MBeanServer，ObjectName为"net.jrouter:type=ActionFactory,name=<i>name</i>"。
+     *
+     * @param name 名称。
+     *
+     * @return 注册的ObjectName；名称已被注册时不再注册，返回 null。
+     *
+     * @throws JRouterException 如果注册失败。
+     * @see PathActionFactoryMXBean
+     * @since 1.8.5
+     */
+    public ObjectName registerMBean(String name) {
+        ObjectName objectName = PathActionFactoryManagement.register(this, name);
+        if (objectName != null) {
+            registeredMBeans.add(name);
+        }
+        return objectName;
+    }
+
+    /**
+     * 注销由此ActionFactory以指定名称注册至平台MBeanServer的管理接口；未由此ActionFactory注册时忽略。
+     *
+     * @param name 名称。
+     *
+     * @throws JRouterException 如果注销失败。
+     * @since 1.8.5
+     */
+    public void unregisterMBean(String name) {
+        if (registeredMBeans.remove(name)) {
+            PathActionFactoryManagement.unregister(name);
+        }
+    }
+
+    /**
+     * 添加Action的路径及代理对象至缓存。
+     *
+     * @param path Action的路径。
+     * @param ace Action的缓存对象。
+     */
+    private void putActionCache(String path, ActionCacheEntry ace) {
+        //如果缓存设置数大于0
+        if (actionCacheNumber > 0) {
+            //full match
+            if (ace.matchParameters.isEmpty()) {
+                actionCache.putFullPathAction(path, ace);
             } else {
                 actionCache.putMatchedPathAction(path, ace);
             }
@@ -540,10 +1208,17 @@ public class PathActionFactory extends AbstractActionFactory<String> {
     }
 
     @Override
-    public void clear() {
+    public synchronized void clear() {
         LOG.info("Clearing JRouter ActionFactory : {}", this);
+        for (String name : registeredMBeans) {
+            unregisterMBean(name);
+        }
         actionCache.clear();
-        pathActions.clear();
+        removeMetrics(routes.actions.values());
+        routes.actions.deleteMappedFile();
+        routes = new Routes(new PathTreeMap<PathActionProxy>(pathSeparator), null,
+                new HashMap<String, PathActionProxy>(), false);
+        unresolvedForwards.clear();
         super.clear();
         Injector.clear();
     }
@@ -555,40 +1230,542 @@ public class PathActionFactory extends AbstractActionFactory<String> {
      *
      * @param aps Action代理对象集合。
      */
-    public void addAction(PathActionProxy... aps) {
+    public synchronized void addAction(PathActionProxy... aps) {
+        Routes current = routes;
+        //冻结后复制映射添加后整体替换
+        if (current.frozen) {
+            PathTreeMap<PathActionProxy> next = new PathTreeMap<>(current.actions);
+            for (PathActionProxy ap : aps) {
+                putAction(next, ap);
+            }
+            publishActions(next, Collections.<PathActionProxy>emptySet(), aps.length > 0);
+            return;
+        }
         for (PathActionProxy ap : aps) {
-            String aPath = ap.getPath();
-
-            if (StringUtil.isBlank(aPath)) {
-                throw new IllegalArgumentException("Null path of Action : " + ap.getMethodInfo());
-            }
-            //可能存在模糊匹配 或者 完全相等的路径
-            PathActionProxy exist = pathActions.get(aPath);
-            //模糊匹配添加新值，完全相等的路径则特换原路径的值
-            pathActions.put(aPath, ap);
-            //添加或替换后查询新路径的值
-            PathActionProxy newAction = pathActions.get(aPath);
-
-            if (exist != null) {
-                //新增与原有完全相等的路径
-                if (exist.getPath().equals(newAction.getPath())) {
-                    throw new JRouterException("Duplicate path Action [" + aPath + "] : "
-                            + ap.getMethodInfo() + " override "
-                            + exist.getMethodInfo());
-                } //新增与原有相同的匹配路径，考虑匹配级别是否相同???
-                //TODO
-                //            else if (0 == PathTree.compareMatchedPath(newAction.getPath(), exist.getPath())) {
-                //                throw new JRouterException("Duplicate matched path Action [" + aPath + "] : "
-                //                        + ap.getMethodInfo() + " override "
-                //                        + exist.getMethodInfo());
-                //            }
-                //原有路径模糊匹配，继续添加新路径；或反之
-                else if (LOG.isWarnEnabled()) {
-                    LOG.warn("Exist matched path [{}] : {}, add [{}] : {}",
-                            exist.getPath(), exist.getMethodInfo(), aPath, ap.getMethodInfo());
+            putAction(current.actions, ap);
+            resolveForwardActions(current.actions, current.forwards, unresolvedForwards, ap);
+        }
+    }
+
+    /**
+     * 添加Action代理对象至指定的Action路径映射。
+     *
+     * @param actions Action路径映射。
+     * @param ap Action代理对象。
+     */
+    private void putAction(PathTreeMap<PathActionProxy> actions, PathActionProxy ap) {
+        String aPath = ap.getPath();
+
+        if (StringUtil.isBlank(aPath)) {
+            throw new IllegalArgumentException("Null path of Action : " + ap.getMethodInfo());
+        }
+        //完全相等的路径节点（键名不同的匹配路径为同一节点，类型约束不同则为不同节点）
+        PathActionProxy same = actions.node(aPath);
+        if (same != null) {
+            throw new JRouterException("Duplicate path Action [" + aPath + "] : "
+                    + ap.getMethodInfo() + " override "
+                    + same.getMethodInfo());
+        }
+        //可能存在模糊匹配的路径
+        PathActionProxy exist = actions.get(aPath);
+        //添加新路径的值
+        actions.put(aPath, ap);
+
+        //原有路径模糊匹配，继续添加新路径；或反之
+        if (exist != null) {
+            if (LOG.isWarnEnabled()) {
+                LOG.warn("Exist matched path [{}] : {}, add [{}] : {}",
+                        exist.getPath(), exist.getMethodInfo(), aPath, ap.getMethodInfo());
+            }
+        } else if (LOG.isInfoEnabled()) {
+            LOG.info("Add Action [{}] at : {}", aPath, ap.getMethodInfo());
+        }
+    }
+
+    /**
+     * 热加载Action。以当前的Action路径映射为基础，移除指定类的Action并添加新的Action，
+     * 在复制的树结构路径映射上修改完成后一次性替换原有映射，并移除受影响的缓存；
+     * 调用中的Action继续使用原有的映射，路径查找无需加锁。
+     * 移除的对象为类或实例对象，按Action方法所在的类移除；同时移除并添加同一类即为重新加载该类。
+     *
+     * @param added 新增的包含{@link Action}注解的类或实例对象，可为 null。
+     * @param removed 移除的包含{@link Action}注解的类或实例对象，可为 null。
+     *
+     * @throws JRouterException 如果新增的Action路径重复；此时原有的映射不变。
+     * @see #addActions(Object)
+     * @since 1.8.5
+     */
+    public synchronized void reloadActions(Collection<?> added, Collection<?> removed) {
+        PathTreeMap<PathActionProxy> next = new PathTreeMap<>(routes.actions);
+        Set<PathActionProxy> removedActions = new HashSet<>();
+        if (removed != null) {
+            for (Object obj : removed) {
+                removedActions.addAll(removeActions(next, obj));
+            }
+        }
+        boolean changed = false;
+        if (added != null) {
+            RouteSnapshot snapshot = matchRouteSnapshot();
+            for (Object obj : added) {
+                for (PathActionProxy ap : createActionProxies(obj, snapshot)) {
+                    putAction(next, ap);
+                    changed = true;
+                }
+            }
+        }
+        publishActions(next, removedActions, changed);
+        LOG.info("Reload Actions : {}", next.size());
+    }
+
+    /**
+     * 移除类或实例对象中所有的Action，按Action方法所在的类移除。
+     * 在复制的树结构路径映射上移除并修剪节点后替换原有映射，仅移除以被移除的Action为目标的缓存。
+     *
+     * @param obj 包含{@link Action}注解的类或实例对象。
+     *
+     * @return 被移除的Action代理对象集合。
+     *
+     * @see #reloadActions(Collection, Collection)
+     * @since 1.8.5
+     */
+    public synchronized List<PathActionProxy> removeActions(Object obj) {
+        PathTreeMap<PathActionProxy> next = new PathTreeMap<>(routes.actions);
+        List<PathActionProxy> removed = removeActions(next, obj);
+        if (!removed.isEmpty()) {
+            publishActions(next, new HashSet<>(removed), false);
+        }
+        return removed;
+    }
+
+    /**
+     * 移除指定路径的Action，路径须与Action的映射路径完全一致（非匹配查找）。
+     *
+     * @param path Action的映射路径。
+     *
+     * @return 被移除的Action代理对象，如果没有则返回 null。
+     *
+     * @see #removeActions(Object)
+     * @since 1.8.5
+     */
+    public synchronized PathActionProxy removeAction(String path) {
+        PathTreeMap<PathActionProxy> next = new PathTreeMap<>(routes.actions);
+        PathActionProxy ap = next.remove(path);
+        if (ap != null) {
+            LOG.info("Remove Action [{}] at : {}", ap.getPath(), ap.getMethodInfo());
+            publishActions(next, Collections.singleton(ap), false);
+        }
+        return ap;
+    }
+
+    /**
+     * 从指定的Action路径映射中移除类或实例对象中所有的Action。
+     *
+     * @param actions Action路径映射。
+     * @param obj 包含{@link Action}注解的类或实例对象。
+     *
+     * @return 被移除的Action代理对象集合。
+     */
+    private List<PathActionProxy> removeActions(PathTreeMap<PathActionProxy> actions, Object obj) {
+        Class<?> cls = obj instanceof Class ? (Class) obj : getObjectFactory().getClass(obj);
+        List<PathActionProxy> removed = new ArrayList<>();
+        for (PathActionProxy ap : new ArrayList<>(actions.values())) {
+            if (ap.getMethod().getDeclaringClass() == cls) {
+                actions.remove(ap.getPath());
+                removed.add(ap);
+                if (LOG.isInfoEnabled()) {
+                    LOG.info("Remove Action [{}] at : {}", ap.getPath(), ap.getMethodInfo());
+                }
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * 替换Action路径映射。由新映射构建actionForward结果类型的目标Action的关联并随映射一同替换，并移除受影响的缓存；
+     * 新旧映射共享的Action代理对象不被修改。
+     *
+     * @param next 新的Action路径映射。
+     * @param removed 被移除的Action代理对象集合。
+     * @param added 是否新增了Action。
+     */
+    private void publishActions(PathTreeMap<PathActionProxy> next, Set<PathActionProxy> removed, boolean added) {
+        //由新映射构建actionForward结果类型的目标Action的关联
+        Map<String, PathActionProxy> forwards = new HashMap<>();
+        Map<String, List<String>> unresolved = new HashMap<>();
+        for (PathActionProxy ap : next.values()) {
+            resolveForwardActions(next, forwards, unresolved, ap);
+        }
+        Routes old = routes;
+        Routes current = null;
+        if (old.frozen) {
+            next = freezeActions(next);
+            current = new Routes(next, createStaticActions(next), FrozenMap.copyOf(forwards), true);
+        } else {
+            current = new Routes(next, null, forwards, false);
+        }
+        //映射、静态路由表及目标Action的关联以一次写入替换
+        routes = current;
+        unresolvedForwards.clear();
+        unresolvedForwards.putAll(unresolved);
+        invalidateActionCache(next, removed, added);
+        removeMetrics(removed);
+        //删除被替换的索引文件
+        old.actions.deleteMappedFile();
+    }
+
+    /**
+     * 移除被移除的Action代理对象在其度量拦截器的注册表中的度量。
+     *
+     * @param removed 被移除的Action代理对象集合。
+     *
+     * @see MetricsInterceptor#getRegistry()
+     */
+    private static void removeMetrics(Collection<PathActionProxy> removed) {
+        for (PathActionProxy ap : removed) {
+            for (InterceptorProxy ip : ap.getInterceptorProxies()) {
+                if (ip.getObject() instanceof MetricsInterceptor) {
+                    ((MetricsInterceptor) ip.getObject()).getRegistry().remove(ap);
+                }
+            }
+        }
+    }
+
+    /**
+     * 冻结ActionFactory，同时冻结Action路径映射的视图及各Action代理对象的参数、拦截器及结果对象集合。
+     * 冻结后添加、移除及热加载Action均在复制的映射上进行后整体替换。
+     *
+     * @since 1.8.5
+     */
+    @Override
+    public synchronized void freeze() {
+        super.freeze();
+        Routes current = routes;
+        PathTreeMap<PathActionProxy> actions = freezeActions(current.actions);
+        StaticRouteTable<ActionCacheEntry> table = createStaticActions(actions);
+        routes = new Routes(actions, table, FrozenMap.copyOf(current.forwards), true);
+        if (table != null) {
+            LOG.info("Build static routes : {}", table.size());
+        }
+        //warm up the cache with the hot paths of the route snapshot
+        if (routeSnapshot != null) {
+            int count = warmUpActionCache(routeSnapshot.getHotPaths());
+            LOG.info("Warm up Action cache from route snapshot : {}", count);
+            routeSnapshot = null;
+        }
+        //warm up the cache with the paths of the file
+        if (warmUpFile != null) {
+            List<String> paths = new ArrayList<>();
+            try (BufferedReader reader = Files.newBufferedReader(
+                    Paths.get(warmUpFile), StandardCharsets.UTF_8)) {
+                String line = null;
+                while ((line = reader.readLine()) != null) {
+                    String path = parseWarmUpPath(line, pathSeparator);
+                    if (path != null) {
+                        paths.add(path);
+                    }
+                }
+            } catch (IOException e) {
+                LOG.warn("Can't read warm up file : " + warmUpFile, e);
+            }
+            int count = warmUp(paths);
+            LOG.info("Warm up Action cache from file [{}] : {}/{}", warmUpFile, count, paths.size());
+        }
+        //构建完成后注册，名称已被注册（如由DefaultActionFactoryBean注册）时忽略
+        if (mbeanName != null && !registeredMBeans.contains(mbeanName)) {
+            registerMBean(mbeanName);
+        }
+    }
+
+    /**
+     * 以指定的路径预热Action缓存，路径较多时并行查找树结构并添加至缓存；不匹配任何Action的路径被忽略。
+     * 路径为调用时的路径，去除扩展名后查找；确切路径的Action由静态路由表查找时不占用缓存数目。
+     *
+     * @param paths 预热的Action路径。
+     *
+     * @return 匹配到Action的路径数目。
+     *
+     * @see #warmUpFile
+     * @since 1.8.5
+     */
+    public int warmUp(Iterable<String> paths) {
+        List<String> list = new ArrayList<>();
+        for (String path : paths) {
+            if (StringUtil.isNotBlank(path)) {
+                list.add(removeExtension(path.trim()));
+            }
+        }
+        return warmUpActionCache(list);
+    }
+
+    /**
+     * 以去除扩展名的路径预热Action缓存；路径数目超过{@link #WARM_UP_BATCH}时分批并行查找，并行时不保证缓存的添加顺序。
+     * 第一批由调用线程查找，其余批次由{@link #WARM_UP_THREAD_FACTORY}创建的守护线程查找，完成后关闭。
+     *
+     * @param paths 去除扩展名的Action路径。
+     *
+     * @return 匹配到Action的路径数目。
+     */
+    private int warmUpActionCache(List<String> paths) {
+        if (actionCacheNumber <= 0 || paths.isEmpty()) {
+            return 0;
+        }
+        int size = paths.size();
+        int threads = Math.min(Runtime.getRuntime().availableProcessors(), (size + WARM_UP_BATCH - 1) / WARM_UP_BATCH);
+        if (threads <= 1) {
+            return resolveActionCache(paths);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads - 1, WARM_UP_THREAD_FACTORY);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>(threads - 1);
+            int batch = (size + threads - 1) / threads;
+            for (int from = batch; from < size; from += batch) {
+                final List<String> sub = paths.subList(from, Math.min(size, from + batch));
+                futures.add(executor.submit(new Callable<Integer>() {
+
+                    @Override
+                    public Integer call() {
+                        return resolveActionCache(sub);
+                    }
+                }));
+            }
+            int count = resolveActionCache(paths.subList(0, batch));
+            for (Future<Integer> future : futures) {
+                count += future.get();
+            }
+            return count;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JRouterException(e);
+        } catch (ExecutionException e) {
+            throw new JRouterException(e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * 依次查找路径匹配的Action并添加至缓存。
+     *
+     * @param paths 去除扩展名的Action路径。
+     *
+     * @return 匹配到Action的路径数目。
+     */
+    private int resolveActionCache(List<String> paths) {
+        int count = 0;
+        for (String path : paths) {
+            try {
+                getActionCacheEntry(path);
+                count++;
+            } catch (NotFoundException e) {
+                LOG.debug("Ignore warm up path : {}", path);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 解析预热文件中一行的路径：忽略空行及'#'开头的注释行；包含空白字符时（如访问日志），取第一个以路径分隔符开头的字段；
+     * 去除'?'之后的查询字符串。
+     *
+     * @param line 预热文件中的一行。
+     * @param pathSeparator 路径分隔符。
+     *
+     * @return 解析的路径，如果没有则返回 null。
+     */
+    private static String parseWarmUpPath(String line, char pathSeparator) {
+        String str = line.trim();
+        if (str.isEmpty() || str.charAt(0) == '#') {
+            return null;
+        }
+        for (String field : str.split("\\s+")) {
+            if (field.charAt(0) == pathSeparator) {
+                int idx = field.indexOf('?');
+                return idx < 0 ? field : field.substring(0, idx);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 导出当前Action路由表的快照至文件，包括各Action方法的命名空间、路径、按名称绑定的拦截器，及Action缓存中的路径。
+     * 设置{@link #routeSnapshotFile}后，下次启动时由快照获取路径及拦截器并预热缓存。
+     *
+     * @param file 快照文件。
+     *
+     * @throws JRouterException 如果写入文件错误。
+     * @see #routeSnapshotFile
+     * @since 1.8.5
+     */
+    public void exportRouteSnapshot(File file) {
+        RouteSnapshot snapshot = new RouteSnapshot(pathSeparator, routeFingerprint());
+        PathTreeMap<PathActionProxy> actions = routes.actions;
+        for (PathActionProxy ap : actions.values()) {
+            List<InterceptorProxy> inters = ap.getInterceptorProxies();
+            String[] names = new String[inters.size()];
+            for (int i = 0; i < names.length; i++) {
+                names[i] = inters.get(i).getName();
+            }
+            Object obj = ap.getObject();
+            Class<?> objCls = (obj == null ? null : getObjectFactory().getClass(obj));
+            snapshot.addRoute(methodKey(objCls, ap.getMethod()),
+                    actionKey(ap.getAction(), getActionFilter().getNamespace(obj, ap.getMethod())),
+                    new RouteSnapshot.Route(ap.getNamespace(), ap.getPath(), names));
+        }
+        //缓存中的全部路径，不区分冷热；预热时由缓存自身的容量限制
+        for (String path : actionCache.toMap().keySet()) {
+            snapshot.addHotPath(path);
+        }
+        try {
+            snapshot.write(file);
+        } catch (IOException e) {
+            throw new JRouterException("Can't export route snapshot file : " + file, e);
+        }
+        LOG.info("Export route snapshot file [{}] : {}", file, snapshot.size());
+    }
+
+    /**
+     * 加载路由表快照文件；文件不存在、格式错误或路径分隔符不一致时忽略。
+     *
+     * @return 路由表快照，如果未设置或忽略快照文件则返回 null。
+     */
+    private RouteSnapshot loadRouteSnapshot() {
+        if (routeSnapshotFile == null) {
+            return null;
+        }
+        File file = new File(routeSnapshotFile);
+        if (!file.isFile()) {
+            LOG.info("No route snapshot file : {}", routeSnapshotFile);
+            return null;
+        }
+        RouteSnapshot snapshot = null;
+        try {
+            snapshot = RouteSnapshot.read(file);
+        } catch (IOException e) {
+            LOG.warn("Ignore route snapshot file : " + routeSnapshotFile, e);
+            return null;
+        }
+        if (snapshot.getPathSeparator() != pathSeparator) {
+            LOG.warn("Ignore route snapshot file [{}] of path separator : {}", routeSnapshotFile,
+                    snapshot.getPathSeparator());
+            return null;
+        }
+        LOG.info("Load route snapshot file [{}] : {}", routeSnapshotFile, snapshot.size());
+        return snapshot;
+    }
+
+    /**
+     * 由Action路径映射中的确切路径构建静态路由表。
+     *
+     * @param actions Action路径映射。
+     *
+     * @return 静态路由表；以内存映射的索引文件查找时返回 null。
+     */
+    private StaticRouteTable<ActionCacheEntry> createStaticActions(PathTreeMap<PathActionProxy> actions) {
+        if (actions.isMapped()) {
+            return null;
+        }
+        Map<String, ActionCacheEntry> routes = new HashMap<>(actions.size() * 4 / 3 + 1);
+        for (Map.Entry<String, PathActionProxy> e : actions.entrySet()) {
+            if (actions.isExact(e.getKey())) {
+                routes.put(e.getKey(), new ActionCacheEntry(e.getKey(), e.getValue(), MatchParameters.EMPTY));
+            }
+        }
+        return StaticRouteTable.build(routes);
+    }
+
+    /**
+     * 冻结Action路径映射的视图及其中的Action代理对象；设置了索引文件时编译为索引文件。
+     *
+     * @param actions Action路径映射。
+     *
+     * @return 冻结的Action路径映射，或以内存映射的索引文件查找的映射。
+     *
+     * @see #actionIndexFile
+     */
+    private PathTreeMap<PathActionProxy> freezeActions(PathTreeMap<PathActionProxy> actions) {
+        for (PathActionProxy ap : actions.values()) {
+            ap.freeze();
+        }
+        actions.freeze();
+        if (actionIndexFile != null && !actions.isMapped()) {
+            try {
+                actions = actions.map(new File(actionIndexFile));
+            } catch (IOException e) {
+                throw new JRouterException("Can't create Action index file : " + actionIndexFile, e);
+            }
+            LOG.info("Map Action index file [{}] : {}", actionIndexFile, actions.size());
+        }
+        return actions;
+    }
+
+    /**
+     * 移除目标Action被移除的缓存；新增了Action时，同时移除在新映射中匹配到不同Action的缓存。
+     *
+     * @param actions 当前的Action路径映射。
+     * @param removed 被移除的Action代理对象集合。
+     * @param added 是否新增了Action。
+     */
+    private void invalidateActionCache(PathTreeMap<PathActionProxy> actions, Set<PathActionProxy> removed,
+                                       boolean added) {
+        int count = 0;
+        for (Map.Entry<String, ActionCacheEntry> e : actionCache.toMap().entrySet()) {
+            PathActionProxy ap = e.getValue().actionProxy;
+            boolean stale = removed.contains(ap);
+            if (!stale && added) {
+                PathTree.Match<PathActionProxy> match = actions.match(e.getKey());
+                stale = match == null || match.value != ap;
+            }
+            if (stale) {
+                actionCache.remove(e.getKey());
+                count++;
+            }
+        }
+        LOG.info("Invalidate Action cache : {}", count);
+    }
+
+    /**
+     * 关联{@link DefaultResult#FORWARD}结果类型的路径与其确切路径的目标Action代理对象。
+     * 仅关联与目标Action路径完全相等的结果路径，目标Action尚未加载时待其加载后关联；模糊匹配的路径仍按路径调用。
+     *
+     * @param actions Action路径映射。
+     * @param forwards 结果类型的路径与其目标Action代理对象的映射。
+     * @param unresolved 尚未加载目标Action的路径，与以其为目标的结果类型路径的映射。
+     * @param ap 新增的Action代理对象。
+     *
+     * @see #invokeForward(ActionInvocation, String)
+     */
+    private void resolveForwardActions(PathTreeMap<PathActionProxy> actions, Map<String, PathActionProxy> forwards,
+                                       Map<String, List<String>> unresolved, PathActionProxy ap) {
+        //以新增Action为目标的结果路径
+        List<String> locations = unresolved.remove(ap.getPath());
+        if (locations != null) {
+            for (String location : locations) {
+                forwards.put(location, ap);
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Bind forward Action [{}] : {}", location, ap.getMethodInfo());
+                }
+            }
+        }
+        //新增Action的结果路径
+        for (Result result : ap.getResults().values()) {
+            String location = result.location();
+            if (!DefaultResult.FORWARD.equals(result.type()) || StringUtil.isBlank(location)
+                    || forwards.containsKey(location)) {
+                continue;
+            }
+            String path = removeExtension(location);
+            PathActionProxy target = actions.get(path);
+            if (target != null && target.getPath().equals(path)) {
+                forwards.put(location, target);
+            } else {
+                List<String> list = unresolved.get(path);
+                if (list == null) {
+                    list = new ArrayList<>(2);
+                    unresolved.put(path, list);
+                }
+                if (!list.contains(location)) {
+                    list.add(location);
                 }
-            } else if (LOG.isInfoEnabled()) {
-                LOG.info("Add Action [{}] at : {}", aPath, ap.getMethodInfo());
             }
         }
     }
@@ -598,9 +1775,24 @@ public class PathActionFactory extends AbstractActionFactory<String> {
      *
      * @param obj 包含{@link Action}注解的类或实例对象。
      *
-     * @see net.jrouter.annotation.Action
+     * @see Action
      */
     public void addActions(Object obj) {
+        List<PathActionProxy> aps = createActionProxies(obj, matchRouteSnapshot());
+        //一次添加，冻结后仅复制并替换一次映射
+        addAction(aps.toArray(new PathActionProxy[aps.size()]));
+    }
+
+    /**
+     * 创建类或实例对象中所有Action的代理对象。
+     *
+     * @param obj 包含{@link Action}注解的类或实例对象。
+     * @param snapshot 配置标识一致的路由表快照，可为 null。
+     *
+     * @return Action代理对象集合。
+     */
+    private List<PathActionProxy> createActionProxies(Object obj, RouteSnapshot snapshot) {
+        List<PathActionProxy> aps = new ArrayList<>();
         invokeAwareInterfaces(obj);
         //判断传入参数为类或实例对象
         boolean isCls = obj instanceof Class;
@@ -626,20 +1818,21 @@ public class PathActionFactory extends AbstractActionFactory<String> {
                 try {
                     //static method
                     if (Modifier.isStatic(mod)) {
-                        addAction(createActionProxy(m, null));
+                        aps.addAll(Arrays.asList(createActionProxy(m, null, snapshot)));
                     } else {
                         if (isCls && invoker == null) {
                             invoker = getObjectFactory().newInstance(cls);
                             invokeAwareInterfaces(invoker);
                         }
                         //the same object
-                        addAction(createActionProxy(m, invoker));
+                        aps.addAll(Arrays.asList(createActionProxy(m, invoker, snapshot)));
                     }
                 } catch (IllegalAccessException | InvocationTargetException e) {
                     throw new JRouterException(e);
                 }
             }
         }
+        return aps;
     }
 
 ////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -649,10 +1842,12 @@ public class PathActionFactory extends AbstractActionFactory<String> {
      *
      * @param method 指定的方法。
      * @param obj 方法所在的对象。
+     * @param snapshot 配置标识一致的路由表快照，可为 null。
      *
      * @return Action代理对象。
      */
-    private PathActionProxy[] createActionProxy(final Method method, final Object obj) throws IllegalAccessException,
+    private PathActionProxy[] createActionProxy(final Method method, final Object obj, RouteSnapshot snapshot)
+            throws IllegalAccessException,
             InvocationTargetException {
         Namespace ns = getActionFilter().getNamespace(obj, method);
         String namespace = buildNamespace(this.pathSeparator, ns);
@@ -668,7 +1863,20 @@ public class PathActionFactory extends AbstractActionFactory<String> {
             }
         }
         Class<?> objCls = (obj == null ? null : getObjectFactory().getClass(obj));
-        String[] paths = pathGenerator.generatePath(objCls, method);
+        //paths recorded by the route snapshot
+        List<RouteSnapshot.Route> routes = snapshot == null ? null
+                : snapshot.getRoutes(methodKey(objCls, method), actionKey(action, ns));
+        String[] paths;
+        if (routes == null || routes.isEmpty()) {
+            routes = null;
+            paths = pathGenerator.generatePath(objCls, method);
+        } else {
+            paths = new String[routes.size()];
+            for (int i = 0; i < paths.length; i++) {
+                paths[i] = routes.get(i).path;
+            }
+            namespace = routes.get(0).namespace;
+        }
         PathActionProxy[] aps = new PathActionProxy[paths.length];
         int idx = 0;
         for (String path : paths) {
@@ -688,130 +1896,264 @@ public class PathActionFactory extends AbstractActionFactory<String> {
                     LOG.warn("Mapping [{}] void method at : {}", ap.getPath(), ap.getMethodInfo());
                 }
             }
-            //interceptorStack
-            String stackName = action.interceptorStack().trim();
-            //not not nullable action's interceptors
-            String[] interceptorNames = action.interceptors();
+            //interceptors recorded by the route snapshot
+            List<InterceptorProxy> inters = routes == null ? null : getSnapshotInterceptors(routes.get(idx - 1));
+            if (inters == null) {
+                inters = resolveInterceptors(ns, action, ap);
+            }
+            ap.setInterceptors(inters);
 
-            List<InterceptorProxy> inters = new ArrayList<>(5);
-            //action interceptors
-            if (interceptorNames.length != 0) {
-                //action interceptorStack
-                if (StringUtil.isNotEmpty(stackName)) {
-                    addActionInterceptors(inters, stackName, ap);
-                }
-                //action中申明的interceptors
-                for (String name : action.interceptors()) {
-                    InterceptorProxy ip = getInterceptors().get(name);
-                    if (ip == null) {
-                        if (LOG.isWarnEnabled()) {
-                            LOG.warn("No such Interceptor [{}] at : {}", name, ap.getMethodInfo());
-                        }
-                    } else {
-                        inters.add(ip);
+            //set action parameters
+            Parameter[] ps = action.parameters();
+            Map<String, String[]> params = new HashMap<>(ps.length);
+            for (Parameter p : ps) {
+                params.put(p.name(), p.value());
+            }
+            ap.setActionParameters(Collections.unmodifiableMap(params));
+            //set results
+            Result[] rs = action.results();
+            Map<String, Result> res = new HashMap<>(rs.length);
+            for (Result r : rs) {
+                res.put(r.name(), r);
+            }
+            ap.setResults(Collections.unmodifiableMap(res));
+        }
+        return aps;
+    }
+
+    /**
+     * Build namespaces' value.
+     */
+    private static String buildNamespace(char pathSeparator, Namespace ns) {
+        //trim empty and '/'
+        return ns == null ? Character.toString(pathSeparator) : pathSeparator + StringUtil.trim(ns.name(), pathSeparator);
+    }
+
+    /**
+     * 由Action、命名空间及拦截栈的配置解析Action的拦截器集合。
+     *
+     * @param ns 命名空间。
+     * @param action Action。
+     * @param ap Action代理对象。
+     *
+     * @return Action的拦截器集合。
+     */
+    private List<InterceptorProxy> resolveInterceptors(Namespace ns, Action action, PathActionProxy ap) {
+        String path = ap.getPath();
+        //interceptorStack
+        String stackName = action.interceptorStack().trim();
+        //not not nullable action's interceptors
+        String[] interceptorNames = action.interceptors();
+
+        List<InterceptorProxy> inters = new ArrayList<>(5);
+        //action interceptors
+        if (interceptorNames.length != 0) {
+            //action interceptorStack
+            if (StringUtil.isNotEmpty(stackName)) {
+                addActionInterceptors(inters, stackName, ap);
+            }
+            //action中申明的interceptors
+            for (String name : action.interceptors()) {
+                InterceptorProxy ip = getInterceptors().get(name);
+                if (ip == null) {
+                    if (LOG.isWarnEnabled()) {
+                        LOG.warn("No such Interceptor [{}] at : {}", name, ap.getMethodInfo());
                     }
+                } else {
+                    inters.add(ip);
+                }
+            }
+        } //action interceptorStack
+        else if (StringUtil.isNotEmpty(stackName)) {
+            addActionInterceptors(inters, stackName, ap);
+        } else {
+            //是否已设置action的拦截器集合
+            boolean hasActionInterceptors = false;
+            //namespace interceptorStack & interceptors
+            if (ns != null) {
+                //namespace interceptorStack
+                if (StringUtil.isNotEmpty(stackName = ns.interceptorStack().trim())) {
+                    hasActionInterceptors = true;
+                    addActionInterceptors(inters, stackName, ap);
                 }
-            } //action interceptorStack
-            else if (StringUtil.isNotEmpty(stackName)) {
-                addActionInterceptors(inters, stackName, ap);
-            } else {
-                //是否已设置action的拦截器集合
-                boolean hasActionInterceptors = false;
-                //namespace interceptorStack & interceptors
-                if (ns != null) {
-                    //namespace interceptorStack
-                    if (StringUtil.isNotEmpty(stackName = ns.interceptorStack().trim())) {
-                        hasActionInterceptors = true;
-                        addActionInterceptors(inters, stackName, ap);
-                    }
-                    //namespace interceptors
-                    if (ns.interceptors().length != 0) {
-                        hasActionInterceptors = true;
-                        for (String name : ns.interceptors()) {
-                            InterceptorProxy ip = getInterceptors().get(name);
-                            if (ip == null) {
-                                if (LOG.isWarnEnabled()) {
-                                    LOG.warn("No such Interceptor [{}] at : {}", name, ap.getMethodInfo());
-                                }
-                            } else {
-                                inters.add(ip);
+                //namespace interceptors
+                if (ns.interceptors().length != 0) {
+                    hasActionInterceptors = true;
+                    for (String name : ns.interceptors()) {
+                        InterceptorProxy ip = getInterceptors().get(name);
+                        if (ip == null) {
+                            if (LOG.isWarnEnabled()) {
+                                LOG.warn("No such Interceptor [{}] at : {}", name, ap.getMethodInfo());
                             }
+                        } else {
+                            inters.add(ip);
                         }
                     }
                 }
-                //defaultInterceptorStack
-                if (!hasActionInterceptors) {
-                    InterceptorStackProxy matchedInterceptorStack = null;
-                    //单一路径匹配多个拦截栈，提示告警信息
-                    out:
-                    for (Map.Entry<String, InterceptorStackProxy> entry : getInterceptorStacks().entrySet()) {
-                        InterceptorStackProxy stackProxy = entry.getValue();
-                        InterceptorStackProxy matched = null;
-                        String[] includes = stackProxy.getInterceptorStack().include();
-                        String[] excludes = stackProxy.getInterceptorStack().exclude();
-                        //has include
-                        if (CollectionUtil.isNotEmpty(includes)) {
-                            //exclude first
-                            if (CollectionUtil.isNotEmpty(excludes)) {
-                                for (String exclude : excludes) {
-                                    if (pathMatcher.match(exclude, path)) {
-                                        continue out;
-                                    }
+            }
+            //defaultInterceptorStack
+            if (!hasActionInterceptors) {
+                InterceptorStackProxy matchedInterceptorStack = null;
+                //单一路径匹配多个拦截栈，提示告警信息
+                out:
+                for (Map.Entry<String, InterceptorStackProxy> entry : getInterceptorStacks().entrySet()) {
+                    InterceptorStackProxy stackProxy = entry.getValue();
+                    InterceptorStackProxy matched = null;
+                    String[] includes = stackProxy.getInterceptorStack().include();
+                    String[] excludes = stackProxy.getInterceptorStack().exclude();
+                    //has include
+                    if (CollectionUtil.isNotEmpty(includes)) {
+                        //exclude first
+                        if (CollectionUtil.isNotEmpty(excludes)) {
+                            for (String exclude : excludes) {
+                                if (pathMatcher.match(exclude, path)) {
+                                    continue out;
                                 }
                             }
-                            for (String include : includes) {
-                                if (pathMatcher.match(include, path)) {
-                                    matched = stackProxy;
-                                    break;
-                                }
+                        }
+                        for (String include : includes) {
+                            if (pathMatcher.match(include, path)) {
+                                matched = stackProxy;
+                                break;
                             }
-                            //has one matched
-                            if (matched != null) {
-                                //之前已有匹配拦截栈
-                                if (matchedInterceptorStack != null) {
-                                    LOG.warn("Action [{}] matched InterceptorStack [{} - {}] override [{} - {}].",
-                                            path, matched.getName(), matched.getFieldName(), matchedInterceptorStack.getName(), matchedInterceptorStack.getFieldName());
-                                }
-                                //取最后匹配
-                                matchedInterceptorStack = matched;
+                        }
+                        //has one matched
+                        if (matched != null) {
+                            //之前已有匹配拦截栈
+                            if (matchedInterceptorStack != null) {
+                                LOG.warn("Action [{}] matched InterceptorStack [{} - {}] override [{} - {}].",
+                                        path, matched.getName(), matched.getFieldName(), matchedInterceptorStack.getName(), matchedInterceptorStack.getFieldName());
                             }
+                            //取最后匹配
+                            matchedInterceptorStack = matched;
                         }
                     }
-                    if (matchedInterceptorStack != null) {
-                        addActionInterceptors(inters, matchedInterceptorStack.getName(), ap);
-                    } else if (StringUtil.isNotEmpty(stackName = getDefaultInterceptorStack())) {
-                        addActionInterceptors(inters, stackName, ap);
-                    }
+                }
+                if (matchedInterceptorStack != null) {
+                    addActionInterceptors(inters, matchedInterceptorStack.getName(), ap);
+                } else if (StringUtil.isNotEmpty(stackName = getDefaultInterceptorStack())) {
+                    addActionInterceptors(inters, stackName, ap);
                 }
             }
-            //trim
-            ((ArrayList) inters).trimToSize();
-            ap.setInterceptors(inters);
+        }
+        //trim
+        ((ArrayList) inters).trimToSize();
+        return inters;
+    }
 
-            //set action parameters
-            Parameter[] ps = action.parameters();
-            Map<String, String[]> params = new HashMap<>(ps.length);
-            for (Parameter p : ps) {
-                params.put(p.name(), p.value());
+    /**
+     * 以当前的配置校验路由表快照的配置标识，每次添加Action前校验；不一致时忽略并移除快照的路由记录，仅保留热点路径。
+     *
+     * @return 配置标识一致的路由表快照，如果没有快照或其路由记录则返回 null。
+     */
+    private RouteSnapshot matchRouteSnapshot() {
+        RouteSnapshot snapshot = routeSnapshot;
+        if (snapshot == null || !snapshot.hasRoutes()) {
+            return null;
+        }
+        if (!snapshot.getFingerprint().equals(routeFingerprint())) {
+            LOG.warn("Ignore routes of route snapshot file [{}] with different configuration.", routeSnapshotFile);
+            routeSnapshot = snapshot.withoutRoutes();
+            return null;
+        }
+        return snapshot;
+    }
+
+    /**
+     * 由路由记录中的拦截器名称获取Action的拦截器集合。
+     *
+     * @param route 路由记录。
+     *
+     * @return Action的拦截器集合，如果有拦截器不存在则返回 null。
+     */
+    private List<InterceptorProxy> getSnapshotInterceptors(RouteSnapshot.Route route) {
+        List<InterceptorProxy> inters = new ArrayList<>(route.interceptors.length);
+        for (String name : route.interceptors) {
+            InterceptorProxy ip = getInterceptors().get(name);
+            if (ip == null) {
+                return null;
             }
-            ap.setActionParameters(Collections.unmodifiableMap(params));
-            //set results
-            Result[] rs = action.results();
-            Map<String, Result> res = new HashMap<>(rs.length);
-            for (Result r : rs) {
-                res.put(r.name(), r);
+            inters.add(ip);
+        }
+        return inters;
+    }
+
+    /**
+     * 路由表快照的配置标识，包括路径生成器及其配置、Action过滤器、默认拦截栈、拦截器名称及各拦截栈的配置。
+     */
+    private String routeFingerprint() {
+        StringBuilder sb = new StringBuilder(256);
+        appendConfiguration(sb, pathGenerator);
+        sb.append('|')
+                .append(getActionFilter().getClass().getName()).append('|')
+                .append(defaultInterceptorStack).append('|')
+                .append(new TreeSet<>(getInterceptors().keySet()));
+        for (InterceptorStackProxy isp : new TreeMap<>(getInterceptorStacks()).values()) {
+            sb.append('|').append(isp.getName()).append('=').append(isp.getInterceptorStack());
+            for (InterceptorProxy ip : isp.getInterceptors()) {
+                sb.append(',').append(ip.getName());
             }
-            ap.setResults(Collections.unmodifiableMap(res));
         }
-        return aps;
+        return digest(sb.toString());
     }
 
     /**
-     * Build namespaces' value.
+     * 添加对象的类型及其配置，即各级类型中基本类型、字符串、枚举及类型的实例字段值（按字段名称排序）。
      */
-    private static String buildNamespace(char pathSeparator, Namespace ns) {
-        //trim empty and '/'
-        return ns == null ? Character.toString(pathSeparator) : pathSeparator + StringUtil.trim(ns.name(), pathSeparator);
+    private static void appendConfiguration(StringBuilder sb, Object obj) {
+        sb.append(obj.getClass().getName());
+        for (Class<?> c = obj.getClass(); c != null && c != Object.class; c = c.getSuperclass()) {
+            Map<String, Object> values = new TreeMap<>();
+            for (Field f : c.getDeclaredFields()) {
+                int mod = f.getModifiers();
+                Class<?> type = f.getType();
+                if (Modifier.isStatic(mod) || Modifier.isTransient(mod) || f.isSynthetic()
+                        || !(type.isPrimitive() || type == String.class || type.isEnum() || type == Class.class
+                        || type == Character.class || type == Boolean.class || Number.class.isAssignableFrom(type))) {
+                    continue;
+                }
+                Object value = null;
+                try {
+                    f.setAccessible(true);
+                    value = f.get(obj);
+                } catch (IllegalAccessException | RuntimeException e) {
+                    //不可访问的字段
+                    value = '?';
+                }
+                values.put(f.getName(), value instanceof Class ? ((Class) value).getName() : value);
+            }
+            sb.append('|').append(c.getName()).append(values);
+        }
+    }
+
+    /**
+     * 路由表快照中Action方法的标识。
+     */
+    private static String methodKey(Class<?> objCls, Method method) {
+        return (objCls == null ? "" : objCls.getName()) + '#' + MethodUtil.getMethod(method);
+    }
+
+    /**
+     * 路由表快照中Action的标识，Action或命名空间的配置改变时不一致。
+     */
+    private static String actionKey(Action action, Namespace ns) {
+        return digest(String.valueOf(action) + '|' + ns);
+    }
+
+    /**
+     * 字符串的SHA-256摘要的十六进制表示。
+     */
+    private static String digest(String str) {
+        try {
+            byte[] bytes = MessageDigest.getInstance("SHA-256").digest(str.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder(bytes.length << 1);
+            for (byte b : bytes) {
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new JRouterException(e);
+        }
     }
 
     /**
@@ -865,6 +2207,63 @@ public class PathActionFactory extends AbstractActionFactory<String> {
          */
         private int actionCacheNumber = 10_000;
 
+        /**
+         * 参数匹配Action缓存的分片数目，向上取2的幂，默认为1；
+         * 多于1时按路径的哈希值分片，各分片独立加锁及淘汰；
+         * 最大缓存数目平均分配至各分片，余数依次分配至前面的分片，各分片的最大数目之和等于最大缓存数目。
+         *
+         * @see PathActionFactory#actionCacheNumber
+         * @since 1.8.5
+         */
+        private int actionCacheShards = 1;
+
+        /**
+         * @see PathActionFactory#actionIndexFile
+         */
+        private String actionIndexFile = null;
+
+        /**
+         * @see PathActionFactory#routeSnapshotFile
+         */
+        private String routeSnapshotFile = null;
+
+        /**
+         * @see PathActionFactory#warmUpFile
+         */
+        private String warmUpFile = null;
+
+        /**
+         * 慢调用追踪的抽样间隔，每隔指定次数抽样一次调用并记录各拦截器及Action方法的耗时；默认为0，不抽样。
+         *
+         * @see PathActionFactory#slowCallTracer
+         * @since 1.8.5
+         */
+        private int slowCallSampleInterval = 0;
+
+        /**
+         * 慢调用的阈值（毫秒），记录耗时超过阈值的调用；默认为0，不记录。
+         *
+         * @see PathActionFactory#slowCallTracer
+         * @since 1.8.5
+         */
+        private long slowCallThreshold = 0;
+
+        /**
+         * 保存的最近慢调用追踪记录数目，向上取2的幂，默认为64。
+         *
+         * @see PathActionFactory#slowCallTracer
+         * @since 1.8.5
+         */
+        private int slowCallTraces = 64;
+
+        /**
+         * 冻结ActionFactory时注册至平台MBeanServer的名称，默认为 null 不注册；清除ActionFactory时注销。
+         *
+         * @see PathActionFactory#registerMBean(String)
+         * @since 1.8.5
+         */
+        private String mbeanName = null;
+
         /**
          * @see PathActionFactory#defaultInterceptorStack
          */
@@ -924,6 +2323,30 @@ public class PathActionFactory extends AbstractActionFactory<String> {
                 } else if ("actionCacheNumber".equalsIgnoreCase(name)) {
                     this.actionCacheNumber = Integer.parseInt(strValue);
                     LOG.info("Set actionCacheNumber : {}", this.actionCacheNumber);
+                } else if ("actionCacheShards".equalsIgnoreCase(name)) {
+                    this.actionCacheShards = Integer.parseInt(strValue);
+                    LOG.info("Set actionCacheShards : {}", this.actionCacheShards);
+                } else if ("actionIndexFile".equalsIgnoreCase(name)) {
+                    this.actionIndexFile = StringUtil.isBlank(strValue) ? null : strValue;
+                    LOG.info("Set actionIndexFile : {}", this.actionIndexFile);
+                } else if ("routeSnapshotFile".equalsIgnoreCase(name)) {
+                    this.routeSnapshotFile = StringUtil.isBlank(strValue) ? null : strValue;
+                    LOG.info("Set routeSnapshotFile : {}", this.routeSnapshotFile);
+                } else if ("warmUpFile".equalsIgnoreCase(name)) {
+                    this.warmUpFile = StringUtil.isBlank(strValue) ? null : strValue;
+                    LOG.info("Set warmUpFile : {}", this.warmUpFile);
+                } else if ("slowCallSampleInterval".equalsIgnoreCase(name)) {
+                    this.slowCallSampleInterval = Integer.parseInt(strValue);
+                    LOG.info("Set slowCallSampleInterval : {}", this.slowCallSampleInterval);
+                } else if ("slowCallThreshold".equalsIgnoreCase(name)) {
+                    this.slowCallThreshold = Long.parseLong(strValue);
+                    LOG.info("Set slowCallThreshold : {}", this.slowCallThreshold);
+                } else if ("slowCallTraces".equalsIgnoreCase(name)) {
+                    this.slowCallTraces = Integer.parseInt(strValue);
+                    LOG.info("Set slowCallTraces : {}", this.slowCallTraces);
+                } else if ("mbeanName".equalsIgnoreCase(name)) {
+                    this.mbeanName = StringUtil.isBlank(strValue) ? null : strValue;
+                    LOG.info("Set mbeanName : {}", this.mbeanName);
                 }
             }
             return this;
@@ -940,7 +2363,7 @@ public class PathActionFactory extends AbstractActionFactory<String> {
 
     @Override
     public Map<String, PathActionProxy> getActions() {
-        return pathActions;
+        return routes.actions;
     }
 
     /**
@@ -952,6 +2375,40 @@ public class PathActionFactory extends AbstractActionFactory<String> {
         return (Map) actionCache.toMap();
     }
 
+    /**
+     * 返回缓存的数目，不复制缓存的映射。
+     *
+     * @return 缓存的数目。
+     *
+     * @since 1.8.5
+     */
+    public int getActionCacheSize() {
+        return actionCache.size();
+    }
+
+    /**
+     * 返回参数匹配Action缓存的分片数目。
+     *
+     * @return 分片数目。
+     *
+     * @see Properties#actionCacheShards
+     * @since 1.8.5
+     */
+    public int getActionCacheShards() {
+        return actionCache.shards();
+    }
+
+    /**
+     * 返回参数匹配Action缓存的命中及未命中次数（各分片之和）；固定路径缓存及静态路由表的查找不计入。
+     *
+     * @return {命中次数, 未命中次数}。
+     *
+     * @since 1.8.5
+     */
+    public long[] getActionCacheStatistics() {
+        return actionCache.statistics();
+    }
+
     /**
      * {@code String}类型路径生成器。
      */
@@ -1063,6 +2520,7 @@ public class PathActionFactory extends AbstractActionFactory<String> {
 
     /**
      * Action路径与缓存对象的映射，线程安全。
+     * 参数匹配Action的缓存按路径的哈希值分片，各分片持有独立的LRU映射、锁及命中计数。
      */
     private static class ActionCache {
 
@@ -1072,35 +2530,80 @@ public class PathActionFactory extends AbstractActionFactory<String> {
         private final Map<String, ActionCacheEntry> fullPathActionCache;
 
         /**
-         * 参数匹配Action路径与缓存对象的映射。
+         * 参数匹配Action路径与缓存对象映射的分片，数目为2的幂。
          */
-        private final Map<String, ActionCacheEntry> matchedPathActionCache;
+        private final CacheShard[] matchedPathActionCache;
 
         /**
          * 构造缓存。
          *
          * @param fullPathActionCache 固定路径Action路径与缓存对象的映射。
-         * @param matchedPathActionCache 参数匹配Action路径与缓存对象的映射。
+         * @param capacity 参数匹配Action缓存的最大数目。
+         * @param shards 参数匹配Action缓存的分片数目，向上取2的幂。
          */
-        ActionCache(Map<String, ActionCacheEntry> fullPathActionCache,
-                    Map<String, ActionCacheEntry> matchedPathActionCache) {
+        ActionCache(Map<String, ActionCacheEntry> fullPathActionCache, int capacity, int shards) {
             this.fullPathActionCache = fullPathActionCache;
-            this.matchedPathActionCache = matchedPathActionCache;
+            int n = 1;
+            while (n < shards) {
+                n <<= 1;
+            }
+            this.matchedPathActionCache = new CacheShard[n];
+            for (int i = 0; i < n; i++) {
+                matchedPathActionCache[i] = new CacheShard(shardCapacity(capacity, n, i));
+            }
+        }
+
+        /**
+         * 分片的最大数目，即最大数目平均分配后，余数依次分配至前面的分片；各分片的最大数目之和等于最大数目。
+         *
+         * @param capacity 缓存的最大数目。
+         * @param n 分片数目。
+         * @param index 分片的索引。
+         *
+         * @return 分片的最大数目；缓存的最大数目不大于0时返回原值。
+         */
+        private static int shardCapacity(int capacity, int n, int index) {
+            if (capacity <= 0) {
+                return capacity;
+            }
+            return capacity / n + (index < capacity % n ? 1 : 0);
+        }
+
+        /**
+         * 路径所在的参数匹配Action缓存分片。
+         */
+        private CacheShard shard(CharSequence path) {
+            if (matchedPathActionCache.length == 1) {
+                return matchedPathActionCache[0];
+            }
+            int h = path.hashCode();
+            return matchedPathActionCache[(h ^ (h >>> 16)) & (matchedPathActionCache.length - 1)];
         }
 
         /**
          * 获取Action代理对象。
          *
-         * @param path Action路径。
+         * @param path Action路径，或以{@link PathKey}表示的字符区间。
          *
          * @return Action缓存对象。
          */
-        ActionCacheEntry get(String path) {
+        ActionCacheEntry get(CharSequence path) {
             ActionCacheEntry cache = fullPathActionCache.get(path);
             if (cache != null) {
                 return cache;
             }
-            return matchedPathActionCache.get(path);
+            return shard(path).get(path);
+        }
+
+        /**
+         * 判断是否包含Action路径的缓存，不改变LRU顺序及命中统计。
+         *
+         * @param path Action路径。
+         *
+         * @return 是否包含Action路径的缓存。
+         */
+        boolean contains(CharSequence path) {
+            return fullPathActionCache.containsKey(path) || shard(path).contains(path);
         }
 
         /**
@@ -1124,7 +2627,32 @@ public class PathActionFactory extends AbstractActionFactory<String> {
          * @return 以前与Action路径关联的缓存对象，如果没有Action路径的映射关系，则返回 null。
          */
         ActionCacheEntry putMatchedPathAction(String path, ActionCacheEntry cache) {
-            return matchedPathActionCache.put(path, cache);
+            return shard(path).put(path, cache);
+        }
+
+        /**
+         * 移除Action路径的缓存。
+         *
+         * @param path Action路径。
+         */
+        void remove(String path) {
+            fullPathActionCache.remove(path);
+            shard(path).remove(path);
+        }
+
+        /**
+         * 调整缓存的最大数目，各分片的最大数目之和等于最大数目；最大数目不大于0时清空缓存。
+         *
+         * @param capacity 缓存的最大数目。
+         */
+        void resize(int capacity) {
+            int n = matchedPathActionCache.length;
+            for (int i = 0; i < n; i++) {
+                matchedPathActionCache[i].resize(shardCapacity(capacity, n, i));
+            }
+            if (capacity <= 0) {
+                clear();
+            }
         }
 
         /**
@@ -1132,19 +2660,225 @@ public class PathActionFactory extends AbstractActionFactory<String> {
          */
         void clear() {
             fullPathActionCache.clear();
-            matchedPathActionCache.clear();
+            for (CacheShard shard : matchedPathActionCache) {
+                shard.clear();
+            }
         }
 
         /**
-         * 返回缓存的Map视图。
+         * 返回缓存的Map视图；各分片内由最近最少使用至最近使用排列。
          *
          * @return 缓存的Map视图。
          */
         Map<String, ActionCacheEntry> toMap() {
-            Map<String, ActionCacheEntry> cache = new LinkedHashMap<>(matchedPathActionCache);
+            Map<String, ActionCacheEntry> cache = new LinkedHashMap<>();
+            for (CacheShard shard : matchedPathActionCache) {
+                shard.copyTo(cache);
+            }
             cache.putAll(fullPathActionCache);
             return cache;
         }
+
+        /**
+         * 返回缓存的数目。
+         *
+         * @return 缓存的数目。
+         */
+        int size() {
+            int size = fullPathActionCache.size();
+            for (CacheShard shard : matchedPathActionCache) {
+                size += shard.size();
+            }
+            return size;
+        }
+
+        /**
+         * 返回参数匹配Action缓存的分片数目。
+         *
+         * @return 分片数目。
+         */
+        int shards() {
+            return matchedPathActionCache.length;
+        }
+
+        /**
+         * 返回参数匹配Action缓存的命中及未命中次数。
+         *
+         * @return {命中次数, 未命中次数}。
+         */
+        long[] statistics() {
+            long[] stats = new long[2];
+            for (CacheShard shard : matchedPathActionCache) {
+                synchronized (shard) {
+                    stats[0] += shard.hits;
+                    stats[1] += shard.misses;
+                }
+            }
+            return stats;
+        }
+    }
+
+    /**
+     * 参数匹配Action缓存的分片，以自身为锁保护LRU映射及命中计数。
+     */
+    private static final class CacheShard {
+
+        /** 命中次数 */
+        private long hits;
+
+        /** 未命中次数 */
+        private long misses;
+
+        /** 最近最少使用的映射 */
+        private final LRUMap<String, ActionCacheEntry> map;
+
+        /**
+         * 构造指定最大数目的分片。
+         *
+         * @param capacity 最大数目。
+         */
+        CacheShard(int capacity) {
+            this.map = new LRUMap<>(capacity);
+        }
+
+        synchronized ActionCacheEntry get(CharSequence path) {
+            ActionCacheEntry cache = map.get(path);
+            if (cache == null) {
+                misses++;
+            } else {
+                hits++;
+            }
+            return cache;
+        }
+
+        synchronized boolean contains(CharSequence path) {
+            return map.containsKey(path);
+        }
+
+        synchronized ActionCacheEntry put(String path, ActionCacheEntry cache) {
+            return map.put(path, cache);
+        }
+
+        synchronized void remove(String path) {
+            map.remove(path);
+        }
+
+        synchronized void clear() {
+            map.clear();
+        }
+
+        synchronized int size() {
+            return map.size();
+        }
+
+        synchronized void resize(int capacity) {
+            map.setMaxEntries(capacity);
+        }
+
+        synchronized void copyTo(Map<String, ActionCacheEntry> cache) {
+            cache.putAll(map);
+        }
+    }
+
+    /**
+     * ASCII编码的字节缓冲区中指定区间的字符序列视图，按字节读取字符，不改变缓冲区的位置及限制。
+     */
+    private static final class AsciiSequence implements CharSequence {
+
+        /** 字节缓冲区 */
+        private final ByteBuffer buffer;
+
+        /** 起始索引 */
+        private final int offset;
+
+        /** 字节长度 */
+        private final int length;
+
+        /**
+         * 构造一个字节缓冲区指定区间的字符序列视图。
+         *
+         * @param buffer 字节缓冲区。
+         * @param offset 起始索引。
+         * @param length 字节长度。
+         */
+        AsciiSequence(ByteBuffer buffer, int offset, int length) {
+            this.buffer = buffer;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) (buffer.get(offset + index) & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new AsciiSequence(buffer, offset + start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            if (buffer.hasArray()) {
+                return new String(buffer.array(), buffer.arrayOffset() + offset, length, StandardCharsets.ISO_8859_1);
+            }
+            byte[] bytes = new byte[length];
+            for (int i = 0; i < length; i++) {
+                bytes[i] = buffer.get(offset + i);
+            }
+            return new String(bytes, StandardCharsets.ISO_8859_1);
+        }
+    }
+
+    /**
+     * Action路由的快照，包括Action路径映射、确切路径的静态路由表及actionForward结果类型的目标Action关联。
+     * 冻结后的快照不再修改，以一次写入整体替换；未冻结时其中的映射直接修改。
+     */
+    private static final class Routes {
+
+        /**
+         * Action树结构路径映射。
+         */
+        final PathTreeMap<PathActionProxy> actions;
+
+        /**
+         * 确切路径Action的静态路由表，由Action路径映射构建；未冻结或以内存映射的索引文件查找时为 null。
+         * 查找时先于缓存及树结构，不占用缓存数目。
+         */
+        final StaticRouteTable<ActionCacheEntry> staticActions;
+
+        /**
+         * actionForward结果类型的路径与其确切路径的目标Action代理对象的映射，由Action路径映射构建，不修改Action代理对象。
+         *
+         * @see PathActionFactory#invokeForward(ActionInvocation, String)
+         */
+        final Map<String, PathActionProxy> forwards;
+
+        /**
+         * 是否已冻结。
+         */
+        final boolean frozen;
+
+        /**
+         * 构造Action路由的快照。
+         *
+         * @param actions Action树结构路径映射。
+         * @param staticActions 确切路径Action的静态路由表。
+         * @param forwards actionForward结果类型的路径与其目标Action代理对象的映射。
+         * @param frozen 是否已冻结。
+         */
+        Routes(PathTreeMap<PathActionProxy> actions, StaticRouteTable<ActionCacheEntry> staticActions,
+               Map<String, PathActionProxy> forwards, boolean frozen) {
+            this.actions = actions;
+            this.staticActions = staticActions;
+            this.forwards = forwards;
+            this.frozen = frozen;
+        }
     }
 
     /**
@@ -1152,15 +2886,20 @@ public class PathActionFactory extends AbstractActionFactory<String> {
      */
     private static class ActionCacheEntry {
 
+        /**
+         * 缓存的Action路径。
+         */
+        String path;
+
         /**
          * Action的代理对象。
          */
         PathActionProxy actionProxy;
 
         /**
-         * Action路径的参数匹配映射，如果没有则为 null
+         * Action路径的参数匹配映射，无匹配参数为空映射
          */
-        Map<String, String> matchParameters;
+        MatchParameters matchParameters;
 
         /**
          * 构造一个无属性的缓存对象。
@@ -1169,12 +2908,14 @@ public class PathActionFactory extends AbstractActionFactory<String> {
         }
 
         /**
-         * 构造一个指定Action的代理对象和Action路径的参数匹配映射的缓存对象。
+         * 构造一个指定Action路径、Action的代理对象和Action路径的参数匹配映射的缓存对象。
          *
+         * @param path 缓存的Action路径。
          * @param actionProxy Action的代理对象。
          * @param matchParameters Action路径的参数匹配映射。
          */
-        ActionCacheEntry(PathActionProxy actionProxy, Map<String, String> matchParameters) {
+        ActionCacheEntry(String path, PathActionProxy actionProxy, MatchParameters matchParameters) {
+            this.path = path;
             this.actionProxy = actionProxy;
             this.matchParameters = matchParameters;
         }
@@ -0,0 +1,169 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package net.jrouter.impl;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * PathActionFactory运行时的JMX管理接口：查看路由及缓存数目，清除缓存，调整缓存的最大数目，开启路径的调试追踪，
+ * 查看Action的拦截器及路径的查找过程。
+ *
+ * @see PathActionFactory#registerMBean(String)
+ * @since 1.8.5
+ */
+public interface PathActionFactoryMXBean {
+
+    /**
+     * 返回Action的路径数目。
+     *
+     * @return Action的路径数目。
+     */
+    int getActionCount();
+
+    /**
+     * 返回静态路由表的路径数目。
+     *
+     * @return 静态路由表的路径数目。
+     */
+    int getStaticRouteCount();
+
+    /**
+     * 返回是否已冻结。
+     *
+     * @return 是否已冻结。
+     */
+    boolean isFrozen();
+
+    /**
+     * 返回缓存的数目。
+     *
+     * @return 缓存的数目。
+     */
+    int getActionCacheSize();
+
+    /**
+     * 返回最大缓存数目。
+     *
+     * @return 最大缓存数目。
+     */
+    int getActionCacheNumber();
+
+    /**
+     * 调整最大缓存数目。
+     *
+     * @param actionCacheNumber 最大缓存数目。
+     *
+     * @see PathActionFactory#setActionCacheNumber(int)
+     */
+    void setActionCacheNumber(int actionCacheNumber);
+
+    /**
+     * 返回参数匹配Action缓存的分片数目。
+     *
+     * @return 分片数目。
+     */
+    int getActionCacheShards();
+
+    /**
+     * 返回参数匹配Action缓存的命中次数。
+     *
+     * @return 命中次数。
+     */
+    long getActionCacheHits();
+
+    /**
+     * 返回参数匹配Action缓存的未命中次数。
+     *
+     * @return 未命中次数。
+     */
+    long getActionCacheMisses();
+
+    /**
+     * 清除所有Action缓存。
+     */
+    void clearActionCache();
+
+    /**
+     * 移除指定请求路径的Action缓存。
+     *
+     * @param path 请求路径。
+     *
+     * @return 是否存在路径的缓存。
+     */
+    boolean removeActionCache(String path);
+
+    /**
+     * 返回调试追踪的路径。
+     *
+     * @return 调试追踪的路径。
+     */
+    Set<String> getTracedPaths();
+
+    /**
+     * 开启或关闭路径的调试追踪。
+     *
+     * @param path 请求路径或Action路径。
+     * @param enabled 是否开启。
+     *
+     * @see PathActionFactory#setPathTracing(String, boolean)
+     */
+    void setPathTracing(String path, boolean enabled);
+
+    /**
+     * 返回请求路径匹配的Action及其拦截器。
+     *
+     * @param path 请求路径或Action路径。
+     *
+     * @return Action及各拦截器的描述。
+     *
+     * @see PathActionFactory#getInterceptorChain(String)
+     */
+    List<String> getInterceptorChain(String path);
+
+    /**
+     * 解释路径的查找过程。
+     *
+     * @param path 请求路径。
+     *
+     * @return 路径查找的解释。
+     *
+     * @see PathActionFactory#explain(String)
+     */
+    String explain(String path);
+
+    /**
+     * 返回是否开启树结构查找的分支统计。
+     *
+     * @return 是否开启分支统计。
+     */
+    boolean isRouteProfiling();
+
+    /**
+     * 开启或关闭树结构查找的分支统计。
+     *
+     * @param enabled 是否开启。
+     */
+    void setRouteProfiling(boolean enabled);
+
+    /**
+     * 返回树结构查找的分支统计。
+     *
+     * @return 分支统计，未开启时返回 null。
+     */
+    String getRouteProfile();
+}
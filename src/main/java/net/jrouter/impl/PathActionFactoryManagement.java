@@ -0,0 +1,196 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package net.jrouter.impl;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Set;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import net.jrouter.JRouterException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 委托至PathActionFactory的JMX管理接口实现。
+ *
+ * @see PathActionFactory#registerMBean(String)
+ * @since 1.8.5
+ */
+final class PathActionFactoryManagement implements PathActionFactoryMXBean {
+
+    /** 日志 */
+    private static final Logger LOG = LoggerFactory.getLogger(PathActionFactoryManagement.class);
+
+    /** 管理的ActionFactory */
+    private final PathActionFactory factory;
+
+    /**
+     * 构造指定ActionFactory的管理接口。
+     *
+     * @param factory PathActionFactory。
+     */
+    PathActionFactoryManagement(PathActionFactory factory) {
+        this.factory = factory;
+    }
+
+    @Override
+    public int getActionCount() {
+        return factory.getActions().size();
+    }
+
+    @Override
+    public int getStaticRouteCount() {
+        return factory.getStaticRouteCount();
+    }
+
+    @Override
+    public boolean isFrozen() {
+        return factory.isFrozen();
+    }
+
+    @Override
+    public int getActionCacheSize() {
+        return factory.getActionCacheSize();
+    }
+
+    @Override
+    public int getActionCacheNumber() {
+        return factory.getActionCacheNumber();
+    }
+
+    @Override
+    public void setActionCacheNumber(int actionCacheNumber) {
+        factory.setActionCacheNumber(actionCacheNumber);
+    }
+
+    @Override
+    public int getActionCacheShards() {
+        return factory.getActionCacheShards();
+    }
+
+    @Override
+    public long getActionCacheHits() {
+        return factory.getActionCacheStatistics()[0];
+    }
+
+    @Override
+    public long getActionCacheMisses() {
+        return factory.getActionCacheStatistics()[1];
+    }
+
+    @Override
+    public void clearActionCache() {
+        factory.clearActionCache();
+    }
+
+    @Override
+    public boolean removeActionCache(String path) {
+        return factory.removeActionCache(path);
+    }
+
+    @Override
+    public Set<String> getTracedPaths() {
+        return factory.getTracedPaths();
+    }
+
+    @Override
+    public void setPathTracing(String path, boolean enabled) {
+        factory.setPathTracing(path, enabled);
+    }
+
+    @Override
+    public List<String> getInterceptorChain(String path) {
+        return factory.getInterceptorChain(path);
+    }
+
+    @Override
+    public String explain(String path) {
+        return factory.explain(path).toString();
+    }
+
+    @Override
+    public boolean isRouteProfiling() {
+        return factory.getRouteProfile() != null;
+    }
+
+    @Override
+    public void setRouteProfiling(boolean enabled) {
+        factory.setRouteProfiling(enabled);
+    }
+
+    @Override
+    public String getRouteProfile() {
+        RouteProfile profile = factory.getRouteProfile();
+        return profile == null ? null : profile.toString();
+    }
+
+    /**
+     * 以指定名称注册ActionFactory的管理接口至平台的MBeanServer；名称已被注册时不再注册。
+     *
+     * @param factory PathActionFactory。
+     * @param name 名称。
+     *
+     * @return 注册的ObjectName；名称已被注册时返回 null。
+     *
+     * @throws JRouterException 如果注册失败。
+     */
+    static ObjectName register(PathActionFactory factory, String name) {
+        ObjectName objectName = null;
+        try {
+            objectName = objectName(name);
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new PathActionFactoryManagement(factory), objectName);
+            LOG.info("Register MBean : {}", objectName);
+            return objectName;
+        } catch (InstanceAlreadyExistsException e) {
+            LOG.warn("MBean already registered : {}", objectName);
+            return null;
+        } catch (JMException e) {
+            throw new JRouterException("Can't register ActionFactory MBean : " + name, e);
+        }
+    }
+
+    /**
+     * 注销以指定名称注册的管理接口；未注册时忽略。
+     *
+     * @param name 名称。
+     *
+     * @throws JRouterException 如果注销失败。
+     */
+    static void unregister(String name) {
+        try {
+            ObjectName objectName = objectName(name);
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+                LOG.info("Unregister MBean : {}", objectName);
+            }
+        } catch (JMException e) {
+            throw new JRouterException("Can't unregister ActionFactory MBean : " + name, e);
+        }
+    }
+
+    /**
+     * 指定名称的ObjectName。
+     */
+    static ObjectName objectName(String name) throws JMException {
+        return new ObjectName(net.jrouter.metrics.MetricsRegistry.JMX_DOMAIN + ":type=ActionFactory,name="
+                + ObjectName.quote(name));
+    }
+}
@@ -26,6 +26,7 @@ import net.jrouter.ParameterConverter;
 import net.jrouter.annotation.Action;
 import net.jrouter.annotation.Dynamic;
 import net.jrouter.annotation.Result;
+import net.jrouter.jfr.FlightEvents;
 import net.jrouter.util.CollectionUtil;
 import net.jrouter.util.MethodUtil;
 import org.slf4j.Logger;
@@ -41,6 +42,9 @@ public class PathActionInvocation implements ActionInvocation<String> {
     /** 日志 */
     private static final Logger LOG = LoggerFactory.getLogger(PathActionInvocation.class);
 
+    /** JFR事件 */
+    private static final FlightEvents EVENTS = FlightEvents.getInstance();
+
     /** Action是否已调用 */
     @lombok.Setter(lombok.AccessLevel.PACKAGE)
     @lombok.Getter
@@ -77,6 +81,14 @@ public class PathActionInvocation implements ActionInvocation<String> {
     @lombok.Setter
     private Object invokeResult;
 
+    /**
+     * 抽样追踪时各拦截器（包含其后的调用）及最后Action方法的耗时（纳秒），未追踪时为 null。
+     *
+     * @see net.jrouter.metrics.SlowCallTracer
+     * @since 1.8.5
+     */
+    private long[] traceNanos;
+
     /** Action结果对象 */
     @lombok.Getter
     @lombok.Setter
@@ -87,6 +99,15 @@ public class PathActionInvocation implements ActionInvocation<String> {
     @lombok.Setter(lombok.AccessLevel.PACKAGE)
     private Map<String, String> pathParameters;
 
+    /**
+     * Action路径中数值类型约束（如{id:long}）的匹配参数，按路径顺序已转换为Integer或Long对象，
+     * 追加于转换参数之后，由参数转换器直接注入int/long类型的方法参数。
+     *
+     * @since 1.8.5
+     */
+    @lombok.Getter
+    private Object[] pathVariables;
+
     /** 方法参数转换器 */
     @Dynamic
     @lombok.Getter
@@ -111,6 +132,50 @@ public class PathActionInvocation implements ActionInvocation<String> {
         this.interceptors = actionProxy.getInterceptorProxies();
     }
 
+    /**
+     * 设置Action路径中数值类型约束的匹配参数，并追加至转换参数。
+     *
+     * @param pathVariables 路径中数值类型约束的匹配参数。
+     */
+    void setPathVariables(Object[] pathVariables) {
+        this.pathVariables = pathVariables;
+        if (CollectionUtil.isNotEmpty(pathVariables)) {
+            this.convertParameters = CollectionUtil.append(new Object[]{this}, pathVariables);
+        }
+    }
+
+    /**
+     * 开始记录各拦截器及Action方法的耗时。
+     */
+    void startTrace() {
+        traceNanos = new long[(interceptors == null ? 0 : interceptors.size()) + 1];
+    }
+
+    /**
+     * 返回各拦截器（包含其后的调用）及最后Action方法的耗时（纳秒），未追踪时为 null。
+     *
+     * @return 各拦截器及Action方法的耗时。
+     */
+    long[] getTraceNanos() {
+        return traceNanos;
+    }
+
+    /**
+     * 返回拦截器的名称。
+     *
+     * @return 拦截器的名称。
+     */
+    String[] getInterceptorNames() {
+        if (interceptors == null) {
+            return new String[0];
+        }
+        String[] names = new String[interceptors.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = interceptors.get(i).getName();
+        }
+        return names;
+    }
+
     @Override
     public Object invokeActionOnly(Object... params) throws InvocationProxyException {
         Object[] originalParams = this.originalParameters;
@@ -123,8 +188,16 @@ public class PathActionInvocation implements ActionInvocation<String> {
             LOG.debug("Invoke Action [{}]; Parameters {} at : {}",
                     actionProxy.getPath(), java.util.Arrays.toString(originalParams), actionProxy.getMethodInfo());
         }
-        //set invokeResult
-        invokeResult = MethodUtil.invoke(actionProxy, parameterConverter, originalParams, getConvertParameters());
+        long[] trace = traceNanos;
+        long start = trace == null ? 0 : System.nanoTime();
+        try {
+            //set invokeResult
+            invokeResult = MethodUtil.invoke(actionProxy, parameterConverter, originalParams, getConvertParameters());
+        } finally {
+            if (trace != null) {
+                trace[trace.length - 1] = System.nanoTime() - start;
+            }
+        }
         return invokeResult;
     }
 
@@ -138,12 +211,25 @@ public class PathActionInvocation implements ActionInvocation<String> {
         }
         //recursive invoke
         if (interceptors != null && interceptorIndex < interceptors.size()) {
-            final InterceptorProxy interceptor = interceptors.get(interceptorIndex++);
+            final int index = interceptorIndex++;
+            final InterceptorProxy interceptor = interceptors.get(index);
             if (LOG.isDebugEnabled()) {
                 LOG.debug("Invoke Interceptor [{}] at : {}", interceptor.getName(), interceptor.getMethodInfo());
             }
-            //pass ActionInvocation to Interceptor for recursive invoking by parameterConverter
-            MethodUtil.invokeConvertParameters(interceptor, this);
+            Object event = EVENTS.beginInterceptor();
+            long[] trace = traceNanos;
+            long start = trace == null ? 0 : System.nanoTime();
+            try {
+                //pass ActionInvocation to Interceptor for recursive invoking by parameterConverter
+                MethodUtil.invokeConvertParameters(interceptor, this);
+            } finally {
+                if (trace != null) {
+                    trace[index] = System.nanoTime() - start;
+                }
+                if (event != null) {
+                    EVENTS.commitInterceptor(event, actionPath, interceptor.getName());
+                }
+            }
         } else //action invoke
             if (!executed) {
                 invokeActionOnly(params);
@@ -151,6 +237,14 @@ public class PathActionInvocation implements ActionInvocation<String> {
         return invokeResult;
     }
 
+    @Override
+    public Object forward(String path) throws InvocationProxyException {
+        if (actionFactory instanceof PathActionFactory) {
+            return ((PathActionFactory) actionFactory).invokeForward(this, path);
+        }
+        return actionFactory.invokeAction(path, originalParameters);
+    }
+
     @Override
     public Object[] getParameters() {
         return originalParameters;
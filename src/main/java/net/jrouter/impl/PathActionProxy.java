@@ -19,6 +19,8 @@ package net.jrouter.impl;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import net.jrouter.ActionFactory;
@@ -26,6 +28,7 @@ import net.jrouter.ActionProxy;
 import net.jrouter.annotation.Action;
 import net.jrouter.annotation.Interceptor;
 import net.jrouter.annotation.Result;
+import net.jrouter.util.FrozenMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -68,6 +71,9 @@ public final class PathActionProxy extends DefaultProxy implements ActionProxy<S
     @lombok.Getter
     private Map<String, Result> results;
 
+    /** 是否已冻结 */
+    private boolean frozen = false;
+
     /**
      * 构造一个Action的代理类，包含指定的ActionFactory、命名空间、全路径、所代理的Action、代理的方法及方法的对象。
      *
@@ -168,4 +174,27 @@ public final class PathActionProxy extends DefaultProxy implements ActionProxy<S
         return interceptors;
     }
 
+    /**
+     * 冻结Action的参数、拦截器及结果对象集合，转换为紧凑的不可变集合。
+     *
+     * @see AbstractActionFactory#freeze()
+     */
+    void freeze() {
+        if (frozen) {
+            return;
+        }
+        if (actionParameters != null) {
+            actionParameters = FrozenMap.copyOf(actionParameters);
+        }
+        if (results != null) {
+            results = FrozenMap.copyOf(results);
+        }
+        if (interceptors != null) {
+            interceptors = interceptors.isEmpty()
+                    ? Collections.<InterceptorProxy>emptyList()
+                    : Collections.unmodifiableList(Arrays.asList(interceptors.toArray(new InterceptorProxy[interceptors.size()])));
+        }
+        frozen = true;
+    }
+
 }
@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package net.jrouter.impl;
+
+/**
+ * 字符序列指定区间的视图，用于在以{@code String}为键的{@code HashMap}、{@code ConcurrentHashMap}中直接查找，不复制字符。
+ * <p>
+ * 哈希值与相同内容的{@code String}一致；{@link #equals(Object)}按内容比较任意{@code CharSequence}。
+ * 上述{@code Map}查找时以查找键调用{@code key.equals(storedKey)}，因此仅可作为查找键使用，不可作为键存储。
+ * 区间可重置，非线程安全。
+ * </p>
+ *
+ * @since 1.8.5
+ */
+final class PathKey implements CharSequence {
+
+    /** 原字符序列 */
+    private final CharSequence source;
+
+    /** 区间起始索引（包含） */
+    private int start;
+
+    /** 区间结束索引（不包含） */
+    private int end;
+
+    /** 缓存的哈希值 */
+    private int hash;
+
+    /**
+     * 构造一个指定字符序列区间的视图。
+     *
+     * @param source 原字符序列。
+     * @param start 区间起始索引（包含）。
+     * @param end 区间结束索引（不包含）。
+     */
+    PathKey(CharSequence source, int start, int end) {
+        this.source = source;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * 重置视图的区间。
+     *
+     * @param start 区间起始索引（包含）。
+     * @param end 区间结束索引（不包含）。
+     */
+    void reset(int start, int end) {
+        this.start = start;
+        this.end = end;
+        this.hash = 0;
+    }
+
+    @Override
+    public int length() {
+        return end - start;
+    }
+
+    @Override
+    public char charAt(int index) {
+        return source.charAt(start + index);
+    }
+
+    @Override
+    public CharSequence subSequence(int from, int to) {
+        return source.subSequence(start + from, start + to);
+    }
+
+    /**
+     * 与{@link String#hashCode()}算法一致。
+     */
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            for (int i = start; i < end; i++) {
+                h = 31 * h + source.charAt(i);
+            }
+            hash = h;
+        }
+        return h;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof CharSequence)) {
+            return false;
+        }
+        CharSequence cs = (CharSequence) obj;
+        int len = end - start;
+        if (cs.length() != len) {
+            return false;
+        }
+        for (int i = 0; i < len; i++) {
+            if (cs.charAt(i) != source.charAt(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 创建区间内容的字符串；区间为整个{@code String}时返回原字符串。
+     */
+    @Override
+    public String toString() {
+        if (start == 0 && source instanceof String && end == source.length()) {
+            return (String) source;
+        }
+        return source.subSequence(start, end).toString();
+    }
+}
@@ -17,13 +17,29 @@
 
 package net.jrouter.impl;
 
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
 import java.io.Serializable;
+import java.nio.channels.Channels;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
 import java.util.*;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import net.jrouter.util.FrozenMap;
 
 /**
  * 适配{@code Map}接口的树结构路径。包含了一个树结构路径和一个含相关联值的最终路径的{@code Set}集合。
+ * 树结构路径可编译为内存映射的索引文件，由只读的映射以堆外的索引查找。
  *
  * @param <V> 与路径相关联值的类型。
+ *
+ * @see #map(File)
  */
 class PathTreeMap<V> extends AbstractMap<String, V> implements Serializable {
 
@@ -35,6 +51,21 @@ class PathTreeMap<V> extends AbstractMap<String, V> implements Serializable {
     /** entrySet views for adapting for the Map interface */
     private transient Set<Map.Entry<String, V>> entrySet = null;
 
+    /** 是否已冻结，冻结后不可添加或移除 */
+    private boolean frozen = false;
+
+    /** 内存映射的树结构路径索引；为 null 时由堆内的树结构路径查找 */
+    private transient MappedPathTree<V> mapped;
+
+    /** 内存映射的索引文件 */
+    private transient File mappedFile;
+
+    /** 索引文件在使用期间持有的文件锁，用于区分其他进程遗留的索引文件 */
+    private transient FileLock mappedLock;
+
+    /** 文件锁的区域，位于文件内容之外，不影响读写及映射 */
+    private static final long LOCK_POSITION = Long.MAX_VALUE - 1;
+
     /**
      * 构造一个指定路径分割符的映射路径和关联值的映射。
      *
@@ -46,6 +77,176 @@ class PathTreeMap<V> extends AbstractMap<String, V> implements Serializable {
         entrySet = new HashSet<>();
     }
 
+    /**
+     * 构造一个与指定映射相同的映射，复制其树结构路径的所有节点；此后两者的修改互不影响。
+     *
+     * @param map 指定的映射。
+     *
+     * @since 1.8.5
+     */
+    public PathTreeMap(PathTreeMap<V> map) {
+        super();
+        if (map.mapped == null) {
+            tree = new PathTree<>(map.tree);
+            entrySet = new HashSet<>(map.entrySet);
+        } else {
+            //由索引文件的路径重建树结构
+            tree = new PathTree<>(map.mapped.getPathSeparator());
+            entrySet = new HashSet<>(map.size() * 4 / 3 + 1);
+            for (Map.Entry<String, V> e : map.entrySet) {
+                tree.put(e.getKey(), e.getValue());
+                entrySet.add(e);
+            }
+        }
+    }
+
+    /**
+     * 构造一个以内存映射的索引文件为树结构路径的只读映射。
+     *
+     * @param mapped 内存映射的树结构路径索引。
+     */
+    private PathTreeMap(MappedPathTree<V> mapped) {
+        super();
+        //由索引文件查找，不创建堆内的树结构
+        tree = null;
+        entrySet = mapped.entrySet();
+        frozen = true;
+        this.mapped = mapped;
+    }
+
+    /**
+     * 将树结构路径编译为索引文件，返回以内存映射的索引文件查找的只读映射；此映射不变。
+     * 每次编译写入与指定文件同目录、以其名称加唯一后缀命名的新文件（如actions.idx.123），不覆盖或替换已映射的文件；
+     * 被替换的映射不再使用后由{@link #deleteMappedFile()}删除其文件。
+     * 映射期间持有索引文件的文件锁；编译前删除同目录下未被锁定的同名前缀索引文件，即异常退出的进程遗留的文件。
+     *
+     * @param file 索引文件，实际写入的文件以其名称为前缀。
+     *
+     * @return 以内存映射的索引文件查找的只读映射。
+     *
+     * @throws IOException 如果写入或映射文件错误。
+     *
+     * @since 1.8.5
+     */
+    PathTreeMap<V> map(File file) throws IOException {
+        if (mapped != null) {
+            return new PathTreeMap<>(this).map(file);
+        }
+        List<String> paths = new ArrayList<>(entrySet.size());
+        for (Map.Entry<String, V> e : entrySet) {
+            paths.add(e.getKey());
+        }
+        File dir = file.getAbsoluteFile().getParentFile();
+        if (dir != null && !dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Can't create directory : " + dir);
+        }
+        String prefix = file.getName() + '.';
+        deleteStaleFiles(dir, prefix);
+        //唯一的文件名，多个映射或多个ActionFactory使用相同的设置时互不影响
+        File generation = File.createTempFile(prefix, "", dir);
+        RandomAccessFile raf = null;
+        try {
+            raf = new RandomAccessFile(generation, "rw");
+            FileLock lock = raf.getChannel().lock(LOCK_POSITION, 1, false);
+            Object[] values = tree.compile(generation, paths);
+            PathTreeMap<V> res = new PathTreeMap<>(MappedPathTree.<V>open(generation, values));
+            res.mappedFile = generation;
+            res.mappedLock = lock;
+            return res;
+        } catch (IOException | RuntimeException e) {
+            close(raf);
+            generation.delete();
+            throw e;
+        }
+    }
+
+    /**
+     * 删除指定目录下以指定前缀加数字后缀命名、且未被锁定的索引文件。
+     * 使用中的索引文件由其所在进程锁定；仍被锁定或无法删除的文件保留。
+     *
+     * @param dir 索引文件的目录。
+     * @param prefix 索引文件名称的前缀。
+     */
+    private static void deleteStaleFiles(File dir, final String prefix) {
+        File[] files = (dir == null ? new File(".") : dir).listFiles(new FilenameFilter() {
+
+            @Override
+            public boolean accept(File d, String name) {
+                if (name.length() <= prefix.length() || !name.startsWith(prefix)) {
+                    return false;
+                }
+                for (int i = prefix.length(); i < name.length(); i++) {
+                    if (!Character.isDigit(name.charAt(i))) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        });
+        if (files == null) {
+            return;
+        }
+        for (File f : files) {
+            RandomAccessFile raf = null;
+            try {
+                raf = new RandomAccessFile(f, "rw");
+                if (raf.getChannel().tryLock(LOCK_POSITION, 1, false) != null) {
+                    //关闭后删除，部分系统无法删除已打开的文件
+                    close(raf);
+                    f.delete();
+                }
+            } catch (IOException | OverlappingFileLockException e) {
+                //使用中或无法访问的文件
+            } finally {
+                close(raf);
+            }
+        }
+    }
+
+    /**
+     * 关闭文件，同时释放其持有的文件锁。
+     *
+     * @param file 文件，可为 null。
+     */
+    private static void close(Closeable file) {
+        if (file != null) {
+            try {
+                file.close();
+            } catch (IOException e) {
+                //ignore
+            }
+        }
+    }
+
+    /**
+     * 删除内存映射的索引文件，用于此映射被新的映射替换后；非内存映射的映射无操作。
+     * 此映射由垃圾回收释放，在此之前仍可读取；文件仍被映射而无法删除时（如Windows系统）在虚拟机退出时删除。
+     *
+     * @since 1.8.5
+     */
+    void deleteMappedFile() {
+        FileLock lock = mappedLock;
+        if (lock != null) {
+            close(lock.channel());
+            mappedLock = null;
+        }
+        File file = mappedFile;
+        if (file != null && !file.delete() && file.exists()) {
+            file.deleteOnExit();
+        }
+    }
+
+    /**
+     * 判断是否以内存映射的索引文件查找。
+     *
+     * @return 以内存映射的索引文件查找返回true，否则返回false。
+     *
+     * @since 1.8.5
+     */
+    boolean isMapped() {
+        return mapped != null;
+    }
+
     /**
      * 添加指定的全路径与其相关联的值至视图。
      *
@@ -56,13 +257,30 @@ class PathTreeMap<V> extends AbstractMap<String, V> implements Serializable {
         entrySet.add(new SimpleImmutableEntry<>(fullPath, value));
     }
 
+    /**
+     * @see PathTree#remove(String)
+     */
     @Override
     public V remove(Object key) {
-        throw new UnsupportedOperationException();
+        checkFrozen();
+        String fullPath = key.toString();
+        V res = tree.remove(fullPath);
+        if (res != null && !entrySet.remove(new SimpleImmutableEntry<>(fullPath, res))) {
+            //路径与添加时的写法不同
+            Iterator<Map.Entry<String, V>> it = entrySet.iterator();
+            while (it.hasNext()) {
+                if (it.next().getValue() == res) {
+                    it.remove();
+                    break;
+                }
+            }
+        }
+        return res;
     }
 
     @Override
     public V put(String fullPath, V value) {
+        checkFrozen();
         V res = tree.put(fullPath, value);
         //if add new to addEntrySet
         if (res == null) {
@@ -71,20 +289,94 @@ class PathTreeMap<V> extends AbstractMap<String, V> implements Serializable {
         return res;
     }
 
+    /**
+     * 冻结映射，映射视图转换为紧凑的不可变集合，此后不可添加或移除；需修改时由复制的映射替换。
+     *
+     * @see #PathTreeMap(PathTreeMap)
+     * @since 1.8.5
+     */
+    void freeze() {
+        if (!frozen) {
+            Map<String, V> map = new LinkedHashMap<>(entrySet.size() * 4 / 3 + 1);
+            for (Map.Entry<String, V> e : entrySet) {
+                map.put(e.getKey(), e.getValue());
+            }
+            entrySet = FrozenMap.copyOf(map).entrySet();
+            frozen = true;
+        }
+    }
+
+    /**
+     * 检查映射是否已冻结。
+     */
+    private void checkFrozen() {
+        if (frozen) {
+            throw new UnsupportedOperationException("PathTreeMap is frozen");
+        }
+    }
+
+    /**
+     * 检查映射是否由堆内的树结构路径查找；以内存映射的索引文件查找时不包含堆内的树结构。
+     */
+    private void checkHeap() {
+        if (mapped != null) {
+            throw new IllegalStateException("PathTreeMap is mapped to file : " + mappedFile);
+        }
+    }
+
     /**
      * @see PathTree#get(String, Map)
      */
     public V get(String fullPath, Map<String, String> matchParameters) {
-        return tree.get(fullPath, matchParameters);
+        return mapped == null ? tree.get(fullPath, matchParameters) : mapped.get(fullPath, matchParameters);
+    }
+
+    /**
+     * @throws IllegalStateException 如果以内存映射的索引文件查找。
+     *
+     * @see PathTree#isExact(String)
+     */
+    public boolean isExact(String fullPath) {
+        checkHeap();
+        return tree.isExact(fullPath);
+    }
+
+    /**
+     * @see PathTree#match(CharSequence)
+     */
+    public PathTree.Match<V> match(CharSequence fullPath) {
+        return mapped == null ? tree.match(fullPath) : mapped.match(fullPath);
+    }
+
+    /**
+     * 查找路径并由探针记录各级的候选节点；以内存映射的索引文件查找时探针仅记录各级候选节点的数目及最终匹配节点的代码，
+     * 详细模式下不记录各级候选节点的路径及代码（索引文件不存储节点的路径）。
+     *
+     * @see PathTree#match(CharSequence, PathTree.Probe)
+     * @since 1.8.5
+     */
+    PathTree.Match<V> match(CharSequence fullPath, PathTree.Probe probe) {
+        return mapped == null ? tree.match(fullPath, probe) : mapped.match(fullPath, probe);
     }
 
     @Override
     public V get(Object fullPath) {
-        return tree.get(fullPath.toString(), null);
+        return get(fullPath.toString(), null);
+    }
+
+    /**
+     * @throws IllegalStateException 如果以内存映射的索引文件查找。
+     *
+     * @see PathTree#node(String)
+     */
+    public V node(String fullPath) {
+        checkHeap();
+        return tree.node(fullPath);
     }
 
     @Override
     public void clear() {
+        checkFrozen();
         entrySet.clear();
         tree.clear();
     }
@@ -114,16 +406,27 @@ class PathTree<V> implements Serializable {
     public static final String SINGLE_MATCH = "*";
 
     /**
-     * 路径尾匹配
+     * 匹配键名与类型约束的分隔符，如{id:long}、{slug:[a-z]+}。
+     *
+     * @since 1.8.5
+     */
+    public static final char CONSTRAINT_SEPARATOR = ':';
+
+    /**
+     * 路径尾匹配标识，仅可作为路径的最后一级，匹配其后的一级或多级子路径；匹配的剩余路径以"**"为键名，
+     * 或以{name:**}指定键名，如/static/**、/proxy/{service}/{path:**}。
+     * 匹配全部子路径的路径优先于尾匹配的路径，尾匹配的路径之间匹配级数深的优先。
      *
-     * @deprecated
+     * @since 1.8.5
      */
-    @Deprecated
-    private static final String LAST_MATCH = "**";
+    public static final String LAST_MATCH = "**";
 
     /** 树路径的根节点 */
     private TreeNode<V> root;
 
+    /** 树中节点路径字符串的常量池，相同的子路径共享同一字符串对象 */
+    private Map<String, String> segments;
+
     /**
      * 构造一个默认路径分割符'/'的路径树。
      */
@@ -140,6 +443,56 @@ class PathTree<V> implements Serializable {
         this.pathSeparator = pathSeparator;
         root = new TreeNode<>(Character.toString(pathSeparator), null);
         root.code = 1;
+        segments = new HashMap<>();
+    }
+
+    /**
+     * 构造一个与指定路径树相同的路径树，复制其所有节点；相关联的值及节点中不可变的数组共享。
+     *
+     * @param tree 指定的路径树。
+     *
+     * @since 1.8.5
+     */
+    PathTree(PathTree<V> tree) {
+        this(tree.pathSeparator);
+        if (tree.root != null) {
+            root = tree.root.copy();
+        }
+        //由复制后的节点重建常量池，已移除节点的子路径不再保留
+        internNodes(root);
+    }
+
+    /**
+     * 将指定节点及其所有子节点引用的子路径及匹配键名添加至常量池。
+     *
+     * @param node 指定的节点。
+     */
+    private void internNodes(TreeNode<V> node) {
+        segments.put(node.path, node.path);
+        if (node.matchKeys != null) {
+            for (String key : node.matchKeys) {
+                segments.put(key, key);
+            }
+        }
+        for (TreeNode<V> child : node.getChildren()) {
+            internNodes(child);
+        }
+    }
+
+    /**
+     * 返回常量池中与指定子路径相同的字符串，如果没有则将其添加至常量池。
+     *
+     * @param segment 子路径字符串。
+     *
+     * @return 常量池中的子路径字符串。
+     */
+    private String intern(String segment) {
+        String s = segments.get(segment);
+        if (s == null) {
+            segments.put(segment, segment);
+            s = segment;
+        }
+        return s;
     }
 
     /**
@@ -149,7 +502,7 @@ class PathTree<V> implements Serializable {
      *
      * @return 是否为根路径。
      */
-    private boolean isRoot(String fullPath) {
+    private boolean isRoot(CharSequence fullPath) {
         return fullPath.length() == 1 && pathSeparator == fullPath.charAt(0);
     }
 
@@ -180,15 +533,117 @@ class PathTree<V> implements Serializable {
         if (len == 0) {
             throw new IllegalArgumentException("Null path : " + fullPath);
         }
+        for (int i = 0; i < len; i++) {
+            paths[i] = intern(paths[i]);
+        }
         TreeNode<V> cur = root;
         for (int i = 0; i < len - 1; i++) {
+            String nodePath = intern(getNodePath(paths[i]));
+            if (LAST_MATCH.equals(nodePath)) {
+                throw new IllegalArgumentException("'" + LAST_MATCH + "' must be the last path : " + fullPath);
+            }
             //add tree branches
-            cur = cur.addBranch(paths, paths[i]);
+            cur = cur.addBranch(paths, paths[i], nodePath);
 //            cur = cur.get(paths[i]);
         }
         //add the last path with value.
         //return null means to add a new node, else return old node with value.
-        return cur.addLeaf(paths, paths[len - 1], value);
+        return cur.addLeaf(paths, paths[len - 1], intern(getNodePath(paths[len - 1])), value);
+    }
+
+    /**
+     * 获取与指定路径确切节点相关联的值，不作任何匹配；如果不存在该节点或节点无关联值，则返回 null。
+     * 键匹配的路径按其节点路径'*'或'*:约束'查找，如{id}与{name}为同一节点，{id:long}与{name}为不同节点。
+     *
+     * @param fullPath 指定的全路径。
+     *
+     * @return 与指定路径确切节点相关联的值；如果不存在则返回 null。
+     *
+     * @since 1.8.5
+     */
+    public V node(String fullPath) {
+        TreeNode<V> node = findNode(fullPath);
+        return node == null ? null : node.value;
+    }
+
+    /**
+     * 移除与添加时一致的路径（非匹配查找）及其相关联的值，并返回原有路径的值；
+     * 移除后不再含相关联值及子路径的节点一并从树中移除。
+     *
+     * @param fullPath 指定的相关路径。
+     *
+     * @return 以前与路径相关联的值，如果没有则返回 null。
+     *
+     * @since 1.8.5
+     */
+    public V remove(String fullPath) {
+        //root path
+        if (isRoot(fullPath)) {
+            V oldRoot = root.value;
+            root.value = null;
+            return oldRoot;
+        }
+        final String[] paths = parsePath(fullPath);
+        int len = paths.length;
+        if (len == 0) {
+            return null;
+        }
+        //根节点至叶子节点的路径节点
+        List<TreeNode<V>> nodes = new ArrayList<>(len + 1);
+        TreeNode<V> cur = root;
+        nodes.add(cur);
+        for (String path : paths) {
+            cur = cur.getChild(getNodePath(path));
+            if (cur == null) {
+                return null;
+            }
+            nodes.add(cur);
+        }
+        V old = cur.value;
+        if (old == null) {
+            return null;
+        }
+        cur.value = null;
+        cur.indexKeys = null;
+        cur.matchKeys = null;
+        cur.matchIndexes = null;
+        cur.variables = 0;
+        cur.tailIndex = -1;
+        //prune
+        for (int i = len; i > 0; i--) {
+            TreeNode<V> node = nodes.get(i);
+            if (node.value != null || node.hasChildren()) {
+                break;
+            }
+            nodes.get(i - 1).removeChildNode(node);
+        }
+        return old;
+    }
+
+    /**
+     * 判断是否为确切路径，即所有子路径均为确切字符串，不包含'*'及键匹配。
+     * 与确切路径相同的字符串总是匹配该路径的节点。
+     *
+     * @param fullPath 指定的全路径。
+     *
+     * @return 是确切路径返回true，否则返回false。
+     *
+     * @since 1.8.5
+     */
+    public boolean isExact(String fullPath) {
+        if (isRoot(fullPath)) {
+            return true;
+        }
+        String[] paths = parsePath(fullPath);
+        if (paths.length == 0) {
+            return false;
+        }
+        for (String path : paths) {
+            if (SINGLE_MATCH.equals(path) || LAST_MATCH.equals(path) || getMatchKey(path) != null) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -215,40 +670,146 @@ class PathTree<V> implements Serializable {
         if (isRoot(fullPath)) {
             return root.value;
         }
-        String[] paths = parsePath(fullPath);
+        int[] segments = parseSegments(fullPath);
+        TreeNode<V> matcher = find(fullPath, segments, null);
+        if (matcher == null) {
+            return null;
+        }
+        //fill the MatchParameters
+        if (matchParameters != null && matcher.indexKeys != null) {
+            for (IndexKey ik : matcher.indexKeys) {
+                //不做匹配路径键值的重复判断
+                matchParameters.put(ik.matchKey, value(fullPath, segments, ik.index, matcher));
+            }
+        }
+        return matcher.value;
+    }
 
-        int len = paths.length;
+    /**
+     * 获取指定路径相关联的值及其不可变的匹配参数映射；如果不包含该路径的关联关系，则返回 null。
+     * 匹配参数映射的键名数组由匹配的树节点共享，数值类型约束（int、long）的匹配参数一并转换。
+     * 路径按字符区间与树节点比较，仅匹配参数的值创建字符串。
+     *
+     * @param fullPath 指定路径的字符序列。
+     *
+     * @return 指定路径相关联的值及匹配参数；如果不包含该路径的关联关系，则返回 null。
+     *
+     * @since 1.8.5
+     */
+    public Match<V> match(CharSequence fullPath) {
+        return match(fullPath, null);
+    }
+
+    /**
+     * 查找指定路径相关联的值及匹配参数，并由探针记录各级的候选节点及最终匹配的节点。
+     *
+     * @param fullPath 指定路径的字符序列。
+     * @param probe 探针，可为 null。
+     *
+     * @return 指定路径相关联的值及匹配参数；如果不包含该路径的关联关系，则返回 null。
+     *
+     * @since 1.8.5
+     */
+    Match<V> match(CharSequence fullPath, Probe probe) {
+        //root path
+        if (isRoot(fullPath)) {
+            if (probe != null && root.value != null) {
+                probe.matched(root);
+            }
+            return root.value == null ? null : new Match<>(root.value, MatchParameters.EMPTY);
+        }
+        int[] segments = parseSegments(fullPath);
+        TreeNode<V> matcher = find(fullPath, segments, probe);
+        if (probe != null && matcher != null) {
+            probe.matched(matcher);
+        }
+        if (matcher == null) {
+            return null;
+        }
+        String[] keys = matcher.matchKeys;
+        if (keys == null) {
+            return new Match<>(matcher.value, MatchParameters.EMPTY);
+        }
+        String[] values = new String[keys.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = value(fullPath, segments, matcher.matchIndexes[i], matcher);
+        }
+        Object[] pathVariables = null;
+        if (matcher.variables > 0) {
+            pathVariables = new Object[matcher.variables];
+            int i = 0;
+            for (IndexKey ik : matcher.indexKeys) {
+                if (ik.isNumeric()) {
+                    pathVariables[i++] = ik.convert(segment(fullPath, segments, ik.index));
+                }
+            }
+        }
+        return new Match<>(matcher.value, new MatchParameters(keys, values, pathVariables));
+    }
+
+    /**
+     * 创建路径中指定索引的子路径字符串。
+     */
+    private static String segment(CharSequence fullPath, int[] segments, int index) {
+        return fullPath.subSequence(segments[index << 1], segments[(index << 1) + 1]).toString();
+    }
+
+    /**
+     * 创建叶子节点指定索引的匹配参数值；尾匹配的索引为自该子路径起的剩余路径。
+     */
+    private static String value(CharSequence fullPath, int[] segments, int index, TreeNode<?> leaf) {
+        if (index == leaf.tailIndex) {
+            return fullPath.subSequence(segments[index << 1], segments[segments.length - 1]).toString();
+        }
+        return segment(fullPath, segments, index);
+    }
+
+    /**
+     * 查找全路径最匹配的叶子节点。
+     * 包含类型约束的匹配键（如{id:long}、{slug:[a-z]+}）在匹配时校验，不满足约束的路径节点不参与匹配。
+     *
+     * @param fullPath 全路径的字符序列。
+     * @param segments 全路径解析后的子路径区间数组。
+     * @param probe 记录各级候选节点的探针，可为 null。
+     *
+     * @return 最匹配的叶子节点，如果没有则返回 null。
+     */
+    private TreeNode<V> find(CharSequence fullPath, int[] segments, Probe probe) {
+        int len = segments.length >> 1;
         if (len == 0) {
             return null;
         }
+        //子路径的查找键，逐级重置区间
+        PathKey path = new PathKey(fullPath, 0, 0);
         //the current nodes as parents
         List<TreeNode<V>> current = new ArrayList<>(1);
         //the next all children nodes
         List<TreeNode<V>> next = new ArrayList<>(5);
+        //匹配级数最深的尾匹配节点
+        TreeNode<V> tailMatcher = null;
 
         //初始化当前的节点集合指向根节点
         current.add(root);
 
         //遍历树
         for (int i = 0; i < len - 1; i++) {
+            path.reset(segments[i << 1], segments[(i << 1) + 1]);
+            TreeNode<V> tail = null;
             for (TreeNode<V> tn : current) {
-                if (tn.children == null || tn.children.isEmpty()) {
-                    continue;
-                }
-                TreeNode<V> match = tn.children.get(paths[i]);
-                if (match != null) {
-                    next.add(match);
-                }
-                match = tn.children.get(SINGLE_MATCH);
-                if (match != null) {
-                    next.add(match);
-                }
+                tn.matchChildren(path, next, false);
+                tail = tn.matchTail(tail);
+            }
+            if (tail != null) {
+                tailMatcher = tail;
+            }
+            if (probe != null) {
+                probe.level(i, path, next, tail);
             }
 //            System.out.println("Next : " + next + ", Current : " + current);
             if (next.isEmpty()) {
 //                System.out.println("Not Found For [" + fullPath + "]");
                 //not find
-                return null;
+                return tailMatcher;
             }
 
             //change the current to the next then clear the next for reuse
@@ -259,23 +820,22 @@ class PathTree<V> implements Serializable {
         }
 
         //找寻最终路径有值的节点
+        path.reset(segments[(len - 1) << 1], segments[((len - 1) << 1) + 1]);
+        TreeNode<V> tail = null;
         for (TreeNode<V> tn : current) {
-            if (tn.children == null || tn.children.isEmpty()) {
-                continue;
-            }
-            TreeNode<V> match = tn.children.get(paths[len - 1]);
-            if (match != null && match.value != null) {
-                next.add(match);
-            }
-            match = tn.children.get(SINGLE_MATCH);
-            if (match != null && match.value != null) {
-                next.add(match);
-            }
+            tn.matchChildren(path, next, true);
+            tail = tn.matchTail(tail);
+        }
+        if (tail != null) {
+            tailMatcher = tail;
+        }
+        if (probe != null) {
+            probe.level(len - 1, path, next, tail);
         }
         if (next.isEmpty()) {
 //            System.out.println("Not Found For [" + fullPath + "]");
             //not find
-            return null;
+            return tailMatcher;
         }
         current.clear();
         current = next;
@@ -284,64 +844,29 @@ class PathTree<V> implements Serializable {
         //最终匹配的路径节点
         TreeNode<V> finalMatcher = null;
 
-        //the final list must have at least on value
-        if (current.size() == 1) {
-            finalMatcher = current.get(0);
-            fillMatchParameters(finalMatcher, paths, matchParameters);
-            return finalMatcher.value;
-        }
-
         //compare the paths to find the most matched one which has the maximum code.
-        int max = current.get(0).code;
-        int index = 0;
+        //相同代码的路径，包含类型约束多的路径优先
         int size = current.size();
-        for (int i = 1; i < size; i++) {
-            TreeNode<V> tr = current.get(i);
-            if (tr.code > max) {
-                max = tr.code;
-                index = i;
-            }
+        for (int i = 0; i < size; i++) {
+            finalMatcher = better(finalMatcher, current.get(i));
         }
-//        System.out.println("Index & Max : " + index + "," + max);
-
-        //get the final match node
-        finalMatcher = current.get(index);
-        current.clear();
+        return finalMatcher;
+    }
 
-        //fill the MatchParameters
-        fillMatchParameters(finalMatcher, paths, matchParameters);
-        return finalMatcher.value;
-    }
-
-    /*
-     * 将路径数组按照指定的路径码（二进制标识）填充进链表。
-     */
-    private void fillMatchParameters(TreeNode<V> matcher, String[] paths, Map<String, String> matchParameters) {
-        if (matchParameters != null) {
-            /**
-             * //parse the * parameters
-             * String fullCode = Integer.toBinaryString(matcher.code);
-             * //0 is the root '/'
-             * for (int i = 1; i < fullCode.length(); i++) {
-             * //if 0 means '*'
-             * if (fullCode.charAt(i) == '0') {
-             * matchParameters.put(i - 1 + "", paths[i - 1]);
-             * }
-             * }
-             *
-             */
-
-            IndexKey[] iks = matcher.indexKeys;
-            if (iks != null) {
-                for (IndexKey ik : iks) {
-                    //不做索引下标映射
-                    //matchParameters.put(i + "", paths[ik.index]);
-                    //不做匹配路径键值的重复判断
-                    matchParameters.put(ik.matchKey, paths[ik.index]);
-                }
-            }
+    /**
+     * 比较两个节点，返回代码大的节点；相同代码的节点，返回包含类型约束多的节点；均相同时返回原节点。
+     *
+     * @param matcher 原节点，可为 null。
+     * @param node 比较的节点。
+     *
+     * @return 更匹配的节点。
+     */
+    private static <V> TreeNode<V> better(TreeNode<V> matcher, TreeNode<V> node) {
+        if (matcher == null || node.code > matcher.code
+                || (node.code == matcher.code && node.constraints > matcher.constraints)) {
+            return node;
         }
-//        System.out.println("Get Final matchParameters : " + matchParameters);
+        return matcher;
     }
 
     /**
@@ -376,6 +901,114 @@ class PathTree<V> implements Serializable {
         return list.toArray(new String[list.size()]);
     }
 
+    /**
+     * 将全路径解析成子路径的起始（包含）、结束（不包含）索引交替排列的数组，排除了"连续分割符"。
+     *
+     * @param fullPath 全路径的字符序列。
+     *
+     * @return 子路径的区间数组，长度为子路径数目的2倍。
+     *
+     * @see #parsePath(String)
+     */
+    private int[] parseSegments(CharSequence fullPath) {
+        return parseSegments(fullPath, pathSeparator);
+    }
+
+    /**
+     * 以指定的路径分割符将全路径解析成子路径的起始（包含）、结束（不包含）索引交替排列的数组，排除了"连续分割符"。
+     *
+     * @param fullPath 全路径的字符序列。
+     * @param pathSeparator 路径分割符。
+     *
+     * @return 子路径的区间数组，长度为子路径数目的2倍。
+     */
+    static int[] parseSegments(CharSequence fullPath, char pathSeparator) {
+        int len = fullPath.length();
+        int count = 0;
+        for (int i = 0; i < len; i++) {
+            if (pathSeparator != fullPath.charAt(i) && (i == 0 || pathSeparator == fullPath.charAt(i - 1))) {
+                count++;
+            }
+        }
+        int[] segments = new int[count << 1];
+        int j = 0;
+        for (int i = 0; i < len; i++) {
+            if (pathSeparator != fullPath.charAt(i)) {
+                if (i == 0 || pathSeparator == fullPath.charAt(i - 1)) {
+                    segments[j++] = i;
+                }
+                if (i == len - 1 || pathSeparator == fullPath.charAt(i + 1)) {
+                    segments[j++] = i + 1;
+                }
+            }
+        }
+        return segments;
+    }
+
+    /**
+     * 将树结构编译为扁平的二进制索引并写入文件，由{@link MappedPathTree}映射读取。
+     * 指定路径的顺序即为索引文件中的路径索引，返回的值数组与其一一对应。
+     *
+     * @param file 索引文件，已存在则覆盖。
+     * @param fullPaths 树结构中所有包含值的路径（与添加时一致）。
+     *
+     * @return 按路径索引排列的值数组。
+     *
+     * @throws IOException 如果写入文件错误。
+     * @throws IllegalArgumentException 如果路径不包含相关联的值。
+     *
+     * @since 1.8.5
+     */
+    Object[] compile(File file, List<String> fullPaths) throws IOException {
+        Map<TreeNode<V>, Integer> routes = new IdentityHashMap<>(fullPaths.size() * 4 / 3 + 1);
+        Object[] values = new Object[fullPaths.size()];
+        for (int i = 0; i < values.length; i++) {
+            TreeNode<V> node = findNode(fullPaths.get(i));
+            if (node == null || node.value == null) {
+                throw new IllegalArgumentException("No value of path : " + fullPaths.get(i));
+            }
+            routes.put(node, i);
+            values[i] = node.value;
+        }
+        try (IndexWriter writer = new IndexWriter(file, routes)) {
+            int rootOffset = writer.writeNode(root);
+            int routesOffset = writer.writeStrings(fullPaths);
+            int keysOffset = writer.writeStrings(new ArrayList<>(writer.matchKeys.keySet()));
+            int constraintsOffset = writer.writeStrings(new ArrayList<>(writer.constraints.keySet()));
+            writer.out.flush();
+            //文件头
+            writer.raf.seek(0);
+            writer.raf.writeInt(MappedPathTree.MAGIC);
+            writer.raf.writeInt(MappedPathTree.VERSION);
+            writer.raf.writeInt(pathSeparator);
+            writer.raf.writeInt(values.length);
+            writer.raf.writeInt(rootOffset);
+            writer.raf.writeInt(routesOffset);
+            writer.raf.writeInt(keysOffset);
+            writer.raf.writeInt(constraintsOffset);
+        }
+        return values;
+    }
+
+    /**
+     * 查找与添加时一致的路径（非匹配查找）的节点。
+     *
+     * @param fullPath 指定的相关路径。
+     *
+     * @return 路径的节点，如果没有则返回 null。
+     */
+    private TreeNode<V> findNode(String fullPath) {
+        if (isRoot(fullPath)) {
+            return root;
+        }
+        String[] paths = parsePath(fullPath);
+        TreeNode<V> cur = paths.length == 0 ? null : root;
+        for (int i = 0; i < paths.length && cur != null; i++) {
+            cur = cur.getChild(getNodePath(paths[i]));
+        }
+        return cur;
+    }
+
     /**
      * 清除整个树结构的所有路径与其相关联值的映射关系。
      */
@@ -422,6 +1055,32 @@ class PathTree<V> implements Serializable {
         return begin != -1 && end - begin > 1 ? path.substring(begin + 1, end) : null;
     }
 
+    /**
+     * 获取路径在树结构中节点的路径：确切字符串为其本身，键匹配路径为'*'，包含类型约束的键匹配路径为'*:约束'。
+     *
+     * @param path 路径字符串。
+     *
+     * @return 节点的路径。
+     *
+     * @see #CONSTRAINT_SEPARATOR
+     */
+    private static String getNodePath(String path) {
+        String key = getMatchKey(path);
+        if (key == null) {
+            return path;
+        }
+        int idx = key.indexOf(CONSTRAINT_SEPARATOR);
+        //{id:long}
+        if (idx > 0 && idx < key.length() - 1) {
+            //{path:**}
+            if (key.length() - idx - 1 == LAST_MATCH.length() && key.endsWith(LAST_MATCH)) {
+                return LAST_MATCH;
+            }
+            return SINGLE_MATCH + key.substring(idx);
+        }
+        return SINGLE_MATCH;
+    }
+
     /**
      * 判断是否是一个键匹配的路径。
      *
@@ -450,6 +1109,129 @@ class PathTree<V> implements Serializable {
         return begin != -1 && end - begin > 1;
     }
 
+    /**
+     * 路径匹配的结果，包含路径相关联的值及不可变的匹配参数映射。
+     *
+     * @param <V> 相关联值的类型。
+     *
+     * @since 1.8.5
+     */
+    static final class Match<V> {
+
+        /** 路径相关联的值 */
+        final V value;
+
+        /** 路径的匹配参数映射，无匹配参数为空映射 */
+        final MatchParameters parameters;
+
+        /**
+         * 构造一个指定相关联值及匹配参数映射的匹配结果。
+         *
+         * @param value 路径相关联的值。
+         * @param parameters 路径的匹配参数映射。
+         */
+        Match(V value, MatchParameters parameters) {
+            this.value = value;
+            this.parameters = parameters;
+        }
+    }
+
+    /**
+     * 查找路径时的探针，记录各级的候选节点数目及最终匹配节点的代码；详细模式下另记录各级候选节点的路径及代码。
+     *
+     * @since 1.8.5
+     */
+    static final class Probe {
+
+        /** 是否记录各级候选节点的路径及代码 */
+        private final boolean detailed;
+
+        /** 各级的候选节点，非详细模式为 null */
+        final List<RouteExplanation.Level> levels;
+
+        /** 查找的级数 */
+        int depth = 0;
+
+        /** 候选节点多于一个的级数 */
+        int branchedLevels = 0;
+
+        /** 各级候选节点数目的总和 */
+        int candidates = 0;
+
+        /** 单级候选节点的最大数目 */
+        int maxCandidates = 0;
+
+        /** 最终匹配节点的代码，未匹配为-1 */
+        int code = -1;
+
+        /**
+         * 构造探针。
+         *
+         * @param detailed 是否记录各级候选节点的路径及代码。
+         */
+        Probe(boolean detailed) {
+            this.detailed = detailed;
+            this.levels = detailed ? new ArrayList<RouteExplanation.Level>() : null;
+        }
+
+        /**
+         * 记录一级的候选节点，包括尾匹配的候选节点。
+         */
+        private void level(int index, CharSequence segment, List<? extends TreeNode<?>> nodes, TreeNode<?> tail) {
+            int count = nodes.size() + (tail == null ? 0 : 1);
+            level(count);
+            if (detailed) {
+                List<RouteExplanation.Candidate> list = new ArrayList<>(count);
+                for (TreeNode<?> tn : nodes) {
+                    list.add(candidate(tn, false));
+                }
+                if (tail != null) {
+                    list.add(candidate(tail, true));
+                }
+                levels.add(new RouteExplanation.Level(index, segment.toString(), list));
+            }
+        }
+
+        /**
+         * 记录一级的候选节点数目；以内存映射的索引文件查找时仅记录数目，不记录候选节点的路径及代码。
+         *
+         * @param count 候选节点数目，包括尾匹配的候选节点。
+         */
+        void level(int count) {
+            depth++;
+            candidates += count;
+            if (count > 1) {
+                branchedLevels++;
+            }
+            if (count > maxCandidates) {
+                maxCandidates = count;
+            }
+        }
+
+        /**
+         * 创建候选节点的描述。
+         */
+        private static RouteExplanation.Candidate candidate(TreeNode<?> tn, boolean tail) {
+            return new RouteExplanation.Candidate(tn.path, Integer.toBinaryString(tn.code), tn.value != null, tail);
+        }
+
+        /**
+         * 记录最终匹配的节点。
+         */
+        private void matched(TreeNode<?> tn) {
+            matched(tn.code);
+        }
+
+        /**
+         * 记录最终匹配节点的代码。
+         *
+         * @param code 最终匹配节点的代码。
+         */
+        void matched(int code) {
+            this.code = code;
+        }
+    }
+
     /**
      * 节点路径，记载了节点的路径、路径代码、相关联的值、子路径等信息。
      */
@@ -457,6 +1239,9 @@ class PathTree<V> implements Serializable {
 
         private static final long serialVersionUID = 1L;
 
+        /** 子节点以排序数组存储的最大数目，超过后以{@code HashMap}存储 */
+        private static final int MAX_ARRAY_CHILDREN = 8;
+
         /** 节点的相对路径，可能重复不唯一（至根节点的绝对路径唯一） */
         private String path;
 
@@ -472,8 +1257,38 @@ class PathTree<V> implements Serializable {
         /** 节点路径的匹配索引及键名数组，不含相关联值的节点为 null */
         private IndexKey[] indexKeys;
 
-        /** 节点路径的子路径。叶子节点无子路径，且一定包含相关联的值 */
-        private Map<String, TreeNode<V>> children;
+        /** 去除重复键名后的匹配键名数组，由匹配参数映射共享，不含匹配键的节点为 null */
+        private String[] matchKeys;
+
+        /** 匹配键名对应的路径索引数组 */
+        private byte[] matchIndexes;
+
+        /** 数值类型约束（int、long）的匹配键数目 */
+        private int variables = 0;
+
+        /** 尾匹配的路径索引，匹配参数值为自该子路径起的剩余路径；非尾匹配的节点为-1 */
+        private byte tailIndex = -1;
+
+        /** 路径为'*'的子节点 */
+        private TreeNode<V> wildcardChild;
+
+        /** 路径为'**'的尾匹配子节点 */
+        private TreeNode<V> tailChild;
+
+        /**
+         * 节点路径的其他子路径。叶子节点无子路径，且一定包含相关联的值。
+         * 按子节点数目依次为：单个子节点{@code TreeNode}、按路径排序的{@code TreeNode}数组、超过{@link #MAX_ARRAY_CHILDREN}后的{@code HashMap}。
+         */
+        private Object children;
+
+        /** 包含类型约束的子路径，路径为'*:约束' */
+        private List<TreeNode<V>> constrainedChildren;
+
+        /** 节点路径的类型约束，无约束为 null */
+        private IndexKey constraint;
+
+        /** 根节点到此节点的路径中包含类型约束的数目 */
+        private int constraints = 0;
 
         /**
          * 构造一个指定相对路径和相关联值的节点路径。
@@ -503,29 +1318,19 @@ class PathTree<V> implements Serializable {
          *
          * @param paths 子节点全路径解析后的路径字符串数组。
          * @param child 指定的子路径名称。
+         * @param nodePath 子路径在树结构中节点的路径。
          *
          * @return 新增子路径的节点；如果原子路径节点存在则返回原子路径节点。
          */
-        private TreeNode<V> addBranch(final String[] paths, String child) {
-            //未创建子路径节点集合
-            if (children == null) {
-                children = new HashMap<>();
-                TreeNode<V> newNode = new TreeNode<>(child, null);
-                //set the new child node and put it in the children nodes
-                setChildNode(newNode, paths);
-                children.put(newNode.path, newNode);
-                //返回新增的节点
-                return newNode;
-            }
-
-            //查找子节点路径，如果路径包含键匹配，则查找路径为'*'
-            TreeNode<V> old = children.get(isMatchKay(child) ? SINGLE_MATCH : child);
+        private TreeNode<V> addBranch(final String[] paths, String child, String nodePath) {
+            //查找子节点路径，如果路径包含键匹配，则查找路径为'*'或'*:约束'
+            TreeNode<V> old = getChild(nodePath);
             //子节点集合未包含此节点
             if (old == null) {
                 TreeNode<V> newNode = new TreeNode<>(child, null);
                 //set the new child node and put it in the children nodes
-                setChildNode(newNode, paths);
-                children.put(newNode.path, newNode);
+                setChildNode(newNode, nodePath, paths);
+                putChildNode(newNode);
                 //返回新增的节点
                 return newNode;
             } else {
@@ -540,30 +1345,20 @@ class PathTree<V> implements Serializable {
          *
          * @param paths 子节点全路径解析后的路径字符串数组。
          * @param child 指定的子路径名称。
+         * @param nodePath 子路径在树结构中节点的路径。
          * @param value 叶子节点路径相关联的值。
          *
          * @return 如果原叶子节点的值存在则返回原叶子节点的值，否则返回 null。
          */
-        private V addLeaf(final String[] paths, String child, V value) {
-            //未创建子路径节点集合
-            if (children == null) {
-                children = new HashMap<>();
-                TreeNode<V> newNode = new TreeNode<>(child, value);
-                //set the new child node and put it in the children nodes
-                setChildNode(newNode, paths);
-                children.put(newNode.path, newNode);
-                //新增叶子节点返回 null
-                return null;
-            }
-
-            //查找子节点路径，如果路径包含键匹配，则查找路径为'*'
-            TreeNode<V> old = children.get(isMatchKay(child) ? SINGLE_MATCH : child);
+        private V addLeaf(final String[] paths, String child, String nodePath, V value) {
+            //查找子节点路径，如果路径包含键匹配，则查找路径为'*'或'*:约束'
+            TreeNode<V> old = getChild(nodePath);
             //子节点集合未包含此节点
             if (old == null) {
                 TreeNode<V> newNode = new TreeNode<>(child, value);
                 //set the new child node and put it in the children nodes
-                setChildNode(newNode, paths);
-                children.put(newNode.path, newNode);
+                setChildNode(newNode, nodePath, paths);
+                putChildNode(newNode);
                 //新增叶子节点返回 null
                 return null;
             }
@@ -582,17 +1377,22 @@ class PathTree<V> implements Serializable {
          * 如果子节点路径包含键匹配，则将其路径名称设为'*'用于路径的查询。
          *
          * @param child 子节点。
+         * @param nodePath 子节点在树结构中节点的路径。
          * @param paths 子节点全路径解析后的路径字符串数组。
          */
-        private void setChildNode(TreeNode<V> child, String[] paths) {
+        private void setChildNode(TreeNode<V> child, String nodePath, String[] paths) {
             String childPath = child.path;
             //if child path is '*'
             child.code = (code << 1);
             if (child.code < 0) {
                 throw new IllegalArgumentException("Depth of the tree is too large, no more than 32 layers.");
             }
-            //not equals '*'
-            if (!SINGLE_MATCH.equals(childPath)) {
+            child.constraints = constraints;
+            if (LAST_MATCH.equals(nodePath)) {
+                //尾匹配的路径(二进制)末位为0
+                child.path = LAST_MATCH;
+            } else if (!SINGLE_MATCH.equals(childPath)) {
+                //not equals '*'
                 //结果代表是否完全匹配的
                 String key = getMatchKey(childPath);
                 //返回 null代表完全匹配的字符串
@@ -600,8 +1400,12 @@ class PathTree<V> implements Serializable {
                     //为确切的字符串则此路径(二进制)末位为1
                     child.code += 1;
                 } else {
-                    //如果路径包含键匹配，则设置路径为'*'，方便添加节点时遍历查询。
-                    child.path = SINGLE_MATCH;
+                    //如果路径包含键匹配，则设置路径为'*'或'*:约束'，方便添加节点时遍历查询。
+                    child.path = nodePath;
+                    if (child.path.length() > 1) {
+                        child.constraint = new IndexKey((byte) 0, key);
+                        child.constraints++;
+                    }
                 }
             }
 
@@ -626,50 +1430,676 @@ class PathTree<V> implements Serializable {
                         //*,*1,*2...
                         keys.add(new IndexKey(i, matchIndex == 1 ? SINGLE_MATCH : SINGLE_MATCH + matchIndex));
                         matchIndex++;
+                    } else if (LAST_MATCH.equals(paths[i])) {
+                        keys.add(new IndexKey(i, LAST_MATCH));
+                        leaf.tailIndex = i;
                     } else {
                         //路径的非完全匹配名称
                         String key = getMatchKey(paths[i]);
                         if (key != null) {
-                            keys.add(new IndexKey(i, key));
+                            if (LAST_MATCH.equals(getNodePath(paths[i]))) {
+                                //{path:**}
+                                keys.add(new IndexKey(i, key.substring(0, key.indexOf(CONSTRAINT_SEPARATOR))));
+                                leaf.tailIndex = i;
+                            } else {
+                                keys.add(new IndexKey(i, key));
+                            }
                         }
                     }
                 }
 //                System.out.println("IndexKey : " + keys);
                 if (!keys.isEmpty()) {
                     leaf.indexKeys = keys.toArray(new IndexKey[keys.size()]);
+                    setLeafMatchKeys(leaf);
                 }
 //                System.out.println("setChildNode : " + child);
             }
         }
 
+        /**
+         * 设置叶子节点去除重复键名后的匹配键名及索引数组，重复的键名取路径中最后的索引。
+         *
+         * @param leaf 叶子节点。
+         */
+        private void setLeafMatchKeys(TreeNode<V> leaf) {
+            IndexKey[] iks = leaf.indexKeys;
+            List<String> keys = new ArrayList<>(iks.length);
+            List<Byte> indexes = new ArrayList<>(iks.length);
+            for (int i = 0; i < iks.length; i++) {
+                if (iks[i].isNumeric()) {
+                    leaf.variables++;
+                }
+                int j = keys.indexOf(iks[i].matchKey);
+                if (j < 0) {
+                    keys.add(iks[i].matchKey);
+                    indexes.add(iks[i].index);
+                } else {
+                    indexes.set(j, iks[i].index);
+                }
+            }
+            leaf.matchKeys = keys.toArray(new String[keys.size()]);
+            leaf.matchIndexes = new byte[indexes.size()];
+            for (int i = 0; i < leaf.matchIndexes.length; i++) {
+                leaf.matchIndexes[i] = indexes.get(i);
+            }
+        }
+
+        /**
+         * 从子路径集合中移除子节点。
+         *
+         * @param child 子节点。
+         */
+        private void removeChildNode(TreeNode<V> child) {
+            removeChild(child.path);
+            if (constrainedChildren != null && constrainedChildren.remove(child) && constrainedChildren.isEmpty()) {
+                constrainedChildren = null;
+            }
+        }
+
+        /**
+         * 复制此节点及其所有子节点。
+         *
+         * @return 复制的节点。
+         */
+        private TreeNode<V> copy() {
+            TreeNode<V> node = new TreeNode<>(path, value);
+            node.code = code;
+            node.indexKeys = indexKeys;
+            node.matchKeys = matchKeys;
+            node.matchIndexes = matchIndexes;
+            node.variables = variables;
+            node.tailIndex = tailIndex;
+            node.constraint = constraint;
+            node.constraints = constraints;
+            for (TreeNode<V> child : getChildren()) {
+                if (child.constraint == null) {
+                    node.putChildNode(child.copy());
+                }
+            }
+            //保持类型约束子节点的添加顺序
+            if (constrainedChildren != null) {
+                for (TreeNode<V> child : constrainedChildren) {
+                    node.putChildNode(child.copy());
+                }
+            }
+            return node;
+        }
+
+        /**
+         * 添加子节点至子路径集合。
+         *
+         * @param child 子节点。
+         */
+        private void putChildNode(TreeNode<V> child) {
+            putChild(child);
+            if (child.constraint != null) {
+                if (constrainedChildren == null) {
+                    constrainedChildren = new ArrayList<>(2);
+                }
+                constrainedChildren.add(child);
+            }
+        }
+
+        /**
+         * 添加匹配指定路径的子节点，包括确切路径、'*'及满足类型约束的子节点。
+         *
+         * @param path 子路径的查找键。
+         * @param matches 匹配的子节点集合。
+         * @param leaf 是否仅添加包含相关联值的子节点。
+         */
+        private void matchChildren(PathKey path, List<TreeNode<V>> matches, boolean leaf) {
+            if (!hasChildren()) {
+                return;
+            }
+            TreeNode<V> match = getChild(path);
+            //类型约束、'*'及尾匹配的子节点不作确切路径匹配，'*'子节点随后添加
+            if (match != null && match.constraint == null && match != tailChild && match != wildcardChild
+                    && (!leaf || match.value != null)) {
+                matches.add(match);
+            }
+            match = wildcardChild;
+            if (match != null && (!leaf || match.value != null)) {
+                matches.add(match);
+            }
+            if (constrainedChildren != null) {
+                for (TreeNode<V> tn : constrainedChildren) {
+                    if ((!leaf || tn.value != null) && tn.constraint.matches(path)) {
+                        matches.add(tn);
+                    }
+                }
+            }
+        }
+
+        /**
+         * 比较此节点的尾匹配子节点与指定的节点，返回更匹配的节点。
+         *
+         * @param matcher 指定的节点，可为 null。
+         *
+         * @return 更匹配的节点，如果都没有则返回 null。
+         */
+        private TreeNode<V> matchTail(TreeNode<V> matcher) {
+            TreeNode<V> tail = tailChild;
+            if (tail == null || tail.value == null) {
+                return matcher;
+            }
+            return better(matcher, tail);
+        }
+
         @Override
         public String toString() {
-            return "TreeNode{" + "path=" + path + ", code=" + Integer.toBinaryString(code) + ", value=" + value + ", children=" + children + '}';
+            return "TreeNode{" + "path=" + path + ", code=" + Integer.toBinaryString(code) + ", value=" + value + ", children=" + getChildren() + '}';
+        }
+
+        /**
+         * 判断是否包含子节点。
+         *
+         * @return 包含子节点返回true，否则返回false。
+         */
+        private boolean hasChildren() {
+            return wildcardChild != null || tailChild != null || children != null;
+        }
+
+        /**
+         * 获取指定路径的子节点。
+         *
+         * @param path 子节点的路径，哈希值须与相同内容的{@code String}一致。
+         *
+         * @return 子节点，如果没有则返回 null。
+         */
+        private TreeNode<V> getChild(CharSequence path) {
+            if (path.length() == 1 && path.charAt(0) == '*') {
+                return wildcardChild;
+            }
+            if (path.length() == 2 && path.charAt(0) == '*' && path.charAt(1) == '*') {
+                return tailChild;
+            }
+            Object cs = children;
+            if (cs == null) {
+                return null;
+            }
+            if (cs instanceof TreeNode) {
+                TreeNode<V> node = (TreeNode<V>) cs;
+                return compare(path, node.path) == 0 ? node : null;
+            }
+            if (cs instanceof TreeNode[]) {
+                TreeNode<V>[] array = (TreeNode<V>[]) cs;
+                int i = binarySearch(array, array.length, path);
+                return i < 0 ? null : array[i];
+            }
+            return ((Map<String, TreeNode<V>>) cs).get(path);
+        }
+
+        /**
+         * 添加或替换相同路径的子节点，子节点数目增加时依次转换为排序数组、{@code HashMap}存储。
+         *
+         * @param child 子节点。
+         */
+        private void putChild(TreeNode<V> child) {
+            if (SINGLE_MATCH.equals(child.path)) {
+                wildcardChild = child;
+                return;
+            }
+            if (LAST_MATCH.equals(child.path)) {
+                tailChild = child;
+                return;
+            }
+            Object cs = children;
+            if (cs == null) {
+                children = child;
+            } else if (cs instanceof TreeNode) {
+                TreeNode<V> node = (TreeNode<V>) cs;
+                int c = compare(child.path, node.path);
+                if (c == 0) {
+                    children = child;
+                } else {
+                    children = c < 0 ? new TreeNode[]{child, node} : new TreeNode[]{node, child};
+                }
+            } else if (cs instanceof TreeNode[]) {
+                TreeNode<V>[] array = (TreeNode<V>[]) cs;
+                int i = binarySearch(array, array.length, child.path);
+                if (i >= 0) {
+                    array[i] = child;
+                } else if (array.length < MAX_ARRAY_CHILDREN) {
+                    //插入并保持排序
+                    i = -(i + 1);
+                    TreeNode<V>[] next = new TreeNode[array.length + 1];
+                    System.arraycopy(array, 0, next, 0, i);
+                    next[i] = child;
+                    System.arraycopy(array, i, next, i + 1, array.length - i);
+                    children = next;
+                } else {
+                    Map<String, TreeNode<V>> map = new HashMap<>((MAX_ARRAY_CHILDREN + 1) * 2);
+                    for (TreeNode<V> node : array) {
+                        map.put(node.path, node);
+                    }
+                    map.put(child.path, child);
+                    children = map;
+                }
+            } else {
+                ((Map<String, TreeNode<V>>) cs).put(child.path, child);
+            }
+        }
+
+        /**
+         * 移除指定路径的子节点，子节点数目减少时依次转换为排序数组、单个子节点存储。
+         *
+         * @param path 子节点的路径。
+         */
+        private void removeChild(String path) {
+            if (SINGLE_MATCH.equals(path)) {
+                wildcardChild = null;
+                return;
+            }
+            if (LAST_MATCH.equals(path)) {
+                tailChild = null;
+                return;
+            }
+            Object cs = children;
+            if (cs == null) {
+                return;
+            }
+            if (cs instanceof TreeNode) {
+                if (((TreeNode<V>) cs).path.equals(path)) {
+                    children = null;
+                }
+            } else if (cs instanceof TreeNode[]) {
+                TreeNode<V>[] array = (TreeNode<V>[]) cs;
+                int i = binarySearch(array, array.length, path);
+                if (i >= 0) {
+                    if (array.length == 2) {
+                        children = array[1 - i];
+                    } else {
+                        TreeNode<V>[] next = new TreeNode[array.length - 1];
+                        System.arraycopy(array, 0, next, 0, i);
+                        System.arraycopy(array, i + 1, next, i, array.length - i - 1);
+                        children = next;
+                    }
+                }
+            } else {
+                Map<String, TreeNode<V>> map = (Map<String, TreeNode<V>>) cs;
+                if (map.remove(path) != null && map.size() <= MAX_ARRAY_CHILDREN / 2) {
+                    TreeNode<V>[] array = map.values().toArray(new TreeNode[map.size()]);
+                    Arrays.sort(array, PATH_ORDER);
+                    children = array;
+                }
+            }
+        }
+
+        /**
+         * 获取所有的子节点，路径为'*'、'**'的子节点在最前。
+         *
+         * @return 所有的子节点。
+         */
+        private List<TreeNode<V>> getChildren() {
+            List<TreeNode<V>> list = new ArrayList<>();
+            if (wildcardChild != null) {
+                list.add(wildcardChild);
+            }
+            if (tailChild != null) {
+                list.add(tailChild);
+            }
+            Object cs = children;
+            if (cs instanceof TreeNode) {
+                list.add((TreeNode<V>) cs);
+            } else if (cs instanceof TreeNode[]) {
+                list.addAll(Arrays.asList((TreeNode<V>[]) cs));
+            } else if (cs != null) {
+                list.addAll(((Map<String, TreeNode<V>>) cs).values());
+            }
+            return list;
+        }
+
+        /**
+         * 在按路径排序的子节点数组中二分查找指定的路径。
+         *
+         * @return 路径的索引；如果不存在则返回(-(插入点) - 1)。
+         */
+        private static int binarySearch(TreeNode<?>[] array, int size, CharSequence path) {
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int c = compare(array[mid].path, path);
+                if (c < 0) {
+                    low = mid + 1;
+                } else if (c > 0) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        /**
+         * 按字符的字典顺序比较两个字符序列，与{@link String#compareTo(String)}一致。
+         */
+        private static int compare(CharSequence cs1, CharSequence cs2) {
+            int len1 = cs1.length();
+            int len2 = cs2.length();
+            int len = Math.min(len1, len2);
+            for (int i = 0; i < len; i++) {
+                char c1 = cs1.charAt(i);
+                char c2 = cs2.charAt(i);
+                if (c1 != c2) {
+                    return c1 - c2;
+                }
+            }
+            return len1 - len2;
+        }
+
+        /** 按节点路径排序 */
+        private static final Comparator<TreeNode<?>> PATH_ORDER = new Comparator<TreeNode<?>>() {
+
+            @Override
+            public int compare(TreeNode<?> n1, TreeNode<?> n2) {
+                return n1.path.compareTo(n2.path);
+            }
+        };
+    }
+
+    /**
+     * 树结构的二进制索引写入器，节点按后序写入，子节点及字符串常量先于引用其偏移量的节点写入。
+     *
+     * @see MappedPathTree
+     */
+    private static final class IndexWriter implements Closeable {
+
+        /** 随机访问的文件 */
+        private final RandomAccessFile raf;
+
+        /** 文件的缓冲输出流 */
+        private final DataOutputStream out;
+
+        /** 节点与路径索引的映射 */
+        private final Map<? extends TreeNode<?>, Integer> routes;
+
+        /** 已写入的字符串常量及其偏移量 */
+        private final Map<String, Integer> strings = new HashMap<>();
+
+        /** 匹配键名及其序号 */
+        private final Map<String, Integer> matchKeys = new LinkedHashMap<>();
+
+        /** 类型约束及其序号 */
+        private final Map<String, Integer> constraints = new LinkedHashMap<>();
+
+        /**
+         * 构造写入器，并预留文件头。
+         *
+         * @param file 索引文件。
+         * @param routes 节点与路径索引的映射。
+         *
+         * @throws IOException 如果写入文件错误。
+         */
+        private IndexWriter(File file, Map<? extends TreeNode<?>, Integer> routes) throws IOException {
+            this.raf = new RandomAccessFile(file, "rw");
+            raf.setLength(0);
+            this.out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(raf.getChannel()), 1 << 16));
+            this.routes = routes;
+            out.write(new byte[MappedPathTree.HEADER_SIZE]);
+        }
+
+        /**
+         * 写入节点及其所有子节点。
+         *
+         * @return 节点的偏移量。
+         */
+        private int writeNode(TreeNode<?> node) throws IOException {
+            int wildcard = node.wildcardChild == null ? MappedPathTree.NONE : writeNode(node.wildcardChild);
+            int tail = node.tailChild == null ? MappedPathTree.NONE : writeNode(node.tailChild);
+            List<TreeNode<?>> literals = new ArrayList<>();
+            for (TreeNode<?> child : node.getChildren()) {
+                if (child != node.wildcardChild && child != node.tailChild && child.constraint == null) {
+                    literals.add(child);
+                }
+            }
+            Collections.sort(literals, TreeNode.PATH_ORDER);
+            int[] literalOffsets = new int[literals.size() << 1];
+            for (int i = 0; i < literals.size(); i++) {
+                literalOffsets[i << 1] = writeString(literals.get(i).path);
+                literalOffsets[(i << 1) + 1] = writeNode(literals.get(i));
+            }
+            List<? extends TreeNode<?>> constrained = node.constrainedChildren == null
+                    ? Collections.<TreeNode<?>>emptyList() : node.constrainedChildren;
+            int[] constrainedOffsets = new int[constrained.size()];
+            for (int i = 0; i < constrainedOffsets.length; i++) {
+                constrainedOffsets[i] = writeNode(constrained.get(i));
+            }
+            Integer route = node.value == null ? null : routes.get(node);
+            int offset = out.size();
+            out.writeInt(node.code);
+            out.writeInt(node.constraints);
+            out.writeInt(route == null ? MappedPathTree.NONE : route);
+            out.writeInt(node.constraint == null ? MappedPathTree.NONE : id(constraints, node.constraint.key));
+            out.writeInt(wildcard);
+            out.writeInt(tail);
+            out.writeInt(literals.size());
+            for (int o : literalOffsets) {
+                out.writeInt(o);
+            }
+            out.writeInt(constrainedOffsets.length);
+            for (int o : constrainedOffsets) {
+                out.writeInt(o);
+            }
+            if (route != null) {
+                out.writeInt(node.tailIndex);
+                String[] keys = node.matchKeys == null ? new String[0] : node.matchKeys;
+                out.writeInt(keys.length);
+                for (int i = 0; i < keys.length; i++) {
+                    out.writeInt(id(matchKeys, keys[i]));
+                    out.writeInt(node.matchIndexes[i]);
+                }
+                out.writeInt(node.variables);
+                if (node.variables > 0) {
+                    for (IndexKey ik : node.indexKeys) {
+                        if (ik.isNumeric()) {
+                            out.writeInt(ik.index);
+                            out.writeInt(id(constraints, ik.key));
+                        }
+                    }
+                }
+            }
+            return offset;
+        }
+
+        /**
+         * 写入字符串常量，已写入的返回其偏移量。
+         *
+         * @return 字符串常量的偏移量。
+         */
+        private int writeString(String str) throws IOException {
+            Integer offset = strings.get(str);
+            if (offset == null) {
+                offset = out.size();
+                out.writeInt(str.length());
+                out.writeChars(str);
+                strings.put(str, offset);
+            }
+            return offset;
+        }
+
+        /**
+         * 写入字符串常量表：数目及各字符串常量的偏移量。
+         *
+         * @return 字符串常量表的偏移量。
+         */
+        private int writeStrings(List<String> list) throws IOException {
+            int[] offsets = new int[list.size()];
+            for (int i = 0; i < offsets.length; i++) {
+                offsets[i] = writeString(list.get(i));
+            }
+            int offset = out.size();
+            out.writeInt(offsets.length);
+            for (int o : offsets) {
+                out.writeInt(o);
+            }
+            return offset;
+        }
+
+        /**
+         * 获取字符串的序号，没有则添加。
+         */
+        private static int id(Map<String, Integer> ids, String str) {
+            Integer id = ids.get(str);
+            if (id == null) {
+                id = ids.size();
+                ids.put(str, id);
+            }
+            return id;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                out.flush();
+            } finally {
+                raf.close();
+            }
         }
     }
 
     /**
-     * 索引/值类。记录了节点匹配符在路径数组中的索引位置及匹配的键名。
+     * 索引/值类。记录了节点匹配符在路径数组中的索引位置、匹配的键名及其类型约束。
+     * 匹配键以{@link #CONSTRAINT_SEPARATOR}分隔键名与类型约束，类型约束为int、long或正则表达式。
      */
-    private static class IndexKey implements Serializable {
+    static class IndexKey implements Serializable {
 
         private static final long serialVersionUID = 1L;
 
+        /** 无类型约束 */
+        private static final byte NONE = 0;
+
+        /** int类型约束 */
+        private static final byte INT = 1;
+
+        /** long类型约束 */
+        private static final byte LONG = 2;
+
+        /** 正则表达式约束 */
+        private static final byte PATTERN = 3;
+
         //path array index, no more than 32
         private byte index = -1;
 
         //匹配的键名
         private String matchKey;
 
+        //包含类型约束的键名
+        private final String key;
+
+        //类型约束
+        private byte type = NONE;
+
+        //正则表达式约束
+        private Pattern pattern;
+
         /**
-         * 构造一个指定索引号和键名的类。
+         * 构造一个指定索引号和键名的类，键名可包含类型约束。
          *
          * @param index 指定的索引号。
          * @param matchKey 指定的键名。
+         *
+         * @throws IllegalArgumentException 如果类型约束的正则表达式无效。
          */
         public IndexKey(byte index, String matchKey) {
             this.index = index;
             this.matchKey = matchKey;
+            this.key = matchKey;
+            int idx = matchKey.indexOf(CONSTRAINT_SEPARATOR);
+            //{id:long}
+            if (idx > 0 && idx < matchKey.length() - 1) {
+                String constraint = matchKey.substring(idx + 1);
+                this.matchKey = matchKey.substring(0, idx);
+                if ("int".equals(constraint)) {
+                    this.type = INT;
+                } else if ("long".equals(constraint)) {
+                    this.type = LONG;
+                } else {
+                    try {
+                        this.pattern = Pattern.compile(constraint);
+                    } catch (PatternSyntaxException e) {
+                        throw new IllegalArgumentException("Illegal constraint of match key : " + matchKey, e);
+                    }
+                    this.type = PATTERN;
+                }
+            }
+        }
+
+        /**
+         * 是否为数值类型约束。
+         *
+         * @return 数值类型约束返回true，否则返回false。
+         */
+        boolean isNumeric() {
+            return type == INT || type == LONG;
+        }
+
+        /**
+         * 判断路径是否满足类型约束。
+         *
+         * @param path 路径的字符序列。
+         *
+         * @return 满足类型约束返回true，否则返回false。
+         */
+        boolean matches(CharSequence path) {
+            switch (type) {
+                case INT:
+                    return isInteger(path, Integer.MIN_VALUE, Integer.MAX_VALUE);
+                case LONG:
+                    return isInteger(path, Long.MIN_VALUE, Long.MAX_VALUE);
+                case PATTERN:
+                    return pattern.matcher(path).matches();
+                default:
+                    return true;
+            }
+        }
+
+        /**
+         * 转换满足数值类型约束的路径。
+         *
+         * @param path 路径字符串。
+         *
+         * @return 转换后的Integer或Long对象，非数值类型约束返回路径字符串。
+         */
+        Object convert(String path) {
+            switch (type) {
+                case INT:
+                    return Integer.valueOf(path);
+                case LONG:
+                    return Long.valueOf(path);
+                default:
+                    return path;
+            }
+        }
+
+        /**
+         * 判断字符串是否为指定范围内可含负号的十进制整数，不创建任何对象。
+         *
+         * @see Long#parseLong(String)
+         */
+        private static boolean isInteger(CharSequence str, long min, long max) {
+            int len = str.length();
+            boolean negative = len > 0 && str.charAt(0) == '-';
+            int i = negative ? 1 : 0;
+            if (i == len) {
+                return false;
+            }
+            //accumulating negatively avoids surprises near MAX_VALUE
+            long limit = negative ? min : -max;
+            long multmin = limit / 10;
+            long result = 0;
+            for (; i < len; i++) {
+                int digit = str.charAt(i) - '0';
+                if (digit < 0 || digit > 9 || result < multmin) {
+                    return false;
+                }
+                result *= 10;
+                if (result < limit + digit) {
+                    return false;
+                }
+                result -= digit;
+            }
+            return true;
         }
 
         @Override
@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package net.jrouter.impl;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 路径查找的解释：命中的层级、树结构各级的候选节点、最终匹配节点的代码、匹配参数及各阶段的耗时。
+ *
+ * @see PathActionFactory#explain(String)
+ * @since 1.8.5
+ */
+@lombok.Getter
+public final class RouteExplanation {
+
+    /** 命中静态路由表 */
+    public static final String TIER_STATIC = "static";
+
+    /** 命中Action缓存 */
+    public static final String TIER_CACHE = "cache";
+
+    /** 由树结构匹配 */
+    public static final String TIER_TREE = "tree";
+
+    /** 没有匹配的Action */
+    public static final String TIER_NONE = "none";
+
+    /** 查找的路径（已去除扩展名） */
+    private final String path;
+
+    /** 命中的层级 */
+    private final String tier;
+
+    /** 匹配Action的路径，没有匹配为 null */
+    private final String actionPath;
+
+    /** 最终匹配节点的代码（二进制），没有匹配或以内存映射的索引文件查找时为 null */
+    private final String code;
+
+    /** 匹配参数 */
+    private final Map<String, String> matchParameters;
+
+    /** 树结构各级的候选节点，以内存映射的索引文件查找时为空 */
+    private final List<Level> levels;
+
+    /** 各阶段（静态路由表、缓存、树结构）的耗时（纳秒） */
+    private final Map<String, Long> stageNanos;
+
+    /**
+     * 构造路径查找的解释。
+     */
+    RouteExplanation(String path, String tier, String actionPath, String code, Map<String, String> matchParameters,
+                     List<Level> levels, Map<String, Long> stageNanos) {
+        this.path = path;
+        this.tier = tier;
+        this.actionPath = actionPath;
+        this.code = code;
+        this.matchParameters = Collections.unmodifiableMap(matchParameters);
+        this.levels = Collections.unmodifiableList(levels);
+        this.stageNanos = Collections.unmodifiableMap(stageNanos);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder msg = new StringBuilder("Explain [").append(path).append("] : tier ").append(tier)
+                .append(", action ").append(actionPath).append(", code ").append(code)
+                .append(", parameters ").append(matchParameters).append(", nanos ").append(stageNanos);
+        for (Level level : levels) {
+            msg.append(String.format("%n  ")).append(level);
+        }
+        return msg.toString();
+    }
+
+    /**
+     * 树结构一级的候选节点。
+     */
+    @lombok.Getter
+    public static final class Level {
+
+        /** 子路径的索引 */
+        private final int index;
+
+        /** 子路径 */
+        private final String segment;
+
+        /** 候选节点 */
+        private final List<Candidate> candidates;
+
+        /**
+         * 构造一级的候选节点。
+         */
+        Level(int index, String segment, List<Candidate> candidates) {
+            this.index = index;
+            this.segment = segment;
+            this.candidates = Collections.unmodifiableList(candidates);
+        }
+
+        @Override
+        public String toString() {
+            return "[" + index + "] " + segment + " -> " + candidates;
+        }
+    }
+
+    /**
+     * 候选节点的相对路径、代码及是否为叶子节点。
+     */
+    @lombok.Getter
+    public static final class Candidate {
+
+        /** 节点的相对路径 */
+        private final String path;
+
+        /** 根节点到此节点的路径代码（二进制） */
+        private final String code;
+
+        /** 是否包含相关联的值 */
+        private final boolean leaf;
+
+        /** 是否为尾匹配'**'的节点 */
+        private final boolean tail;
+
+        /**
+         * 构造候选节点的描述。
+         */
+        Candidate(String path, String code, boolean leaf, boolean tail) {
+            this.path = path;
+            this.code = code;
+            this.leaf = leaf;
+            this.tail = tail;
+        }
+
+        @Override
+        public String toString() {
+            return path + "(" + code + (leaf ? ", leaf" : "") + (tail ? ", tail" : "") + ")";
+        }
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package net.jrouter.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 树结构查找的分支统计：查找次数、各级候选节点多于一个（分支）的次数及候选节点数目，以及各Action的分支查找次数；
+ * 用于发现通配较多、增加{@code PathTree}查找开销的路径设计。仅统计未命中静态路由表及缓存的树结构查找。
+ *
+ * @see PathActionFactory#setRouteProfiling(boolean)
+ * @since 1.8.5
+ */
+public final class RouteProfile {
+
+    /** 树结构查找次数 */
+    private final AtomicLong lookups = new AtomicLong();
+
+    /** 存在分支的查找次数 */
+    private final AtomicLong branchedLookups = new AtomicLong();
+
+    /** 查找的级数 */
+    private final AtomicLong levels = new AtomicLong();
+
+    /** 存在分支的级数 */
+    private final AtomicLong branchedLevels = new AtomicLong();
+
+    /** 候选节点数目的总和 */
+    private final AtomicLong candidates = new AtomicLong();
+
+    /** 单级候选节点的最大数目 */
+    private final AtomicLong maxCandidates = new AtomicLong();
+
+    /** Action路径与其存在分支的查找次数的映射 */
+    private final ConcurrentMap<String, AtomicLong> branchedActions = new ConcurrentHashMap<>();
+
+    /**
+     * 记录一次树结构查找。
+     *
+     * @param probe 查找的探针。
+     * @param actionPath 匹配Action的路径，没有匹配为 null。
+     */
+    void record(PathTree.Probe probe, String actionPath) {
+        lookups.incrementAndGet();
+        levels.addAndGet(probe.depth);
+        candidates.addAndGet(probe.candidates);
+        long max = maxCandidates.get();
+        while (probe.maxCandidates > max && !maxCandidates.compareAndSet(max, probe.maxCandidates)) {
+            max = maxCandidates.get();
+        }
+        if (probe.branchedLevels > 0) {
+            branchedLookups.incrementAndGet();
+            branchedLevels.addAndGet(probe.branchedLevels);
+            if (actionPath != null) {
+                AtomicLong count = branchedActions.get(actionPath);
+                if (count == null) {
+                    AtomicLong exist = branchedActions.putIfAbsent(actionPath, count = new AtomicLong());
+                    if (exist != null) {
+                        count = exist;
+                    }
+                }
+                count.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * 返回树结构查找次数。
+     *
+     * @return 树结构查找次数。
+     */
+    public long getLookups() {
+        return lookups.get();
+    }
+
+    /**
+     * 返回存在分支（某级候选节点多于一个）的查找次数。
+     *
+     * @return 存在分支的查找次数。
+     */
+    public long getBranchedLookups() {
+        return branchedLookups.get();
+    }
+
+    /**
+     * 返回查找的级数总和。
+     *
+     * @return 查找的级数总和。
+     */
+    public long getLevels() {
+        return levels.get();
+    }
+
+    /**
+     * 返回存在分支的级数总和。
+     *
+     * @return 存在分支的级数总和。
+     */
+    public long getBranchedLevels() {
+        return branchedLevels.get();
+    }
+
+    /**
+     * 返回每级的平均候选节点数目。
+     *
+     * @return 每级的平均候选节点数目。
+     */
+    public double getMeanCandidates() {
+        long n = levels.get();
+        return n == 0 ? 0 : (double) candidates.get() / n;
+    }
+
+    /**
+     * 返回单级候选节点的最大数目。
+     *
+     * @return 单级候选节点的最大数目。
+     */
+    public long getMaxCandidates() {
+        return maxCandidates.get();
+    }
+
+    /**
+     * 返回存在分支的查找次数最多的Action路径。
+     *
+     * @param top 返回的最大数目。
+     *
+     * @return 按次数降序排列的Action路径与其存在分支的查找次数。
+     */
+    public Map<String, Long> getBranchedActions(int top) {
+        List<Map.Entry<String, AtomicLong>> list = new ArrayList<>(branchedActions.entrySet());
+        Collections.sort(list, new Comparator<Map.Entry<String, AtomicLong>>() {
+
+            @Override
+            public int compare(Map.Entry<String, AtomicLong> o1, Map.Entry<String, AtomicLong> o2) {
+                return Long.compare(o2.getValue().get(), o1.getValue().get());
+            }
+        });
+        Map<String, Long> map = new LinkedHashMap<>();
+        for (Map.Entry<String, AtomicLong> e : list) {
+            if (map.size() >= top) {
+                break;
+            }
+            map.put(e.getKey(), e.getValue().get());
+        }
+        return map;
+    }
+
+    /**
+     * 重置统计。
+     */
+    public void reset() {
+        lookups.set(0);
+        branchedLookups.set(0);
+        levels.set(0);
+        branchedLevels.set(0);
+        candidates.set(0);
+        maxCandidates.set(0);
+        branchedActions.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "RouteProfile{lookups=" + getLookups() + ", branchedLookups=" + getBranchedLookups()
+                + ", levels=" + getLevels() + ", branchedLevels=" + getBranchedLevels()
+                + ", meanCandidates=" + getMeanCandidates() + ", maxCandidates=" + getMaxCandidates()
+                + ", branchedActions=" + getBranchedActions(10) + '}';
+    }
+}
@@ -0,0 +1,286 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package net.jrouter.impl;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Action路由表的快照，记录各Action方法生成的命名空间、路径及按名称绑定的拦截器，以及Action缓存的热点路径。
+ * 启动时由快照直接获取路径及拦截器，不再由路径生成器生成路径及匹配拦截栈；热点路径用于冻结时预热缓存。
+ * <p>
+ * 文件格式（{@code DataOutputStream}，字符串为修改的UTF-8）：
+ * </p>
+ * <pre>
+ * 文件头：MAGIC、VERSION、路径分隔符、配置标识
+ * 方法记录：数目、（方法标识、Action标识、路由数目及（命名空间、路径、拦截器数目及名称））
+ * 热点路径：数目、路径
+ * </pre>
+ * 配置标识或Action标识与当前不一致的记录不被使用。
+ *
+ * @see PathActionFactory#exportRouteSnapshot(File)
+ * @since 1.8.5
+ */
+final class RouteSnapshot {
+
+    /** 文件标识 */
+    static final int MAGIC = 0x4A525353;
+
+    /** 文件格式版本 */
+    static final int VERSION = 1;
+
+    /** 路径分隔符 */
+    @lombok.Getter
+    private final char pathSeparator;
+
+    /** 配置标识，包含拦截器、拦截栈及路径生成相关的配置 */
+    @lombok.Getter
+    private final String fingerprint;
+
+    /** 方法标识与其路由记录的映射 */
+    private final Map<String, Binding> bindings;
+
+    /** 热点路径，即导出时Action缓存中的路径 */
+    @lombok.Getter
+    private final List<String> hotPaths;
+
+    /**
+     * 构造一个空的路由表快照。
+     *
+     * @param pathSeparator 路径分隔符。
+     * @param fingerprint 配置标识。
+     */
+    RouteSnapshot(char pathSeparator, String fingerprint) {
+        this(pathSeparator, fingerprint, new LinkedHashMap<String, Binding>(), new ArrayList<String>());
+    }
+
+    /**
+     * 构造路由表快照。
+     */
+    private RouteSnapshot(char pathSeparator, String fingerprint, Map<String, Binding> bindings, List<String> hotPaths) {
+        this.pathSeparator = pathSeparator;
+        this.fingerprint = fingerprint;
+        this.bindings = bindings;
+        this.hotPaths = hotPaths;
+    }
+
+    /**
+     * 添加Action方法的一个路由记录。
+     *
+     * @param methodKey 方法标识。
+     * @param actionKey Action标识。
+     * @param route 路由记录。
+     */
+    void addRoute(String methodKey, String actionKey, Route route) {
+        Binding binding = bindings.get(methodKey);
+        if (binding == null) {
+            binding = new Binding(actionKey, new ArrayList<Route>(1));
+            bindings.put(methodKey, binding);
+        }
+        binding.routes.add(route);
+    }
+
+    /**
+     * 添加热点路径。
+     *
+     * @param path 热点路径。
+     */
+    void addHotPath(String path) {
+        hotPaths.add(path);
+    }
+
+    /**
+     * 获取Action方法的路由记录。
+     *
+     * @param methodKey 方法标识。
+     * @param actionKey Action标识。
+     *
+     * @return 路由记录集合，如果没有记录或Action标识不一致则返回 null。
+     */
+    List<Route> getRoutes(String methodKey, String actionKey) {
+        Binding binding = bindings.get(methodKey);
+        return binding == null || !binding.actionKey.equals(actionKey) ? null : binding.routes;
+    }
+
+    /**
+     * 判断是否包含Action方法的路由记录。
+     *
+     * @return 包含路由记录返回true，否则返回false。
+     */
+    boolean hasRoutes() {
+        return !bindings.isEmpty();
+    }
+
+    /**
+     * 返回不包含路由记录、仅包含热点路径的路由表快照。
+     *
+     * @return 仅包含热点路径的路由表快照。
+     */
+    RouteSnapshot withoutRoutes() {
+        return new RouteSnapshot(pathSeparator, fingerprint, Collections.<String, Binding>emptyMap(), hotPaths);
+    }
+
+    /**
+     * 返回方法记录的数目。
+     *
+     * @return 方法记录的数目。
+     */
+    int size() {
+        return bindings.size();
+    }
+
+    /**
+     * 写入快照文件；先写入临时文件再整体替换。
+     *
+     * @param file 快照文件。
+     *
+     * @throws IOException 如果写入文件错误。
+     */
+    void write(File file) throws IOException {
+        File tmp = new File(file.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeChar(pathSeparator);
+            out.writeUTF(fingerprint);
+            out.writeInt(bindings.size());
+            for (Map.Entry<String, Binding> e : bindings.entrySet()) {
+                out.writeUTF(e.getKey());
+                out.writeUTF(e.getValue().actionKey);
+                out.writeInt(e.getValue().routes.size());
+                for (Route route : e.getValue().routes) {
+                    out.writeUTF(route.namespace);
+                    out.writeUTF(route.path);
+                    out.writeInt(route.interceptors.length);
+                    for (String name : route.interceptors) {
+                        out.writeUTF(name);
+                    }
+                }
+            }
+            out.writeInt(hotPaths.size());
+            for (String path : hotPaths) {
+                out.writeUTF(path);
+            }
+        }
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * 读取快照文件。
+     *
+     * @param file 快照文件。
+     *
+     * @return 路由表快照。
+     *
+     * @throws IOException 如果读取文件错误，或文件标识、版本不一致。
+     */
+    static RouteSnapshot read(File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a route snapshot file : " + file);
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported route snapshot version [" + version + "] : " + file);
+            }
+            char pathSeparator = in.readChar();
+            String fingerprint = in.readUTF();
+            int size = in.readInt();
+            Map<String, Binding> bindings = new LinkedHashMap<>(size * 4 / 3 + 1);
+            for (int i = 0; i < size; i++) {
+                String methodKey = in.readUTF();
+                String actionKey = in.readUTF();
+                int count = in.readInt();
+                List<Route> routes = new ArrayList<>(count);
+                for (int j = 0; j < count; j++) {
+                    String namespace = in.readUTF();
+                    String path = in.readUTF();
+                    String[] interceptors = new String[in.readInt()];
+                    for (int k = 0; k < interceptors.length; k++) {
+                        interceptors[k] = in.readUTF();
+                    }
+                    routes.add(new Route(namespace, path, interceptors));
+                }
+                bindings.put(methodKey, new Binding(actionKey, Collections.unmodifiableList(routes)));
+            }
+            int hot = in.readInt();
+            List<String> hotPaths = new ArrayList<>(hot);
+            for (int i = 0; i < hot; i++) {
+                hotPaths.add(in.readUTF());
+            }
+            return new RouteSnapshot(pathSeparator, fingerprint, bindings, Collections.unmodifiableList(hotPaths));
+        }
+    }
+
+    /**
+     * Action方法的路由记录集合。
+     */
+    private static final class Binding {
+
+        /** Action标识 */
+        private final String actionKey;
+
+        /** 路由记录集合 */
+        private final List<Route> routes;
+
+        Binding(String actionKey, List<Route> routes) {
+            this.actionKey = actionKey;
+            this.routes = routes;
+        }
+    }
+
+    /**
+     * 单个路径的路由记录，包括命名空间、路径及按顺序排列的拦截器名称。
+     */
+    static final class Route {
+
+        /** 命名空间 */
+        final String namespace;
+
+        /** 全路径 */
+        final String path;
+
+        /** 拦截器名称 */
+        final String[] interceptors;
+
+        /**
+         * 构造路由记录。
+         *
+         * @param namespace 命名空间。
+         * @param path 全路径。
+         * @param interceptors 拦截器名称。
+         */
+        Route(String namespace, String path, String[] interceptors) {
+            this.namespace = namespace;
+            this.path = path;
+            this.interceptors = interceptors;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package net.jrouter.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 确切路径的静态路由表，以最小完美哈希（hash and displace）构建，查找为一次分桶及一次槽位比较。
+ * <p>
+ * 路径先按{@code String}兼容的哈希值分桶，每个桶记录一个位移值，桶内路径以哈希值及位移值计算的槽位互不冲突；
+ * 槽位数目与路径数目相同。哈希值相同的路径无法区分，不加入静态路由表。
+ * 构建后不可修改，可安全地发布给多个线程读取。
+ * </p>
+ *
+ * @param <V> 与路径相关联值的类型。
+ *
+ * @since 1.8.5
+ */
+final class StaticRouteTable<V> {
+
+    /** 每个桶的平均路径数目 */
+    private static final int BUCKET_SIZE = 2;
+
+    /** 空表 */
+    private static final StaticRouteTable<Object> EMPTY = new StaticRouteTable<>(new int[1], new String[0], new Object[0]);
+
+    /** 每个桶的位移值 */
+    private final int[] displacements;
+
+    /** 槽位的路径 */
+    private final String[] keys;
+
+    /** 槽位的路径相关联的值 */
+    private final Object[] values;
+
+    /**
+     * 构造静态路由表。
+     *
+     * @param displacements 每个桶的位移值。
+     * @param keys 槽位的路径。
+     * @param values 槽位的路径相关联的值。
+     */
+    private StaticRouteTable(int[] displacements, String[] keys, Object[] values) {
+        this.displacements = displacements;
+        this.keys = keys;
+        this.values = values;
+    }
+
+    /**
+     * 由确切路径与其相关联值的映射构建静态路由表。
+     *
+     * @param <V> 与路径相关联值的类型。
+     * @param routes 确切路径与其相关联值的映射。
+     *
+     * @return 静态路由表。
+     */
+    static <V> StaticRouteTable<V> build(Map<String, V> routes) {
+        //排除哈希值相同的路径
+        Map<Integer, String> hashes = new HashMap<>(routes.size() * 4 / 3 + 1);
+        Map<Integer, Boolean> duplicates = new HashMap<>();
+        for (String path : routes.keySet()) {
+            if (hashes.put(path.hashCode(), path) != null) {
+                duplicates.put(path.hashCode(), Boolean.TRUE);
+            }
+        }
+        List<String> paths = new ArrayList<>(hashes.size());
+        for (Map.Entry<Integer, String> e : hashes.entrySet()) {
+            if (!duplicates.containsKey(e.getKey())) {
+                paths.add(e.getValue());
+            }
+        }
+        int n = paths.size();
+        if (n == 0) {
+            return (StaticRouteTable<V>) EMPTY;
+        }
+        int buckets = (n + BUCKET_SIZE - 1) / BUCKET_SIZE;
+        List<List<String>> groups = new ArrayList<>(buckets);
+        for (int i = 0; i < buckets; i++) {
+            groups.add(new ArrayList<String>(BUCKET_SIZE));
+        }
+        for (String path : paths) {
+            groups.get(bucket(path.hashCode(), buckets)).add(path);
+        }
+        //按桶内路径数目降序依次放置
+        Integer[] order = new Integer[buckets];
+        for (int i = 0; i < buckets; i++) {
+            order[i] = i;
+        }
+        final List<List<String>> gs = groups;
+        Arrays.sort(order, new Comparator<Integer>() {
+
+            @Override
+            public int compare(Integer b1, Integer b2) {
+                return gs.get(b2).size() - gs.get(b1).size();
+            }
+        });
+        int slots = n;
+        while (true) {
+            StaticRouteTable<V> table = place(routes, groups, order, slots);
+            if (table != null) {
+                return table;
+            }
+            //未能在限定的尝试次数内放置，增加槽位数目
+            slots += (slots >> 2) + 1;
+        }
+    }
+
+    /**
+     * 以指定的槽位数目放置所有的桶。
+     *
+     * @return 静态路由表，如果未能在限定的尝试次数内放置则返回 null。
+     */
+    private static <V> StaticRouteTable<V> place(Map<String, V> routes, List<List<String>> groups, Integer[] order,
+                                                 int slots) {
+        int maxAttempts = Math.max(1 << 10, slots << 5);
+        int[] displacements = new int[groups.size()];
+        String[] keys = new String[slots];
+        Object[] values = new Object[slots];
+        int[] positions = new int[BUCKET_SIZE << 3];
+        for (Integer b : order) {
+            List<String> group = groups.get(b);
+            if (group.isEmpty()) {
+                break;
+            }
+            if (positions.length < group.size()) {
+                positions = new int[group.size()];
+            }
+            int d = 0;
+            for (; d < maxAttempts; d++) {
+                if (fits(group, d, slots, keys, positions)) {
+                    break;
+                }
+            }
+            if (d == maxAttempts) {
+                return null;
+            }
+            displacements[b] = d;
+            for (int i = 0; i < group.size(); i++) {
+                keys[positions[i]] = group.get(i);
+                values[positions[i]] = routes.get(group.get(i));
+            }
+        }
+        return new StaticRouteTable<>(displacements, keys, values);
+    }
+
+    /**
+     * 判断桶内的路径以指定的位移值计算的槽位是否均空闲且互不冲突。
+     */
+    private static boolean fits(List<String> group, int d, int slots, String[] keys, int[] positions) {
+        for (int i = 0; i < group.size(); i++) {
+            int p = slot(group.get(i).hashCode(), d, slots);
+            if (keys[p] != null) {
+                return false;
+            }
+            for (int j = 0; j < i; j++) {
+                if (positions[j] == p) {
+                    return false;
+                }
+            }
+            positions[i] = p;
+        }
+        return true;
+    }
+
+    /**
+     * 查找确切路径相关联的值。
+     *
+     * @param path 路径的字符串，或以{@link PathKey}表示的字符区间；哈希值须与相同内容的{@code String}一致。
+     *
+     * @return 路径相关联的值，如果没有则返回 null。
+     */
+    V get(CharSequence path) {
+        int n = keys.length;
+        if (n == 0) {
+            return null;
+        }
+        int h = path.hashCode();
+        int p = slot(h, displacements[bucket(h, displacements.length)], n);
+        String key = keys[p];
+        return key != null && key.contentEquals(path) ? (V) values[p] : null;
+    }
+
+    /**
+     * 返回静态路由表的路径数目。
+     *
+     * @return 路径数目。
+     */
+    int size() {
+        int size = 0;
+        for (String key : keys) {
+            if (key != null) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * 路径的哈希值所在的桶。
+     */
+    private static int bucket(int h, int buckets) {
+        return (mix(h) & 0x7FFFFFFF) % buckets;
+    }
+
+    /**
+     * 路径的哈希值以位移值计算的槽位。
+     */
+    private static int slot(int h, int d, int slots) {
+        return (mix(h + (d + 1) * 0x9E3779B9) & 0x7FFFFFFF) % slots;
+    }
+
+    /**
+     * 混合哈希值的所有位（MurmurHash3 fmix32）。
+     */
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
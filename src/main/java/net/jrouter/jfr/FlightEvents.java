@@ -0,0 +1,255 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package net.jrouter.jfr;
+
+import net.jrouter.util.ClassUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * JFR自定义事件的记录器。
+ * 仅在JFR可用（{@code jdk.jfr.FlightRecorder.isAvailable()}）且引入javassist时由{@link JavassistFlightEvents}生成事件类及实现；
+ * 否则使用不记录任何事件的实现。
+ *
+ * <p>
+ * 通常如下使用，事件未被记录（未启动录制或未启用该事件）时{@code begin}方法返回 null：
+ * <code><blockquote><pre>
+ * Object event = FlightEvents.getInstance().beginDispatch();
+ * try {
+ *     ...
+ * } finally {
+ *     if (event != null) {
+ *         FlightEvents.getInstance().commitDispatch(event, path);
+ *     }
+ * }
+ * </pre></blockquote></code>
+ * </p>
+ *
+ * @since 1.8.5
+ */
+public abstract class FlightEvents {
+
+    /** LOG */
+    private static final Logger LOG = LoggerFactory.getLogger(FlightEvents.class);
+
+    /** 事件类别 */
+    static final String CATEGORY = "JRouter";
+
+    /** Action调度事件名称 */
+    public static final String DISPATCH = "net.jrouter.Dispatch";
+
+    /** Action查找事件名称 */
+    public static final String LOOKUP = "net.jrouter.Lookup";
+
+    /** 拦截器调用事件名称 */
+    public static final String INTERCEPTOR = "net.jrouter.Interceptor";
+
+    /** 结果处理事件名称 */
+    public static final String RESULT = "net.jrouter.Result";
+
+    /** 调用类生成事件名称 */
+    public static final String CLASS_GENERATION = "net.jrouter.ClassGeneration";
+
+    /** 查找命中静态路由表 */
+    public static final String TIER_STATIC = "static";
+
+    /** 查找命中Action缓存 */
+    public static final String TIER_CACHE = "cache";
+
+    /** 查找由树结构匹配 */
+    public static final String TIER_TREE = "tree";
+
+    /** 不记录任何事件的实现 */
+    private static final FlightEvents DISABLED = new Disabled();
+
+    /** 当前使用的实现 */
+    private static final FlightEvents INSTANCE = load();
+
+    /**
+     * 加载JFR事件的实现；JFR不可用或加载错误时返回不记录事件的实现。
+     */
+    private static FlightEvents load() {
+        Class<?> recorder = ClassUtil.loadClassQuietly("jdk.jfr.FlightRecorder");
+        if (recorder == null || !ClassUtil.isJavassistSupported()) {
+            return DISABLED;
+        }
+        try {
+            if (!Boolean.TRUE.equals(recorder.getMethod("isAvailable").invoke(null))) {
+                return DISABLED;
+            }
+            FlightEvents events = JavassistFlightEvents.create(recorder);
+            LOG.info("Load JFR events : {}", events.getClass().getName());
+            return events;
+        } catch (Throwable e) { //NOPMD AvoidCatchingThrowable
+            LOG.warn("Can't load JFR events, ignore : " + e.getMessage(), e);
+        }
+        return DISABLED;
+    }
+
+    /**
+     * 返回当前使用的JFR事件记录器。
+     *
+     * @return JFR事件记录器。
+     */
+    public static FlightEvents getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * 是否已加载JFR事件；未加载时不记录任何事件。
+     *
+     * @return 是否已加载JFR事件。
+     */
+    public static boolean isAvailable() {
+        return INSTANCE != DISABLED;
+    }
+
+    /**
+     * 开始Action调度事件。
+     *
+     * @return 事件对象，事件不被记录时返回 null。
+     */
+    public abstract Object beginDispatch();
+
+    /**
+     * 提交Action调度事件。
+     *
+     * @param event 事件对象。
+     * @param path Action的映射路径。
+     */
+    public abstract void commitDispatch(Object event, String path);
+
+    /**
+     * 开始Action查找事件。
+     *
+     * @return 事件对象，事件不被记录时返回 null。
+     */
+    public abstract Object beginLookup();
+
+    /**
+     * 提交Action查找事件。
+     *
+     * @param event 事件对象。
+     * @param path 查找的路径。
+     * @param tier 命中的层级：{@link #TIER_STATIC}、{@link #TIER_CACHE}或{@link #TIER_TREE}。
+     */
+    public abstract void commitLookup(Object event, String path, String tier);
+
+    /**
+     * 开始拦截器调用事件。
+     *
+     * @return 事件对象，事件不被记录时返回 null。
+     */
+    public abstract Object beginInterceptor();
+
+    /**
+     * 提交拦截器调用事件，其时间包含后续拦截器及Action的调用。
+     *
+     * @param event 事件对象。
+     * @param path Action的映射路径。
+     * @param interceptor 拦截器名称。
+     */
+    public abstract void commitInterceptor(Object event, String path, String interceptor);
+
+    /**
+     * 开始结果处理事件。
+     *
+     * @return 事件对象，事件不被记录时返回 null。
+     */
+    public abstract Object beginResult();
+
+    /**
+     * 提交结果处理事件。
+     *
+     * @param event 事件对象。
+     * @param path Action的映射路径。
+     * @param result 字符串结果，或非字符串结果的类型名称。
+     */
+    public abstract void commitResult(Object event, String path, String result);
+
+    /**
+     * 开始调用类生成事件。
+     *
+     * @return 事件对象，事件不被记录时返回 null。
+     */
+    public abstract Object beginClassGeneration();
+
+    /**
+     * 提交调用类生成事件。
+     *
+     * @param event 事件对象。
+     * @param className 生成的类名称。
+     * @param method 底层方法。
+     */
+    public abstract void commitClassGeneration(Object event, String className, String method);
+
+    /**
+     * 不记录任何事件的实现。
+     */
+    private static final class Disabled extends FlightEvents {
+
+        @Override
+        public Object beginDispatch() {
+            return null;
+        }
+
+        @Override
+        public void commitDispatch(Object event, String path) {
+            //nothing
+        }
+
+        @Override
+        public Object beginLookup() {
+            return null;
+        }
+
+        @Override
+        public void commitLookup(Object event, String path, String tier) {
+            //nothing
+        }
+
+        @Override
+        public Object beginInterceptor() {
+            return null;
+        }
+
+        @Override
+        public void commitInterceptor(Object event, String path, String interceptor) {
+            //nothing
+        }
+
+        @Override
+        public Object beginResult() {
+            return null;
+        }
+
+        @Override
+        public void commitResult(Object event, String path, String result) {
+            //nothing
+        }
+
+        @Override
+        public Object beginClassGeneration() {
+            return null;
+        }
+
+        @Override
+        public void commitClassGeneration(Object event, String className, String method) {
+            //nothing
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package net.jrouter.jfr;
+
+import javassist.*;
+import javassist.bytecode.AnnotationsAttribute;
+import javassist.bytecode.ClassFile;
+import javassist.bytecode.ConstPool;
+import javassist.bytecode.annotation.Annotation;
+import javassist.bytecode.annotation.ArrayMemberValue;
+import javassist.bytecode.annotation.MemberValue;
+import javassist.bytecode.annotation.StringMemberValue;
+
+/**
+ * 由javassist生成继承{@code jdk.jfr.Event}的事件类及{@link FlightEvents}的实现。
+ * 事件类须继承{@code jdk.jfr.Event}，无法以Java 7编译，故于运行时生成并向{@code jdk.jfr.FlightRecorder}注册。
+ *
+ * @since 1.8.5
+ */
+final class JavassistFlightEvents {
+
+    /** 生成类的名称前缀 */
+    private static final String CLASS_PREFIX = FlightEvents.class.getPackage().getName() + ".";
+
+    /** 生成类的名称后缀 */
+    private static final String CLASS_SUFFIX = "$$JR_Jfr";
+
+    /**
+     * 事件定义：方法名称、事件名称、标签、描述及字段（名称、标签）。
+     */
+    private static final String[][][] EVENTS = {
+        {{"Dispatch", FlightEvents.DISPATCH, "Action Dispatch", "Action invocation including lookup, interceptors and result"},
+            {"path", "Path"}},
+        {{"Lookup", FlightEvents.LOOKUP, "Action Lookup", "Action lookup in static routes, cache or path tree"},
+            {"path", "Path"}, {"tier", "Tier"}},
+        {{"Interceptor", FlightEvents.INTERCEPTOR, "Interceptor", "Interceptor invocation including the rest of the chain"},
+            {"path", "Path"}, {"interceptor", "Interceptor"}},
+        {{"Result", FlightEvents.RESULT, "Result", "Result handling of the invoked Action"},
+            {"path", "Path"}, {"result", "Result"}},
+        {{"ClassGeneration", FlightEvents.CLASS_GENERATION, "Class Generation", "Javassist invoker class generation"},
+            {"className", "Class Name"}, {"method", "Method"}}
+    };
+
+    /**
+     * 私有构造方法。
+     */
+    private JavassistFlightEvents() {
+    }
+
+    /**
+     * 生成并注册事件类，创建{@link FlightEvents}的实现。
+     *
+     * @param recorder {@code jdk.jfr.FlightRecorder}类。
+     *
+     * @return FlightEvents的实现。
+     *
+     * @throws Exception 如果生成或注册事件类错误。
+     */
+    static FlightEvents create(Class<?> recorder) throws Exception {
+        ClassPool classPool = new ClassPool(true);
+        classPool.appendClassPath(new ClassClassPath(FlightEvents.class));
+        CtClass impl = classPool.makeClass(CLASS_PREFIX + FlightEvents.class.getSimpleName() + CLASS_SUFFIX,
+                classPool.get(FlightEvents.class.getName()));
+        impl.setModifiers(Modifier.PUBLIC | Modifier.FINAL);
+        ClassLoader loader = FlightEvents.class.getClassLoader();
+        java.security.ProtectionDomain domain = FlightEvents.class.getProtectionDomain();
+        java.lang.reflect.Method register = recorder.getMethod("register", Class.class);
+        for (String[][] def : EVENTS) {
+            CtClass event = createEventClass(classPool, def);
+            register.invoke(null, event.toClass(loader, domain));
+            addTypeField(impl, def[0][0], event.getName());
+            impl.addMethod(createBeginMethod(impl, def[0][0], event.getName()));
+            impl.addMethod(createCommitMethod(impl, def, event.getName()));
+        }
+        return (FlightEvents) impl.toClass(loader, domain).getDeclaredConstructor().newInstance();
+    }
+
+    /**
+     * 构建继承{@code jdk.jfr.Event}的事件类，字段均为字符串类型。
+     */
+    private static CtClass createEventClass(ClassPool classPool, String[][] def) throws CannotCompileException,
+            NotFoundException {
+        CtClass event = classPool.makeClass(CLASS_PREFIX + def[0][0] + "Event" + CLASS_SUFFIX, classPool.get("jdk.jfr.Event"));
+        event.setModifiers(Modifier.PUBLIC | Modifier.FINAL);
+        ClassFile classFile = event.getClassFile();
+        ConstPool constPool = classFile.getConstPool();
+        AnnotationsAttribute attr = new AnnotationsAttribute(constPool, AnnotationsAttribute.visibleTag);
+        attr.addAnnotation(createAnnotation(constPool, "jdk.jfr.Name", new StringMemberValue(def[0][1], constPool)));
+        attr.addAnnotation(createAnnotation(constPool, "jdk.jfr.Label", new StringMemberValue(def[0][2], constPool)));
+        attr.addAnnotation(createAnnotation(constPool, "jdk.jfr.Description", new StringMemberValue(def[0][3], constPool)));
+        ArrayMemberValue category = new ArrayMemberValue(new StringMemberValue(constPool), constPool);
+        category.setValue(new MemberValue[]{new StringMemberValue(FlightEvents.CATEGORY, constPool)});
+        attr.addAnnotation(createAnnotation(constPool, "jdk.jfr.Category", category));
+        classFile.addAttribute(attr);
+        CtClass string = classPool.get(String.class.getName());
+        for (int i = 1; i < def.length; i++) {
+            CtField field = new CtField(string, def[i][0], event);
+            field.setModifiers(Modifier.PUBLIC);
+            AnnotationsAttribute label = new AnnotationsAttribute(constPool, AnnotationsAttribute.visibleTag);
+            label.addAnnotation(createAnnotation(constPool, "jdk.jfr.Label", new StringMemberValue(def[i][1], constPool)));
+            field.getFieldInfo().addAttribute(label);
+            event.addField(field);
+        }
+        return event;
+    }
+
+    /**
+     * 构建只有{@code value}成员的注解。
+     */
+    private static Annotation createAnnotation(ConstPool constPool, String type, MemberValue value) {
+        Annotation annotation = new Annotation(type, constPool);
+        annotation.addMemberValue("value", value);
+        return annotation;
+    }
+
+    /**
+     * 添加缓存事件类型{@code jdk.jfr.EventType}的静态字段，由其判断事件是否启用。
+     */
+    private static void addTypeField(CtClass impl, String name, String eventClass) throws
+            CannotCompileException, NotFoundException {
+        CtField field = new CtField(impl.getClassPool().get("jdk.jfr.EventType"), typeField(name), impl);
+        field.setModifiers(Modifier.PRIVATE | Modifier.STATIC | Modifier.FINAL);
+        impl.addField(field, CtField.Initializer.byExpr("jdk.jfr.EventType.getEventType(" + eventClass + ".class)"));
+    }
+
+    /**
+     * 事件类型字段的名称。
+     */
+    private static String typeField(String name) {
+        return "type" + name;
+    }
+
+    /**
+     * 构建开始事件的方法；事件未启用时不创建事件对象，返回 null。
+     */
+    private static CtMethod createBeginMethod(CtClass impl, String name, String eventClass) throws
+            CannotCompileException {
+        StringBuilder body = new StringBuilder("public Object begin").append(name).append("(){");
+        body.append("if (!").append(typeField(name)).append(".isEnabled()) return null;");
+        body.append(eventClass).append(" e = new ").append(eventClass).append("();");
+        body.append("e.begin();return e;}");
+        return CtNewMethod.make(body.toString(), impl);
+    }
+
+    /**
+     * 构建设置事件字段并提交事件的方法。
+     */
+    private static CtMethod createCommitMethod(CtClass impl, String[][] def, String eventClass) throws
+            CannotCompileException {
+        StringBuilder body = new StringBuilder("public void commit").append(def[0][0]).append("(Object o");
+        for (int i = 1; i < def.length; i++) {
+            body.append(", String ").append(def[i][0]);
+        }
+        body.append("){");
+        body.append(eventClass).append(" e = (").append(eventClass).append(") o;");
+        for (int i = 1; i < def.length; i++) {
+            body.append("e.").append(def[i][0]).append(" = ").append(def[i][0]).append(';');
+        }
+        body.append("e.commit();}");
+        return CtNewMethod.make(body.toString(), impl);
+    }
+}
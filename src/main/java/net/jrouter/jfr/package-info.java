@@ -0,0 +1,21 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+/**
+ * 提供Java Flight Recorder（JFR）的自定义事件：Action调度、路径查找、拦截器、结果处理及启动时的javassist类生成。
+ * 事件类于运行时由javassist生成，仅在JFR可用时加载，不依赖编译期的{@code jdk.jfr}。
+ */
+package net.jrouter.jfr;
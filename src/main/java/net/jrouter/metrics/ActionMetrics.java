@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package net.jrouter.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import net.jrouter.impl.PathActionProxy;
+
+/**
+ * 单个Action的调用度量：延迟直方图、异常次数及开始记录的时间。
+ *
+ * @since 1.8.5
+ */
+public final class ActionMetrics {
+
+    /** Action代理对象 */
+    @lombok.Getter
+    private final PathActionProxy actionProxy;
+
+    /** 延迟直方图 */
+    @lombok.Getter
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    /** 调用抛出异常的次数 */
+    private final AtomicLong errors = new AtomicLong();
+
+    /** 开始记录的时间（纳秒） */
+    private volatile long startNanos = System.nanoTime();
+
+    /**
+     * 构造指定Action的调用度量。
+     *
+     * @param actionProxy Action代理对象。
+     */
+    ActionMetrics(PathActionProxy actionProxy) {
+        this.actionProxy = actionProxy;
+    }
+
+    /**
+     * 记录一次调用。
+     *
+     * @param nanos 调用的延迟（纳秒）。
+     * @param error 调用是否抛出异常。
+     */
+    public void record(long nanos, boolean error) {
+        histogram.record(nanos);
+        if (error) {
+            errors.incrementAndGet();
+        }
+    }
+
+    /**
+     * 返回调用抛出异常的次数。
+     *
+     * @return 调用抛出异常的次数。
+     */
+    public long getErrors() {
+        return errors.get();
+    }
+
+    /**
+     * 返回当前的统计快照。
+     *
+     * @return 统计快照。
+     */
+    public ActionStatistics getStatistics() {
+        long[] values = histogram.valuesAtQuantiles(0.5, 0.99, 0.999);
+        long count = histogram.getCount();
+        long elapsed = System.nanoTime() - startNanos;
+        double rate = elapsed <= 0 ? 0 : count * 1e9 / elapsed;
+        double mean = count == 0 ? 0 : (double) histogram.getSum() / count;
+        return new ActionStatistics(actionProxy.getPath(), count, errors.get(), rate, mean, histogram.getMax(),
+                values[0], values[1], values[2]);
+    }
+
+    /**
+     * 清空记录并重新开始计时。
+     */
+    public void reset() {
+        histogram.reset();
+        errors.set(0);
+        startNanos = System.nanoTime();
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package net.jrouter.metrics;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * Action调用度量的统计快照，不可变；延迟值均为纳秒。
+ *
+ * @see ActionMetrics#getStatistics()
+ * @since 1.8.5
+ */
+@lombok.Getter
+@lombok.ToString
+public final class ActionStatistics {
+
+    /** Action路径 */
+    private final String path;
+
+    /** 调用次数 */
+    private final long count;
+
+    /** 调用抛出异常的次数 */
+    private final long errors;
+
+    /** 自开始记录起的平均每秒调用次数 */
+    private final double rate;
+
+    /** 平均延迟 */
+    private final double mean;
+
+    /** 最大延迟 */
+    private final long max;
+
+    /** 50%分位延迟 */
+    private final long p50;
+
+    /** 99%分位延迟 */
+    private final long p99;
+
+    /** 99.9%分位延迟 */
+    private final long p999;
+
+    /**
+     * 构造统计快照。
+     *
+     * @param path Action路径。
+     * @param count 调用次数。
+     * @param errors 调用抛出异常的次数。
+     * @param rate 平均每秒调用次数。
+     * @param mean 平均延迟。
+     * @param max 最大延迟。
+     * @param p50 50%分位延迟。
+     * @param p99 99%分位延迟。
+     * @param p999 99.9%分位延迟。
+     */
+    @ConstructorProperties({"path", "count", "errors", "rate", "mean", "max", "p50", "p99", "p999"})
+    public ActionStatistics(String path, long count, long errors, double rate, double mean, long max, //NOPMD ExcessiveParameterList
+                            long p50, long p99, long p999) {
+        this.path = path;
+        this.count = count;
+        this.errors = errors;
+        this.rate = rate;
+        this.mean = mean;
+        this.max = max;
+        this.p50 = p50;
+        this.p99 = p99;
+        this.p999 = p999;
+    }
+}
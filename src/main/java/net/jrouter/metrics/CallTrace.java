@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package net.jrouter.metrics;
+
+import java.beans.ConstructorProperties;
+import java.util.Arrays;
+
+/**
+ * 一次调用的追踪记录：路径、耗时、拦截器及各拦截器的耗时、调用参数及异常。
+ *
+ * @see SlowCallTracer
+ * @since 1.8.5
+ */
+@lombok.Getter
+public final class CallTrace {
+
+    /** 调用参数描述的最大长度 */
+    private static final int MAX_ARGUMENT_LENGTH = 256;
+
+    /** 序号 */
+    private final long sequence;
+
+    /** Action的映射路径 */
+    private final String path;
+
+    /** 记录的时间（毫秒） */
+    private final long timestamp;
+
+    /** 调用的耗时（纳秒） */
+    private final long durationNanos;
+
+    /** 是否为抽样的调用；否则为超过阈值的慢调用 */
+    private final boolean sampled;
+
+    /** 拦截器名称 */
+    private final String[] interceptors;
+
+    /** 各拦截器（包含其后的调用）及最后Action方法的耗时（纳秒），未抽样时为 null */
+    private final long[] hopNanos;
+
+    /** 调用参数的描述 */
+    private final String[] arguments;
+
+    /** 路径匹配的参数 */
+    private final String pathParameters;
+
+    /** 调用抛出的异常，可为 null */
+    private final String error;
+
+    /**
+     * 构造追踪记录。
+     */
+    @ConstructorProperties({"sequence", "path", "timestamp", "durationNanos", "sampled", "interceptors", "hopNanos",
+        "arguments", "pathParameters", "error"})
+    public CallTrace(long sequence, String path, long timestamp, long durationNanos, boolean sampled,
+                     String[] interceptors, long[] hopNanos, String[] arguments, String pathParameters, String error) {
+        this.sequence = sequence;
+        this.path = path;
+        this.timestamp = timestamp;
+        this.durationNanos = durationNanos;
+        this.sampled = sampled;
+        this.interceptors = interceptors;
+        this.hopNanos = hopNanos;
+        this.arguments = arguments;
+        this.pathParameters = pathParameters;
+        this.error = error;
+    }
+
+    /**
+     * 描述调用参数，过长的描述被截断。
+     *
+     * @param arguments 调用参数。
+     *
+     * @return 调用参数的描述。
+     */
+    static String[] describe(Object[] arguments) {
+        if (arguments == null) {
+            return new String[0];
+        }
+        String[] desc = new String[arguments.length];
+        for (int i = 0; i < arguments.length; i++) {
+            Object arg = arguments[i];
+            String str = arg instanceof Object[] ? Arrays.deepToString((Object[]) arg) : String.valueOf(arg);
+            desc[i] = str.length() > MAX_ARGUMENT_LENGTH ? str.substring(0, MAX_ARGUMENT_LENGTH) + "..." : str;
+        }
+        return desc;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder msg = new StringBuilder(sampled ? "Sampled" : "Slow").append(" call [").append(path)
+                .append("] ").append(durationNanos / 1000).append(" us");
+        if (interceptors != null) {
+            for (int i = 0; i < interceptors.length; i++) {
+                msg.append(", ").append(interceptors[i]);
+                if (hopNanos != null) {
+                    msg.append(' ').append(hopNanos[i] / 1000).append(" us");
+                }
+            }
+        }
+        if (hopNanos != null) {
+            msg.append(", action ").append(hopNanos[hopNanos.length - 1] / 1000).append(" us");
+        }
+        msg.append(", arguments ").append(Arrays.toString(arguments));
+        msg.append(", pathParameters ").append(pathParameters);
+        if (error != null) {
+            msg.append(", error ").append(error);
+        }
+        return msg.toString();
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package net.jrouter.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 固定内存的对数线性延迟直方图，记录纳秒值。
+ * <p>
+ * 小于2×{@value #SUB_BUCKETS}的值各占一个桶；其他值按最高位所在的2的幂分段，每段再线性划分为{@value #SUB_BUCKETS}个桶，
+ * 相对误差不超过1/{@value #SUB_BUCKETS}；超过2<sup>{@value #MAX_EXPONENT}+1</sup>纳秒（约137秒）的值计入最后一个桶，
+ * 其分位值不超过记录的最大值。每个直方图（即每个Action）的计数占用{@value #BUCKETS}个long（约2.2KB）。
+ * 记录时仅原子地递增计数，无锁且不分配内存，可被多个线程同时记录；统计时读取的各桶计数为近似一致的快照。
+ * </p>
+ *
+ * @since 1.8.5
+ */
+public final class LatencyHistogram {
+
+    /** 每段线性划分的位数 */
+    private static final int SUB_BUCKET_BITS = 3;
+
+    /** 每段线性划分的桶数目 */
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /** 分段的最大指数 */
+    static final int MAX_EXPONENT = 36;
+
+    /** 桶的数目 */
+    static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    /** 各桶的计数 */
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    /** 记录值的总和 */
+    private final AtomicLong sum = new AtomicLong();
+
+    /** 记录的最大值，仅在超过时更新 */
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * 记录一个纳秒值，负值按0记录。
+     *
+     * @param nanos 纳秒值。
+     */
+    public void record(long nanos) {
+        long value = nanos < 0 ? 0 : nanos;
+        counts.incrementAndGet(index(value));
+        sum.addAndGet(value);
+        long m;
+        while (value > (m = max.get()) && !max.compareAndSet(m, value)) {
+            //retry
+        }
+    }
+
+    /**
+     * 返回记录的总数。
+     *
+     * @return 记录的总数。
+     */
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * 返回记录值的总和。
+     *
+     * @return 记录值的总和（纳秒）。
+     */
+    public long getSum() {
+        return sum.get();
+    }
+
+    /**
+     * 返回记录的最大值。
+     *
+     * @return 记录的最大值（纳秒）。
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * 返回指定分位的值，为所在桶的上界。
+     *
+     * @param quantile 分位，取值[0, 1]。
+     *
+     * @return 分位的值（纳秒），没有记录时返回0。
+     */
+    public long getValueAtQuantile(double quantile) {
+        return valuesAtQuantiles(quantile)[0];
+    }
+
+    /**
+     * 返回多个分位的值，各分位基于相同的计数快照。
+     *
+     * @param quantiles 按升序排列的分位，取值[0, 1]。
+     *
+     * @return 各分位的值（纳秒），没有记录时均为0。
+     */
+    public long[] valuesAtQuantiles(double... quantiles) {
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        long[] values = new long[quantiles.length];
+        if (total == 0) {
+            return values;
+        }
+        int bucket = 0;
+        long cumulative = snapshot[0];
+        for (int q = 0; q < quantiles.length; q++) {
+            long rank = Math.max(1, (long) Math.ceil(Math.min(1, Math.max(0, quantiles[q])) * total));
+            while (cumulative < rank && bucket < BUCKETS - 1) {
+                cumulative += snapshot[++bucket];
+            }
+            //不超过记录的最大值
+            values[q] = Math.min(upperBound(bucket), max.get());
+        }
+        return values;
+    }
+
+    /**
+     * 清空记录；与同时进行的记录之间不保证一致。
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        sum.set(0);
+        max.set(0);
+    }
+
+    /**
+     * 值所在桶的索引。
+     */
+    static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return ((exponent - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS) + sub;
+    }
+
+    /**
+     * 桶包含的最大值。
+     */
+    static long upperBound(int index) {
+        if (index < SUB_BUCKETS << 1) {
+            return index;
+        }
+        int exponent = (index >> SUB_BUCKET_BITS) + SUB_BUCKET_BITS - 1;
+        int shift = exponent - SUB_BUCKET_BITS;
+        long lower = (long) (SUB_BUCKETS + (index & (SUB_BUCKETS - 1))) << shift;
+        return lower + (1L << shift) - 1;
+    }
+}
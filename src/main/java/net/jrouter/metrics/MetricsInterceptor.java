@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package net.jrouter.metrics;
+
+import net.jrouter.ActionInvocation;
+import net.jrouter.annotation.Interceptor;
+import net.jrouter.impl.PathActionProxy;
+
+/**
+ * 记录Action调用延迟的拦截器，以纳秒计时并记录至注册表中各Action的延迟直方图，不输出日志。
+ * 调用抛出异常时同时记录延迟及异常次数。
+ *
+ * @see MetricsRegistry
+ * @since 1.8.5
+ */
+public class MetricsInterceptor {
+
+    /** 度量拦截器 */
+    public static final String METRICS = "metrics";
+
+    /** 度量注册表 */
+    @lombok.Getter
+    private final MetricsRegistry registry;
+
+    /**
+     * 以新的度量注册表构造拦截器。
+     */
+    public MetricsInterceptor() {
+        this(new MetricsRegistry());
+    }
+
+    /**
+     * 以指定的度量注册表构造拦截器。
+     *
+     * @param registry 度量注册表。
+     */
+    public MetricsInterceptor(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * 记录Action调用的延迟。
+     *
+     * @param invocation Action运行时上下文。
+     *
+     * @return 拦截器处理后的Action调用结果。
+     */
+    @Interceptor(name = METRICS)
+    public Object metrics(ActionInvocation<?> invocation) {
+        if (!(invocation.getActionProxy() instanceof PathActionProxy)) {
+            return invocation.invoke();
+        }
+        ActionMetrics am = registry.getMetrics((PathActionProxy) invocation.getActionProxy());
+        boolean error = true;
+        long start = System.nanoTime();
+        try {
+            Object result = invocation.invoke();
+            error = false;
+            return result;
+        } finally {
+            am.record(System.nanoTime() - start, error);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package net.jrouter.metrics;
+
+import java.util.List;
+
+/**
+ * Action调用度量的JMX管理接口。
+ *
+ * @see MetricsRegistry#registerMBean(String)
+ * @since 1.8.5
+ */
+public interface MetricsMXBean {
+
+    /**
+     * 返回所有Action按路径排序的统计快照。
+     *
+     * @return 统计快照集合。
+     */
+    List<ActionStatistics> getStatistics();
+
+    /**
+     * 返回指定路径Action的统计快照。
+     *
+     * @param path Action路径。
+     *
+     * @return 统计快照，如果没有记录则返回 null。
+     */
+    ActionStatistics getActionStatistics(String path);
+
+    /**
+     * 清空所有Action的记录。
+     */
+    void reset();
+}
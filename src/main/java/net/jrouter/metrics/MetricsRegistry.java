@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package net.jrouter.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import net.jrouter.JRouterException;
+import net.jrouter.impl.PathActionProxy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 以Action代理对象为键的调用度量注册表，线程安全；首次记录时创建Action的度量。
+ * 由{@link MetricsInterceptor}持有的注册表，在Action由{@link net.jrouter.impl.PathActionFactory}移除、热加载替换或清除时
+ * 一并移除原有Action代理对象的度量；其他方式持有的注册表需由{@link #remove(PathActionProxy)}或{@link #clear()}移除。
+ *
+ * @see MetricsInterceptor
+ * @since 1.8.5
+ */
+public class MetricsRegistry implements MetricsMXBean {
+
+    /** 日志 */
+    private static final Logger LOG = LoggerFactory.getLogger(MetricsRegistry.class);
+
+    /** JMX ObjectName的默认域 */
+    public static final String JMX_DOMAIN = "net.jrouter";
+
+    /** 按路径排序 */
+    private static final Comparator<ActionStatistics> PATH_ORDER = new Comparator<ActionStatistics>() {
+
+        @Override
+        public int compare(ActionStatistics s1, ActionStatistics s2) {
+            return s1.getPath().compareTo(s2.getPath());
+        }
+    };
+
+    /** Action代理对象与其度量的映射 */
+    private final ConcurrentMap<PathActionProxy, ActionMetrics> metrics = new ConcurrentHashMap<>();
+
+    /**
+     * 获取Action的度量，不存在时创建。
+     *
+     * @param actionProxy Action代理对象。
+     *
+     * @return Action的度量。
+     */
+    public ActionMetrics getMetrics(PathActionProxy actionProxy) {
+        ActionMetrics am = metrics.get(actionProxy);
+        if (am == null) {
+            am = new ActionMetrics(actionProxy);
+            ActionMetrics existing = metrics.putIfAbsent(actionProxy, am);
+            if (existing != null) {
+                am = existing;
+            }
+        }
+        return am;
+    }
+
+    /**
+     * 移除Action的度量。
+     *
+     * @param actionProxy Action代理对象。
+     *
+     * @return 移除的度量，如果没有则返回 null。
+     */
+    public ActionMetrics remove(PathActionProxy actionProxy) {
+        return metrics.remove(actionProxy);
+    }
+
+    /**
+     * 移除所有Action的度量。
+     */
+    public void clear() {
+        metrics.clear();
+    }
+
+    @Override
+    public List<ActionStatistics> getStatistics() {
+        List<ActionStatistics> list = new ArrayList<>(metrics.size());
+        for (ActionMetrics am : metrics.values()) {
+            list.add(am.getStatistics());
+        }
+        Collections.sort(list, PATH_ORDER);
+        return list;
+    }
+
+    @Override
+    public ActionStatistics getActionStatistics(String path) {
+        for (ActionMetrics am : metrics.values()) {
+            if (am.getActionProxy().getPath().equals(path)) {
+                return am.getStatistics();
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void reset() {
+        for (ActionMetrics am : metrics.values()) {
+            am.reset();
+        }
+    }
+
+    /**
+     * 以指定名称注册至平台的MBeanServer，ObjectName为"net.jrouter:type=Metrics,name=<i>name</i>"。
+     *
+     * @param name 名称。
+     *
+     * @return 注册的ObjectName。
+     *
+     * @throws JRouterException 如果注册失败。
+     */
+    public ObjectName registerMBean(String name) {
+        try {
+            ObjectName objectName = objectName(name);
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+            LOG.info("Register MBean : {}", objectName);
+            return objectName;
+        } catch (JMException e) {
+            throw new JRouterException("Can't register metrics MBean : " + name, e);
+        }
+    }
+
+    /**
+     * 注销以指定名称注册至平台MBeanServer的MBean；未注册时忽略。
+     *
+     * @param name 名称。
+     *
+     * @throws JRouterException 如果注销失败。
+     */
+    public void unregisterMBean(String name) {
+        try {
+            ObjectName objectName = objectName(name);
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+                LOG.info("Unregister MBean : {}", objectName);
+            }
+        } catch (JMException e) {
+            throw new JRouterException("Can't unregister metrics MBean : " + name, e);
+        }
+    }
+
+    /**
+     * 指定名称的ObjectName。
+     */
+    private static ObjectName objectName(String name) throws JMException {
+        return new ObjectName(JMX_DOMAIN + ":type=Metrics,name=" + ObjectName.quote(name));
+    }
+}
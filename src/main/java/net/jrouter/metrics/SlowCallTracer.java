@@ -0,0 +1,201 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package net.jrouter.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 抽样记录慢调用的追踪器：每隔指定次数抽样一次调用并记录各拦截器及Action方法的耗时，
+ * 耗时超过阈值的调用记录其路径、拦截器及调用参数；最近的追踪记录保存在无锁的环形缓冲区中。
+ * <p>
+ * 抽样计数为各线程独立的计数，每个线程每隔指定次数抽样一次，线程间不共享写入；未被抽样的调用仅检查计数。
+ * 设置了阈值时，未被抽样的调用另外记录开始及结束时间，但不记录各拦截器的耗时。
+ * </p>
+ *
+ * @since 1.8.5
+ */
+public final class SlowCallTracer {
+
+    /** 抽样间隔，每隔指定次数抽样一次调用；不大于0时不抽样 */
+    private volatile int sampleInterval;
+
+    /** 慢调用的阈值（纳秒）；不大于0时不记录慢调用 */
+    private volatile long thresholdNanos;
+
+    /** 各线程的抽样计数 */
+    private final ThreadLocal<int[]> counter = new ThreadLocal<int[]>() {
+
+        @Override
+        protected int[] initialValue() {
+            return new int[1];
+        }
+    };
+
+    /** 环形缓冲区 */
+    private final AtomicReferenceArray<CallTrace> traces;
+
+    /** 环形缓冲区容量减1，容量为2的幂 */
+    private final int mask;
+
+    /** 追踪记录的序号 */
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * 构造慢调用追踪器。
+     *
+     * @param sampleInterval 抽样间隔，不大于0时不抽样。
+     * @param thresholdNanos 慢调用的阈值（纳秒），不大于0时不记录慢调用。
+     * @param capacity 保存的最近追踪记录数目，向上取2的幂。
+     */
+    public SlowCallTracer(int sampleInterval, long thresholdNanos, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Illegal capacity : " + capacity);
+        }
+        this.sampleInterval = sampleInterval;
+        this.thresholdNanos = thresholdNanos;
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.traces = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * 是否抽样当前调用。
+     *
+     * @return 是否抽样当前调用。
+     */
+    public boolean sample() {
+        int interval = sampleInterval;
+        if (interval <= 0) {
+            return false;
+        }
+        int[] count = counter.get();
+        int c = count[0] + 1;
+        if (c >= interval) {
+            count[0] = 0;
+            return true;
+        }
+        count[0] = c;
+        return false;
+    }
+
+    /**
+     * 返回抽样间隔。
+     *
+     * @return 抽样间隔。
+     */
+    public int getSampleInterval() {
+        return sampleInterval;
+    }
+
+    /**
+     * 设置抽样间隔，不大于0时不抽样。
+     *
+     * @param sampleInterval 抽样间隔。
+     */
+    public void setSampleInterval(int sampleInterval) {
+        this.sampleInterval = sampleInterval;
+    }
+
+    /**
+     * 返回慢调用的阈值（纳秒）。
+     *
+     * @return 慢调用的阈值。
+     */
+    public long getThresholdNanos() {
+        return thresholdNanos;
+    }
+
+    /**
+     * 设置慢调用的阈值，不大于0时不记录慢调用。
+     *
+     * @param threshold 慢调用的阈值。
+     * @param unit 时间单位。
+     */
+    public void setThreshold(long threshold, TimeUnit unit) {
+        this.thresholdNanos = unit.toNanos(threshold);
+    }
+
+    /**
+     * 返回环形缓冲区的容量。
+     *
+     * @return 保存的最近追踪记录数目。
+     */
+    public int getCapacity() {
+        return traces.length();
+    }
+
+    /**
+     * 记录一次调用的追踪。
+     *
+     * @param path Action的映射路径。
+     * @param durationNanos 调用的耗时（纳秒）。
+     * @param sampled 是否为抽样的调用。
+     * @param interceptors 拦截器名称。
+     * @param hopNanos 各拦截器（包含其后的调用）及Action方法的耗时，未抽样时为 null。
+     * @param arguments 调用参数。
+     * @param pathParameters 路径匹配的参数。
+     * @param error 调用抛出的异常，可为 null。
+     */
+    public void record(String path, long durationNanos, boolean sampled, String[] interceptors, long[] hopNanos,
+                       Object[] arguments, Object pathParameters, Throwable error) {
+        long seq = sequence.getAndIncrement();
+        traces.set((int) (seq & mask), new CallTrace(seq, path, System.currentTimeMillis(), durationNanos, sampled,
+                interceptors, hopNanos, CallTrace.describe(arguments), String.valueOf(pathParameters),
+                error == null ? null : error.toString()));
+    }
+
+    /**
+     * 返回保存的追踪记录，最近的在前。
+     *
+     * @return 追踪记录。
+     */
+    public List<CallTrace> getTraces() {
+        List<CallTrace> list = new ArrayList<>(traces.length());
+        for (int i = 0; i < traces.length(); i++) {
+            CallTrace trace = traces.get(i);
+            if (trace != null) {
+                list.add(trace);
+            }
+        }
+        Collections.sort(list, new Comparator<CallTrace>() {
+
+            @Override
+            public int compare(CallTrace o1, CallTrace o2) {
+                return Long.compare(o2.getSequence(), o1.getSequence());
+            }
+        });
+        return list;
+    }
+
+    /**
+     * 清除保存的追踪记录。
+     */
+    public void clear() {
+        for (int i = 0; i < traces.length(); i++) {
+            traces.set(i, null);
+        }
+    }
+}
@@ -49,14 +49,17 @@ public class DefaultResult { //NOPMD ClassNamingConventions
     /**
      * Action结果直接调用映射的Action，类似forward结果类型。
      * actionForward可多次关联调用，需自行判断循环调用。
+     * 由Action运行时上下文调用，PathActionFactory在Action加载时已关联确切路径的目标Action，直接调用其代理对象。
      *
      * @param invocation Action运行时上下文。
      *
      * @return 返回actionForward后的调用结果。
+     *
+     * @see ActionInvocation#forward(Object)
      */
     @ResultType(type = FORWARD)
     public static Object actionForward(ActionInvocation invocation) {
-        return invocation.getActionFactory().invokeAction(invocation.getResult().location(), invocation.getParameters());
+        return invocation.forward(invocation.getResult().location());
     }
     ////////////////////////////////////////////////////////////////////////////
 
@@ -146,6 +146,15 @@ public class DefaultActionFactoryBean<T extends ActionFactory> implements Factor
     /** ApplicationContext */
     private ApplicationContext applicationContext;
 
+    /**
+     * 注册ActionFactory管理接口至平台MBeanServer的名称，默认为 null 不注册；仅支持{@code PathActionFactory}。
+     *
+     * @see PathActionFactory#registerMBean(String)
+     * @since 1.8.5
+     */
+    @lombok.Setter
+    private String mbeanName;
+
     /**
      * 初始化ActionFactory。
      *
@@ -156,6 +165,9 @@ public class DefaultActionFactoryBean<T extends ActionFactory> implements Factor
     public void afterPropertiesSet() throws Exception {
         actionFactory = (T) buildActionFactory();
         afterActionFactoryCreation(actionFactory);
+        if (mbeanName != null && actionFactory instanceof PathActionFactory) {
+            ((PathActionFactory) actionFactory).registerMBean(mbeanName);
+        }
     }
 
     /**
@@ -381,6 +393,9 @@ public class DefaultActionFactoryBean<T extends ActionFactory> implements Factor
         try {
             beforeActionFactoryDestruction();
         } finally {
+            if (mbeanName != null && actionFactory instanceof PathActionFactory) {
+                ((PathActionFactory) actionFactory).unregisterMBean(mbeanName);
+            }
             if (actionFactory != null) {
                 this.actionFactory.clear();
             }
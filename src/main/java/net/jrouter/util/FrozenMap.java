@@ -0,0 +1,204 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package net.jrouter.util;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * 不可变的{@code Map}实现，键值按原映射的迭代顺序存储于数组，以开放寻址（线性探测）的索引表查找。
+ * 所有字段在构造后不再改变，可安全地发布给多个线程读取；不支持{@code null}键，修改操作抛出{@code UnsupportedOperationException}。
+ *
+ * @param <K> 键的类型。
+ * @param <V> 值的类型。
+ *
+ * @since 1.8.5
+ */
+public final class FrozenMap<K, V> extends AbstractMap<K, V> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** 空映射 */
+    private static final FrozenMap<Object, Object> EMPTY = new FrozenMap<>(new Object[0], new Object[0]);
+
+    /** 按迭代顺序排列的键数组 */
+    private final Object[] keys;
+
+    /** 与键数组一一对应的值数组 */
+    private final Object[] values;
+
+    /** 索引表，存储键数组的索引加1，0表示空位；长度为2的幂 */
+    private final int[] table;
+
+    /** entrySet视图，延迟创建 */
+    private transient Set<Map.Entry<K, V>> entrySet;
+
+    /**
+     * 由键值数组构造映射，键不可重复。
+     *
+     * @param keys 键数组。
+     * @param values 值数组。
+     */
+    private FrozenMap(Object[] keys, Object[] values) {
+        this.keys = keys;
+        this.values = values;
+        //负载因子不超过0.5
+        int capacity = 2;
+        while (capacity < keys.length << 1) {
+            capacity <<= 1;
+        }
+        this.table = new int[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < keys.length; i++) {
+            int idx = hash(keys[i]) & mask;
+            while (table[idx] != 0) {
+                idx = (idx + 1) & mask;
+            }
+            table[idx] = i + 1;
+        }
+    }
+
+    /**
+     * 返回包含指定映射所有键值的不可变映射，保持其迭代顺序；如果已为不可变映射则直接返回。
+     *
+     * @param <K> 键的类型。
+     * @param <V> 值的类型。
+     * @param map 指定的映射。
+     *
+     * @return 不可变映射。
+     *
+     * @throws NullPointerException 如果映射包含{@code null}键。
+     */
+    public static <K, V> FrozenMap<K, V> copyOf(Map<? extends K, ? extends V> map) {
+        if (map instanceof FrozenMap) {
+            return (FrozenMap<K, V>) map;
+        }
+        if (map.isEmpty()) {
+            return (FrozenMap<K, V>) EMPTY;
+        }
+        Object[] ks = new Object[map.size()];
+        Object[] vs = new Object[ks.length];
+        int i = 0;
+        for (Map.Entry<? extends K, ? extends V> e : map.entrySet()) {
+            if (e.getKey() == null) {
+                throw new NullPointerException("Null key of FrozenMap");
+            }
+            ks[i] = e.getKey();
+            vs[i] = e.getValue();
+            i++;
+        }
+        return new FrozenMap<>(ks, vs);
+    }
+
+    /**
+     * 扰动哈希值的高位。
+     */
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * 查找键在键数组中的索引。
+     */
+    private int indexOf(Object key) {
+        if (key == null) {
+            return -1;
+        }
+        int mask = table.length - 1;
+        int idx = hash(key) & mask;
+        int i;
+        while ((i = table[idx]) != 0) {
+            Object k = keys[i - 1];
+            if (k == key || k.equals(key)) {
+                return i - 1;
+            }
+            idx = (idx + 1) & mask;
+        }
+        return -1;
+    }
+
+    @Override
+    public int size() {
+        return keys.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return keys.length == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public V get(Object key) {
+        int i = indexOf(key);
+        return i < 0 ? null : (V) values[i];
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        Set<Map.Entry<K, V>> es = entrySet;
+        if (es == null) {
+            es = new AbstractSet<Map.Entry<K, V>>() {
+
+                @Override
+                public Iterator<Map.Entry<K, V>> iterator() {
+                    return new Iterator<Map.Entry<K, V>>() {
+
+                        private int cursor = 0;
+
+                        @Override
+                        public boolean hasNext() {
+                            return cursor < keys.length;
+                        }
+
+                        @Override
+                        public Map.Entry<K, V> next() {
+                            if (cursor >= keys.length) {
+                                throw new NoSuchElementException();
+                            }
+                            int i = cursor++;
+                            return new AbstractMap.SimpleImmutableEntry<>((K) keys[i], (V) values[i]);
+                        }
+
+                        @Override
+                        public void remove() {
+                            throw new UnsupportedOperationException();
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return keys.length;
+                }
+            };
+            entrySet = es;
+        }
+        return es;
+    }
+}
@@ -17,6 +17,7 @@
 
 package net.jrouter.util;
 
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -34,7 +35,7 @@ public class LRUMap<K, V> extends LinkedHashMap<K, V> {
     /**
      * The max number of key-value mappings contained in this map.
      */
-    private final int maxEntries;
+    private int maxEntries;
 
     /**
      * 构造一个带指定最大条目数的空{@code LRUMap}实例。
@@ -56,6 +57,33 @@ public class LRUMap<K, V> extends LinkedHashMap<K, V> {
         this.maxEntries = maxEntries;
     }
 
+    /**
+     * 返回最大条目数。
+     *
+     * @return 最大条目数。
+     *
+     * @since 1.8.5
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * 设置最大条目数；条目数超过时移除最近最少使用的条目。
+     *
+     * @param maxEntries 最大条目数。
+     *
+     * @since 1.8.5
+     */
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+        Iterator<K> it = keySet().iterator();
+        while (size() > Math.max(0, maxEntries) && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
     @Override
     protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
         return size() > maxEntries;
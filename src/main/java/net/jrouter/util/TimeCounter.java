@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package net.jrouter.util;
+
+import java.io.Serializable;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * 累计调用次数、耗时（纳秒）及当前线程CPU时间（纳秒）的计数器；用于统计启动阶段的耗时。
+ * 不支持线程CPU时间的虚拟机中CPU时间始终为0。
+ *
+ * @since 1.8.5
+ */
+public final class TimeCounter implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** 线程管理接口 */
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    /** 是否支持当前线程的CPU时间 */
+    private static final boolean CPU_TIME_SUPPORTED = THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported();
+
+    /** 调用次数 */
+    private long count;
+
+    /** 耗时 */
+    private long wallNanos;
+
+    /** CPU时间 */
+    private long cpuNanos;
+
+    /**
+     * 返回当前线程的CPU时间，不支持时返回0。
+     *
+     * @return 当前线程的CPU时间（纳秒）。
+     */
+    public static long cpuTime() {
+        if (CPU_TIME_SUPPORTED) {
+            long time = THREAD_MX_BEAN.getCurrentThreadCpuTime();
+            return time < 0 ? 0 : time;
+        }
+        return 0;
+    }
+
+    /**
+     * 记录一次调用。
+     *
+     * @param wall 耗时（纳秒）。
+     * @param cpu CPU时间（纳秒）。
+     */
+    public synchronized void add(long wall, long cpu) {
+        count++;
+        wallNanos += wall;
+        cpuNanos += cpu;
+    }
+
+    /**
+     * 返回调用次数。
+     *
+     * @return 调用次数。
+     */
+    public synchronized long getCount() {
+        return count;
+    }
+
+    /**
+     * 返回累计耗时。
+     *
+     * @return 累计耗时（纳秒）。
+     */
+    public synchronized long getWallNanos() {
+        return wallNanos;
+    }
+
+    /**
+     * 返回累计CPU时间。
+     *
+     * @return 累计CPU时间（纳秒）。
+     */
+    public synchronized long getCpuNanos() {
+        return cpuNanos;
+    }
+
+    /**
+     * 返回调用次数、累计耗时及CPU时间的快照。
+     *
+     * @return 调用次数、累计耗时及CPU时间。
+     */
+    public synchronized long[] snapshot() {
+        return new long[]{count, wallNanos, cpuNanos};
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "TimeCounter{count=" + count + ", wallNanos=" + wallNanos + ", cpuNanos=" + cpuNanos + '}';
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package net.jrouter;
+
+import net.jrouter.annotation.Action;
+import net.jrouter.annotation.Namespace;
+
+/**
+ * 类型约束路径的Action。由组件扫描的配置排除，仅由测试显式加载。
+ *
+ * @see net.jrouter.impl.PathActionFactory3Test
+ */
+@Namespace(name = "/typed")
+public class TypedPathAction {
+
+    @Action("user/{id:long}")
+    public String user(long id) {
+        return "user:" + id;
+    }
+
+    @Action("user/{name}")
+    public String userName(ActionInvocation<String> invocation) {
+        return "name:" + invocation.getPathParameters().get("name");
+    }
+
+    @Action("page/{no:int}/{size:int}")
+    public String page(int no, int size) {
+        return "page:" + no + "," + size;
+    }
+
+    @Action("article/{slug:[a-z]+}")
+    public String article(ActionInvocation<String> invocation) {
+        return "article:" + invocation.getPathParameters().get("slug");
+    }
+}
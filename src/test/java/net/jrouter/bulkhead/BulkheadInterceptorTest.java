@@ -0,0 +1,292 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package net.jrouter.bulkhead;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import net.jrouter.annotation.Action;
+import net.jrouter.annotation.Namespace;
+import net.jrouter.annotation.Parameter;
+import net.jrouter.impl.PathActionFactory;
+import net.jrouter.result.DefaultResult;
+import org.junit.After;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * BulkheadInterceptorTest。
+ */
+public class BulkheadInterceptorTest {
+
+    private PathActionFactory factory;
+
+    private BulkheadRegistry registry;
+
+    private ExecutorService executor;
+
+    @Before
+    public void init() {
+        PathActionFactory.Properties prop = new PathActionFactory.Properties();
+        prop.setDefaultResultType(DefaultResult.EMPTY);
+        prop.setDefaultInterceptorStack(BulkheadInterceptor.BULKHEAD);
+        factory = new PathActionFactory(prop);
+        BulkheadInterceptor interceptor = new BulkheadInterceptor();
+        registry = interceptor.getRegistry();
+        factory.addInterceptors(interceptor);
+        factory.addInterceptorStacks(BulkheadStack.class);
+        factory.addResultTypes(DefaultResult.class);
+        factory.addActions(BulkheadAction.class);
+        executor = Executors.newCachedThreadPool();
+        BulkheadAction.entered = new CountDownLatch(2);
+        BulkheadAction.release = new CountDownLatch(1);
+    }
+
+    @After
+    public void tearDown() {
+        BulkheadAction.release.countDown();
+        executor.shutdownNow();
+        factory.clear();
+    }
+
+    /**
+     * 异步调用Action。
+     */
+    private Future<Object> submit(final String path) {
+        return executor.submit(new java.util.concurrent.Callable<Object>() {
+
+            @Override
+            public Object call() {
+                return factory.invokeAction(path);
+            }
+        });
+    }
+
+    /**
+     * 调用Action并返回拒绝调用的异常。
+     */
+    private BulkheadRejectedException reject(String path) {
+        try {
+            factory.invokeAction(path);
+            fail("no exception");
+        } catch (RuntimeException e) {
+            for (Throwable t = e; t != null; t = t.getCause()) {
+                if (t instanceof BulkheadRejectedException) {
+                    return (BulkheadRejectedException) t;
+                }
+            }
+            throw e;
+        }
+        return null;
+    }
+
+    /**
+     * 测试并发数达到限制时快速拒绝，且不影响其他Action。
+     */
+    @Test
+    public void test_reject() throws Exception {
+        Future<Object> f1 = submit("/bulkhead/limited");
+        Future<Object> f2 = submit("/bulkhead/limited");
+        assertTrue(BulkheadAction.entered.await(5, TimeUnit.SECONDS));
+
+        BulkheadRejectedException e = reject("/bulkhead/limited");
+        assertEquals("/bulkhead/limited", e.getPath());
+        assertEquals(2, e.getLimit());
+        //其他Action不受影响
+        assertEquals("free", factory.invokeAction("/bulkhead/free"));
+
+        BulkheadStatistics stats = registry.getBulkheadStatistics("/bulkhead/limited");
+        assertEquals(2, stats.getMaxConcurrency());
+        assertEquals(2, stats.getLimit());
+        assertEquals(2, stats.getInFlight());
+        assertEquals(2, stats.getAccepted());
+        assertEquals(1, stats.getRejected());
+
+        BulkheadAction.release.countDown();
+        assertEquals("ok", f1.get(5, TimeUnit.SECONDS));
+        assertEquals("ok", f2.get(5, TimeUnit.SECONDS));
+        stats = registry.getBulkheadStatistics("/bulkhead/limited");
+        assertEquals(0, stats.getInFlight());
+        assertEquals(2, stats.getPeakInFlight());
+        //不限制时仅记录并发数
+        stats = registry.getBulkheadStatistics("/bulkhead/free");
+        assertEquals(0, stats.getMaxConcurrency());
+        assertEquals(1, stats.getAccepted());
+        assertEquals(2, registry.getStatistics().size());
+
+        registry.reset();
+        assertEquals(0, registry.getBulkheadStatistics("/bulkhead/limited").getRejected());
+    }
+
+    /**
+     * 测试有限等待许可及等待超时。
+     */
+    @Test
+    public void test_wait() throws Exception {
+        BulkheadAction.entered = new CountDownLatch(1);
+        Future<Object> f1 = submit("/bulkhead/waiting");
+        assertTrue(BulkheadAction.entered.await(5, TimeUnit.SECONDS));
+        //等待许可
+        Future<Object> f2 = submit("/bulkhead/waiting");
+        long deadline = System.currentTimeMillis() + 5000;
+        while (registry.getBulkheadStatistics("/bulkhead/waiting").getWaiting() == 0) {
+            assertTrue(System.currentTimeMillis() < deadline);
+            Thread.sleep(1);
+        }
+        BulkheadAction.release.countDown();
+        assertEquals("ok", f1.get(5, TimeUnit.SECONDS));
+        assertEquals("ok", f2.get(5, TimeUnit.SECONDS));
+        BulkheadStatistics stats = registry.getBulkheadStatistics("/bulkhead/waiting");
+        assertEquals(2, stats.getAccepted());
+        assertEquals(0, stats.getTimeouts());
+        assertEquals(1, stats.getPeakInFlight());
+
+        //等待超时
+        BulkheadAction.entered = new CountDownLatch(1);
+        BulkheadAction.release = new CountDownLatch(1);
+        Future<Object> f3 = submit("/bulkhead/timeout");
+        assertTrue(BulkheadAction.entered.await(5, TimeUnit.SECONDS));
+        long start = System.nanoTime();
+        reject("/bulkhead/timeout");
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertEquals(1, registry.getBulkheadStatistics("/bulkhead/timeout").getTimeouts());
+        BulkheadAction.release.countDown();
+        assertEquals("ok", f3.get(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * 测试AIMD自适应调整限制。
+     */
+    @Test
+    public void test_adaptive() throws Exception {
+        BulkheadAction.sleep = 5;
+        for (int i = 0; i < 20; i++) {
+            assertEquals("ok", factory.invokeAction("/bulkhead/adaptive"));
+        }
+        //乘性减至最小并发数
+        assertEquals(2, registry.getBulkheadStatistics("/bulkhead/adaptive").getLimit());
+        BulkheadAction.sleep = 0;
+        for (int i = 0; i < 5; i++) {
+            assertEquals("ok", factory.invokeAction("/bulkhead/adaptive"));
+        }
+        //加性增：完成2次后限制为3，再完成3次后为4
+        assertEquals(4, registry.getBulkheadStatistics("/bulkhead/adaptive").getLimit());
+        assertEquals(10, registry.getBulkheadStatistics("/bulkhead/adaptive").getMaxConcurrency());
+    }
+
+    /**
+     * 测试JMX MXBean。
+     */
+    @Test
+    public void test_mbean() throws Exception {
+        factory.invokeAction("/bulkhead/free");
+        ObjectName name = registry.registerMBean("test");
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            CompositeData[] data = (CompositeData[]) server.getAttribute(name, "Statistics");
+            assertEquals(1, data.length);
+            assertEquals("/bulkhead/free", data[0].get("path"));
+            assertEquals(1L, data[0].get("accepted"));
+            assertEquals(0, data[0].get("inFlight"));
+            assertEquals(Boolean.TRUE, server.invoke(name, "setMaxConcurrency", new Object[]{"/bulkhead/free", 1},
+                    new String[]{String.class.getName(), int.class.getName()}));
+            assertEquals(1, registry.getBulkheadStatistics("/bulkhead/free").getLimit());
+        } finally {
+            registry.unregisterMBean("test");
+        }
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+    }
+
+    /**
+     * 并发隔离拦截栈。
+     */
+    public static class BulkheadStack {
+
+        @net.jrouter.annotation.InterceptorStack(interceptors = {
+                @net.jrouter.annotation.InterceptorStack.Interceptor(BulkheadInterceptor.BULKHEAD)})
+        public static final String BULKHEAD = BulkheadInterceptor.BULKHEAD;
+    }
+
+    /**
+     * 测试的Action。
+     */
+    @Namespace(name = "/bulkhead")
+    public static class BulkheadAction {
+
+        /** 进入阻塞的Action */
+        static volatile CountDownLatch entered;
+
+        /** 释放阻塞的Action */
+        static volatile CountDownLatch release;
+
+        /** 自适应Action的调用毫秒数 */
+        static volatile long sleep;
+
+        /**
+         * 阻塞至释放。
+         */
+        private static String block() throws InterruptedException {
+            entered.countDown();
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            return "ok";
+        }
+
+        @Action(parameters = @Parameter(name = BulkheadRegistry.MAX_CONCURRENCY, value = "2"))
+        public String limited() throws InterruptedException {
+            return block();
+        }
+
+        @Action(parameters = {
+                @Parameter(name = BulkheadRegistry.MAX_CONCURRENCY, value = "1"),
+                @Parameter(name = BulkheadRegistry.MAX_WAIT, value = "5000")})
+        public String waiting() throws InterruptedException {
+            return block();
+        }
+
+        @Action(parameters = {
+                @Parameter(name = BulkheadRegistry.MAX_CONCURRENCY, value = "1"),
+                @Parameter(name = BulkheadRegistry.MAX_WAIT, value = "50")})
+        public String timeout() throws InterruptedException {
+            return block();
+        }
+
+        @Action(parameters = {
+                @Parameter(name = BulkheadRegistry.MAX_CONCURRENCY, value = "10"),
+                @Parameter(name = BulkheadRegistry.ADAPTIVE, value = "true"),
+                @Parameter(name = BulkheadRegistry.MIN_CONCURRENCY, value = "2"),
+                @Parameter(name = BulkheadRegistry.LATENCY_THRESHOLD, value = "1")})
+        public String adaptive() throws InterruptedException {
+            if (sleep > 0) {
+                Thread.sleep(sleep);
+            }
+            return "ok";
+        }
+
+        @Action
+        public String free() {
+            return "free";
+        }
+    }
+}
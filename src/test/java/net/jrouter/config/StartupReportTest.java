@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package net.jrouter.config;
+
+import java.util.Map;
+import net.jrouter.ActionFactory;
+import net.jrouter.SimpleAction;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * 测试配置加载及ActionFactory构建的耗时报告。
+ */
+public class StartupReportTest extends Assert {
+
+    /**
+     * 测试各阶段的耗时及数目。
+     */
+    @Test
+    public void test_report() {
+        Configuration config = new Configuration().load("/jrouter_aop.xml");
+        StartupReport loaded = config.getStartupReport();
+        assertNotNull(loaded.getPhase(StartupReport.LOAD));
+        assertNotNull(loaded.getPhase(StartupReport.XML));
+        assertNull(loaded.getPhase(StartupReport.BUILD));
+
+        ActionFactory factory = config.buildActionFactory();
+        try {
+            StartupReport report = config.getStartupReport();
+            assertNotNull(report.getPhase(StartupReport.LOAD));
+            StartupReport.Phase build = report.getPhase(StartupReport.BUILD);
+            assertTrue(build.getWallNanos() > 0);
+            assertTrue(build.getWallNanos() >= report.getPhase(StartupReport.ACTIONS).getWallNanos());
+
+            //组件扫描的配置在加载阶段解析，扫描类在构建阶段，分别记录
+            assertEquals(0, report.getPhase(StartupReport.COMPONENT_SCAN).getClasses());
+            assertTrue(report.getPhase(StartupReport.CLASS_SCAN).getClasses() > 0);
+            assertEquals(factory.getActions().size(), report.getPhase(StartupReport.ACTIONS).getMethods());
+            assertEquals(factory.getInterceptors().size(), report.getPhase(StartupReport.INTERCEPTORS).getMethods());
+            assertTrue(report.getPhase(StartupReport.AOP).getMethods() > 0);
+            assertNotNull(report.getPhase(StartupReport.FREEZE));
+            //javassist调用类
+            assertTrue(report.getPhase(StartupReport.INVOKER_GENERATION).getMethods() > 0);
+
+            Map<String, Long> classes = report.getActionClassNanos();
+            assertTrue(classes.containsKey(SimpleAction.class.getName()));
+            assertEquals(Math.min(3, classes.size()), report.getSlowestActionClasses(3).size());
+            String summary = report.summary(3);
+            assertTrue(summary.contains(StartupReport.ACTIONS));
+            assertTrue(summary.contains("slowest action classes"));
+
+            //再次构建不累加加载阶段
+            ActionFactory another = config.buildActionFactory();
+            assertEquals(report.getPhase(StartupReport.LOAD).getWallNanos(),
+                    config.getStartupReport().getPhase(StartupReport.LOAD).getWallNanos());
+            another.clear();
+        } finally {
+            factory.clear();
+        }
+    }
+}
@@ -123,6 +123,10 @@ public class ActionFactory3Test {
         assertEquals("/test2/abc", factory1.invokeAction("/test2/abc" + extension1));
         assertEquals("/test3/abc", factory1.invokeAction("/test3/abc" + extension1));
         assertEquals("/test4/abc", factory1.invokeAction("/test4/abc" + extension1));
+
+        //CharSequence
+        assertEquals("/test4/abc", factory1.invokeAction(new StringBuilder("/test4/abc" + extension1)));
+        assertEquals("/test4/abc", factory1.invokeAction(new StringBuilder("/test4/abc")));
     }
 
     /**
@@ -159,5 +163,9 @@ public class ActionFactory3Test {
         assertEquals("/url_test2/abc", factory2.invokeAction("/url_test2/abc" + extension2));
         assertEquals("/url_test3/abc", factory2.invokeAction("/url_test3/abc" + extension2));
         assertEquals("/url_test4/abc", factory2.invokeAction("/url_test4/abc" + extension2));
+
+        //CharSequence
+        assertEquals("/url_test4/abc", factory2.invokeAction(new StringBuilder("/url_test4/abc" + extension2)));
+        assertEquals("/url_test4/abc", factory2.invokeAction(new StringBuilder("/url_test4/abc")));
     }
 }
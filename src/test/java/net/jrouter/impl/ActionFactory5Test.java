@@ -0,0 +1,299 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package net.jrouter.impl;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import net.jrouter.JRouterException;
+import net.jrouter.NotFoundException;
+import net.jrouter.TypedPathAction;
+import net.jrouter.URLTestAction;
+import net.jrouter.URLTestAction2;
+import net.jrouter.result.DefaultResult;
+import net.jrouter.result.DemoResult;
+import net.jrouter.util.FrozenMap;
+import org.junit.After;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * 测试Action的热加载。
+ */
+public class ActionFactory5Test {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private PathActionFactory factory;
+
+    @Before
+    public void init() {
+        PathActionFactory.Properties prop = new PathActionFactory.Properties();
+        prop.setDefaultResultType(DefaultResult.EMPTY);
+        factory = new PathActionFactory(prop);
+        factory.addResultTypes(DefaultResult.class);
+        factory.addActions(URLTestAction.class);
+        factory.addActions(TypedPathAction.class);
+    }
+
+    @After
+    public void tearDown() {
+        factory.clear();
+    }
+
+    /**
+     * 测试热加载Action。
+     */
+    @Test
+    public void test_reloadActions() {
+        assertEquals("/test100", factory.invokeAction("/test100"));
+        assertEquals("user:1", factory.invokeAction("/typed/user/1"));
+        assertEquals(2, factory.getActionCache().size());
+
+        Map<String, PathActionProxy> old = factory.getActions();
+        int size = old.size();
+        factory.reloadActions(Arrays.asList(URLTestAction2.class), Arrays.asList(new TypedPathAction()));
+        //原有的映射不变
+        assertEquals(size, old.size());
+        assertNotSame(old, factory.getActions());
+        //仅移除受影响的缓存
+        assertEquals(Collections.singleton("/test100"), factory.getActionCache().keySet());
+
+        assertEquals("/test100", factory.invokeAction("/test100"));
+        assertEquals("/url/test100", factory.invokeAction("/url/test100"));
+        try {
+            factory.invokeAction("/typed/user/1");
+            fail("no exception");
+        } catch (NotFoundException e) {
+            assertNotNull(e);
+        }
+
+        //重复的路径
+        Map<String, PathActionProxy> current = factory.getActions();
+        try {
+            factory.reloadActions(Arrays.asList(URLTestAction.class), null);
+            fail("no exception");
+        } catch (JRouterException e) {
+            assertNotNull(e);
+        }
+        assertSame(current, factory.getActions());
+        assertEquals("/url/test100", factory.invokeAction("/url/test100"));
+
+        //重新加载
+        factory.reloadActions(Arrays.asList(URLTestAction2.class), Arrays.asList(URLTestAction2.class));
+        assertEquals(current.size(), factory.getActions().size());
+        assertEquals("/url/test100", factory.invokeAction("/url/test100"));
+
+        factory.reloadActions(null, Collections.singletonList(URLTestAction2.class));
+        assertEquals(size - 4, factory.getActions().size());
+
+        //重新添加类型约束路径的Action，与复制的映射中同级的匹配路径不视为重复
+        factory.reloadActions(Arrays.asList(TypedPathAction.class), null);
+        assertEquals(size, factory.getActions().size());
+        assertEquals("user:1", factory.invokeAction("/typed/user/1"));
+        assertEquals("name:abc", factory.invokeAction("/typed/user/abc"));
+    }
+
+    /**
+     * 测试移除Action。
+     */
+    @Test
+    public void test_removeActions() {
+        assertEquals("/test100", factory.invokeAction("/test100"));
+        assertEquals("/test101", factory.invokeAction("/test101"));
+        assertEquals("user:1", factory.invokeAction("/typed/user/1"));
+        assertEquals("name:x", factory.invokeAction("/typed/user/x"));
+        int size = factory.getActions().size();
+
+        //移除确切路径
+        PathActionProxy ap = factory.removeAction("/test100");
+        assertEquals("/test100", ap.getPath());
+        assertNull(factory.removeAction("/test100"));
+        assertEquals(size - 1, factory.getActions().size());
+        assertFalse(factory.getActionCache().containsKey("/test100"));
+        assertEquals(3, factory.getActionCache().size());
+        try {
+            factory.invokeAction("/test100");
+            fail("no exception");
+        } catch (NotFoundException e) {
+            assertNotNull(e);
+        }
+
+        //移除类型约束的路径后，匹配无约束的路径
+        assertNotNull(factory.removeAction("/typed/user/{id:long}"));
+        assertFalse(factory.getActionCache().containsKey("/typed/user/1"));
+        assertTrue(factory.getActionCache().containsKey("/typed/user/x"));
+        assertEquals("name:1", factory.invokeAction("/typed/user/1"));
+
+        //移除类
+        List<PathActionProxy> removed = factory.removeActions(new TypedPathAction());
+        assertEquals(3, removed.size());
+        assertEquals(size - 5, factory.getActions().size());
+        assertEquals(Collections.singleton("/test101"), factory.getActionCache().keySet());
+        try {
+            factory.invokeAction("/typed/page/1/2");
+            fail("no exception");
+        } catch (NotFoundException e) {
+            assertNotNull(e);
+        }
+        assertTrue(factory.removeActions(TypedPathAction.class).isEmpty());
+        assertEquals("/test101", factory.invokeAction("/test101"));
+
+        //重新添加
+        factory.addActions(TypedPathAction.class);
+        assertEquals("user:1", factory.invokeAction("/typed/user/1"));
+    }
+
+    /**
+     * 测试冻结ActionFactory。
+     */
+    @Test
+    public void test_freeze() {
+        assertEquals("/test100", factory.invokeAction("/test100"));
+        assertFalse(factory.isFrozen());
+        factory.freeze();
+        assertTrue(factory.isFrozen());
+        assertTrue(factory.getResultTypes() instanceof FrozenMap);
+        assertTrue(factory.getInterceptors() instanceof FrozenMap);
+        try {
+            factory.getResultTypes().clear();
+            fail("no exception");
+        } catch (UnsupportedOperationException e) {
+            assertNotNull(e);
+        }
+        try {
+            factory.getActions().clear();
+            fail("no exception");
+        } catch (UnsupportedOperationException e) {
+            assertNotNull(e);
+        }
+        PathActionProxy ap = factory.getActions().get("/test100");
+        try {
+            ap.getInterceptorProxies().add(null);
+            fail("no exception");
+        } catch (UnsupportedOperationException e) {
+            assertNotNull(e);
+        }
+        //确切路径由静态路由表查找，不占用缓存
+        factory.clearActionCache();
+        assertEquals("/test100", factory.invokeAction("/test100"));
+        assertEquals("/test100", factory.invokeAction(new StringBuilder("/test100")));
+        assertEquals("user:1", factory.invokeAction("/typed/user/1"));
+        assertEquals(Collections.singleton("/typed/user/1"), factory.getActionCache().keySet());
+
+        //冻结后添加
+        Map<String, PathActionProxy> frozen = factory.getActions();
+        int size = frozen.size();
+        factory.addActions(URLTestAction2.class);
+        assertNotSame(frozen, factory.getActions());
+        assertEquals(size, frozen.size());
+        int added = factory.getActions().size();
+        assertTrue(added > size);
+        assertEquals("/url/test100", factory.invokeAction("/url/test100"));
+        assertFalse(factory.getActionCache().containsKey("/url/test100"));
+        //重复的路径，原有的映射不变
+        Map<String, PathActionProxy> current = factory.getActions();
+        try {
+            factory.addActions(URLTestAction2.class);
+            fail("no exception");
+        } catch (JRouterException e) {
+            assertNotNull(e);
+        }
+        assertSame(current, factory.getActions());
+        try {
+            factory.getActions().remove("/url/test100");
+            fail("no exception");
+        } catch (UnsupportedOperationException e) {
+            assertNotNull(e);
+        }
+        Map<String, ?> resultTypes = factory.getResultTypes();
+        factory.addResultTypes(DemoResult.class);
+        assertNotSame(resultTypes, factory.getResultTypes());
+        assertTrue(factory.getResultTypes() instanceof FrozenMap);
+
+        //移除及清除
+        assertNotNull(factory.removeAction("/url/test100"));
+        assertEquals(added - 1, factory.getActions().size());
+        try {
+            factory.invokeAction("/url/test100");
+            fail("no exception");
+        } catch (NotFoundException e) {
+            assertNotNull(e);
+        }
+        factory.clear();
+        assertFalse(factory.isFrozen());
+        assertTrue(factory.getActions().isEmpty());
+    }
+
+    /**
+     * 测试冻结后以内存映射的索引文件查找Action。
+     */
+    @Test
+    public void test_actionIndexFile() {
+        File file = new File(folder.getRoot(), "actions.idx");
+        PathActionFactory.Properties prop = new PathActionFactory.Properties();
+        prop.setDefaultResultType(DefaultResult.EMPTY);
+        prop.setActionIndexFile(file.getPath());
+        PathActionFactory mappedFactory = new PathActionFactory(prop);
+        mappedFactory.addResultTypes(DefaultResult.class);
+        mappedFactory.addActions(URLTestAction.class);
+        mappedFactory.addActions(TypedPathAction.class);
+        int size = mappedFactory.getActions().size();
+        mappedFactory.freeze();
+        try {
+            //以唯一后缀命名的索引文件
+            assertFalse(file.exists());
+            assertEquals(1, folder.getRoot().list().length);
+            String generation = folder.getRoot().list()[0];
+            assertTrue(generation.startsWith("actions.idx."));
+            assertTrue(((PathTreeMap) mappedFactory.getActions()).isMapped());
+            assertEquals(size, mappedFactory.getActions().size());
+            assertEquals(factory.getActions().keySet(), mappedFactory.getActions().keySet());
+
+            assertEquals("/test100", mappedFactory.invokeAction("/test100"));
+            assertEquals("user:1", mappedFactory.invokeAction("/typed/user/1"));
+            assertEquals("name:x", mappedFactory.invokeAction(new StringBuilder("/typed/user/x")));
+            //确切路径亦由索引查找并缓存
+            assertTrue(mappedFactory.getActionCache().containsKey("/test100"));
+
+            //冻结后添加，重新编译索引文件
+            mappedFactory.addActions(URLTestAction2.class);
+            assertTrue(((PathTreeMap) mappedFactory.getActions()).isMapped());
+            //写入新的索引文件，删除被替换的文件
+            assertEquals(1, folder.getRoot().list().length);
+            assertNotEquals(generation, folder.getRoot().list()[0]);
+            assertEquals("/url/test100", mappedFactory.invokeAction("/url/test100"));
+            assertNotNull(mappedFactory.removeAction("/url/test100"));
+            try {
+                mappedFactory.invokeAction("/url/test100");
+                fail("no exception");
+            } catch (NotFoundException e) {
+                assertNotNull(e);
+            }
+        } finally {
+            mappedFactory.clear();
+        }
+        assertEquals(0, folder.getRoot().list().length);
+    }
+}
@@ -21,6 +21,7 @@ import java.util.HashMap;
 import java.util.Map;
 import net.jrouter.ActionProxy;
 import net.jrouter.JRouterException;
+import net.jrouter.NotFoundException;
 import net.jrouter.SimpleAction;
 import net.jrouter.annotation.Namespace;
 import net.jrouter.bytecode.javassist.JavassistMethodInvokerFactory;
@@ -300,6 +301,35 @@ public class ActionFactoryTest {
         String url2 = "/test/forward2.do";
         assertEquals(SimpleAction.SUCCESS, factory.invokeAction(url1));
         assertEquals(SimpleAction.SUCCESS, factory.invokeAction(url2));
+
+        //确切路径的forward在加载时已关联目标Action
+        PathActionProxy simple = factory.getActions().get("/test/simple");
+        PathActionProxy forward = factory.getActions().get("/test/forward");
+        assertSame(simple, factory.getForwardAction("/test/simple"));
+        assertSame(forward, factory.getForwardAction("/test/forward"));
+        assertNull(factory.getForwardAction("/test/autoRender"));
+        //直接调用目标Action，不经过路径缓存
+        factory.clearActionCache();
+        assertEquals(SimpleAction.SUCCESS, factory.invokeAction(url2));
+        //确切路径由静态路由表查找，不占用缓存
+        assertFalse(factory.getActionCache().containsKey("/test/forward2"));
+        assertFalse(factory.getActionCache().containsKey("/test/forward"));
+        assertFalse(factory.getActionCache().containsKey("/test/simple"));
+
+        //移除目标Action，关联随新的映射整体替换
+        factory.removeAction("/test/simple");
+        assertNull(factory.getForwardAction("/test/simple"));
+        assertSame(forward, factory.getForwardAction("/test/forward"));
+        try {
+            factory.invokeAction(url2);
+            fail("no exception");
+        } catch (JRouterException e) {
+            assertTrue(e.getCause() instanceof NotFoundException);
+        }
+        //重新添加后关联新的目标Action
+        factory.addAction(simple);
+        assertSame(simple, factory.getForwardAction("/test/simple"));
+        assertEquals(SimpleAction.SUCCESS, factory.invokeAction(url2));
     }
 
     /**
@@ -366,6 +396,40 @@ public class ActionFactoryTest {
         assertEquals("admin200", factory.invokeAction(url2));
     }
 
+    /**
+     * 测试不记录堆栈信息的控制流程异常。
+     *
+     * @see net.jrouter.SimpleAction#exception()
+     */
+    @Test
+    public void test_stacklessException() {
+        Map<String, Object> props = new HashMap<>();
+        props.put("stacklessException", "true");
+        //rebuild factory
+        factory = initiateConfiguration().addActionFactoryProperties(props).buildActionFactory();
+        assertTrue(factory.isStacklessException());
+
+        String url = "/test/exception";
+        PathActionProxy ap = factory.getActions().get(url);
+        try {
+            factory.invokeAction(url);
+            fail("no exception");
+        } catch (InvocationProxyException e) {
+            //拦截器不再重复封装InvocationProxyException
+            assertTrue(e.getCause() instanceof ArithmeticException);
+            assertSame(ap, e.getTarget());
+            assertEquals(0, e.getStackTrace().length);
+            //原异常保留堆栈信息
+            assertTrue(e.getCause().getStackTrace().length > 0);
+        }
+        try {
+            factory.invokeAction("/test/notfound");
+            fail("no exception");
+        } catch (NotFoundException e) {
+            assertEquals(0, e.getStackTrace().length);
+        }
+    }
+
     /**
      * 测试全局结果对象。
      *
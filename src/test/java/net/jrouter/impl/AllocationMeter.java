@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package net.jrouter.impl;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * 测试用的线程内存分配计量工具，基于{@code com.sun.management.ThreadMXBean#getThreadAllocatedBytes}。
+ * 先预热使调用路径完成编译，再计量多次调用的平均分配字节数。
+ */
+final class AllocationMeter {
+
+    /** 线程管理接口 */
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    /** 预热调用次数 */
+    static final int WARM_UP = 50000;
+
+    /** 计量调用次数 */
+    static final int ITERATIONS = 20000;
+
+    /**
+     * 被计量的调用。
+     */
+    interface Call {
+
+        /**
+         * 执行一次调用。
+         */
+        void call();
+    }
+
+    /**
+     * 私有构造方法。
+     */
+    private AllocationMeter() {
+    }
+
+    /**
+     * 是否支持计量当前线程的分配字节数。
+     *
+     * @return 是否支持。
+     */
+    static boolean isSupported() {
+        if (!(THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean)) {
+            return false;
+        }
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) THREAD_MX_BEAN;
+        if (!bean.isThreadAllocatedMemorySupported()) {
+            return false;
+        }
+        if (!bean.isThreadAllocatedMemoryEnabled()) {
+            bean.setThreadAllocatedMemoryEnabled(true);
+        }
+        return allocatedBytes() >= 0;
+    }
+
+    /**
+     * 返回当前线程已分配的字节数。
+     */
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) THREAD_MX_BEAN).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * 预热后计量每次调用平均分配的字节数；取多轮中的最小值以排除偶发的分配（如类加载、编译）。
+     *
+     * @param call 被计量的调用。
+     *
+     * @return 每次调用平均分配的字节数。
+     */
+    static double bytesPerCall(Call call) {
+        for (int i = 0; i < WARM_UP; i++) {
+            call.call();
+        }
+        //计量自身的开销
+        long overhead = allocatedBytes();
+        overhead = allocatedBytes() - overhead;
+        double min = Double.MAX_VALUE;
+        for (int round = 0; round < 3; round++) {
+            long start = allocatedBytes();
+            for (int i = 0; i < ITERATIONS; i++) {
+                call.call();
+            }
+            min = Math.min(min, (double) (allocatedBytes() - start - overhead) / ITERATIONS);
+        }
+        return min;
+    }
+}
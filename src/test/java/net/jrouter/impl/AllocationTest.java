@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package net.jrouter.impl;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import net.jrouter.ActionInvocation;
+import net.jrouter.annotation.Action;
+import net.jrouter.annotation.Interceptor;
+import net.jrouter.annotation.InterceptorStack;
+import net.jrouter.annotation.Result;
+import net.jrouter.result.DefaultResult;
+import org.junit.After;
+import static org.junit.Assert.*;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 测试Action调用热路径的内存分配，每次调用平均分配的字节数超出预算时失败。
+ * 虚拟机不支持线程分配计量时忽略。
+ */
+public class AllocationTest {
+
+    /** 静态路径每次调用的分配预算（字节） */
+    private static final int STATIC_BUDGET = 384;
+
+    /** 参数匹配路径每次调用的分配预算（字节），包括路径参数 */
+    private static final int WILDCARD_BUDGET = 384;
+
+    /** 两个拦截器的拦截栈每次调用的分配预算（字节） */
+    private static final int STACK_BUDGET = 640;
+
+    /** 字符串结果每次调用的分配预算（字节） */
+    private static final int STRING_RESULT_BUDGET = 448;
+
+    /** 计量时关闭调试日志 */
+    private final Logger logger = (Logger) LoggerFactory.getLogger("net.jrouter");
+
+    private Level level;
+
+    private PathActionFactory factory;
+
+    @Before
+    public void init() {
+        Assume.assumeTrue(AllocationMeter.isSupported());
+        level = logger.getLevel();
+        logger.setLevel(Level.WARN);
+        PathActionFactory.ColonString.Properties prop = new PathActionFactory.ColonString.Properties();
+        prop.setExtension("");
+        prop.setDefaultResultType(DefaultResult.EMPTY);
+        factory = new PathActionFactory.ColonString(prop);
+        factory.addInterceptors(AllocationAction.class);
+        factory.addInterceptorStacks(AllocationAction.class);
+        factory.addResultTypes(DefaultResult.class);
+        factory.addActions(AllocationAction.class);
+        factory.freeze();
+    }
+
+    @After
+    public void tearDown() {
+        if (factory != null) {
+            factory.clear();
+            logger.setLevel(level);
+        }
+    }
+
+    /**
+     * 计量指定路径的调用，每次调用平均分配的字节数不超出预算。
+     */
+    private void assertAllocation(final String path, Object expected, int budget) {
+        assertEquals(expected, factory.invokeAction(path));
+        double bytes = AllocationMeter.bytesPerCall(new AllocationMeter.Call() {
+
+            @Override
+            public void call() {
+                factory.invokeAction(path);
+            }
+        });
+        assertTrue("Allocated " + bytes + " bytes per call at [" + path + "], budget " + budget, bytes <= budget);
+    }
+
+    /**
+     * 静态路径。
+     */
+    @Test
+    public void test_static() {
+        assertAllocation("/alloc/static", "static", STATIC_BUDGET);
+    }
+
+    /**
+     * 缓存命中的参数匹配路径。
+     */
+    @Test
+    public void test_wildcard() {
+        assertAllocation("/alloc/item/100", "item", WILDCARD_BUDGET);
+    }
+
+    /**
+     * 拦截栈。
+     */
+    @Test
+    public void test_interceptorStack() {
+        assertAllocation("/alloc/stack", "stack", STACK_BUDGET);
+    }
+
+    /**
+     * 字符串结果调用结果类型。
+     */
+    @Test
+    public void test_stringResult() {
+        assertAllocation("/alloc/result", "success", STRING_RESULT_BUDGET);
+    }
+
+    /**
+     * 计量的Action、拦截器及拦截栈。
+     */
+    public static class AllocationAction {
+
+        @InterceptorStack(interceptors = {@InterceptorStack.Interceptor("allocation"), @InterceptorStack.Interceptor("allocation")})
+        public static final String STACK = "allocationStack";
+
+        @Interceptor(name = "allocation")
+        public static Object intercept(ActionInvocation<?> invocation) {
+            return invocation.invoke();
+        }
+
+        @Action("/alloc/static")
+        public String fixed() {
+            return "static";
+        }
+
+        @Action("/alloc/item/{id}")
+        public String item() {
+            return "item";
+        }
+
+        @Action(value = "/alloc/stack", interceptorStack = STACK)
+        public String stack() {
+            return "stack";
+        }
+
+        @Action(value = "/alloc/result", results = @Result(name = "success", type = DefaultResult.EMPTY))
+        public String result() {
+            return "success";
+        }
+    }
+}
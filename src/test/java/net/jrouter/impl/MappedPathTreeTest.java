@@ -0,0 +1,199 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package net.jrouter.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * 内存映射的树结构路径索引的测试，匹配结果与堆内的树结构路径一致。
+ */
+public class MappedPathTreeTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private PathTreeMap<String> map;
+
+    private PathTreeMap<String> mapped;
+
+    @Before
+    public void init() throws IOException {
+        map = new PathTreeMap<>(PathTree.PATH_SEPARATOR);
+        for (String p : PathTreeTest.PATHS) {
+            map.put(p, p);
+        }
+        String[] others = {
+                "/",
+                "/typed/{id:long}",
+                "/typed/{id:int}/{page:int}",
+                "/typed/{name}",
+                "/typed/{slug:[a-z]+}/detail",
+                "/typed/*/detail",
+                "/static/**",
+                "/static/css/**",
+                "/static/css/main.css",
+                "/proxy/{service}/{path:**}",
+                "/proxy/admin/**"
+        };
+        for (String p : others) {
+            map.put(p, p);
+        }
+        for (int i = 0; i < 1000; i++) {
+            map.put("/tenant" + i + "/user/{id:long}", "t" + i);
+            map.put("/tenant" + i + "/index", "i" + i);
+        }
+        mapped = map.map(new File(folder.getRoot(), "actions.idx"));
+    }
+
+    /**
+     * 测试匹配结果与堆内的树结构路径一致。
+     */
+    @Test
+    public void testMatch() {
+        assertTrue(mapped.isMapped());
+        assertFalse(map.isMapped());
+        assertEquals(map.size(), mapped.size());
+        assertEquals(map.entrySet(), mapped.entrySet());
+
+        List<String> paths = new ArrayList<>(Arrays.asList(
+                "/", "/xx/yy/zz", "/zzz", "/aa", "/zzz/null", "/xx/yy", "/aa/b1/c1", "/aa/b3/c1/d1",
+                "/aa/b3/c1/d1/e1", "/aa/b3/null/d1/null", "/aa/b2/c1/d1", "/aa/b1/c1/d1/e1", "/aa/b4/c1/d1",
+                "/aa/b4/c1/d2/null", "/aa/b4/null/d2/null", "/aa/null/c1/d1/e1", "/aa/b5/1/2/3/4", "/aa/b5/1/2/3",
+                "/aa/zzz/c1/d1/e1/null/null/null", "/typed/1", "/typed/x", "/typed/99999999999", "/typed/1/2",
+                "/typed/a/detail", "/typed/A/detail", "/typed/-1", "/static/a", "/static/css/main.css",
+                "/static/css/a/b.css", "/static", "/proxy/user/users/1", "/proxy/admin/users/1", "//aa///b1/c1/d0/",
+                "/*", "/**", "/typed/**", "/tenant1/user/12", "/tenant999/user/x", "/tenant10/index", "/tenant1000/index"));
+        for (String p : paths) {
+            PathTree.Match<String> expected = map.match(p);
+            PathTree.Match<String> actual = mapped.match(new StringBuilder(p));
+            if (expected == null) {
+                assertNull(p, actual);
+                continue;
+            }
+            assertNotNull(p, actual);
+            assertEquals(p, expected.value, actual.value);
+            assertEquals(p, expected.parameters, actual.parameters);
+            assertArrayEquals(p, expected.parameters.getPathVariables(), actual.parameters.getPathVariables());
+
+            Map<String, String> params = new HashMap<>();
+            assertEquals(p, expected.value, mapped.get(p, params));
+            assertEquals(p, expected.parameters, params);
+            assertEquals(p, expected.value, mapped.get(p));
+        }
+        //探针记录各级候选节点的数目及最终匹配节点的代码
+        for (String p : paths) {
+            PathTree.Probe expected = new PathTree.Probe(false);
+            PathTree.Probe actual = new PathTree.Probe(true);
+            map.match(p, expected);
+            mapped.match(p, actual);
+            assertEquals(p, expected.depth, actual.depth);
+            assertEquals(p, expected.candidates, actual.candidates);
+            assertEquals(p, expected.branchedLevels, actual.branchedLevels);
+            assertEquals(p, expected.maxCandidates, actual.maxCandidates);
+            assertEquals(p, expected.code, actual.code);
+            assertTrue(p, actual.levels.isEmpty());
+        }
+        assertEquals(12L, mapped.match("/tenant1/user/12").parameters.getPathVariables()[0]);
+        assertEquals("users/1", mapped.match("/proxy/user/users/1").parameters.get("path"));
+    }
+
+    /**
+     * 测试只读及重建。
+     */
+    @Test
+    public void testReadOnly() throws IOException {
+        try {
+            mapped.put("/new", "new");
+            fail("no exception");
+        } catch (UnsupportedOperationException e) {
+            assertNotNull(e);
+        }
+        try {
+            mapped.remove("/xx/yy/zz");
+            fail("no exception");
+        } catch (UnsupportedOperationException e) {
+            assertNotNull(e);
+        }
+        //不包含堆内的树结构
+        try {
+            mapped.isExact("/xx/yy/zz");
+            fail("no exception");
+        } catch (IllegalStateException e) {
+            assertNotNull(e);
+        }
+        try {
+            mapped.node("/xx/yy/zz");
+            fail("no exception");
+        } catch (IllegalStateException e) {
+            assertNotNull(e);
+        }
+
+        //由索引文件重建树结构
+        PathTreeMap<String> copy = new PathTreeMap<>(mapped);
+        assertFalse(copy.isMapped());
+        assertEquals(map.entrySet(), copy.entrySet());
+        copy.put("/new", "new");
+        assertEquals("new", copy.get("/new"));
+        assertEquals("/{k1}", mapped.get("/new"));
+
+        //重新编译写入新的索引文件，不影响原有的映射
+        PathTreeMap<String> remapped = copy.map(new File(folder.getRoot(), "actions.idx"));
+        assertEquals(2, folder.getRoot().list().length);
+        assertEquals("new", remapped.get("/new"));
+        assertEquals("/{k1}", mapped.get("/new"));
+        assertEquals("t1", mapped.get("/tenant1/user/1"));
+        mapped.deleteMappedFile();
+        assertEquals(1, folder.getRoot().list().length);
+        remapped.deleteMappedFile();
+        assertEquals(0, folder.getRoot().list().length);
+
+        //删除遗留的索引文件，保留使用中的索引文件
+        File stale = folder.newFile("actions.idx.123");
+        File other = folder.newFile("actions.idx.bak");
+        PathTreeMap<String> next = copy.map(new File(folder.getRoot(), "actions.idx"));
+        assertFalse(stale.exists());
+        assertTrue(other.exists());
+        PathTreeMap<String> last = copy.map(new File(folder.getRoot(), "actions.idx"));
+        assertEquals(3, folder.getRoot().list().length);
+        next.deleteMappedFile();
+        last.deleteMappedFile();
+        assertTrue(other.delete());
+
+        //错误的文件格式
+        File bad = folder.newFile("bad.idx");
+        Files.write(bad.toPath(), new byte[64]);
+        try {
+            MappedPathTree.open(bad, new Object[0]);
+            fail("no exception");
+        } catch (IOException e) {
+            assertNotNull(e);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package net.jrouter.impl;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import net.jrouter.JRouterException;
+import net.jrouter.NotFoundException;
+import net.jrouter.TypedPathAction;
+import net.jrouter.result.DefaultResult;
+import org.junit.After;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * 测试类型约束路径的Action。
+ */
+public class PathActionFactory3Test {
+
+    private PathActionFactory factory;
+
+    @Before
+    public void init() {
+        PathActionFactory.Properties prop = new PathActionFactory.Properties();
+        prop.setDefaultResultType(DefaultResult.EMPTY);
+        factory = new PathActionFactory(prop);
+        factory.addResultTypes(DefaultResult.class);
+        factory.addActions(TypedPathAction.class);
+    }
+
+    @After
+    public void tearDown() {
+        factory.clear();
+    }
+
+    /**
+     * 测试类型约束的匹配及参数注入。
+     *
+     * @see TypedPathAction
+     */
+    @Test
+    public void test_typedPathVariables() {
+        assertEquals("user:100", factory.invokeAction("/typed/user/100"));
+        assertEquals("user:-9223372036854775808", factory.invokeAction("/typed/user/-9223372036854775808"));
+        //不满足类型约束，匹配无约束的路径
+        assertEquals("name:abc", factory.invokeAction("/typed/user/abc"));
+        assertEquals("name:9223372036854775808", factory.invokeAction("/typed/user/9223372036854775808"));
+
+        assertEquals("page:2,20", factory.invokeAction("/typed/page/2/20"));
+        //cache
+        assertEquals("page:2,20", factory.invokeAction("/typed/page/2/20"));
+        assertEquals("page:3,-1", factory.invokeAction("/typed/page/3/-1"));
+
+        assertEquals("article:abc", factory.invokeAction("/typed/article/abc"));
+        try {
+            factory.invokeAction("/typed/page/2/2147483648");
+            fail("no exception");
+        } catch (NotFoundException e) {
+            assertNotNull(e);
+        }
+        try {
+            factory.invokeAction("/typed/article/ABC");
+            fail("no exception");
+        } catch (NotFoundException e) {
+            assertNotNull(e);
+        }
+    }
+
+    /**
+     * 测试类型约束不同的同级匹配路径不视为重复，且与Action的加载顺序无关。
+     */
+    @Test
+    public void test_constraintPathOrder() {
+        PathActionProxy user = null;
+        PathActionProxy userName = null;
+        for (PathActionProxy ap : factory.getActions().values()) {
+            if ("/typed/user/{id:long}".equals(ap.getPath())) {
+                user = ap;
+            } else if ("/typed/user/{name}".equals(ap.getPath())) {
+                userName = ap;
+            }
+        }
+        assertNotNull(user);
+        assertNotNull(userName);
+
+        PathActionFactory.Properties prop = new PathActionFactory.Properties();
+        prop.setDefaultResultType(DefaultResult.EMPTY);
+        PathActionFactory factory2 = new PathActionFactory(prop);
+        factory2.addResultTypes(DefaultResult.class);
+        try {
+            //先加载无约束的路径
+            factory2.addAction(userName, user);
+            assertEquals(2, factory2.getActions().size());
+            assertEquals("user:100", factory2.invokeAction("/typed/user/100"));
+            assertEquals("name:abc", factory2.invokeAction("/typed/user/abc"));
+            //完全相等的路径节点
+            try {
+                factory2.addAction(user);
+                fail("no exception");
+            } catch (JRouterException e) {
+                assertNotNull(e);
+            }
+        } finally {
+            factory2.clear();
+        }
+    }
+
+    /**
+     * 测试类型约束的树路径。
+     */
+    @Test
+    public void test_treeConstraints() {
+        PathTree<String> tree = new PathTree<>();
+        tree.put("/a/{id:long}/b", "long");
+        tree.put("/a/{id:int}", "int");
+        tree.put("/c/{code:[0-9]{3}}", "pattern");
+
+        PathTree.Match<String> match = tree.match("/a/12/b");
+        assertEquals("long", match.value);
+        assertEquals("12", match.parameters.get("id"));
+        assertEquals(12L, match.parameters.getPathVariables()[0]);
+
+        match = tree.match("/a/-12");
+        assertEquals("int", match.value);
+        assertEquals(-12, match.parameters.getPathVariables()[0]);
+
+        match = tree.match("/c/123");
+        assertEquals("pattern", match.value);
+        assertEquals("123", match.parameters.get("code"));
+        assertNull(match.parameters.getPathVariables());
+
+        assertNull(tree.get("/a/x/b"));
+        assertNull(tree.get("/a/-"));
+        assertNull(tree.get("/c/1234"));
+
+        //确切的节点路径
+        assertEquals("long", tree.node("/a/{num:long}/b"));
+        assertEquals("int", tree.node("/a/{id:int}"));
+        assertNull(tree.node("/a/{id}"));
+        assertNull(tree.node("/a/{id:long}"));
+        assertNull(tree.node("/a/12"));
+        try {
+            tree.put("/d/{x:[}", "illegal");
+            fail("no exception");
+        } catch (IllegalArgumentException e) {
+            assertNotNull(e);
+        }
+    }
+
+    /**
+     * 测试不可变的匹配参数映射。
+     */
+    @Test
+    public void test_matchParameters() {
+        PathTree<String> tree = new PathTree<>();
+        tree.put("/m/{k1}/{k2}/*", "m");
+        tree.put("/n/{k}/{k}", "n");
+        tree.put("/o", "o");
+
+        PathTree.Match<String> m1 = tree.match("/m/a/b/c");
+        PathTree.Match<String> m2 = tree.match("/m/x/y/z");
+        Map<String, String> expected = new HashMap<>();
+        expected.put("k1", "a");
+        expected.put("k2", "b");
+        expected.put("*", "c");
+        assertEquals(expected, m1.parameters);
+        assertEquals(m1.parameters, expected);
+        assertEquals(expected.hashCode(), m1.parameters.hashCode());
+        assertEquals(3, m1.parameters.size());
+        assertTrue(m1.parameters.containsKey("k2"));
+        assertNull(m1.parameters.get("k3"));
+        assertEquals("y", m2.parameters.get("k2"));
+
+        //重复键名取路径中最后的值
+        PathTree.Match<String> m3 = tree.match("/n/1/2");
+        assertEquals(1, m3.parameters.size());
+        assertEquals("2", m3.parameters.get("k"));
+
+        assertSame(MatchParameters.EMPTY, tree.match("/o").parameters);
+        try {
+            m1.parameters.put("k1", "b");
+            fail("no exception");
+        } catch (UnsupportedOperationException e) {
+            assertNotNull(e);
+        }
+        //路径的匹配参数
+        assertEquals(Collections.singletonMap("name", "abc"),
+                factory.createActionInvocation("/typed/user/abc").getPathParameters());
+        //cache
+        assertSame(factory.createActionInvocation("/typed/user/abc").getPathParameters(),
+                factory.createActionInvocation("/typed/user/abc").getPathParameters());
+    }
+}
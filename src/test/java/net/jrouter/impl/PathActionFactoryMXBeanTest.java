@@ -0,0 +1,169 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package net.jrouter.impl;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import net.jrouter.interceptor.DemoThreadActionContextInterceptor;
+import net.jrouter.result.DefaultResult;
+import org.junit.After;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * 测试PathActionFactory的JMX管理接口。
+ */
+public class PathActionFactoryMXBeanTest {
+
+    private static final String NAME = "mxbeanTest";
+
+    private PathActionFactory factory;
+
+    private PathActionFactoryMXBean mbean;
+
+    @Before
+    public void init() throws Exception {
+        PathActionFactory.Properties prop = new PathActionFactory.Properties();
+        prop.setExtension("");
+        prop.setDefaultInterceptorStack(DemoThreadActionContextInterceptor.DEMO_THREAD);
+        prop.setDefaultResultType(DefaultResult.EMPTY);
+        prop.setMbeanName(NAME);
+        factory = new PathActionFactory(prop);
+        factory.addInterceptors(new DemoThreadActionContextInterceptor(false));
+        factory.addInterceptorStacks(DemoThreadActionContextInterceptor.class);
+        factory.addResultTypes(DefaultResult.class);
+        factory.addActions(net.jrouter.PathTestAction.class);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objectName = PathActionFactoryManagement.objectName(NAME);
+        //冻结时注册
+        assertFalse(server.isRegistered(objectName));
+        factory.freeze();
+        assertTrue(server.isRegistered(objectName));
+        mbean = JMX.newMXBeanProxy(server, objectName, PathActionFactoryMXBean.class);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        factory.clear();
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(PathActionFactoryManagement.objectName(NAME)));
+    }
+
+    /**
+     * 测试路由及缓存的查看、清除及调整最大缓存数目。
+     */
+    @Test
+    public void test_cache() {
+        assertEquals(factory.getActions().size(), mbean.getActionCount());
+        assertTrue(mbean.isFrozen());
+        assertTrue(mbean.getStaticRouteCount() > 0);
+
+        assertEquals(0, mbean.getActionCacheSize());
+        assertEquals("/{k1}", factory.invokeAction("/xxx"));
+        assertEquals("/{k1}", factory.invokeAction("/yyy"));
+        assertEquals("/{k1}", factory.invokeAction("/zzz"));
+        assertEquals(3, mbean.getActionCacheSize());
+        assertEquals(3, mbean.getActionCacheMisses());
+        assertEquals("/{k1}", factory.invokeAction("/zzz"));
+        assertEquals(1, mbean.getActionCacheHits());
+
+        //缩小后移除最近最少使用的缓存
+        mbean.setActionCacheNumber(2);
+        assertEquals(2, mbean.getActionCacheNumber());
+        assertEquals(2, factory.getActionCacheNumber());
+        assertEquals(2, mbean.getActionCacheSize());
+        assertFalse(factory.getActionCache().containsKey("/xxx"));
+        assertEquals("/{k1}", factory.invokeAction("/xxx"));
+        assertEquals(2, mbean.getActionCacheSize());
+
+        assertTrue(mbean.removeActionCache("/xxx"));
+        assertFalse(mbean.removeActionCache("/xxx"));
+        assertEquals(1, mbean.getActionCacheSize());
+        mbean.clearActionCache();
+        assertEquals(0, mbean.getActionCacheSize());
+
+        //不再缓存
+        mbean.setActionCacheNumber(0);
+        assertEquals("/{k1}", factory.invokeAction("/zzz"));
+        assertEquals(0, mbean.getActionCacheSize());
+        mbean.setActionCacheNumber(100);
+        assertEquals("/{k1}", factory.invokeAction("/zzz"));
+        assertEquals(1, mbean.getActionCacheSize());
+    }
+
+    /**
+     * 测试路径的调试追踪、拦截器及查找过程。
+     */
+    @Test
+    public void test_trace() {
+        assertTrue(mbean.getTracedPaths().isEmpty());
+        mbean.setPathTracing("/{k1}", true);
+        assertTrue(mbean.getTracedPaths().contains("/{k1}"));
+        assertEquals("/{k1}", factory.invokeAction("/zzz"));
+        mbean.setPathTracing("/aa/b3/c1/d1", true);
+        assertEquals(2, mbean.getTracedPaths().size());
+        assertEquals("/aa/b3/*/d1", factory.invokeAction("/aa/b3/c1/d1"));
+        mbean.setPathTracing("/{k1}", false);
+        mbean.setPathTracing("/aa/b3/c1/d1", false);
+        assertTrue(mbean.getTracedPaths().isEmpty());
+
+        List<String> chain = mbean.getInterceptorChain("/zzz");
+        assertEquals(2, chain.size());
+        assertTrue(chain.get(0).startsWith("action /{k1} : "));
+        assertTrue(chain.get(1).startsWith("interceptor " + DemoThreadActionContextInterceptor.DEMO_THREAD + " : "));
+        assertTrue(mbean.getInterceptorChain("/nothing/here").isEmpty());
+
+        assertTrue(mbean.explain("/aa/b3/c1/d1").contains("action /aa/b3/*/d1"));
+
+        assertFalse(mbean.isRouteProfiling());
+        assertNull(mbean.getRouteProfile());
+        mbean.clearActionCache();
+        mbean.setRouteProfiling(true);
+        assertEquals("/aa/b3/*/d1", factory.invokeAction("/aa/b3/c1/d1"));
+        assertTrue(mbean.getRouteProfile().contains("lookups=1"));
+        mbean.setRouteProfiling(false);
+    }
+
+    /**
+     * 测试已被注册的名称。
+     */
+    @Test
+    public void test_registered() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objectName = PathActionFactoryManagement.objectName(NAME);
+        assertNull(factory.registerMBean(NAME));
+
+        PathActionFactory.Properties prop = new PathActionFactory.Properties();
+        prop.setMbeanName(NAME);
+        PathActionFactory another = new PathActionFactory(prop);
+        try {
+            //名称已被注册时忽略
+            another.freeze();
+            assertNull(another.registerMBean(NAME));
+            another.unregisterMBean(NAME);
+        } finally {
+            another.clear();
+        }
+        //仍为原ActionFactory的管理接口
+        assertTrue(server.isRegistered(objectName));
+        assertEquals(factory.getActions().size(), mbean.getActionCount());
+    }
+}
@@ -17,7 +17,15 @@
 
 package net.jrouter.impl;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import net.jrouter.JRouterException;
 import static net.jrouter.impl.PathTreeTest.PATHS;
@@ -26,7 +34,9 @@ import net.jrouter.result.DefaultResult;
 import org.junit.After;
 import static org.junit.Assert.*;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 /**
  * 测试路径匹配的Action。
@@ -35,6 +45,9 @@ public class PathActionFactoryTest {
 
     private PathActionFactory factory;
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     @Before
     public void init() {
         PathActionFactory.Properties prop = new PathActionFactory.Properties();
@@ -154,6 +167,129 @@ public class PathActionFactoryTest {
 
     }
 
+    /**
+     * 测试以字符序列及字节缓冲区的路径调用Action。
+     */
+    @Test
+    public void test_invokeCharSequence() {
+        for (String p : PATHS) {
+            assertEquals(p, factory.invokeAction(new StringBuilder(p)));
+        }
+        assertEquals("/aa/b4/{k1}/d2/{k2}", factory.invokeAction(new StringBuilder("/aa/b4/c1/d2/null")));
+        assertEquals("c1", getPathParameters().get("k1"));
+        assertEquals("null", getPathParameters().get("k2"));
+        assertEquals("/aa/b4/c1/d2/null", DemoThreadActionContextInterceptor.get().getActionPath());
+
+        byte[] bytes = "GET /aa/b3/c1/d1/e1 HTTP/1.1".getBytes(StandardCharsets.US_ASCII);
+        ByteBuffer heap = ByteBuffer.wrap(bytes);
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes);
+        direct.flip();
+        for (ByteBuffer buffer : new ByteBuffer[]{heap, direct}) {
+            for (int i = 0; i < 2; i++) {
+                assertEquals("/aa/b3/c1/d1/*", factory.invokeAction(buffer, 4, 15));
+                assertEquals("e1", getPathParameters().get("*"));
+            }
+            assertEquals(0, buffer.position());
+        }
+        try {
+            factory.invokeAction(heap, 4, bytes.length);
+            fail("no exception");
+        } catch (IndexOutOfBoundsException e) {
+            assertNotNull(e);
+        }
+        try {
+            factory.invokeAction(new StringBuilder("/aa/zzz/c1/d1/e1/null/null/null"));
+            fail("no exception");
+        } catch (JRouterException e) {
+            assertNotNull(e);
+        }
+    }
+
+    /**
+     * 测试以路径预热Action缓存。
+     */
+    @Test
+    public void test_warmUp() throws IOException {
+        assertEquals(2, factory.warmUp(Arrays.asList("/zzz", "/aa/b3/c1/d1", "/aa/zzz/c1/d1/e1/null/null/null", " ")));
+        assertTrue(factory.getActionCache().containsKey("/zzz"));
+        assertTrue(factory.getActionCache().containsKey("/aa/b3/c1/d1"));
+        assertEquals(2, factory.getActionCache().size());
+
+        //并行预热
+        List<String> paths = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            paths.add("/p" + i);
+        }
+        assertEquals(paths.size(), factory.warmUp(paths));
+        for (String path : paths) {
+            assertTrue(factory.getActionCache().containsKey(path));
+        }
+
+        //路径文件
+        File file = folder.newFile("warmup.log");
+        Files.write(file.toPath(), Arrays.asList("# comment", "", "/zzz?k=v",
+                "127.0.0.1 - - [19/Oct/2026:10:00:00 +0800] \"GET /aa/b3/c1/d1 HTTP/1.1\" 200 10"),
+                StandardCharsets.UTF_8);
+        PathActionFactory.Properties prop = new PathActionFactory.Properties();
+        prop.setDefaultResultType(DefaultResult.EMPTY);
+        prop.setWarmUpFile(file.getPath());
+        PathActionFactory warmed = new PathActionFactory(prop);
+        try {
+            warmed.addResultTypes(DefaultResult.class);
+            warmed.addActions(net.jrouter.PathTestAction.class);
+            warmed.freeze();
+            assertTrue(warmed.getActionCache().containsKey("/zzz"));
+            assertTrue(warmed.getActionCache().containsKey("/aa/b3/c1/d1"));
+            assertEquals(2, warmed.getActionCache().size());
+        } finally {
+            warmed.clear();
+        }
+    }
+
+    /**
+     * 测试分片的Action缓存。
+     */
+    @Test
+    public void test_actionCacheShards() {
+        assertEquals(1, factory.getActionCacheShards());
+        PathActionFactory.Properties prop = new PathActionFactory.Properties();
+        prop.setDefaultResultType(DefaultResult.EMPTY);
+        prop.setActionCacheNumber(64);
+        prop.setActionCacheShards(5);
+        PathActionFactory sharded = new PathActionFactory(prop);
+        try {
+            sharded.addResultTypes(DefaultResult.class);
+            sharded.addActions(net.jrouter.PathTestAction.class);
+            assertEquals(8, sharded.getActionCacheShards());
+
+            assertEquals("/{k1}", sharded.invokeAction("/zzz"));
+            //字符序列与字符串查找相同的分片
+            assertEquals("/{k1}", sharded.invokeAction(new StringBuilder("/zzz")));
+            assertEquals("/{k1}", sharded.invokeAction("/zzz"));
+            long[] stats = sharded.getActionCacheStatistics();
+            assertEquals(2, stats[0]);
+            assertEquals(1, stats[1]);
+
+            List<String> paths = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                paths.add("/p" + i);
+            }
+            assertEquals(paths.size(), sharded.warmUp(paths));
+            //各分片独立淘汰
+            assertTrue(sharded.getActionCache().size() <= 64);
+            assertTrue(sharded.getActionCache().size() > 8);
+            sharded.clearActionCache();
+            assertTrue(sharded.getActionCache().isEmpty());
+            //最大数目不能被分片数目整除时，余数分配至前面的分片，总数不超过最大数目
+            sharded.setActionCacheNumber(20);
+            assertEquals(paths.size(), sharded.warmUp(paths));
+            assertEquals(20, sharded.getActionCache().size());
+        } finally {
+            sharded.clear();
+        }
+    }
+
     /**
      * 从线程变量中返回Action路径匹配的键值映射。
      *
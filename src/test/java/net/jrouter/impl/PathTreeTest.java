@@ -22,6 +22,7 @@ import java.util.Map;
 import org.junit.After;
 import org.junit.Assert;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import org.junit.Before;
 import org.junit.Test;
@@ -213,6 +214,169 @@ public class PathTreeTest {
         excepted.clear();
     }
 
+    /**
+     * 测试复制及移除节点。
+     */
+    @Test
+    public void testRemove() throws Exception {
+        PathTree<String> copy = new PathTree<>(tree);
+        assertEquals("/aa/b3/*/d1/{k2}", copy.remove("/aa/b3/*/d1/{k2}"));
+        assertNull(copy.remove("/aa/b3/*/d1/{k2}"));
+        //不含相关联值的节点
+        assertNull(copy.remove("/aa/b3/*"));
+        assertNull(copy.remove("/not/exist"));
+
+        //原路径树不变
+        assertEquals("/aa/b3/*/d1/{k2}", tree.get("/aa/b3/null/d1/null"));
+        assertNull(copy.get("/aa/b3/null/d1/null"));
+        assertEquals("/aa/b3/*/d1", copy.get("/aa/b3/null/d1"));
+        assertEquals("/aa/b3/c1/d1/*", copy.get("/aa/b3/c1/d1/null"));
+
+        for (String p : PATHS) {
+            if (!"/aa/b3/*/d1/{k2}".equals(p)) {
+                assertEquals(p, copy.remove(p));
+            }
+        }
+        for (String p : PATHS) {
+            assertNull(copy.get(p));
+        }
+        //所有节点被修剪
+        java.lang.reflect.Field root = PathTree.class.getDeclaredField("root");
+        root.setAccessible(true);
+        Object node = root.get(copy);
+        java.lang.reflect.Method hasChildren = node.getClass().getDeclaredMethod("hasChildren");
+        hasChildren.setAccessible(true);
+        assertFalse((Boolean) hasChildren.invoke(node));
+
+        for (String p : PATHS) {
+            assertEquals(p, tree.get(p));
+        }
+        //移除后重新添加
+        assertNull(copy.put("/aa/b3/*/d1/{k2}", "new"));
+        assertEquals("new", copy.get("/aa/b3/null/d1/null"));
+    }
+
+    /**
+     * 测试复制路径树时由现有节点重建子路径常量池。
+     */
+    @Test
+    public void testCopySegments() throws Exception {
+        PathTree<String> tree = new PathTree<>();
+        for (int i = 0; i < 100; i++) {
+            tree.put("/seg/s" + i + "/{id:long}", "v" + i);
+        }
+        for (int i = 0; i < 100; i++) {
+            tree = new PathTree<>(tree);
+            assertEquals("v" + i, tree.remove("/seg/s" + i + "/{id:long}"));
+        }
+        java.lang.reflect.Field segments = PathTree.class.getDeclaredField("segments");
+        segments.setAccessible(true);
+        Map<?, ?> pool = (Map) segments.get(new PathTree<>(tree));
+        assertFalse(pool.containsKey("s0"));
+        assertFalse(pool.containsKey("*:long"));
+        assertFalse(pool.containsKey("seg"));
+    }
+
+    /**
+     * 测试不同数目的子节点的添加、查找及移除。
+     */
+    @Test
+    public void testChildren() {
+        PathTree<String> tree = new PathTree<>();
+        int[] sizes = {1, 2, 3, 8, 9, 30};
+        for (int size : sizes) {
+            for (int i = size; i > 0; i--) {
+                String p = "/n" + size + "/c" + i;
+                assertNull(tree.put(p, p));
+            }
+            assertNull(tree.put("/n" + size + "/{k}", "*" + size));
+        }
+        for (int size : sizes) {
+            for (int i = 1; i <= size; i++) {
+                String p = "/n" + size + "/c" + i;
+                assertEquals(p, tree.get(p));
+                assertEquals(p, tree.match(new StringBuilder(p)).value);
+                assertEquals(p, tree.put(p, p));
+            }
+            assertEquals("*" + size, tree.get("/n" + size + "/c0"));
+            assertEquals("*" + size, tree.get("/n" + size + "/c"));
+        }
+        //逐个移除
+        for (int size : sizes) {
+            for (int i = 1; i <= size; i++) {
+                String p = "/n" + size + "/c" + i;
+                assertEquals(p, tree.remove(p));
+                assertEquals("*" + size, tree.get(p));
+                for (int j = i + 1; j <= size; j++) {
+                    assertEquals("/n" + size + "/c" + j, tree.get("/n" + size + "/c" + j));
+                }
+            }
+            assertEquals("*" + size, tree.remove("/n" + size + "/{k}"));
+            assertNull(tree.get("/n" + size + "/c1"));
+        }
+    }
+
+    /**
+     * 测试路径尾匹配'**'。
+     */
+    @Test
+    public void testLastMatch() {
+        PathTree<String> tree = new PathTree<>();
+        tree.put("/**", "/**");
+        tree.put("/static/**", "/static/**");
+        tree.put("/static/css/**", "/static/css/**");
+        tree.put("/static/css/main.css", "/static/css/main.css");
+        tree.put("/static/*/{name}", "/static/*/{name}");
+        tree.put("/proxy/{service}/{path:**}", "/proxy/{service}/{path:**}");
+        tree.put("/proxy/admin/**", "/proxy/admin/**");
+
+        //确切及完整匹配的路径优先
+        assertEquals("/static/css/main.css", tree.get("/static/css/main.css"));
+        assertEquals("/static/*/{name}", tree.get("/static/js/app.js"));
+        //匹配级数深的尾匹配优先
+        assertEquals("/static/css/**", tree.get("/static/css/a/b.css"));
+        assertEquals("/static/**", tree.get("/static/js/lib/a.js"));
+        assertEquals("/static/**", tree.get("/static/a"));
+        assertEquals("/**", tree.get("/a"));
+        assertEquals("/**", tree.get("/a/b/c"));
+        //尾匹配至少匹配一级子路径
+        assertEquals("/**", tree.get("/static"));
+        assertNull(tree.get("/"));
+        //相同级数的尾匹配，确切路径优先
+        assertEquals("/proxy/admin/**", tree.get("/proxy/admin/users/1"));
+        assertEquals("/proxy/{service}/{path:**}", tree.get("/proxy/user/users/1"));
+
+        Map<String, String> params = new HashMap<>();
+        assertEquals("/static/css/**", tree.get("/static/css/a//b.css", params));
+        assertEquals("a//b.css", params.get("**"));
+
+        PathTree.Match<String> match = tree.match(new StringBuilder("/proxy/user/users/1/detail"));
+        assertEquals("/proxy/{service}/{path:**}", match.value);
+        assertEquals(2, match.parameters.size());
+        assertEquals("user", match.parameters.get("service"));
+        assertEquals("users/1/detail", match.parameters.get("path"));
+        assertEquals("1", tree.match("/proxy/user/1").parameters.get("path"));
+
+        //尾匹配的路径不作确切路径
+        assertFalse(tree.isExact("/static/**"));
+        assertEquals("/static/**", tree.get("/static/**"));
+
+        //复制及移除
+        PathTree<String> copy = new PathTree<>(tree);
+        assertEquals("/static/css/**", copy.remove("/static/css/**"));
+        assertEquals("/static/**", copy.get("/static/css/a/b.css"));
+        assertEquals("/static/css/**", tree.get("/static/css/a/b.css"));
+        assertEquals("/proxy/{service}/{path:**}", copy.remove("/proxy/{x}/{y:**}"));
+        assertEquals("/**", copy.get("/proxy/user/users/1"));
+
+        try {
+            tree.put("/static/**/a", "error");
+            Assert.fail("no exception");
+        } catch (IllegalArgumentException e) {
+            Assert.assertNotNull(e);
+        }
+    }
+
     /**
      * 测试路径的非完全匹配名称。
      *
@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package net.jrouter.impl;
+
+import net.jrouter.interceptor.DemoThreadActionContextInterceptor;
+import net.jrouter.result.DefaultResult;
+import org.junit.After;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * 测试路径查找的解释及树结构查找的分支统计。
+ */
+public class RouteExplanationTest {
+
+    private PathActionFactory factory;
+
+    @Before
+    public void init() {
+        PathActionFactory.Properties prop = new PathActionFactory.Properties();
+        prop.setExtension("");
+        prop.setDefaultInterceptorStack(DemoThreadActionContextInterceptor.DEMO_THREAD);
+        prop.setDefaultResultType(DefaultResult.EMPTY);
+        factory = new PathActionFactory(prop);
+        factory.addInterceptors(new DemoThreadActionContextInterceptor(false));
+        factory.addInterceptorStacks(DemoThreadActionContextInterceptor.class);
+        factory.addResultTypes(DefaultResult.class);
+        factory.addActions(net.jrouter.PathTestAction.class);
+    }
+
+    @After
+    public void tearDown() {
+        factory.clear();
+    }
+
+    /**
+     * 测试explain。
+     */
+    @Test
+    public void test_explain() {
+        RouteExplanation ex = factory.explain("/aa/b3/c1/d1");
+        assertEquals("/aa/b3/c1/d1", ex.getPath());
+        assertEquals(RouteExplanation.TIER_TREE, ex.getTier());
+        assertEquals("/aa/b3/*/d1", ex.getActionPath());
+        assertEquals("11101", ex.getCode());
+        assertEquals("c1", ex.getMatchParameters().get("*"));
+        assertEquals(4, ex.getLevels().size());
+        assertEquals("aa", ex.getLevels().get(0).getSegment());
+        //"b3"与"*"均为候选节点
+        RouteExplanation.Level level = ex.getLevels().get(1);
+        assertEquals("b3", level.getSegment());
+        assertTrue(level.getCandidates().size() > 1);
+        assertEquals(3, ex.getStageNanos().size());
+        //不改变缓存
+        assertTrue(factory.getActionCache().isEmpty());
+
+        ex = factory.explain("/zzz");
+        assertEquals("/{k1}", ex.getActionPath());
+        assertEquals("zzz", ex.getMatchParameters().get("k1"));
+        assertEquals(1, ex.getLevels().size());
+
+        ex = factory.explain("/nothing/here");
+        assertEquals(RouteExplanation.TIER_NONE, ex.getTier());
+        assertNull(ex.getActionPath());
+        assertNull(ex.getCode());
+
+        //缓存及静态路由表
+        assertEquals("/aa/b3/*/d1", factory.invokeAction("/aa/b3/c1/d1"));
+        assertEquals(RouteExplanation.TIER_CACHE, factory.explain("/aa/b3/c1/d1").getTier());
+        factory.freeze();
+        assertEquals(RouteExplanation.TIER_STATIC, factory.explain("/xx/yy/zz").getTier());
+    }
+
+    /**
+     * 测试树结构查找的分支统计。
+     */
+    @Test
+    public void test_profile() {
+        assertNull(factory.getRouteProfile());
+        factory.setRouteProfiling(true);
+        RouteProfile profile = factory.getRouteProfile();
+        assertNotNull(profile);
+        assertEquals("/aa/b3/*/d1", factory.invokeAction("/aa/b3/c1/d1"));
+        //命中缓存不计入
+        assertEquals("/aa/b3/*/d1", factory.invokeAction("/aa/b3/c1/d1"));
+        assertEquals("/{k1}", factory.invokeAction("/zzz"));
+        assertEquals(2, profile.getLookups());
+        assertEquals(1, profile.getBranchedLookups());
+        assertTrue(profile.getBranchedLevels() >= 1);
+        assertTrue(profile.getMaxCandidates() > 1);
+        assertEquals(5, profile.getLevels());
+        assertEquals(Long.valueOf(1), profile.getBranchedActions(10).get("/aa/b3/*/d1"));
+        assertFalse(profile.getBranchedActions(10).containsKey("/{k1}"));
+
+        profile.reset();
+        assertEquals(0, profile.getLookups());
+        assertTrue(profile.getBranchedActions(10).isEmpty());
+        factory.setRouteProfiling(false);
+        assertNull(factory.getRouteProfile());
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package net.jrouter.impl;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.jrouter.interceptor.DemoThreadActionContextInterceptor;
+import net.jrouter.result.DefaultResult;
+import org.junit.After;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * 测试路由表快照的导出及加载。
+ */
+public class RouteSnapshotTest {
+
+    /** 路径生成次数 */
+    private static final AtomicInteger GENERATED = new AtomicInteger();
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File file;
+
+    private PathActionFactory factory;
+
+    @Before
+    public void init() throws IOException {
+        file = new File(folder.getRoot(), "routes.snapshot");
+        factory = createFactory(null, DemoThreadActionContextInterceptor.DEMO_THREAD);
+        factory.freeze();
+        assertEquals("/{k1}", factory.invokeAction("/zzz"));
+        assertEquals("/aa/b3/*/d1", factory.invokeAction("/aa/b3/c1/d1"));
+        factory.exportRouteSnapshot(file);
+        assertTrue(file.exists());
+    }
+
+    @After
+    public void tearDown() {
+        factory.clear();
+    }
+
+    /**
+     * 创建测试的ActionFactory。
+     */
+    private static PathActionFactory createFactory(String snapshotFile, String defaultInterceptorStack) {
+        return createFactory(snapshotFile, defaultInterceptorStack, new CountingPathGenerator());
+    }
+
+    /**
+     * 创建指定路径生成器的测试ActionFactory。
+     */
+    private static PathActionFactory createFactory(String snapshotFile, String defaultInterceptorStack,
+                                                   CountingPathGenerator pathGenerator) {
+        PathActionFactory.Properties prop = new PathActionFactory.Properties();
+        prop.setExtension("");
+        prop.setDefaultInterceptorStack(defaultInterceptorStack);
+        prop.setDefaultResultType(DefaultResult.EMPTY);
+        prop.setPathGenerator(pathGenerator);
+        prop.setRouteSnapshotFile(snapshotFile);
+        PathActionFactory actionFactory = new PathActionFactory(prop);
+        actionFactory.addInterceptors(new DemoThreadActionContextInterceptor(false));
+        actionFactory.addInterceptorStacks(DemoThreadActionContextInterceptor.class);
+        actionFactory.addResultTypes(DefaultResult.class);
+        actionFactory.addActions(net.jrouter.PathTestAction.class);
+        return actionFactory;
+    }
+
+    /**
+     * 测试由快照加载路径、拦截器并预热缓存。
+     */
+    @Test
+    public void test_load() {
+        GENERATED.set(0);
+        PathActionFactory loaded = createFactory(file.getPath(), DemoThreadActionContextInterceptor.DEMO_THREAD);
+        try {
+            //不再由路径生成器生成路径
+            assertEquals(0, GENERATED.get());
+            assertEquals(factory.getActions().keySet(), loaded.getActions().keySet());
+            for (Map.Entry<String, PathActionProxy> e : factory.getActions().entrySet()) {
+                PathActionProxy ap = loaded.getActions().get(e.getKey());
+                assertEquals(e.getValue().getNamespace(), ap.getNamespace());
+                assertEquals(names(e.getValue()), names(ap));
+                assertFalse(ap.getInterceptorProxies().isEmpty());
+            }
+            assertTrue(loaded.getActionCache().isEmpty());
+            loaded.freeze();
+            //热点路径预热缓存
+            assertTrue(loaded.getActionCache().containsKey("/zzz"));
+            assertTrue(loaded.getActionCache().containsKey("/aa/b3/c1/d1"));
+            assertEquals("/{k1}", loaded.invokeAction("/zzz"));
+        } finally {
+            loaded.clear();
+        }
+    }
+
+    /**
+     * 测试配置不一致时忽略快照的路由记录。
+     */
+    @Test
+    public void test_mismatch() {
+        GENERATED.set(0);
+        PathActionFactory loaded = createFactory(file.getPath(), null);
+        try {
+            assertTrue(GENERATED.get() > 0);
+            assertEquals(factory.getActions().keySet(), loaded.getActions().keySet());
+            //热点路径仍可预热缓存
+            loaded.freeze();
+            assertTrue(loaded.getActionCache().containsKey("/zzz"));
+        } finally {
+            loaded.clear();
+        }
+    }
+
+    /**
+     * 测试路径生成器的配置不一致时忽略快照的路由记录。
+     */
+    @Test
+    public void test_generatorMismatch() {
+        GENERATED.set(0);
+        PathActionFactory loaded = createFactory(file.getPath(), DemoThreadActionContextInterceptor.DEMO_THREAD,
+                new CountingPathGenerator(2));
+        try {
+            assertTrue(GENERATED.get() > 0);
+            assertEquals(factory.getActions().keySet(), loaded.getActions().keySet());
+        } finally {
+            loaded.clear();
+        }
+    }
+
+    /**
+     * 测试忽略格式错误的快照文件。
+     */
+    @Test
+    public void test_invalid() throws IOException {
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+        }
+        GENERATED.set(0);
+        PathActionFactory loaded = createFactory(file.getPath(), DemoThreadActionContextInterceptor.DEMO_THREAD);
+        try {
+            assertTrue(GENERATED.get() > 0);
+            assertEquals(factory.getActions().keySet(), loaded.getActions().keySet());
+            loaded.freeze();
+            assertTrue(loaded.getActionCache().isEmpty());
+        } finally {
+            loaded.clear();
+        }
+    }
+
+    /**
+     * Action的拦截器名称。
+     */
+    private static List<String> names(PathActionProxy ap) {
+        List<String> names = new ArrayList<>();
+        for (InterceptorProxy ip : ap.getInterceptorProxies()) {
+            names.add(ip.getName());
+        }
+        return names;
+    }
+
+    /**
+     * 记录路径生成次数的路径生成器，其配置的版本不影响生成的路径。
+     */
+    public static class CountingPathGenerator extends PathActionFactory.StringPathGenerator {
+
+        /** 配置的版本 */
+        private final int version;
+
+        public CountingPathGenerator() {
+            this(1);
+        }
+
+        public CountingPathGenerator(int version) {
+            this.version = version;
+        }
+
+        @Override
+        public String[] generatePath(Class<?> targetClass, Method method) {
+            GENERATED.incrementAndGet();
+            return super.generatePath(targetClass, method);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package net.jrouter.impl;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * StaticRouteTableTest。
+ */
+public class StaticRouteTableTest {
+
+    /**
+     * Test of build method, of class StaticRouteTable.
+     */
+    @Test
+    public void testBuild() {
+        StaticRouteTable<String> empty = StaticRouteTable.build(Collections.<String, String>emptyMap());
+        assertEquals(0, empty.size());
+        assertNull(empty.get("/a"));
+
+        for (int n : new int[]{1, 2, 3, 10, 1000, 20000}) {
+            Map<String, String> routes = new HashMap<>();
+            for (int i = 0; i < n; i++) {
+                routes.put("/r/" + i + "/test", "v" + i);
+            }
+            StaticRouteTable<String> table = StaticRouteTable.build(routes);
+            assertEquals(n, table.size());
+            for (int i = 0; i < n; i++) {
+                String path = "/r/" + i + "/test";
+                assertEquals("v" + i, table.get(path));
+                //字符区间
+                String full = "/x" + path + ".do";
+                assertEquals("v" + i, table.get(new PathKey(full, 2, full.length() - 3)));
+            }
+            assertNull(table.get("/r/" + n + "/test"));
+            assertNull(table.get("/r/0/test/"));
+            assertNull(table.get(""));
+        }
+    }
+
+    /**
+     * 哈希值相同的路径不加入静态路由表。
+     */
+    @Test
+    public void testHashCollision() {
+        assertEquals("/Aa".hashCode(), "/BB".hashCode());
+        Map<String, String> routes = new HashMap<>();
+        routes.put("/Aa", "1");
+        routes.put("/BB", "2");
+        routes.put("/C", "3");
+        StaticRouteTable<String> table = StaticRouteTable.build(routes);
+        assertEquals(1, table.size());
+        assertNull(table.get("/Aa"));
+        assertNull(table.get("/BB"));
+        assertEquals("3", table.get("/C"));
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package net.jrouter.jfr;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import net.jrouter.SimpleAction;
+import net.jrouter.config.Configuration;
+import net.jrouter.impl.PathActionFactory;
+import net.jrouter.interceptor.DemoThreadActionContextInterceptor;
+import net.jrouter.result.DefaultResult;
+import static org.junit.Assert.*;
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * 测试JFR自定义事件；JFR不可用时忽略。
+ */
+public class FlightEventsTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * 测试事件未启用时不创建事件对象。
+     */
+    @Test
+    public void test_disabled() {
+        Assume.assumeTrue(FlightEvents.isAvailable());
+        FlightEvents events = FlightEvents.getInstance();
+        assertNull(events.beginDispatch());
+        java.lang.management.ThreadMXBean bean = java.lang.management.ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+        long id = Thread.currentThread().getId();
+        for (int i = 0; i < 10_000; i++) {
+            events.beginLookup();
+        }
+        long before = threadBean.getThreadAllocatedBytes(id);
+        for (int i = 0; i < 100_000; i++) {
+            assertNull(events.beginDispatch());
+            assertNull(events.beginLookup());
+            assertNull(events.beginInterceptor());
+            assertNull(events.beginResult());
+        }
+        long allocated = threadBean.getThreadAllocatedBytes(id) - before;
+        assertTrue("Allocated : " + allocated, allocated < 100_000);
+
+        try (Recording recording = new Recording()) {
+            recording.enable(FlightEvents.DISPATCH);
+            recording.start();
+            assertNotNull(events.beginDispatch());
+        }
+        assertNull(events.beginDispatch());
+    }
+
+    /**
+     * 测试Action调度、查找、拦截器、结果处理及调用类生成的事件。
+     */
+    @Test
+    public void test_events() throws IOException {
+        Assume.assumeTrue(FlightEvents.isAvailable());
+        File file = new File(folder.getRoot(), "jrouter.jfr");
+        PathActionFactory factory = null;
+        try (Recording recording = new Recording()) {
+            for (String name : new String[]{FlightEvents.DISPATCH, FlightEvents.LOOKUP, FlightEvents.INTERCEPTOR,
+                FlightEvents.RESULT, FlightEvents.CLASS_GENERATION}) {
+                recording.enable(name);
+            }
+            recording.start();
+            PathActionFactory.Properties prop = new PathActionFactory.Properties();
+            prop.setExtension("");
+            prop.setDefaultInterceptorStack(DemoThreadActionContextInterceptor.DEMO_THREAD);
+            prop.setDefaultResultType(DefaultResult.EMPTY);
+            factory = new PathActionFactory(prop);
+            factory.addInterceptors(new DemoThreadActionContextInterceptor(false));
+            factory.addInterceptorStacks(DemoThreadActionContextInterceptor.class);
+            factory.addResultTypes(DefaultResult.class);
+            factory.addActions(net.jrouter.PathTestAction.class);
+            assertEquals("/{k1}", factory.invokeAction("/zzz"));
+            assertEquals("/{k1}", factory.invokeAction("/zzz"));
+            recording.stop();
+            recording.dump(file.toPath());
+        } finally {
+            if (factory != null) {
+                factory.clear();
+            }
+        }
+        Map<String, Integer> counts = new HashMap<>();
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file.toPath());
+        for (RecordedEvent event : events) {
+            String name = event.getEventType().getName();
+            Integer count = counts.get(name);
+            counts.put(name, count == null ? 1 : count + 1);
+            if (FlightEvents.LOOKUP.equals(name)) {
+                assertEquals("/zzz", event.getString("path"));
+                assertTrue(FlightEvents.TIER_TREE.equals(event.getString("tier"))
+                        || FlightEvents.TIER_CACHE.equals(event.getString("tier")));
+            } else if (FlightEvents.INTERCEPTOR.equals(name)) {
+                assertEquals(DemoThreadActionContextInterceptor.DEMO_THREAD, event.getString("interceptor"));
+            }
+        }
+        assertEquals(Integer.valueOf(2), counts.get(FlightEvents.DISPATCH));
+        assertEquals(Integer.valueOf(2), counts.get(FlightEvents.LOOKUP));
+        assertEquals(Integer.valueOf(2), counts.get(FlightEvents.INTERCEPTOR));
+        assertEquals(Integer.valueOf(2), counts.get(FlightEvents.RESULT));
+        assertNotNull(counts.get(FlightEvents.CLASS_GENERATION));
+    }
+
+    /**
+     * 测试actionForward直接调用目标Action时记录调度事件。
+     */
+    @Test
+    public void test_forwardEvents() throws IOException {
+        Assume.assumeTrue(FlightEvents.isAvailable());
+        File file = new File(folder.getRoot(), "forward.jfr");
+        PathActionFactory factory = new Configuration().load("/jrouter_test.xml").buildActionFactory();
+        try (Recording recording = new Recording()) {
+            recording.enable(FlightEvents.DISPATCH);
+            recording.start();
+            assertEquals(SimpleAction.SUCCESS, factory.invokeAction("/test/forward.do"));
+            recording.stop();
+            recording.dump(file.toPath());
+        } finally {
+            factory.clear();
+        }
+        List<String> paths = new ArrayList<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(file.toPath())) {
+            if (FlightEvents.DISPATCH.equals(event.getEventType().getName())) {
+                paths.add(event.getString("path"));
+            }
+        }
+        assertEquals(2, paths.size());
+        assertTrue(paths.contains("/test/forward"));
+        assertTrue(paths.contains("/test/simple"));
+    }
+}
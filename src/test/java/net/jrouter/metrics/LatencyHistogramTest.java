@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package net.jrouter.metrics;
+
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * LatencyHistogramTest。
+ */
+public class LatencyHistogramTest {
+
+    /**
+     * 测试桶的索引及上界。
+     */
+    @Test
+    public void testIndex() {
+        for (long v = 0; v < LatencyHistogram.SUB_BUCKETS << 1; v++) {
+            assertEquals(v, LatencyHistogram.index(v));
+            assertEquals(v, LatencyHistogram.upperBound((int) v));
+        }
+        Random random = new Random(1);
+        for (int i = 0; i < 10000; i++) {
+            long v = random.nextLong() >>> (random.nextInt(36) + 27);
+            int idx = LatencyHistogram.index(v);
+            assertTrue(v <= LatencyHistogram.upperBound(idx));
+            if (idx > 0) {
+                assertTrue(v > LatencyHistogram.upperBound(idx - 1));
+            }
+            //相对误差
+            assertTrue(LatencyHistogram.upperBound(idx) - v <= v / LatencyHistogram.SUB_BUCKETS);
+        }
+        assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.index(Long.MAX_VALUE));
+        assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.index((1L << (LatencyHistogram.MAX_EXPONENT + 1)) - 1));
+    }
+
+    /**
+     * 测试分位值。
+     */
+    @Test
+    public void testQuantiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getValueAtQuantile(0.99));
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+        histogram.record(-1);
+        assertEquals(1001, histogram.getCount());
+        assertEquals(1000_000L, histogram.getMax());
+        long[] values = histogram.valuesAtQuantiles(0.5, 0.99, 0.999, 1);
+        assertEquals(500_000, values[0], 500_000 / LatencyHistogram.SUB_BUCKETS);
+        assertEquals(990_000, values[1], 990_000 / LatencyHistogram.SUB_BUCKETS);
+        assertEquals(999_000, values[2], 999_000 / LatencyHistogram.SUB_BUCKETS);
+        assertEquals(1000_000, values[3]);
+        assertEquals(0, histogram.getValueAtQuantile(0));
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package net.jrouter.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import net.jrouter.impl.PathActionFactory;
+import net.jrouter.result.DefaultResult;
+import org.junit.After;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * MetricsInterceptorTest。
+ */
+public class MetricsInterceptorTest {
+
+    private PathActionFactory factory;
+
+    private MetricsInterceptor interceptor;
+
+    @Before
+    public void init() {
+        PathActionFactory.Properties prop = new PathActionFactory.Properties();
+        prop.setDefaultResultType(DefaultResult.EMPTY);
+        prop.setDefaultInterceptorStack(MetricsInterceptor.METRICS);
+        factory = new PathActionFactory(prop);
+        interceptor = new MetricsInterceptor();
+        factory.addInterceptors(interceptor);
+        factory.addInterceptorStacks(MetricsStack.class);
+        factory.addResultTypes(DefaultResult.class);
+        factory.addActions(MetricsAction.class);
+    }
+
+    @After
+    public void tearDown() {
+        factory.clear();
+    }
+
+    /**
+     * 测试记录Action调用的延迟及异常次数。
+     */
+    @Test
+    public void test_metrics() {
+        for (int i = 0; i < 100; i++) {
+            assertEquals("ok", factory.invokeAction("/metrics/ok"));
+        }
+        for (int i = 0; i < 3; i++) {
+            try {
+                factory.invokeAction("/metrics/error");
+                fail("no exception");
+            } catch (RuntimeException e) {
+                assertNotNull(e);
+            }
+        }
+        MetricsRegistry registry = interceptor.getRegistry();
+        List<ActionStatistics> list = registry.getStatistics();
+        assertEquals(2, list.size());
+        assertEquals("/metrics/error", list.get(0).getPath());
+        ActionStatistics ok = registry.getActionStatistics("/metrics/ok");
+        assertEquals(100, ok.getCount());
+        assertEquals(0, ok.getErrors());
+        assertTrue(ok.getP50() > 0);
+        assertTrue(ok.getP50() <= ok.getP99() && ok.getP99() <= ok.getP999() && ok.getP999() <= ok.getMax());
+        assertTrue(ok.getRate() > 0);
+        ActionStatistics error = registry.getActionStatistics("/metrics/error");
+        assertEquals(3, error.getCount());
+        assertEquals(3, error.getErrors());
+        assertNull(registry.getActionStatistics("/metrics/none"));
+
+        registry.reset();
+        assertEquals(0, registry.getActionStatistics("/metrics/ok").getCount());
+        registry.remove(factory.getActions().get("/metrics/ok"));
+        assertNull(registry.getActionStatistics("/metrics/ok"));
+
+        //移除Action时一并移除其度量
+        assertNotNull(registry.getActionStatistics("/metrics/error"));
+        factory.removeAction("/metrics/error");
+        assertNull(registry.getActionStatistics("/metrics/error"));
+        factory.invokeAction("/metrics/ok");
+        assertEquals(1, registry.getStatistics().size());
+        factory.clear();
+        assertTrue(registry.getStatistics().isEmpty());
+    }
+
+    /**
+     * 测试JMX MXBean。
+     */
+    @Test
+    public void test_mbean() throws Exception {
+        factory.invokeAction("/metrics/ok");
+        MetricsRegistry registry = interceptor.getRegistry();
+        ObjectName name = registry.registerMBean("test");
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            CompositeData[] data = (CompositeData[]) server.getAttribute(name, "Statistics");
+            assertEquals(1, data.length);
+            assertEquals("/metrics/ok", data[0].get("path"));
+            assertEquals(1L, data[0].get("count"));
+            server.invoke(name, "reset", null, null);
+            assertEquals(0, registry.getActionStatistics("/metrics/ok").getCount());
+        } finally {
+            registry.unregisterMBean("test");
+        }
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+    }
+
+    /**
+     * 度量拦截栈。
+     */
+    public static class MetricsStack {
+
+        @net.jrouter.annotation.InterceptorStack(interceptors = {
+                @net.jrouter.annotation.InterceptorStack.Interceptor(MetricsInterceptor.METRICS)})
+        public static final String METRICS = MetricsInterceptor.METRICS;
+    }
+
+    /**
+     * 测试的Action。
+     */
+    @net.jrouter.annotation.Namespace(name = "/metrics")
+    public static class MetricsAction {
+
+        @net.jrouter.annotation.Action
+        public String ok() {
+            return "ok";
+        }
+
+        @net.jrouter.annotation.Action
+        public String error() {
+            throw new IllegalStateException("error");
+        }
+    }
+}
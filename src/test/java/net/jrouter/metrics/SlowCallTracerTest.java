@@ -0,0 +1,188 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package net.jrouter.metrics;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import net.jrouter.impl.PathActionFactory;
+import net.jrouter.result.DefaultResult;
+import org.junit.After;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * SlowCallTracerTest。
+ */
+public class SlowCallTracerTest {
+
+    private PathActionFactory factory;
+
+    @Before
+    public void init() {
+        PathActionFactory.Properties prop = new PathActionFactory.Properties();
+        prop.setDefaultResultType(DefaultResult.EMPTY);
+        prop.setDefaultInterceptorStack(MetricsInterceptor.METRICS);
+        prop.setSlowCallSampleInterval(10);
+        prop.setSlowCallThreshold(100);
+        prop.setSlowCallTraces(4);
+        factory = new PathActionFactory(prop);
+        factory.addInterceptors(new MetricsInterceptor());
+        factory.addInterceptorStacks(MetricsInterceptorTest.MetricsStack.class);
+        factory.addResultTypes(DefaultResult.class);
+        factory.addActions(TraceAction.class);
+    }
+
+    @After
+    public void tearDown() {
+        factory.clear();
+    }
+
+    /**
+     * 测试抽样及慢调用的追踪记录。
+     */
+    @Test
+    public void test_trace() {
+        SlowCallTracer tracer = factory.getSlowCallTracer();
+        assertNotNull(tracer);
+        assertEquals(4, tracer.getCapacity());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), tracer.getThresholdNanos());
+        for (int i = 0; i < 100; i++) {
+            assertEquals("ok", factory.invokeAction("/trace/ok"));
+        }
+        //最近的4个抽样
+        List<CallTrace> traces = tracer.getTraces();
+        assertEquals(4, traces.size());
+        for (int i = 0; i < traces.size(); i++) {
+            assertTrue(traces.get(i).isSampled());
+            if (i > 0) {
+                assertTrue(traces.get(i - 1).getSequence() > traces.get(i).getSequence());
+            }
+        }
+        CallTrace sampled = traces.get(0);
+        assertTrue(sampled.isSampled());
+        assertEquals("/trace/ok", sampled.getPath());
+        assertArrayEquals(new String[]{MetricsInterceptor.METRICS}, sampled.getInterceptors());
+        assertEquals(2, sampled.getHopNanos().length);
+        assertTrue(sampled.getHopNanos()[0] >= sampled.getHopNanos()[1]);
+        assertTrue(sampled.getDurationNanos() >= sampled.getHopNanos()[0]);
+
+        //慢调用
+        tracer.clear();
+        assertEquals("slow", factory.invokeAction("/trace/slow", "arg"));
+        traces = tracer.getTraces();
+        assertEquals(1, traces.size());
+        CallTrace slow = traces.get(0);
+        assertFalse(slow.isSampled());
+        assertNull(slow.getHopNanos());
+        assertTrue(slow.getDurationNanos() >= TimeUnit.MILLISECONDS.toNanos(100));
+        assertArrayEquals(new String[]{"arg"}, slow.getArguments());
+        assertTrue(slow.toString().startsWith("Slow call [/trace/slow]"));
+
+        //关闭追踪
+        tracer.clear();
+        tracer.setSampleInterval(0);
+        tracer.setThreshold(0, TimeUnit.MILLISECONDS);
+        factory.invokeAction("/trace/slow");
+        for (int i = 0; i < 20; i++) {
+            factory.invokeAction("/trace/ok");
+        }
+        assertTrue(tracer.getTraces().isEmpty());
+    }
+
+    /**
+     * 测试抽样调用抛出的异常。
+     */
+    @Test
+    public void test_error() {
+        SlowCallTracer tracer = factory.getSlowCallTracer();
+        tracer.setSampleInterval(1);
+        try {
+            factory.invokeAction("/trace/error");
+            fail("no exception");
+        } catch (RuntimeException e) {
+            assertNotNull(e);
+        }
+        CallTrace trace = tracer.getTraces().get(0);
+        assertTrue(trace.getError().contains("IllegalStateException"));
+    }
+
+    /**
+     * 测试各线程独立的抽样计数。
+     */
+    @Test
+    public void test_sample() throws Exception {
+        final SlowCallTracer tracer = new SlowCallTracer(3, 0, 4);
+        assertFalse(tracer.sample());
+        assertFalse(tracer.sample());
+        final boolean[] other = new boolean[3];
+        Thread thread = new Thread() {
+
+            @Override
+            public void run() {
+                for (int i = 0; i < other.length; i++) {
+                    other[i] = tracer.sample();
+                }
+            }
+        };
+        thread.start();
+        thread.join();
+        assertArrayEquals(new boolean[]{false, false, true}, other);
+        assertTrue(tracer.sample());
+        assertFalse(tracer.sample());
+    }
+
+    /**
+     * 未设置抽样间隔及阈值时没有追踪器。
+     */
+    @Test
+    public void test_disabled() {
+        PathActionFactory.Properties prop = new PathActionFactory.Properties();
+        PathActionFactory disabled = new PathActionFactory(prop);
+        try {
+            assertNull(disabled.getSlowCallTracer());
+        } finally {
+            disabled.clear();
+        }
+        assertFalse(new SlowCallTracer(0, 0, 3).sample());
+        assertEquals(4, new SlowCallTracer(0, 0, 3).getCapacity());
+    }
+
+    /**
+     * 测试的Action。
+     */
+    @net.jrouter.annotation.Namespace(name = "/trace")
+    public static class TraceAction {
+
+        @net.jrouter.annotation.Action
+        public String ok() {
+            return "ok";
+        }
+
+        @net.jrouter.annotation.Action
+        public String slow() throws InterruptedException {
+            Thread.sleep(150);
+            return "slow";
+        }
+
+        @net.jrouter.annotation.Action
+        public String error() {
+            throw new IllegalStateException("error");
+        }
+    }
+}
@@ -17,6 +17,9 @@
 
 package net.jrouter.spring;
 
+import java.lang.management.ManagementFactory;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 import net.jrouter.ActionFactory;
 import net.jrouter.JRouterException;
 import net.jrouter.impl.PathActionFactory;
@@ -79,6 +82,18 @@ public class DefaultActionFactoryBeanTest {
         assertNotNull(factory.getResults().get(DemoResult.DEMO_RESULT_EXCEPTION));
     }
 
+    /**
+     * 测试注册ActionFactory的管理接口。
+     */
+    @Test
+    public void testMBean() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("net.jrouter:type=ActionFactory,name=\"actionFactoryTest\"");
+        assertTrue(server.isRegistered(name));
+        assertEquals(factory.getActions().size(), server.getAttribute(name, "ActionCount"));
+        assertEquals(100000, server.getAttribute(name, "ActionCacheNumber"));
+    }
+
     /**
      * 测试Action路径的正确性。
      *
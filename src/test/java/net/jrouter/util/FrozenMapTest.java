@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2010-2111 sunjumper@163.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package net.jrouter.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * FrozenMapTest。
+ */
+public class FrozenMapTest {
+
+    /**
+     * Test of copyOf method, of class FrozenMap.
+     */
+    @Test
+    public void testCopyOf() {
+        assertTrue(FrozenMap.copyOf(Collections.emptyMap()).isEmpty());
+        assertSame(FrozenMap.copyOf(new HashMap<>()), FrozenMap.copyOf(Collections.emptyMap()));
+
+        Map<String, Integer> src = new LinkedHashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            src.put("k" + i, i);
+        }
+        src.put("nullValue", null);
+        FrozenMap<String, Integer> map = FrozenMap.copyOf(src);
+        assertSame(map, FrozenMap.copyOf(map));
+        assertEquals(src, map);
+        assertEquals(map, src);
+        assertEquals(src.hashCode(), map.hashCode());
+        assertEquals(1001, map.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(Integer.valueOf(i), map.get("k" + i));
+        }
+        assertTrue(map.containsKey("nullValue"));
+        assertNull(map.get("nullValue"));
+        assertNull(map.get("k1000"));
+        assertNull(map.get(null));
+        assertFalse(map.containsKey(null));
+
+        //迭代顺序
+        List<String> keys = new ArrayList<>(map.keySet());
+        assertEquals(new ArrayList<>(src.keySet()), keys);
+
+        try {
+            map.put("k", 1);
+            fail("no exception");
+        } catch (UnsupportedOperationException e) {
+            assertNotNull(e);
+        }
+        try {
+            map.remove("k1");
+            fail("no exception");
+        } catch (UnsupportedOperationException e) {
+            assertNotNull(e);
+        }
+        try {
+            map.entrySet().iterator().next().setValue(1);
+            fail("no exception");
+        } catch (UnsupportedOperationException e) {
+            assertNotNull(e);
+        }
+
+        Map<String, String> nullKey = new HashMap<>();
+        nullKey.put(null, "v");
+        try {
+            FrozenMap.copyOf(nullKey);
+            fail("no exception");
+        } catch (NullPointerException e) {
+            assertNotNull(e);
+        }
+    }
+}